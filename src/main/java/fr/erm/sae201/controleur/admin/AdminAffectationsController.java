@@ -1,18 +1,26 @@
 package fr.erm.sae201.controleur.admin;
 
-import fr.erm.sae201.dao.AffectationDAO;
 import fr.erm.sae201.dao.DPSDAO;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationProgressive;
+import fr.erm.sae201.metier.graphe.algorithme.JetonAnnulation;
+import fr.erm.sae201.metier.graphe.algorithme.SuiviResolution;
 import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
-import fr.erm.sae201.metier.persistence.Affectation;
+import fr.erm.sae201.metier.graphe.modele.ContraintesPlanification;
 import fr.erm.sae201.metier.persistence.DPS;
 import fr.erm.sae201.metier.service.ServiceAffectation;
+import fr.erm.sae201.utils.ExecuteurCalculs;
 import fr.erm.sae201.utils.NotificationUtils;
 import fr.erm.sae201.vue.MainApp;
 import fr.erm.sae201.vue.admin.AdminAffectationsView;
+import javafx.application.Platform;
 import javafx.concurrent.Task;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.BiFunction;
 
 /**
  * Contrôleur pour l'interface de gestion des affectations par l'administrateur.
@@ -25,7 +33,7 @@ import java.util.List;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.2
+ * @version 2.1
  */
 public class AdminAffectationsController {
 
@@ -38,9 +46,6 @@ public class AdminAffectationsController {
     /** Le DAO pour accéder aux données des DPS. */
     private final DPSDAO dpsDAO;
 
-    /** Le DAO pour accéder aux données des affectations. */
-    private final AffectationDAO affectationDAO;
-
     /** Le service métier contenant la logique des algorithmes d'affectation. */
     private final ServiceAffectation serviceAffectation;
 
@@ -50,6 +55,27 @@ public class AdminAffectationsController {
     /** La dernière proposition d'affectation générée par un algorithme. */
     private List<AffectationResultat> propositionActuelle;
 
+    /** La liste de tous les DPS, chargée à l'ouverture de la vue. */
+    private List<DPS> allDps;
+
+    /**
+     * La date de la journée dont la proposition globale est affichée (premier jour s'il s'agit
+     * d'une période), ou null si la proposition affichée ne concerne que le DPS sélectionné.
+     */
+    private LocalDate journeeProposee;
+
+    /** Le dernier jour couvert par la proposition globale affichée (égal à journeeProposee pour une journée). */
+    private LocalDate finProposee;
+
+    /** Le calcul en cours ou le dernier lancé, ou null si aucun calcul n'a été lancé. */
+    private Task<?> tacheEnCours;
+
+    /** Le suivi du calcul en cours, dont le jeton est annulé par le bouton Annuler, ou null. */
+    private SuiviResolution suiviEnCours;
+
+    /** L'algorithme progressif en cours d'exécution, ou null s'il n'y en a pas. */
+    private AlgorithmeAffectationProgressive algorithmeProgressif;
+
     /**
      * Constructeur du contrôleur des affectations.
      * Initialise les dépendances et lie les actions de l'interface graphique
@@ -62,13 +88,18 @@ public class AdminAffectationsController {
         this.view = view;
         this.navigator = navigator;
         this.dpsDAO = new DPSDAO();
-        this.affectationDAO = new AffectationDAO();
         this.serviceAffectation = new ServiceAffectation();
 
         // Lie les actions de l'interface aux méthodes du contrôleur
         view.setOnDpsSelected((observable, oldValue, newValue) -> handleDpsSelection(newValue));
-        view.setRunExhaustiveAction(event -> runAlgorithm("exhaustive"));
-        view.setRunGreedyAction(event -> runAlgorithm("glouton"));
+        view.setSolveursDisponibles(serviceAffectation.getSolveurs());
+        view.setRunSolveurAction(event -> runSolveur(view.getSolveurChoisi()));
+        view.setRunIncrementaleAction(event -> runIncrementale());
+        view.setRunProgressiveAction(event -> runProgressive());
+        view.setCancelAction(event -> annulerCalcul());
+        view.setStopProgressiveAction(event -> stopProgressive());
+        view.setRunJourneeAction(event -> runJournee());
+        view.setRunPeriodeAction(event -> runPeriode());
         view.setSaveChangesAction(event -> saveChanges());
 
         loadInitialData();
@@ -78,7 +109,7 @@ public class AdminAffectationsController {
      * Charge les données initiales nécessaires à la vue, notamment la liste de tous les DPS.
      */
     private void loadInitialData() {
-        List<DPS> allDps = dpsDAO.findAll();
+        allDps = dpsDAO.findAll();
         view.populateDpsList(allDps);
     }
 
@@ -95,43 +126,65 @@ public class AdminAffectationsController {
         }
         this.dpsSelectionne = dps;
         this.propositionActuelle = null; // Réinitialise la proposition en attente
+        this.journeeProposee = null;
         view.displayDpsDetails(dps);
         view.clearProposition();
         view.setRightPanelDisabled(false);
     }
 
     /**
-     * Lance un algorithme d'affectation de manière asynchrone pour ne pas bloquer l'interface.
-     * Affiche un indicateur de chargement pendant l'exécution et met à jour la vue
-     * avec le résultat une fois terminé.
+     * Lance un solveur d'affectation sur le DPS sélectionné. Le choix de l'algorithme est délégué
+     * au registre des solveurs : la stratégie "auto" ou un solveur trop lent pour la taille du DPS
+     * sont résolus par le service.
      *
-     * @param algorithmType La chaîne identifiant l'algorithme à utiliser ("exhaustive" ou "glouton").
+     * @param identifiant L'identifiant du solveur à utiliser (voir {@link ServiceAffectation#getSolveurs()}).
      */
-    private void runAlgorithm(String algorithmType) {
+    private void runSolveur(String identifiant) {
+        final int parallelisme = view.getParallelisme();
+        final int fenetreEquite = view.getFenetreEquite();
+        lancerAffectation((dps, suivi) -> serviceAffectation.trouverAffectation(dps, identifiant, parallelisme, fenetreEquite, suivi));
+    }
+
+    /**
+     * Affiche l'affectation maintenue de façon incrémentale pour le DPS sélectionné.
+     */
+    private void runIncrementale() {
+        lancerAffectation((dps, suivi) -> serviceAffectation.trouverAffectationIncrementale(dps));
+    }
+
+    /**
+     * Lance un calcul d'affectation de manière asynchrone pour ne pas bloquer l'interface.
+     * Affiche la progression pendant l'exécution, permet de l'annuler, et met à jour la vue
+     * avec le résultat une fois terminé. Le résultat est abandonné si un autre DPS a été
+     * sélectionné entre-temps.
+     *
+     * @param calcul Le calcul à exécuter sur le DPS sélectionné, avec le suivi de la résolution.
+     */
+    private void lancerAffectation(BiFunction<DPS, SuiviResolution, List<AffectationResultat>> calcul) {
         if (dpsSelectionne == null) {
             NotificationUtils.showError("Aucun DPS", "Veuillez d'abord sélectionner un dispositif.");
             return;
         }
-        view.showLoading(true);
+        appliquerOptionsTrajets();
+        final DPS dpsCible = dpsSelectionne;
+        final SuiviResolution suivi = creerSuivi();
 
         // Utilisation d'une Task pour exécuter l'algorithme en arrière-plan, pour eviter de bloquer l'interface utilisateur.
         Task<List<AffectationResultat>> task = new Task<>() {
             @Override
             protected List<AffectationResultat> call() {
-                List<AffectationResultat> result;
-                if ("exhaustive".equals(algorithmType)) {
-                    result = serviceAffectation.trouverAffectationExhaustive(dpsSelectionne);
-                } else {
-                    result = serviceAffectation.trouverAffectationGloutonne(dpsSelectionne);
-                }
-                return result;
+                return calcul.apply(dpsCible, suivi);
             }
         };
 
         task.setOnSucceeded(e -> {
+            view.showLoading(false);
+            if (dpsSelectionne != dpsCible) {
+                return;
+            }
             propositionActuelle = task.getValue();
+            journeeProposee = null;
             view.displayProposition(propositionActuelle);
-            view.showLoading(false);
         });
 
         task.setOnFailed(e -> {
@@ -143,7 +196,246 @@ public class AdminAffectationsController {
             view.showLoading(false);
         });
 
-        new Thread(task).start();
+        task.setOnCancelled(e -> view.showLoading(false));
+
+        if (demarrerCalcul(task, suivi)) {
+            view.showLoading(true);
+        }
+    }
+
+    /**
+     * Lance l'algorithme progressif en arrière-plan. Contrairement aux autres approches,
+     * la vue reste utilisable : chaque meilleure solution trouvée est affichée dès sa publication
+     * et devient la proposition courante, de sorte qu'un arrêt conserve la meilleure proposition.
+     */
+    private void runProgressive() {
+        if (dpsSelectionne == null) {
+            NotificationUtils.showError("Aucun DPS", "Veuillez d'abord sélectionner un dispositif.");
+            return;
+        }
+        final DPS dpsCible = dpsSelectionne;
+        final AlgorithmeAffectationProgressive algorithme = new AlgorithmeAffectationProgressive(
+                view.getDelaiSecondes() * 1000L,
+                solution -> Platform.runLater(() -> {
+                    propositionActuelle = solution;
+                    view.displayProposition(solution);
+                }));
+        algorithmeProgressif = algorithme;
+        journeeProposee = null;
+        appliquerOptionsTrajets();
+        view.setProgressiveRunning(true);
+
+        Task<List<AffectationResultat>> task = new Task<>() {
+            @Override
+            protected List<AffectationResultat> call() {
+                return serviceAffectation.trouverAffectationProgressive(dpsCible, algorithme);
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            propositionActuelle = task.getValue();
+            view.displayProposition(propositionActuelle);
+            algorithmeProgressif = null;
+            view.setProgressiveRunning(false);
+        });
+
+        task.setOnFailed(e -> {
+            Throwable exception = task.getException();
+            System.err.println("ERREUR DANS LE THREAD DE L'ALGORITHME :");
+            exception.printStackTrace();
+            NotificationUtils.showError("Erreur Algorithme", "Une erreur est survenue : " + exception.getMessage());
+            algorithmeProgressif = null;
+            view.setProgressiveRunning(false);
+        });
+
+        if (!demarrerCalcul(task, null)) {
+            algorithmeProgressif = null;
+            view.setProgressiveRunning(false);
+        }
+    }
+
+    /**
+     * Lance l'affectation globale de la journée du DPS sélectionné : tous les DPS de ce jour
+     * sont pourvus ensemble, indépendamment de l'ordre dans lequel ils ont été traités.
+     * La proposition affichée regroupe les affectations par DPS.
+     */
+    private void runJournee() {
+        if (dpsSelectionne == null) {
+            NotificationUtils.showError("Aucun DPS", "Veuillez d'abord sélectionner un dispositif.");
+            return;
+        }
+        final LocalDate date = dpsSelectionne.getJournee().getDate();
+        final List<DPS> dpsDuJour = new ArrayList<>();
+        for (DPS dps : allDps) {
+            if (dps.getJournee().getDate().equals(date)) {
+                dpsDuJour.add(dps);
+            }
+        }
+        appliquerOptionsTrajets();
+
+        Task<List<AffectationResultat>> task = new Task<>() {
+            @Override
+            protected List<AffectationResultat> call() {
+                return serviceAffectation.trouverAffectationJournee(date);
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            propositionActuelle = task.getValue();
+            journeeProposee = date;
+            finProposee = date;
+            view.displayPropositionJournee(dpsDuJour, propositionActuelle);
+            view.showLoading(false);
+        });
+
+        task.setOnFailed(e -> {
+            Throwable exception = task.getException();
+            System.err.println("ERREUR DANS LE THREAD DE L'ALGORITHME :");
+            exception.printStackTrace();
+            NotificationUtils.showError("Erreur Algorithme", "Une erreur est survenue : " + exception.getMessage());
+            view.showLoading(false);
+        });
+
+        task.setOnCancelled(e -> view.showLoading(false));
+
+        // La journée est résolue en temps polynomial : l'annulation abandonne simplement son résultat.
+        if (demarrerCalcul(task, null)) {
+            view.showLoading(true);
+        }
+    }
+
+    /**
+     * Planifie tous les DPS de la période choisie, jour après jour, en respectant les limites
+     * de chaque secouriste. Sans période choisie, la semaine du DPS sélectionné est planifiée.
+     */
+    private void runPeriode() {
+        LocalDate debut = view.getDebutPeriode();
+        LocalDate fin = view.getFinPeriode();
+        if (debut == null || fin == null) {
+            if (dpsSelectionne == null) {
+                NotificationUtils.showError("Aucune période", "Veuillez choisir les dates de début et de fin.");
+                return;
+            }
+            debut = dpsSelectionne.getJournee().getDate().with(DayOfWeek.MONDAY);
+            fin = debut.plusDays(6);
+            view.setPeriode(debut, fin);
+        }
+        if (fin.isBefore(debut)) {
+            NotificationUtils.showError("Période invalide", "La date de fin doit suivre la date de début.");
+            return;
+        }
+        final LocalDate debutPeriode = debut;
+        final LocalDate finPeriode = fin;
+        final ContraintesPlanification contraintes = view.getContraintesPlanification();
+
+        final List<DPS> dpsPeriode = new ArrayList<>();
+        for (DPS dps : allDps) {
+            LocalDate date = dps.getJournee().getDate();
+            if (!date.isBefore(debutPeriode) && !date.isAfter(finPeriode)) {
+                dpsPeriode.add(dps);
+            }
+        }
+        dpsPeriode.sort(Comparator.comparing((DPS dps) -> dps.getJournee().getDate())
+                .thenComparingInt(dps -> dps.getHoraireDepart()[0] * 60 + dps.getHoraireDepart()[1]));
+        appliquerOptionsTrajets();
+        final SuiviResolution suivi = creerSuivi();
+
+        Task<List<AffectationResultat>> task = new Task<>() {
+            @Override
+            protected List<AffectationResultat> call() {
+                return serviceAffectation.trouverPlanificationPeriode(debutPeriode, finPeriode, contraintes, suivi);
+            }
+        };
+
+        task.setOnSucceeded(e -> {
+            propositionActuelle = task.getValue();
+            journeeProposee = debutPeriode;
+            finProposee = finPeriode;
+            view.displayPropositionJournee(dpsPeriode, propositionActuelle);
+            view.showLoading(false);
+        });
+
+        task.setOnFailed(e -> {
+            Throwable exception = task.getException();
+            System.err.println("ERREUR DANS LE THREAD DE L'ALGORITHME :");
+            exception.printStackTrace();
+            NotificationUtils.showError("Erreur Algorithme", "Une erreur est survenue : " + exception.getMessage());
+            view.showLoading(false);
+        });
+
+        task.setOnCancelled(e -> view.showLoading(false));
+
+        if (demarrerCalcul(task, suivi)) {
+            view.showLoading(true);
+        }
+    }
+
+    /**
+     * Crée le suivi d'un calcul : un nouveau jeton d'annulation, et un écouteur qui affiche
+     * l'avancement dans la vue (depuis le thread de l'interface).
+     *
+     * @return Le suivi du calcul.
+     */
+    private SuiviResolution creerSuivi() {
+        return new SuiviResolution(new JetonAnnulation(),
+                progression -> Platform.runLater(() -> view.afficherProgression(progression)));
+    }
+
+    /**
+     * Soumet un calcul à l'exécuteur borné. Un seul calcul est autorisé à la fois : un second
+     * clic pendant un calcul est refusé au lieu de lancer un second calcul concurrent.
+     *
+     * @param task  Le calcul à exécuter.
+     * @param suivi Le suivi du calcul, dont le jeton sera annulé par le bouton Annuler, ou null.
+     * @return `true` si le calcul a été lancé.
+     */
+    private boolean demarrerCalcul(Task<?> task, SuiviResolution suivi) {
+        if (tacheEnCours != null && !tacheEnCours.isDone()) {
+            NotificationUtils.showWarning("Calcul en cours", "Un calcul est déjà en cours. Annulez-le ou attendez qu'il se termine.");
+            return false;
+        }
+        if (!ExecuteurCalculs.soumettre(task)) {
+            NotificationUtils.showError("Calcul refusé", "Trop de calculs sont en cours, veuillez réessayer plus tard.");
+            return false;
+        }
+        tacheEnCours = task;
+        suiviEnCours = suivi;
+        return true;
+    }
+
+    /**
+     * Annule le calcul en cours. La tâche est annulée en premier, afin que l'interruption
+     * de l'algorithme qui suit ne soit pas signalée comme une erreur. Rien n'est signalé
+     * si le calcul s'était déjà terminé.
+     */
+    private void annulerCalcul() {
+        if (tacheEnCours == null || !tacheEnCours.cancel()) {
+            return;
+        }
+        if (suiviEnCours != null && suiviEnCours.getJeton() != null) {
+            suiviEnCours.getJeton().annuler();
+        }
+        NotificationUtils.showWarning("Calcul annulé", "Le calcul a été interrompu, aucune proposition n'a été modifiée.");
+    }
+
+    /**
+     * Transmet au service les options de trajets choisies dans la vue, avant de lancer un algorithme.
+     */
+    private void appliquerOptionsTrajets() {
+        if (view.isTrajetsActives()) {
+            serviceAffectation.activerTrajets(view.getVitesseKmH(), view.isProximitePreferee());
+        } else {
+            serviceAffectation.desactiverTrajets();
+        }
+    }
+
+    /**
+     * Arrête l'algorithme progressif en cours ; la meilleure proposition trouvée reste affichée.
+     */
+    private void stopProgressive() {
+        if (algorithmeProgressif != null) {
+            algorithmeProgressif.arreter();
+        }
     }
 
     /**
@@ -156,19 +448,23 @@ public class AdminAffectationsController {
             return;
         }
 
-        if (propositionActuelle.isEmpty()) {
-            NotificationUtils.showSuccess("Aucune affectation", "La proposition était vide, rien n'a été enregistré.");
+        if (journeeProposee != null) {
+            // La journée (ou la période) est enregistrée entièrement, y compris les DPS restés sans affectation.
+            String portee = journeeProposee.equals(finProposee) ? "de la journée" : "de la période";
+            if (serviceAffectation.enregistrerPlanificationPeriode(journeeProposee, finProposee, propositionActuelle)) {
+                NotificationUtils.showSuccess("Succès", "Les affectations " + portee + " ont été enregistrées en base de données.");
+            } else {
+                NotificationUtils.showError("Erreur", "L'enregistrement des affectations " + portee + " a échoué.");
+            }
             return;
         }
 
-        List<Affectation> affectationsAEnregistrer = new ArrayList<>();
-        for (AffectationResultat res : propositionActuelle) {
-            affectationsAEnregistrer.add(
-                new Affectation(dpsSelectionne, res.getSecouriste(), res.getPoste().getCompetenceRequise())
-            );
+        if (propositionActuelle.isEmpty()) {
+            NotificationUtils.showSuccess("Aucune affectation", "La proposition était vide, rien n'a été enregistré.");
+            return;
         }
 
-        boolean success = affectationDAO.replaceAffectationsForDps(dpsSelectionne.getId(), affectationsAEnregistrer);
+        boolean success = serviceAffectation.enregistrerAffectationsDps(dpsSelectionne, propositionActuelle);
 
         if (success) {
             NotificationUtils.showSuccess("Succès", "Les affectations ont été enregistrées en base de données.");
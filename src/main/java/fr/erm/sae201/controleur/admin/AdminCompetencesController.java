@@ -26,7 +26,7 @@ import java.util.Optional;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class AdminCompetencesController {
 
@@ -125,6 +125,8 @@ public class AdminCompetencesController {
 
             } catch (CompetenceMngt.CycleDetectedException e) {
                 NotificationUtils.showError("Modification impossible", e.getMessage());
+            } catch (SQLException e) {
+                NotificationUtils.showError("Erreur BDD", e.getMessage());
             }
         });
     }
@@ -144,7 +146,7 @@ public class AdminCompetencesController {
         Optional<ButtonType> result = confirmation.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (competenceDAO.delete(competence) > 0) {
+            if (competenceService.deleteCompetence(competence)) {
                 NotificationUtils.showSuccess("Suppression réussie", "La compétence a été supprimée.");
                 loadCompetences();
             } else {
@@ -2,6 +2,7 @@ package fr.erm.sae201.controleur.admin;
 
 import fr.erm.sae201.dao.DPSDAO;
 import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.service.DPSMngt;
 import fr.erm.sae201.metier.service.ExportService;
 import fr.erm.sae201.utils.NotificationUtils;
 import fr.erm.sae201.vue.MainApp;
@@ -28,7 +29,7 @@ import java.util.Optional;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class AdminDispositifController {
 
@@ -41,6 +42,9 @@ public class AdminDispositifController {
     /** Le DAO pour l'accès aux données des DPS. */
     private final DPSDAO dpsDAO;
 
+    /** Le service métier pour la gestion des DPS. */
+    private final DPSMngt dpsMngt;
+
     /** Le service pour gérer l'exportation des données en format CSV. */
     private final ExportService exportService;
 
@@ -56,6 +60,7 @@ public class AdminDispositifController {
         this.view = view;
         this.navigator = navigator;
         this.dpsDAO = new DPSDAO();
+        this.dpsMngt = new DPSMngt();
         this.exportService = new ExportService();
 
         this.view.setAddButtonAction(event -> handleAddDps());
@@ -141,7 +146,7 @@ public class AdminDispositifController {
         Optional<ButtonType> result = confirmation.showAndWait();
 
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (dpsDAO.delete(dps) > 0) {
+            if (dpsMngt.deleteDps(dps)) {
                 NotificationUtils.showSuccess("Suppression réussie", "Le dispositif a été supprimé.");
                 loadDispositifs();
             } else {
@@ -5,6 +5,7 @@ import fr.erm.sae201.dao.SiteDAO;
 import fr.erm.sae201.dao.SportDAO;
 import fr.erm.sae201.metier.persistence.*;
 import fr.erm.sae201.metier.service.DPSMngt;
+import fr.erm.sae201.metier.service.MoteurAffectationIncremental;
 import fr.erm.sae201.utils.NotificationUtils;
 import fr.erm.sae201.vue.MainApp;
 import fr.erm.sae201.vue.admin.AdminEditDpsView;
@@ -58,6 +59,9 @@ public class AdminEditDpsController {
     /** Le service métier pour la gestion de la logique des DPS. */
     private final DPSMngt dpsMngt;
 
+    /** Le moteur incrémental, prévenu des modifications pour réparer l'affectation du DPS. */
+    private final MoteurAffectationIncremental moteurIncremental;
+
     /**
      * Constructeur du contrôleur.
      *
@@ -73,6 +77,7 @@ public class AdminEditDpsController {
         this.sportDAO = new SportDAO();
         this.competenceDAO = new CompetenceDAO();
         this.dpsMngt = new DPSMngt();
+        this.moteurIncremental = new MoteurAffectationIncremental();
 
         view.setSaveButtonAction(e -> saveDps());
         view.setCancelButtonAction(e -> cancel());
@@ -176,6 +181,12 @@ public class AdminEditDpsController {
 
                 if (dpsMngt.updateDps(dpsToEdit)) {
                     updateDpsRequirements(dpsToEdit.getId(), requirements);
+                    // Un changement d'horaires invalide l'affectation maintenue ; sinon seuls les postes changent.
+                    if (dateOrTimeChanged) {
+                        moteurIncremental.oublier(dpsToEdit.getId());
+                    } else {
+                        moteurIncremental.besoinsModifies(dpsToEdit.getId());
+                    }
                     NotificationUtils.showSuccess("Succès", "Dispositif mis à jour.");
                     navigator.showAdminDispositifView(view.getCompte());
                 } else {
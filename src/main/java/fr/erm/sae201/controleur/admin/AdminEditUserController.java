@@ -3,6 +3,7 @@ package fr.erm.sae201.controleur.admin;
 import fr.erm.sae201.dao.CompetenceDAO;
 import fr.erm.sae201.metier.persistence.Competence;
 import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.service.MoteurAffectationIncremental;
 import fr.erm.sae201.metier.service.SecouristeMngt;
 import fr.erm.sae201.utils.NotificationUtils;
 import fr.erm.sae201.vue.MainApp;
@@ -115,6 +116,7 @@ public class AdminEditUserController {
         boolean success = secouristeMngt.updateSecouristeInfoAndCompetences(secouristeToEdit, selectedCompetences);
 
         if (success) {
+            new MoteurAffectationIncremental().competencesModifiees(secouristeToEdit.getId());
             NotificationUtils.showSuccess("Mise à jour réussie",
                     "Les informations du secouriste ont été mises à jour.");
             navigator.showAdminUtilisateursView(view.getCompte());
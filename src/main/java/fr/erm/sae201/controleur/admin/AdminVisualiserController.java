@@ -2,7 +2,7 @@ package fr.erm.sae201.controleur.admin;
 
 import fr.erm.sae201.metier.persistence.CompteUtilisateur;
 import fr.erm.sae201.metier.persistence.DPS;
-import fr.erm.sae201.metier.service.AffectationMngt;
+import fr.erm.sae201.metier.persistence.EffectifDps;
 import fr.erm.sae201.metier.service.DPSMngt;
 import fr.erm.sae201.vue.MainApp;
 import fr.erm.sae201.vue.admin.AdminVisualiserView;
@@ -24,7 +24,7 @@ import java.util.List;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class AdminVisualiserController {
 
@@ -40,9 +40,6 @@ public class AdminVisualiserController {
     /** Le service métier pour la gestion des DPS. */
     private final DPSMngt dpsMngt;
 
-    /** Le service métier pour la gestion des affectations. */
-    private final AffectationMngt affectationMngt;
-
     /** Le premier jour (lundi) de la semaine actuellement affichée. */
     private LocalDate currentWeekStart;
 
@@ -70,7 +67,6 @@ public class AdminVisualiserController {
         this.navigator = navigator;
         this.compte = compte;
         this.dpsMngt = new DPSMngt();
-        this.affectationMngt = new AffectationMngt();
         this.currentWeekStart = LocalDate.now().with(DayOfWeek.MONDAY);
 
         this.view.setWeekChangeHandler(weeksToAdd -> {
@@ -83,19 +79,16 @@ public class AdminVisualiserController {
 
     /**
      * Rafraîchit la vue en chargeant et affichant les DPS pour la semaine courante.
-     * Calcule la date de fin de semaine, récupère tous les DPS dans cet intervalle,
-     * puis pour chaque DPS, compte le nombre de secouristes affectés par rapport
-     * au nombre requis avant de transmettre ces données à la vue.
+     * Calcule la date de fin de semaine, puis récupère en une seule requête tous les DPS
+     * de cet intervalle avec leur nombre de secouristes affectés et requis, avant de
+     * transmettre ces données à la vue.
      */
     public void refreshView() {
         LocalDate weekEnd = currentWeekStart.plusDays(6);
-        List<DPS> allDpsInWeek = dpsMngt.getAllDpsBetweenDates(currentWeekStart, weekEnd);
 
         List<DpsStatusInfo> dpsStatusList = new ArrayList<>();
-        for (DPS dps : allDpsInWeek) {
-            int assignedCount = affectationMngt.getAssignmentCountForDps(dps.getId());
-            int requiredCount = dpsMngt.getTotalPersonnelRequired(dps.getId());
-            dpsStatusList.add(new DpsStatusInfo(dps, assignedCount, requiredCount));
+        for (EffectifDps effectif : dpsMngt.getStaffingBetweenDates(currentWeekStart, weekEnd)) {
+            dpsStatusList.add(new DpsStatusInfo(effectif.dps(), effectif.affectes(), effectif.requis()));
         }
 
         view.populateCalendar(currentWeekStart, dpsStatusList);
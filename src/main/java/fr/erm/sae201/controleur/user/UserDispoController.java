@@ -2,6 +2,7 @@ package fr.erm.sae201.controleur.user;
 
 import fr.erm.sae201.dao.SecouristeDAO;
 import fr.erm.sae201.metier.persistence.CompteUtilisateur;
+import fr.erm.sae201.metier.service.MoteurAffectationIncremental;
 import fr.erm.sae201.utils.NotificationUtils;
 import fr.erm.sae201.vue.MainApp;
 import fr.erm.sae201.vue.user.UserDispoView;
@@ -34,6 +35,9 @@ public class UserDispoController {
     /** Le DAO pour mettre à jour les disponibilités en base de données. */
     private final SecouristeDAO secouristeDAO;
 
+    /** Le moteur incrémental, prévenu des changements de disponibilité. */
+    private final MoteurAffectationIncremental moteurIncremental;
+
     /**
      * Constructeur du contrôleur des disponibilités.
      *
@@ -46,6 +50,7 @@ public class UserDispoController {
         this.navigator = navigator;
         this.compte = compte;
         this.secouristeDAO = new SecouristeDAO();
+        this.moteurIncremental = new MoteurAffectationIncremental();
 
         this.view.setSaveAction(e -> handleSaveChanges());
         this.view.setCancelAction(e -> handleCancelChanges());
@@ -60,9 +65,11 @@ public class UserDispoController {
     private void handleSaveChanges() {
         for (LocalDate date : view.getAddedDisponibilites()) {
             secouristeDAO.addAvailability(compte.getIdSecouriste(), date);
+            moteurIncremental.disponibiliteAjoutee(compte.getIdSecouriste(), date);
         }
         for (LocalDate date : view.getRemovedDisponibilites()) {
             secouristeDAO.removeAvailability(compte.getIdSecouriste(), date);
+            moteurIncremental.disponibiliteRetiree(compte.getIdSecouriste(), date);
         }
         NotificationUtils.showSuccess("Succès", "Vos disponibilités ont été mises à jour.");
         navigator.showUserCalendrierView(compte);
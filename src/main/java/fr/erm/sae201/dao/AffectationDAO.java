@@ -4,7 +4,9 @@ import fr.erm.sae201.metier.persistence.*;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -18,7 +20,7 @@ import java.util.Optional;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.2
+ * @version 1.3
  */
 public class AffectationDAO extends DAO<Affectation> {
 
@@ -317,6 +319,66 @@ public class AffectationDAO extends DAO<Affectation> {
         }
     }
 
+    /**
+     * Remplace les affectations de plusieurs DPS en une seule transaction :
+     * les affectations existantes de tous ces DPS sont supprimées, puis les nouvelles sont insérées.
+     * Utilisé par l'affectation globale d'une journée, pour que la journée soit enregistrée entièrement ou pas du tout.
+     *
+     * @param dpsIds                Les IDs des DPS dont les affectations sont remplacées.
+     * @param nouvellesAffectations La nouvelle liste d'affectations, tous DPS confondus.
+     * @return `true` si la transaction a réussi, `false` sinon.
+     */
+    public boolean replaceAffectationsForDpsList(List<Long> dpsIds, List<Affectation> nouvellesAffectations) {
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+
+            String deleteSql = "DELETE FROM Affectation WHERE idDPS = ?";
+            try (PreparedStatement pstmtDelete = conn.prepareStatement(deleteSql)) {
+                for (Long dpsId : dpsIds) {
+                    pstmtDelete.setLong(1, dpsId);
+                    pstmtDelete.addBatch();
+                }
+                pstmtDelete.executeBatch();
+            }
+
+            String insertSql = "INSERT INTO Affectation (idDPS, idSecouriste, intituleCompetence) VALUES (?, ?, ?)";
+            try (PreparedStatement pstmtInsert = conn.prepareStatement(insertSql)) {
+                for (Affectation affectation : nouvellesAffectations) {
+                    pstmtInsert.setLong(1, affectation.getDps().getId());
+                    pstmtInsert.setLong(2, affectation.getSecouriste().getId());
+                    pstmtInsert.setString(3, affectation.getCompetence().getIntitule());
+                    pstmtInsert.addBatch();
+                }
+                pstmtInsert.executeBatch();
+            }
+
+            conn.commit();
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Transaction error during multi-DPS affectation replacement: " + e.getMessage());
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    ex.printStackTrace();
+                }
+            }
+            return false;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
     /**
      * Récupère toutes les affectations pour une date spécifique.
      *
@@ -342,6 +404,37 @@ public class AffectationDAO extends DAO<Affectation> {
     return affectations;
 }
 
+    /**
+     * Calcule, pour chaque secouriste, le temps de service cumulé de ses affectations
+     * sur une période, en une seule requête agrégée.
+     *
+     * @param startDate     Le premier jour de la période (inclus).
+     * @param endDate       Le dernier jour de la période (inclus).
+     * @param excludedDpsId L'ID d'un DPS à ignorer (celui qu'on s'apprête à recalculer), ou -1.
+     * @return Le nombre de minutes de service par ID de secouriste. Les secouristes sans affectation sont absents.
+     */
+    public Map<Long, Long> sumMinutesBySecouristeBetweenDates(LocalDate startDate, LocalDate endDate, long excludedDpsId) {
+        String sql = "SELECT a.idSecouriste, SUM((d.horaire_fin_heure * 60 + d.horaire_fin_minute) "
+                + "- (d.horaire_depart_heure * 60 + d.horaire_depart_minute)) AS minutes "
+                + "FROM Affectation a JOIN DPS d ON a.idDPS = d.id "
+                + "WHERE d.jour BETWEEN ? AND ? AND a.idDPS <> ? GROUP BY a.idSecouriste";
+        Map<Long, Long> minutes = new HashMap<>();
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, java.sql.Date.valueOf(startDate));
+            pstmt.setDate(2, java.sql.Date.valueOf(endDate));
+            pstmt.setLong(3, excludedDpsId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    minutes.put(rs.getLong("idSecouriste"), rs.getLong("minutes"));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error summing affectation minutes between dates: " + e.getMessage());
+        }
+        return minutes;
+    }
+
     /**
      * Supprime toutes les affectations pour un ID de DPS donné.
      *
@@ -0,0 +1,124 @@
+package fr.erm.sae201.dao;
+
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.Journee;
+import fr.erm.sae201.metier.persistence.Site;
+import fr.erm.sae201.metier.persistence.Sport;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache en mémoire des données de référence (sites, sports, journées et compétences), partagé par les DAO.
+ *
+ * Ces tables sont petites et changent rarement : les DAO qui les lisent par jointure obtiennent
+ * ici une instance canonique par clé au lieu de créer un objet par ligne. Une instance en cache
+ * dont les valeurs diffèrent de la ligne lue est remplacée. Le cache est vidé par les méthodes
+ * d'écriture de {@link SiteDAO}, {@link SportDAO} et {@link JourneeDAO}.
+ *
+ * Les compétences et leurs prérequis sont chargés d'un bloc par
+ * {@link CompetenceDAO#findPrerequisiteGraph()}, puis conservés jusqu'à la prochaine
+ * écriture de {@link CompetenceDAO}.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.2
+ */
+final class CacheReferences {
+
+    private static final Map<String, Site> SITES = new HashMap<>();
+    private static final Map<String, Sport> SPORTS = new HashMap<>();
+    private static final Map<LocalDate, Journee> JOURNEES = new HashMap<>();
+
+    /** Compétences indexées par intitulé, ou null si elles ne sont pas chargées. */
+    private static Map<String, Competence> competences;
+
+    private CacheReferences() {
+    }
+
+    /**
+     * Retourne l'instance canonique d'un site.
+     *
+     * @param code      Le code du site.
+     * @param nom       Le nom lu en base.
+     * @param longitude La longitude lue en base.
+     * @param latitude  La latitude lue en base.
+     * @return Le site en cache, ou un nouveau site mis en cache.
+     */
+    static synchronized Site getSite(String code, String nom, float longitude, float latitude) {
+        Site site = SITES.get(code);
+        if (site == null || !site.getNom().equals(nom) || site.getLongitude() != longitude || site.getLatitude() != latitude) {
+            site = new Site(code, nom, longitude, latitude);
+            SITES.put(code, site);
+        }
+        return site;
+    }
+
+    /**
+     * Retourne l'instance canonique d'un sport.
+     *
+     * @param code Le code du sport.
+     * @param nom  Le nom lu en base.
+     * @return Le sport en cache, ou un nouveau sport mis en cache.
+     */
+    static synchronized Sport getSport(String code, String nom) {
+        Sport sport = SPORTS.get(code);
+        if (sport == null || !sport.getNom().equals(nom)) {
+            sport = new Sport(code, nom);
+            SPORTS.put(code, sport);
+        }
+        return sport;
+    }
+
+    /**
+     * Retourne l'instance canonique d'une journée.
+     *
+     * @param date La date de la journée.
+     * @return La journée en cache, ou une nouvelle journée mise en cache.
+     */
+    static synchronized Journee getJournee(LocalDate date) {
+        Journee journee = JOURNEES.get(date);
+        if (journee == null) {
+            journee = new Journee(date);
+            JOURNEES.put(date, journee);
+        }
+        return journee;
+    }
+
+    /**
+     * Retourne les compétences connues, avec leurs prérequis, indexées par intitulé.
+     * Aucune requête n'est exécutée tant qu'elles restent en cache.
+     *
+     * @return Les compétences connues.
+     * @throws SQLException si le graphe des compétences ne peut pas être chargé.
+     */
+    static synchronized Map<String, Competence> getCompetences() throws SQLException {
+        if (competences == null) {
+            Map<String, Set<String>> graphe = new CompetenceDAO().findPrerequisiteGraph();
+            if (graphe == null) {
+                throw new SQLException("Competence graph could not be loaded.");
+            }
+            competences = CompetenceDAO.toCompetences(graphe);
+        }
+        return competences;
+    }
+
+    /**
+     * Vide les compétences du cache. Appelé après toute écriture sur les compétences ou leurs prérequis.
+     */
+    static synchronized void invaliderCompetences() {
+        competences = null;
+    }
+
+    /**
+     * Vide le cache. Appelé après toute écriture sur les tables de référence.
+     */
+    static synchronized void invalider() {
+        SITES.clear();
+        SPORTS.clear();
+        JOURNEES.clear();
+    }
+}
@@ -3,8 +3,11 @@ package fr.erm.sae201.dao;
 import fr.erm.sae201.metier.persistence.Competence;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -12,39 +15,87 @@ import java.util.Set;
  * 
  * Une compétence représente un savoir-faire ou une qualification. Les compétences
  * peuvent avoir des prérequis, qui sont d'autres compétences à acquérir au préalable.
- * Ces relations sont gérées via la table 'Necessite'.
+ * Ces relations sont gérées via la table 'Necessite'. Toute écriture vide les
+ * compétences du cache de références ({@link CacheReferences}).
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.5
  */
 public class CompetenceDAO extends DAO<Competence> {
 
     /**
      * Récupère toutes les compétences de la base de données.
-     * Pour chaque compétence, ses prérequis sont également chargés.
+     * Pour chaque compétence, ses prérequis directs sont également chargés.
+     * Le tout ne coûte que deux requêtes (voir {@link #findPrerequisiteGraph()}).
      *
      * @return Une liste de toutes les compétences, chacune avec ses prérequis potentiels.
      */
     @Override
     public List<Competence> findAll() {
-        String sql = "SELECT intitule FROM Competence";
-        List<Competence> competences = new ArrayList<>();
+        Map<String, Set<String>> graph = findPrerequisiteGraph();
+        if (graph == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(toCompetences(graph).values());
+    }
+
+    /**
+     * Construit les objets Competence d'un graphe de prérequis, chacun relié à ses prérequis directs.
+     *
+     * @param graph Pour chaque intitulé, les intitulés de ses prérequis directs (voir {@link #findPrerequisiteGraph()}).
+     * @return Les compétences indexées par intitulé, dans l'ordre du graphe.
+     */
+    static Map<String, Competence> toCompetences(Map<String, Set<String>> graph) {
+        Map<String, Competence> byIntitule = new LinkedHashMap<>();
+        for (String intitule : graph.keySet()) {
+            byIntitule.put(intitule, new Competence(intitule));
+        }
+        for (Map.Entry<String, Set<String>> entry : graph.entrySet()) {
+            Set<Competence> prerequisites = new HashSet<>();
+            for (String prerequisite : entry.getValue()) {
+                Competence prereq = byIntitule.get(prerequisite);
+                if (prereq != null) {
+                    prerequisites.add(prereq);
+                }
+            }
+            byIntitule.get(entry.getKey()).setPrerequisites(prerequisites);
+        }
+        return byIntitule;
+    }
+
+    /**
+     * Charge tout le graphe des prérequis en deux requêtes : une sur 'Competence'
+     * pour les sommets, une sur 'Necessite' pour les arcs.
+     *
+     * @return Pour chaque intitulé de compétence, les intitulés de ses prérequis directs,
+     *         ou `null` en cas d'erreur (un graphe partiel ou vide serait pris pour le vrai).
+     */
+    public Map<String, Set<String>> findPrerequisiteGraph() {
+        Map<String, Set<String>> graph = new LinkedHashMap<>();
         try (Connection conn = getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                Competence comp = mapResultSetToCompetence(rs);
-                // "Hydrate" l'objet en chargeant ses prérequis depuis la base de données.
-                comp.setPrerequisites(findPrerequisitesFor(comp.getIntitule()));
-                competences.add(comp);
+                Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT intitule FROM Competence")) {
+                while (rs.next()) {
+                    graph.put(rs.getString("intitule"), new HashSet<>());
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT intituleCompetence, competenceRequise FROM Necessite")) {
+                while (rs.next()) {
+                    Set<String> prerequisites = graph.get(rs.getString("intituleCompetence"));
+                    String required = rs.getString("competenceRequise");
+                    if (prerequisites != null && graph.containsKey(required)) {
+                        prerequisites.add(required);
+                    }
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Error finding all Competences: " + e.getMessage());
+            System.err.println("Error loading Competence graph: " + e.getMessage());
+            return null;
         }
-        return competences;
+        return graph;
     }
 
     /**
@@ -58,16 +109,21 @@ public class CompetenceDAO extends DAO<Competence> {
         if (intitule == null || intitule.trim().isEmpty())
             return null;
         String sql = "SELECT intitule FROM Competence WHERE intitule = ?";
-        try (Connection conn = getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, intitule);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    Competence comp = mapResultSetToCompetence(rs);
-                    comp.setPrerequisites(findPrerequisitesFor(intitule));
-                    return comp;
+        try (Connection conn = getConnection()) {
+            Competence comp = null;
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, intitule);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        comp = mapResultSetToCompetence(rs);
+                    }
                 }
             }
+            if (comp != null) {
+                // Les prérequis sont lus sur la même connexion.
+                comp.setPrerequisites(findPrerequisitesFor(conn, intitule));
+            }
+            return comp;
         } catch (SQLException e) {
             System.err.println("Error finding Competence by intitule " + intitule + ": " + e.getMessage());
         }
@@ -77,29 +133,41 @@ public class CompetenceDAO extends DAO<Competence> {
     /**
      * Recherche tous les prérequis pour une compétence donnée.
      * Cette méthode interroge la table de jointure 'Necessite'. Pour éviter les
-     * boucles infinies de chargement (si A requiert B et B requiert A), elle utilise
-     * une méthode de recherche "simple" qui ne charge pas les prérequis des prérequis.
+     * boucles infinies de chargement (si A requiert B et B requiert A), les prérequis
+     * des prérequis ne sont pas chargés.
      *
      * @param intituleCompetence L'intitulé de la compétence pour laquelle trouver les prérequis.
      * @return Un ensemble de compétences qui sont des prérequis pour la compétence spécifiée.
      */
     public Set<Competence> findPrerequisitesFor(String intituleCompetence) {
-        String sql = "SELECT competenceRequise FROM Necessite WHERE intituleCompetence = ?";
+        try (Connection conn = getConnection()) {
+            return findPrerequisitesFor(conn, intituleCompetence);
+        } catch (SQLException e) {
+            System.err.println("Error finding prerequisites for " + intituleCompetence + ": " + e.getMessage());
+        }
+        return new HashSet<>();
+    }
+
+    /**
+     * Recherche les prérequis directs d'une compétence sur une connexion déjà ouverte, en une requête.
+     * Les prérequis sont créés sans leurs propres prérequis.
+     *
+     * @param conn               La connexion à utiliser.
+     * @param intituleCompetence L'intitulé de la compétence.
+     * @return L'ensemble de ses prérequis directs.
+     * @throws SQLException Si une erreur survient lors de l'accès à la base de données.
+     */
+    private Set<Competence> findPrerequisitesFor(Connection conn, String intituleCompetence) throws SQLException {
+        String sql = "SELECT c.intitule FROM Necessite n JOIN Competence c ON c.intitule = n.competenceRequise "
+                + "WHERE n.intituleCompetence = ?";
         Set<Competence> prerequisites = new HashSet<>();
-        try (Connection conn = getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, intituleCompetence);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    // findByIntituleSimple est utilisé pour éviter de recharger récursivement les prérequis.
-                    Competence prereq = findByIntituleSimple(rs.getString("competenceRequise"));
-                    if (prereq != null) {
-                        prerequisites.add(prereq);
-                    }
+                    prerequisites.add(mapResultSetToCompetence(rs));
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("Error finding prerequisites for " + intituleCompetence + ": " + e.getMessage());
         }
         return prerequisites;
     }
@@ -117,7 +185,9 @@ public class CompetenceDAO extends DAO<Competence> {
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, intituleCompetence);
             pstmt.setString(2, intitulePrerequis);
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invaliderCompetences();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error adding prerequisite: " + e.getMessage());
             return -1;
@@ -137,13 +207,110 @@ public class CompetenceDAO extends DAO<Competence> {
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, intituleCompetence);
             pstmt.setString(2, intitulePrerequis);
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invaliderCompetences();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error removing prerequisite: " + e.getMessage());
             return -1;
         }
     }
 
+    /**
+     * Remplace tous les prérequis directs d'une compétence dans la table 'Necessite'.
+     * Cette opération est transactionnelle : soit tous les anciens prérequis sont remplacés, soit rien ne change.
+     *
+     * @param intituleCompetence L'intitulé de la compétence principale.
+     * @param prerequis          Les intitulés de ses nouveaux prérequis.
+     * @return `true` si la transaction a réussi, `false` sinon.
+     */
+    public boolean replacePrerequisites(String intituleCompetence, Collection<String> prerequis) {
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM Necessite WHERE intituleCompetence = ?")) {
+                pstmt.setString(1, intituleCompetence);
+                pstmt.executeUpdate();
+            }
+            insertPrerequisites(conn, intituleCompetence, prerequis);
+            conn.commit();
+            CacheReferences.invaliderCompetences();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Transaction error during prerequisite replacement for " + intituleCompetence + ": " + e.getMessage());
+            rollbackQuietly(conn);
+            return false;
+        } finally {
+            restoreAutoCommitAndClose(conn);
+        }
+    }
+
+    /**
+     * Crée une compétence et ses prérequis directs en une seule transaction.
+     *
+     * @param intitule  L'intitulé de la nouvelle compétence.
+     * @param prerequis Les intitulés de ses prérequis.
+     * @return `true` si la transaction a réussi, `false` sinon (par exemple si l'intitulé existe déjà).
+     */
+    public boolean createWithPrerequisites(String intitule, Collection<String> prerequis) {
+        Connection conn = null;
+        try {
+            conn = getConnection();
+            conn.setAutoCommit(false);
+            try (PreparedStatement pstmt = conn.prepareStatement("INSERT INTO Competence (intitule) VALUES (?)")) {
+                pstmt.setString(1, intitule);
+                pstmt.executeUpdate();
+            }
+            insertPrerequisites(conn, intitule, prerequis);
+            conn.commit();
+            CacheReferences.invaliderCompetences();
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Transaction error during creation of Competence " + intitule + ": " + e.getMessage());
+            rollbackQuietly(conn);
+            return false;
+        } finally {
+            restoreAutoCommitAndClose(conn);
+        }
+    }
+
+    /**
+     * Insère en lot les prérequis d'une compétence, sur la connexion de la transaction en cours.
+     */
+    private void insertPrerequisites(Connection conn, String intituleCompetence, Collection<String> prerequis) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "INSERT INTO Necessite (intituleCompetence, competenceRequise) VALUES (?, ?)")) {
+            for (String requis : prerequis) {
+                pstmt.setString(1, intituleCompetence);
+                pstmt.setString(2, requis);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void rollbackQuietly(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.rollback();
+            } catch (SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    private void restoreAutoCommitAndClose(Connection conn) {
+        if (conn != null) {
+            try {
+                conn.setAutoCommit(true);
+                conn.close();
+            } catch (SQLException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
     /**
      * Crée un nouvel enregistrement dans la table 'Competence'.
      * Cette méthode ne crée que la compétence elle-même ; les relations de prérequis
@@ -158,7 +325,9 @@ public class CompetenceDAO extends DAO<Competence> {
         try (Connection conn = getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, competence.getIntitule());
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invaliderCompetences();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error creating Competence " + competence.getIntitule() + ": " + e.getMessage());
             return -1;
@@ -190,35 +359,15 @@ public class CompetenceDAO extends DAO<Competence> {
         try (Connection conn = getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, intitule);
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invaliderCompetences();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error deleting Competence " + intitule + ": " + e.getMessage());
             return -1;
         }
     }
 
-    /**
-     * Version "simple" de `findByIntitule` qui récupère une compétence sans charger ses prérequis.
-     * Principalement utilisée en interne pour éviter les boucles infinies de chargement.
-     *
-     * @param intitule L'intitulé de la compétence à trouver.
-     * @return L'objet Competence si trouvé ; sinon `null`.
-     */
-    private Competence findByIntituleSimple(String intitule) {
-        String sql = "SELECT intitule FROM Competence WHERE intitule = ?";
-        try (Connection conn = getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, intitule);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToCompetence(rs);
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Error finding simple Competence by intitule " + intitule + ": " + e.getMessage());
-        }
-        return null;
-    }
 
     /**
      * Transforme une ligne d'un ResultSet en un objet Competence.
@@ -9,7 +9,8 @@ import java.util.List;
  * Classe abstraite DAO (Data Access Object).
  * <p>
  * Fournit un modèle de base pour les opérations CRUD (Create, Read, Update, Delete)
- * communes à la base de données. Elle gère également l'établissement des connexions.
+ * communes à la base de données. Elle fournit également les connexions, empruntées
+ * à un {@link PoolConnexions} partagé par tous les DAO.
  * Les DAO concrets pour des entités spécifiques doivent hériter de cette classe.
  * </p>
  *
@@ -18,7 +19,7 @@ import java.util.List;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.1
+ * @version 1.2
  */
 public abstract class DAO<T> {
 
@@ -28,26 +29,38 @@ public abstract class DAO<T> {
     private static final String USERNAME = "root";
     private static final String PASSWORD = "snowad1234";
 
+    static {
+        try {
+            Class.forName(DRIVER_CLASS_NAME);
+        } catch (ClassNotFoundException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    /** Pool de connexions partagé par tous les DAO. */
+    private static final PoolConnexions POOL = new PoolConnexions(() -> DriverManager.getConnection(URL, USERNAME, PASSWORD));
+
     /**
-     * Établit et retourne une connexion à la base de données.
+     * @return Le pool de connexions partagé par tous les DAO (pour ses métriques ou sa fermeture).
+     */
+    public static PoolConnexions getPool() {
+        return POOL;
+    }
+
+    /**
+     * Emprunte une connexion à la base de données au pool partagé.
      * <p>
-     * Cette méthode tente d'abord de charger le pilote JDBC. Ensuite, elle utilise
-     * le DriverManager pour obtenir une connexion en utilisant l'URL, le nom
-     * d'utilisateur et le mot de passe prédéfinis.
+     * La connexion doit être fermée après usage (typiquement par un try-with-resources) :
+     * elle est alors rendue au pool pour être réutilisée, sans nouvelle authentification.
      * </p>
      *
      * @return Un objet Connection vers la base de données.
      * @throws SQLException si une erreur d'accès à la base de données se produit
-     *                      (ex: URL incorrecte, identifiants faux, serveur non disponible).
+     *                      (ex: URL incorrecte, identifiants faux, serveur non disponible)
+     *                      ou si aucune connexion ne s'est libérée à temps.
      */
     protected Connection getConnection() throws SQLException {
-        try {
-            Class.forName(DRIVER_CLASS_NAME);
-        } catch (ClassNotFoundException ex) {
-            ex.printStackTrace();
-            return null;
-        }
-        return DriverManager.getConnection(URL, USERNAME, PASSWORD);
+        return POOL.getConnection();
     }
 
     /**
@@ -4,6 +4,7 @@ import fr.erm.sae201.metier.persistence.*;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,20 +16,31 @@ import java.util.Map;
  * le lieu, le sport associé et le jour de l'opération. Ce DAO gère les opérations CRUD
  * pour les enregistrements de DPS et la relation avec les compétences requises
  * via la table de jointure 'ABesoin'.
- * 
+ *
+ * Les DPS sont lus en une seule requête qui joint leur site et leur sport ; les objets
+ * Site, Sport et Journee sont partagés via {@link CacheReferences}.
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.1
+ * @version 1.8
  */
 public class DPSDAO extends DAO<DPS> {
 
-    // DAOs pour les entités liées, utilisés pour reconstruire les objets DPS.
-    private final SiteDAO siteDAO = new SiteDAO();
-    private final SportDAO sportDAO = new SportDAO();
-    private final JourneeDAO journeeDAO = new JourneeDAO();
-    private final CompetenceDAO competenceDAO = new CompetenceDAO();
+    /** Colonnes lues pour un DPS, avec celles de son site et de son sport (alias d, s et sp). */
+    private static final String COLONNES_DPS = "SELECT d.id, d.horaire_depart_heure, d.horaire_depart_minute, "
+            + "d.horaire_fin_heure, d.horaire_fin_minute, d.jour, "
+            + "s.code AS site_code, s.nom AS site_nom, s.longitude, s.latitude, "
+            + "sp.code AS sport_code, sp.nom AS sport_nom";
+
+    /** Jointures de la table 'DPS' avec 'Site' et 'Sport', sous les alias utilisés par {@link #COLONNES_DPS}. */
+    private static final String JOINTURES_DPS = " FROM DPS d JOIN Site s ON d.lieu = s.code JOIN Sport sp ON d.sport = sp.code";
+
+    /** Requête de lecture des DPS avec leur site et leur sport, éventuellement complétée par une clause WHERE. */
+    private static final String SELECT_DPS = COLONNES_DPS + JOINTURES_DPS;
+
+    /** Nombre maximal d'IDs par requête IN lors du chargement groupé des besoins. */
+    private static final int TAILLE_LOT = 500;
 
     /**
      * Récupère tous les enregistrements de DPS de la base de données.
@@ -37,7 +49,7 @@ public class DPSDAO extends DAO<DPS> {
      */
     @Override
     public List<DPS> findAll() {
-        String sql = "SELECT id, horaire_depart_heure, horaire_depart_minute, horaire_fin_heure, horaire_fin_minute, lieu, sport, jour FROM DPS";
+        String sql = SELECT_DPS;
         List<DPS> dpsList = new ArrayList<>();
         try (Connection conn = getConnection();
                 Statement stmt = conn.createStatement();
@@ -61,7 +73,7 @@ public class DPSDAO extends DAO<DPS> {
     public DPS findByID(Long id) {
         if (id == null)
             return null;
-        String sql = "SELECT id, horaire_depart_heure, horaire_depart_minute, horaire_fin_heure, horaire_fin_minute, lieu, sport, jour FROM DPS WHERE id = ?";
+        String sql = SELECT_DPS + " WHERE d.id = ?";
         try (Connection conn = getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setLong(1, id);
@@ -124,7 +136,7 @@ public class DPSDAO extends DAO<DPS> {
      * @return Une liste de DPS.
      */
     public List<DPS> findAllBetweenDates(LocalDate startDate, LocalDate endDate) {
-        String sql = "SELECT id, horaire_depart_heure, horaire_depart_minute, horaire_fin_heure, horaire_fin_minute, lieu, sport, jour FROM DPS WHERE jour BETWEEN ? AND ?";
+        String sql = SELECT_DPS + " WHERE d.jour BETWEEN ? AND ?";
         List<DPS> dpsList = new ArrayList<>();
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
@@ -141,6 +153,41 @@ public class DPSDAO extends DAO<DPS> {
         return dpsList;
     }
 
+    /**
+     * Récupère tous les DPS d'une plage de dates avec leur état d'effectif, en une seule requête :
+     * le nombre d'affectations et la somme des besoins de chaque DPS sont agrégés (GROUP BY)
+     * sur 'Affectation' et 'ABesoin', restreints à la plage, puis joints aux DPS.
+     *
+     * @param startDate La date de début.
+     * @param endDate   La date de fin (incluse).
+     * @return L'effectif de chaque DPS de la plage. La liste peut être vide.
+     */
+    public List<EffectifDps> findStaffingBetweenDates(LocalDate startDate, LocalDate endDate) {
+        String sql = COLONNES_DPS + ", COALESCE(a.affectes, 0) AS affectes, COALESCE(b.requis, 0) AS requis"
+                + JOINTURES_DPS
+                + " LEFT JOIN (SELECT af.idDPS, COUNT(*) AS affectes FROM Affectation af JOIN DPS da ON af.idDPS = da.id"
+                + " WHERE da.jour BETWEEN ? AND ? GROUP BY af.idDPS) a ON a.idDPS = d.id"
+                + " LEFT JOIN (SELECT ab.idDPS, SUM(ab.nombre) AS requis FROM ABesoin ab JOIN DPS db ON ab.idDPS = db.id"
+                + " WHERE db.jour BETWEEN ? AND ? GROUP BY ab.idDPS) b ON b.idDPS = d.id"
+                + " WHERE d.jour BETWEEN ? AND ?";
+        List<EffectifDps> effectifs = new ArrayList<>();
+        try (Connection conn = getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int k = 0; k < 3; k++) {
+                pstmt.setDate(2 * k + 1, Date.valueOf(startDate));
+                pstmt.setDate(2 * k + 2, Date.valueOf(endDate));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    effectifs.add(new EffectifDps(mapResultSetToDPS(rs), rs.getInt("affectes"), rs.getInt("requis")));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding DPS staffing between dates: " + e.getMessage());
+        }
+        return effectifs;
+    }
+
     /**
      * Met à jour un enregistrement de DPS existant dans la base de données.
      *
@@ -193,25 +240,20 @@ public class DPSDAO extends DAO<DPS> {
     }
 
     /**
-     * Transforme une ligne d'un ResultSet en un objet DPS.
-     * Cette méthode récupère les objets Site, Sport et Journee associés via
-     * leurs DAOs respectifs. Si une de ces entités liées est introuvable,
-     * la méthode retourne `null`.
+     * Transforme une ligne de {@link #SELECT_DPS} en un objet DPS.
+     * Le site, le sport et la journée sont les instances canoniques du cache de références ;
+     * aucune requête supplémentaire n'est exécutée. Les DPS dont le site ou le sport
+     * n'existe plus sont écartés par la jointure.
      *
      * @param rs Le ResultSet positionné sur la ligne à traiter.
-     * @return Un nouvel objet DPS, ou `null` si des données essentielles sont manquantes.
+     * @return Un nouvel objet DPS.
      * @throws SQLException Si une erreur survient lors de l'accès au ResultSet.
      */
     private DPS mapResultSetToDPS(ResultSet rs) throws SQLException {
-        Site site = siteDAO.findByCode(rs.getString("lieu"));
-        Sport sport = sportDAO.findByCode(rs.getString("sport"));
-        Journee journee = journeeDAO.findByDate(rs.getDate("jour").toLocalDate());
-
-        if (site == null || sport == null || journee == null) {
-            System.err.println("Could not fully construct DPS ID " + rs.getLong("id")
-                    + " due to missing Site, Sport, or Journee.");
-            return null; // ou lancer une exception
-        }
+        Site site = CacheReferences.getSite(rs.getString("site_code"), rs.getString("site_nom"),
+                rs.getFloat("longitude"), rs.getFloat("latitude"));
+        Sport sport = CacheReferences.getSport(rs.getString("sport_code"), rs.getString("sport_nom"));
+        Journee journee = CacheReferences.getJournee(rs.getDate("jour").toLocalDate());
 
         return new DPS(
                 rs.getLong("id"),
@@ -224,30 +266,96 @@ public class DPSDAO extends DAO<DPS> {
 
     /**
      * Recherche toutes les compétences requises et leur nombre pour un DPS spécifique.
-     * Interroge la table de jointure 'ABesoin'.
+     * Interroge la table de jointure 'ABesoin' (voir {@link #findRequiredCompetencesForDpsIds(Collection)}).
      *
      * @param dpsId L'ID du DPS pour lequel trouver les exigences.
      * @return Une Map où les clés sont les objets Competence et les valeurs le nombre requis.
      */
     public Map<Competence, Integer> findRequiredCompetencesForDps(long dpsId) {
-        Map<Competence, Integer> requirements = new HashMap<>();
-        String sql = "SELECT intituleCompetence, nombre FROM ABesoin WHERE idDPS = ?";
-        try (Connection conn = getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, dpsId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Competence comp = competenceDAO.findByIntitule(rs.getString("intituleCompetence"));
-                    if (comp != null) {
-                        requirements.put(comp, rs.getInt("nombre"));
+        List<Long> ids = new ArrayList<>();
+        ids.add(dpsId);
+        return findRequiredCompetencesForDpsIds(ids).get(dpsId);
+    }
+
+    /**
+     * Recherche les compétences requises d'un ensemble de DPS : une requête sur 'ABesoin' par tranche
+     * de {@link #TAILLE_LOT} IDs. Les compétences proviennent du cache de références
+     * ({@link CacheReferences#getCompetences()}).
+     *
+     * @param dpsIds Les IDs des DPS.
+     * @return Pour chaque ID demandé, ses exigences (une Map vide si le DPS n'en a aucune).
+     */
+    public Map<Long, Map<Competence, Integer>> findRequiredCompetencesForDpsIds(Collection<Long> dpsIds) {
+        Map<Long, Map<Competence, Integer>> requirements = new HashMap<>();
+        for (Long id : dpsIds) {
+            requirements.put(id, new HashMap<>());
+        }
+        if (requirements.isEmpty()) {
+            return requirements;
+        }
+        List<Long> ids = new ArrayList<>(requirements.keySet());
+        try (Connection conn = getConnection()) {
+            Map<String, Competence> competences = CacheReferences.getCompetences();
+            for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT) {
+                List<Long> lot = ids.subList(debut, Math.min(ids.size(), debut + TAILLE_LOT));
+                StringBuilder placeholders = new StringBuilder("?");
+                for (int k = 1; k < lot.size(); k++) {
+                    placeholders.append(", ?");
+                }
+                String sql = "SELECT idDPS, intituleCompetence, nombre FROM ABesoin WHERE idDPS IN (" + placeholders + ")";
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    for (int k = 0; k < lot.size(); k++) {
+                        pstmt.setLong(k + 1, lot.get(k));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        mapRequirements(rs, competences, requirements);
                     }
                 }
             }
         } catch (SQLException e) {
-            System.err.println("Error finding required competences for DPS " + dpsId + ": " + e.getMessage());
+            System.err.println("Error finding required competences for DPS list: " + e.getMessage());
         }
         return requirements;
     }
 
+    /**
+     * Recherche en une requête les compétences requises de tous les DPS d'une plage de dates.
+     *
+     * @param startDate La date de début.
+     * @param endDate   La date de fin (incluse).
+     * @return Les exigences par ID de DPS. Les DPS sans exigence n'y figurent pas.
+     */
+    public Map<Long, Map<Competence, Integer>> findRequiredCompetencesBetweenDates(LocalDate startDate, LocalDate endDate) {
+        Map<Long, Map<Competence, Integer>> requirements = new HashMap<>();
+        String sql = "SELECT b.idDPS, b.intituleCompetence, b.nombre FROM ABesoin b JOIN DPS d ON b.idDPS = d.id "
+                + "WHERE d.jour BETWEEN ? AND ?";
+        try (Connection conn = getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            Map<String, Competence> competences = CacheReferences.getCompetences();
+            pstmt.setDate(1, Date.valueOf(startDate));
+            pstmt.setDate(2, Date.valueOf(endDate));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                mapRequirements(rs, competences, requirements);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding required competences between dates: " + e.getMessage());
+        }
+        return requirements;
+    }
+
+    /**
+     * Range les lignes (idDPS, intituleCompetence, nombre) d'un ResultSet par DPS.
+     * Les compétences inconnues sont ignorées.
+     */
+    private void mapRequirements(ResultSet rs, Map<String, Competence> competences,
+                                 Map<Long, Map<Competence, Integer>> requirements) throws SQLException {
+        while (rs.next()) {
+            Competence comp = competences.get(rs.getString("intituleCompetence"));
+            if (comp != null) {
+                requirements.computeIfAbsent(rs.getLong("idDPS"), id -> new HashMap<>()).put(comp, rs.getInt("nombre"));
+            }
+        }
+    }
+
     /**
      * Définit ou met à jour le nombre requis pour une compétence spécifique d'un DPS.
      * @param dpsId              L'ID du DPS.
@@ -0,0 +1,231 @@
+package fr.erm.sae201.dao;
+
+import fr.erm.sae201.metier.graphe.modele.DonneesResolution;
+import fr.erm.sae201.metier.persistence.Affectation;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.persistence.Site;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO en lecture seule qui charge d'un bloc les données nécessaires à la résolution d'une affectation.
+ *
+ * Ce n'est pas un DAO d'entité : il n'hérite pas de {@link DAO} et emprunte ses connexions au pool
+ * partagé ({@link DAO#getPool()}). Contrairement aux DAO d'entités, qui hydratent chaque ligne avec
+ * des requêtes supplémentaires,
+ * il n'exécute qu'une requête ensembliste par nature de donnée (secouristes disponibles et leurs
+ * compétences, affectations du jour avec les horaires et le site de leur DPS, besoins du DPS),
+ * sur une seule connexion. Il charge de la même façon les données d'une période entière pour
+ * la planification sur plusieurs jours. Les compétences sont créées à partir de leur seul intitulé : la
+ * hiérarchie est fournie par l'instantané de {@code RegistreCompetences}. Les sites et la journée
+ * proviennent du cache de références ({@link CacheReferences}).
+ *
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.3
+ */
+public class DonneesResolutionDAO {
+
+    /**
+     * Emprunte une connexion au pool partagé par les DAO. Elle doit être fermée après usage.
+     *
+     * @return Une connexion à la base de données.
+     * @throws SQLException Si aucune connexion n'a pu être obtenue.
+     */
+    private Connection getConnection() throws SQLException {
+        return DAO.getPool().getConnection();
+    }
+
+    /**
+     * Charge les données de résolution d'un DPS.
+     *
+     * @param dpsId L'ID du DPS à pourvoir.
+     * @param date  Le jour du DPS.
+     * @return Les données chargées. En cas d'erreur, un modèle vide (aucun secouriste, aucun besoin).
+     */
+    public DonneesResolution loadForDps(long dpsId, LocalDate date) {
+        try (Connection conn = getConnection()) {
+            List<Secouriste> secouristes = findAvailableWithCompetences(conn, date);
+
+            List<long[]> identifiants = new ArrayList<>();
+            List<int[]> horaires = new ArrayList<>();
+            List<Site> sites = new ArrayList<>();
+            String sqlOccupations = "SELECT a.idSecouriste, a.idDPS, "
+                    + "d.horaire_depart_heure * 60 + d.horaire_depart_minute AS debut, "
+                    + "d.horaire_fin_heure * 60 + d.horaire_fin_minute AS fin, "
+                    + "s.code, s.nom, s.longitude, s.latitude "
+                    + "FROM Affectation a JOIN DPS d ON a.idDPS = d.id LEFT JOIN Site s ON d.lieu = s.code "
+                    + "WHERE d.jour = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlOccupations)) {
+                pstmt.setDate(1, java.sql.Date.valueOf(date));
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        identifiants.add(new long[]{rs.getLong("idSecouriste"), rs.getLong("idDPS")});
+                        horaires.add(new int[]{rs.getInt("debut"), rs.getInt("fin")});
+                        String code = rs.getString("code");
+                        sites.add(code == null ? null : CacheReferences.getSite(code, rs.getString("nom"),
+                                rs.getFloat("longitude"), rs.getFloat("latitude")));
+                    }
+                }
+            }
+
+            List<Competence> competences = new ArrayList<>();
+            List<Integer> nombres = new ArrayList<>();
+            String sqlBesoins = "SELECT intituleCompetence, nombre FROM ABesoin WHERE idDPS = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlBesoins)) {
+                pstmt.setLong(1, dpsId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        competences.add(new Competence(rs.getString("intituleCompetence")));
+                        nombres.add(rs.getInt("nombre"));
+                    }
+                }
+            }
+
+            int nombreOccupations = identifiants.size();
+            long[] secouristeOccupation = new long[nombreOccupations];
+            long[] dpsOccupation = new long[nombreOccupations];
+            int[] debutOccupation = new int[nombreOccupations];
+            int[] finOccupation = new int[nombreOccupations];
+            for (int k = 0; k < nombreOccupations; k++) {
+                secouristeOccupation[k] = identifiants.get(k)[0];
+                dpsOccupation[k] = identifiants.get(k)[1];
+                debutOccupation[k] = horaires.get(k)[0];
+                finOccupation[k] = horaires.get(k)[1];
+            }
+            int[] nombresBesoins = new int[nombres.size()];
+            for (int c = 0; c < nombresBesoins.length; c++) {
+                nombresBesoins[c] = nombres.get(c);
+            }
+            return new DonneesResolution(secouristes, secouristeOccupation, dpsOccupation, debutOccupation,
+                    finOccupation, sites.toArray(new Site[0]), competences.toArray(new Competence[0]), nombresBesoins);
+        } catch (SQLException e) {
+            System.err.println("Error loading resolution data for DPS " + dpsId + ": " + e.getMessage());
+        }
+        return new DonneesResolution(new ArrayList<>(), new long[0], new long[0], new int[0], new int[0],
+                new Site[0], new Competence[0], new int[0]);
+    }
+
+    /**
+     * Recherche les secouristes disponibles un jour donné, avec leurs compétences, en une seule requête.
+     * Chaque secouriste ne porte que la disponibilité de ce jour.
+     *
+     * @param date Le jour recherché.
+     * @return Les secouristes disponibles, par ID croissant. La liste peut être vide.
+     */
+    public List<Secouriste> findAvailableWithCompetences(LocalDate date) {
+        try (Connection conn = getConnection()) {
+            return findAvailableWithCompetences(conn, date);
+        } catch (SQLException e) {
+            System.err.println("Error finding available secouristes for " + date + ": " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Recherche les secouristes disponibles au moins un jour d'une période, avec leurs compétences,
+     * en une seule requête. Chaque secouriste ne porte que ses disponibilités de la période.
+     *
+     * @param debut Le premier jour de la période.
+     * @param fin   Le dernier jour de la période (inclus).
+     * @return Les secouristes disponibles, par ID croissant. La liste peut être vide.
+     */
+    public List<Secouriste> findAvailableWithCompetencesBetweenDates(LocalDate debut, LocalDate fin) {
+        try (Connection conn = getConnection()) {
+            return findAvailableWithCompetences(conn, debut, fin);
+        } catch (SQLException e) {
+            System.err.println("Error finding available secouristes between " + debut + " and " + fin + ": " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Charge les affectations enregistrées sur une période, sans hydrater chaque ligne : une requête
+     * pour les DPS de la période (avec leur site et leur sport), une pour les affectations.
+     * Seules les affectations des secouristes fournis sont retenues ; elles les référencent directement.
+     *
+     * @param debut       Le premier jour de la période.
+     * @param fin         Le dernier jour de la période (inclus).
+     * @param secouristes Les secouristes concernés.
+     * @return Les affectations trouvées. La liste peut être vide.
+     */
+    public List<Affectation> findAffectationsBetweenDates(LocalDate debut, LocalDate fin, List<Secouriste> secouristes) {
+        List<Affectation> affectations = new ArrayList<>();
+        if (secouristes.isEmpty()) {
+            return affectations;
+        }
+        Map<Long, DPS> dpsParId = new HashMap<>();
+        for (DPS dps : new DPSDAO().findAllBetweenDates(debut, fin)) {
+            dpsParId.put(dps.getId(), dps);
+        }
+        Map<Long, Secouriste> secouristesParId = new HashMap<>();
+        for (Secouriste secouriste : secouristes) {
+            secouristesParId.put(secouriste.getId(), secouriste);
+        }
+        Map<String, Competence> competencesParIntitule = new HashMap<>();
+        String sql = "SELECT a.idDPS, a.idSecouriste, a.intituleCompetence "
+                + "FROM Affectation a JOIN DPS d ON a.idDPS = d.id WHERE d.jour BETWEEN ? AND ?";
+        try (Connection conn = getConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, java.sql.Date.valueOf(debut));
+            pstmt.setDate(2, java.sql.Date.valueOf(fin));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    DPS dps = dpsParId.get(rs.getLong("idDPS"));
+                    Secouriste secouriste = secouristesParId.get(rs.getLong("idSecouriste"));
+                    if (dps != null && secouriste != null) {
+                        affectations.add(new Affectation(dps, secouriste,
+                                competencesParIntitule.computeIfAbsent(rs.getString("intituleCompetence"), Competence::new)));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error finding affectations between " + debut + " and " + fin + ": " + e.getMessage());
+        }
+        return affectations;
+    }
+
+    private List<Secouriste> findAvailableWithCompetences(Connection conn, LocalDate date) throws SQLException {
+        return findAvailableWithCompetences(conn, date, date);
+    }
+
+    private List<Secouriste> findAvailableWithCompetences(Connection conn, LocalDate debut, LocalDate fin) throws SQLException {
+        List<Secouriste> secouristes = new ArrayList<>();
+        String sql = "SELECT s.id, s.nom, s.prenom, s.dateNaissance, s.email, s.tel, s.adresse, e.jour, p.intituleCompetence "
+                + "FROM Secouriste s JOIN EstDisponible e ON e.idSecouriste = s.id "
+                + "LEFT JOIN Possede p ON p.idSecouriste = s.id "
+                + "WHERE e.jour BETWEEN ? AND ? ORDER BY s.id";
+        Map<String, Competence> competencesParIntitule = new HashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDate(1, java.sql.Date.valueOf(debut));
+            pstmt.setDate(2, java.sql.Date.valueOf(fin));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                Secouriste courant = null;
+                while (rs.next()) {
+                    long id = rs.getLong("id");
+                    // Les lignes d'un même secouriste sont consécutives (tri par ID).
+                    if (courant == null || courant.getId() != id) {
+                        courant = new Secouriste(id, rs.getString("nom"), rs.getString("prenom"),
+                                rs.getDate("dateNaissance"), rs.getString("email"), rs.getString("tel"),
+                                rs.getString("adresse"));
+                        secouristes.add(courant);
+                    }
+                    // Une ligne par jour et par compétence : les ensembles du secouriste suppriment les doublons.
+                    courant.addDisponibilite(CacheReferences.getJournee(rs.getDate("jour").toLocalDate()));
+                    String intitule = rs.getString("intituleCompetence");
+                    if (intitule != null) {
+                        courant.addCompetence(competencesParIntitule.computeIfAbsent(intitule, Competence::new));
+                    }
+                }
+            }
+        }
+        return secouristes;
+    }
+}
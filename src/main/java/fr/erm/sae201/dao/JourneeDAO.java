@@ -11,12 +11,13 @@ import java.util.List;
  * 
  * Une Journee représente une date spécifique, qui sert de clé primaire.
  * Cette classe gère les opérations CRUD pour les enregistrements de Journee.
+ * Toute écriture vide le cache de références ({@link CacheReferences}).
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class JourneeDAO extends DAO<Journee> {
 
@@ -81,7 +82,9 @@ public class JourneeDAO extends DAO<Journee> {
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setDate(1, Date.valueOf(journee.getDate()));
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            return lignes;
         } catch (SQLException e) {
             // L'erreur se produit souvent si la date existe déjà (violant la contrainte de clé primaire).
             System.err.println("Error creating Journee " + journee + ": " + e.getMessage());
@@ -103,7 +106,9 @@ public class JourneeDAO extends DAO<Journee> {
         try (Connection conn = getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setDate(1, Date.valueOf(journee.getDate()));
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error deleting Journee " + journee + ": " + e.getMessage());
             return -1;
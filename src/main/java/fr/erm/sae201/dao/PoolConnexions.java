@@ -0,0 +1,476 @@
+package fr.erm.sae201.dao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool borné de connexions JDBC, partagé par tous les DAO.
+ *
+ * Les connexions physiques sont créées à la demande et réutilisées : {@link #getConnection()}
+ * retourne une connexion dont la fermeture (typiquement par un try-with-resources) la rend au
+ * pool au lieu de la fermer. Le nombre de connexions simultanées est limité ; au-delà, l'appelant
+ * attend qu'une connexion se libère, au plus {@link #DELAI_EMPRUNT_MILLIS} ms.
+ *
+ * Une connexion restée inactive un moment est validée avant d'être prêtée. Une tâche d'entretien
+ * ferme les connexions inactives depuis trop longtemps ou trop anciennes, et signale celles qui sont
+ * empruntées depuis anormalement longtemps (fuite probable). L'endroit de l'emprunt n'est affiché que
+ * si sa mémorisation a été activée ({@link #setTraceEmprunts(boolean)}), car elle coûte une pile par emprunt.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.2
+ */
+public final class PoolConnexions {
+
+    /**
+     * Nombre maximal de connexions empruntées en même temps par un même thread. Le chargement
+     * le plus imbriqué est celui d'une affectation : sa connexion reste ouverte pendant le chargement
+     * du secouriste, qui peut lui-même charger le graphe des compétences lors du premier accès.
+     */
+    public static final int PROFONDEUR_EMPRUNT_MAX = 3;
+
+    /**
+     * Nombre de threads prévus pour emprunter des connexions en même temps (calculs, interface et
+     * chargements de vue). Au-delà, un thread attend qu'un autre rende ses connexions.
+     */
+    public static final int EMPRUNTEURS_SIMULTANES = 4;
+
+    /**
+     * Nombre maximal de connexions ouvertes en même temps : chaque emprunteur prévu peut
+     * atteindre la profondeur maximale sans en bloquer un autre.
+     */
+    public static final int TAILLE_MAX = EMPRUNTEURS_SIMULTANES * PROFONDEUR_EMPRUNT_MAX;
+
+    /** Délai maximal d'attente d'une connexion libre, en millisecondes. */
+    public static final long DELAI_EMPRUNT_MILLIS = 30_000;
+
+    /** Durée d'inactivité au-delà de laquelle une connexion est fermée, en millisecondes. */
+    public static final long DUREE_INACTIVITE_MAX_MILLIS = 10 * 60_000;
+
+    /** Durée de vie maximale d'une connexion physique, en millisecondes. */
+    public static final long DUREE_VIE_MAX_MILLIS = 30 * 60_000;
+
+    /** Durée d'emprunt au-delà de laquelle une fuite est signalée, en millisecondes. */
+    public static final long SEUIL_FUITE_MILLIS = 60_000;
+
+    /** Une connexion inactive depuis moins longtemps que ce délai est prêtée sans validation. */
+    private static final long VALIDATION_APRES_MILLIS = 500;
+
+    /** Délai accordé à la validation d'une connexion, en secondes. */
+    private static final int DELAI_VALIDATION_SECONDES = 2;
+
+    /** Période de la tâche d'entretien, en millisecondes. */
+    private static final long PERIODE_ENTRETIEN_MILLIS = 15_000;
+
+    /**
+     * Crée les connexions physiques du pool.
+     */
+    @FunctionalInterface
+    public interface FournisseurConnexions {
+
+        /**
+         * @return Une nouvelle connexion physique.
+         * @throws SQLException si la connexion ne peut pas être établie.
+         */
+        Connection creer() throws SQLException;
+    }
+
+    /**
+     * Une connexion physique et son historique dans le pool.
+     */
+    private static final class ConnexionPhysique {
+        private final Connection connexion;
+        private final long creation = System.currentTimeMillis();
+        private volatile long dernierRetour = creation;
+        private volatile long emprunt;
+        private volatile Exception origineEmprunt;
+        private volatile boolean fuiteSignalee;
+
+        private ConnexionPhysique(Connection connexion) {
+            this.connexion = connexion;
+        }
+    }
+
+    private final FournisseurConnexions fournisseur;
+    private final int tailleMax;
+    private final long delaiEmpruntMillis;
+    private final long dureeInactiviteMaxMillis;
+    private final long dureeVieMaxMillis;
+    private final long seuilFuiteMillis;
+
+    /** Un permis par connexion pouvant être empruntée. */
+    private final Semaphore permis;
+
+    /** Connexions disponibles, la plus récemment rendue en tête (accès synchronisé sur la file). */
+    private final Deque<ConnexionPhysique> inactives = new ArrayDeque<>();
+
+    /** Connexions actuellement prêtées. */
+    private final Set<ConnexionPhysique> empruntees = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger threadsEnAttente = new AtomicInteger();
+    private final LongAdder nombreEmprunts = new LongAdder();
+    private final LongAdder tempsAttenteTotalMillis = new LongAdder();
+    private final AtomicLong tempsAttenteMaxMillis = new AtomicLong();
+    private final LongAdder fuitesDetectees = new LongAdder();
+
+    private final ScheduledExecutorService entretien;
+    private volatile boolean ferme;
+
+    /** Si vrai, l'endroit de chaque emprunt est mémorisé pour être affiché avec une fuite. */
+    private volatile boolean traceEmprunts;
+
+    /**
+     * Crée un pool avec les réglages par défaut.
+     *
+     * @param fournisseur La fabrique des connexions physiques.
+     */
+    public PoolConnexions(FournisseurConnexions fournisseur) {
+        this(fournisseur, TAILLE_MAX, DELAI_EMPRUNT_MILLIS, DUREE_INACTIVITE_MAX_MILLIS, DUREE_VIE_MAX_MILLIS, SEUIL_FUITE_MILLIS);
+    }
+
+    /**
+     * Crée un pool.
+     *
+     * @param fournisseur              La fabrique des connexions physiques.
+     * @param tailleMax                Le nombre maximal de connexions ouvertes. Doit être strictement positif.
+     * @param delaiEmpruntMillis       Le délai maximal d'attente d'une connexion libre.
+     * @param dureeInactiviteMaxMillis La durée d'inactivité au-delà de laquelle une connexion est fermée.
+     * @param dureeVieMaxMillis        La durée de vie maximale d'une connexion physique.
+     * @param seuilFuiteMillis         La durée d'emprunt au-delà de laquelle une fuite est signalée.
+     * @throws IllegalArgumentException si la taille n'est pas strictement positive ou si une durée est négative.
+     */
+    public PoolConnexions(FournisseurConnexions fournisseur, int tailleMax, long delaiEmpruntMillis,
+                          long dureeInactiviteMaxMillis, long dureeVieMaxMillis, long seuilFuiteMillis) {
+        if (tailleMax <= 0) {
+            throw new IllegalArgumentException("La taille du pool doit être strictement positive.");
+        }
+        if (delaiEmpruntMillis < 0 || dureeInactiviteMaxMillis < 0 || dureeVieMaxMillis < 0 || seuilFuiteMillis < 0) {
+            throw new IllegalArgumentException("Les durées du pool ne peuvent pas être négatives.");
+        }
+        this.fournisseur = fournisseur;
+        this.tailleMax = tailleMax;
+        this.delaiEmpruntMillis = delaiEmpruntMillis;
+        this.dureeInactiviteMaxMillis = dureeInactiviteMaxMillis;
+        this.dureeVieMaxMillis = dureeVieMaxMillis;
+        this.seuilFuiteMillis = seuilFuiteMillis;
+        this.permis = new Semaphore(tailleMax, true);
+        this.entretien = Executors.newSingleThreadScheduledExecutor(tache -> {
+            Thread thread = new Thread(tache, "entretien-pool-connexions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        entretien.scheduleWithFixedDelay(this::entretenir, PERIODE_ENTRETIEN_MILLIS, PERIODE_ENTRETIEN_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Emprunte une connexion. Elle doit être fermée après usage pour être rendue au pool.
+     *
+     * @return Une connexion prête à l'emploi.
+     * @throws SQLTimeoutException si aucune connexion ne s'est libérée dans le délai imparti.
+     * @throws SQLException        si le pool est fermé, si l'attente est interrompue ou si la connexion ne peut pas être établie.
+     */
+    public Connection getConnection() throws SQLException {
+        if (ferme) {
+            throw new SQLException("Le pool de connexions est fermé.");
+        }
+        long debut = System.nanoTime();
+        boolean obtenu;
+        threadsEnAttente.incrementAndGet();
+        try {
+            obtenu = permis.tryAcquire(delaiEmpruntMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Attente d'une connexion interrompue.", e);
+        } finally {
+            threadsEnAttente.decrementAndGet();
+        }
+        long attente = (System.nanoTime() - debut) / 1_000_000;
+        tempsAttenteMaxMillis.accumulateAndGet(attente, Math::max);
+        if (!obtenu) {
+            throw new SQLTimeoutException("Aucune connexion libre après " + attente + " ms ("
+                    + empruntees.size() + " connexions empruntées).");
+        }
+        nombreEmprunts.increment();
+        tempsAttenteTotalMillis.add(attente);
+
+        try {
+            ConnexionPhysique physique = prendreInactiveValide();
+            if (physique == null) {
+                physique = new ConnexionPhysique(fournisseur.creer());
+            }
+            physique.emprunt = System.currentTimeMillis();
+            physique.origineEmprunt = traceEmprunts ? new Exception("Connexion empruntée ici") : null;
+            physique.fuiteSignalee = false;
+            empruntees.add(physique);
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new ConnexionEmpruntee(physique));
+        } catch (SQLException | RuntimeException e) {
+            permis.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Retire les connexions inactives jusqu'à en trouver une encore utilisable.
+     *
+     * @return Une connexion valide, ou null s'il faut en créer une.
+     */
+    private ConnexionPhysique prendreInactiveValide() {
+        while (true) {
+            ConnexionPhysique physique;
+            synchronized (inactives) {
+                physique = inactives.pollFirst();
+            }
+            if (physique == null) {
+                return null;
+            }
+            long maintenant = System.currentTimeMillis();
+            if (maintenant - physique.creation >= dureeVieMaxMillis) {
+                fermerPhysique(physique);
+                continue;
+            }
+            try {
+                if (maintenant - physique.dernierRetour < VALIDATION_APRES_MILLIS
+                        || physique.connexion.isValid(DELAI_VALIDATION_SECONDES)) {
+                    return physique;
+                }
+            } catch (SQLException e) {
+                System.err.println("Error validating pooled connection: " + e.getMessage());
+            }
+            fermerPhysique(physique);
+        }
+    }
+
+    /**
+     * Remet une connexion empruntée dans le pool, dans son état par défaut, ou la ferme
+     * si elle est inutilisable, trop ancienne ou si le pool est fermé.
+     */
+    private void rendre(ConnexionPhysique physique) {
+        empruntees.remove(physique);
+        try {
+            if (ferme || physique.connexion.isClosed()
+                    || System.currentTimeMillis() - physique.creation >= dureeVieMaxMillis) {
+                fermerPhysique(physique);
+                return;
+            }
+            if (!physique.connexion.getAutoCommit()) {
+                physique.connexion.rollback();
+                physique.connexion.setAutoCommit(true);
+            }
+            physique.connexion.clearWarnings();
+            physique.dernierRetour = System.currentTimeMillis();
+            physique.origineEmprunt = null;
+            synchronized (inactives) {
+                inactives.addFirst(physique);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error returning connection to the pool: " + e.getMessage());
+            fermerPhysique(physique);
+        } finally {
+            permis.release();
+        }
+    }
+
+    /**
+     * Ferme les connexions inactives depuis trop longtemps ou trop anciennes, et signale les
+     * connexions empruntées depuis plus longtemps que le seuil de fuite. Appelée périodiquement ;
+     * peut aussi être appelée directement pour forcer un passage.
+     */
+    public void entretenir() {
+        long maintenant = System.currentTimeMillis();
+        List<ConnexionPhysique> aFermer = new ArrayList<>();
+        synchronized (inactives) {
+            Iterator<ConnexionPhysique> iterateur = inactives.iterator();
+            while (iterateur.hasNext()) {
+                ConnexionPhysique physique = iterateur.next();
+                if (maintenant - physique.dernierRetour >= dureeInactiviteMaxMillis
+                        || maintenant - physique.creation >= dureeVieMaxMillis) {
+                    iterateur.remove();
+                    aFermer.add(physique);
+                }
+            }
+        }
+        for (ConnexionPhysique physique : aFermer) {
+            fermerPhysique(physique);
+        }
+
+        for (ConnexionPhysique physique : empruntees) {
+            long duree = maintenant - physique.emprunt;
+            Exception origine = physique.origineEmprunt;
+            if (duree >= seuilFuiteMillis && !physique.fuiteSignalee && empruntees.contains(physique)) {
+                physique.fuiteSignalee = true;
+                fuitesDetectees.increment();
+                System.err.println("Possible connection leak: borrowed " + duree + " ms ago and not returned.");
+                if (origine != null) {
+                    origine.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * Active ou désactive la mémorisation de l'endroit de chaque emprunt, affiché avec les fuites
+     * signalées. Elle capture une pile à chaque emprunt : à n'activer que pour diagnostiquer une fuite.
+     *
+     * @param active `true` pour mémoriser l'endroit des emprunts suivants.
+     */
+    public void setTraceEmprunts(boolean active) {
+        traceEmprunts = active;
+    }
+
+    /**
+     * Ferme le pool : les connexions inactives sont fermées immédiatement, les connexions
+     * empruntées le seront à leur retour. Tout nouvel emprunt échoue.
+     */
+    public void fermer() {
+        ferme = true;
+        entretien.shutdownNow();
+        List<ConnexionPhysique> aFermer;
+        synchronized (inactives) {
+            aFermer = new ArrayList<>(inactives);
+            inactives.clear();
+        }
+        for (ConnexionPhysique physique : aFermer) {
+            fermerPhysique(physique);
+        }
+    }
+
+    private void fermerPhysique(ConnexionPhysique physique) {
+        DAO.closeQuietly(physique.connexion);
+    }
+
+    /**
+     * @return Le nombre maximal de connexions ouvertes en même temps.
+     */
+    public int getTailleMax() {
+        return tailleMax;
+    }
+
+    /**
+     * @return Le nombre de connexions actuellement empruntées.
+     */
+    public int getConnexionsActives() {
+        return empruntees.size();
+    }
+
+    /**
+     * @return Le nombre de connexions ouvertes en attente d'un emprunt.
+     */
+    public int getConnexionsInactives() {
+        synchronized (inactives) {
+            return inactives.size();
+        }
+    }
+
+    /**
+     * @return Le nombre de threads qui attendent une connexion libre.
+     */
+    public int getThreadsEnAttente() {
+        return threadsEnAttente.get();
+    }
+
+    /**
+     * @return Le nombre d'emprunts réussis depuis la création du pool.
+     */
+    public long getNombreEmprunts() {
+        return nombreEmprunts.sum();
+    }
+
+    /**
+     * @return Le temps d'attente moyen d'un emprunt réussi, en millisecondes.
+     */
+    public double getTempsAttenteMoyenMillis() {
+        long emprunts = nombreEmprunts.sum();
+        return emprunts == 0 ? 0.0 : (double) tempsAttenteTotalMillis.sum() / emprunts;
+    }
+
+    /**
+     * @return Le plus long temps d'attente observé, en millisecondes.
+     */
+    public long getTempsAttenteMaxMillis() {
+        return tempsAttenteMaxMillis.get();
+    }
+
+    /**
+     * @return Le nombre de fuites signalées depuis la création du pool.
+     */
+    public long getFuitesDetectees() {
+        return fuitesDetectees.sum();
+    }
+
+    /**
+     * @return Un résumé des métriques du pool, pour les journaux.
+     */
+    public String decrire() {
+        return String.format("Pool de connexions : %d actives, %d inactives (max %d), %d en attente, "
+                        + "%d emprunts, attente moyenne %.1f ms (max %d ms), %d fuites signalées.",
+                getConnexionsActives(), getConnexionsInactives(), tailleMax, getThreadsEnAttente(),
+                getNombreEmprunts(), getTempsAttenteMoyenMillis(), getTempsAttenteMaxMillis(), getFuitesDetectees());
+    }
+
+    /**
+     * Connexion prêtée à un appelant : les appels sont transmis à la connexion physique,
+     * sauf {@code close()} qui la rend au pool (une seule fois).
+     */
+    private final class ConnexionEmpruntee implements InvocationHandler {
+
+        private final ConnexionPhysique physique;
+        private final AtomicBoolean rendue = new AtomicBoolean();
+
+        private ConnexionEmpruntee(ConnexionPhysique physique) {
+            this.physique = physique;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (rendue.compareAndSet(false, true)) {
+                        rendre(physique);
+                    }
+                    return null;
+                case "isClosed":
+                    return rendue.get() || physique.connexion.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "ConnexionEmpruntee[" + physique.connexion + "]";
+                default:
+                    break;
+            }
+            if (rendue.get()) {
+                throw new SQLException("La connexion a déjà été rendue au pool.");
+            }
+            try {
+                return method.invoke(physique.connexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
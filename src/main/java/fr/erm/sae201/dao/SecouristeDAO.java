@@ -7,8 +7,10 @@ import fr.erm.sae201.metier.persistence.Secouriste;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -19,17 +21,22 @@ import java.util.Set;
  * pour les secouristes et leurs relations avec les Compétences (table 'Possede')
  * et les disponibilités (table 'EstDisponible').
  * 
+ * Les listes de secouristes sont hydratées en lot : une requête par relation pour
+ * toute la liste (clause IN), au lieu de deux requêtes par secouriste.
+ * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.4
  */
 public class SecouristeDAO extends DAO<Secouriste> {
 
-    private final CompetenceDAO competenceDAO = new CompetenceDAO();
     private final JourneeDAO journeeDAO = new JourneeDAO();
 
+    /** Nombre maximal d'IDs par clause IN lors de l'hydratation en lot. */
+    private static final int TAILLE_LOT = 500;
+
     /**
      * Compte le nombre total de secouristes dans la base de données.
      *
@@ -101,9 +108,10 @@ public class SecouristeDAO extends DAO<Secouriste> {
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    secouristes.add(mapResultSetToSecouriste(rs, true));
+                    secouristes.add(mapResultSetToSecouriste(rs));
                 }
             }
+            hydrateRelations(conn, secouristes);
         } catch (SQLException e) {
             System.err.println("Error finding filtered and paginated Secouristes: " + e.getMessage());
         }
@@ -126,10 +134,11 @@ public class SecouristeDAO extends DAO<Secouriste> {
             pstmt.setInt(2, offset);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    // "Hydrate" l'objet avec ses relations (compétences, disponibilités).
-                    secouristes.add(mapResultSetToSecouriste(rs, true));
+                    secouristes.add(mapResultSetToSecouriste(rs));
                 }
             }
+            // "Hydrate" la page avec ses relations (compétences, disponibilités).
+            hydrateRelations(conn, secouristes);
         } catch (SQLException e) {
             System.err.println("Error finding paginated Secouristes: " + e.getMessage());
         }
@@ -153,7 +162,10 @@ public class SecouristeDAO extends DAO<Secouriste> {
             pstmt.setLong(1, id);
             try (ResultSet rs = pstmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToSecouriste(rs, true);
+                    List<Secouriste> trouve = new ArrayList<>();
+                    trouve.add(mapResultSetToSecouriste(rs));
+                    hydrateRelations(conn, trouve);
+                    return trouve.get(0);
                 }
             }
         } catch (SQLException e) {
@@ -164,7 +176,7 @@ public class SecouristeDAO extends DAO<Secouriste> {
 
     /**
      * Récupère tous les secouristes de la base de données.
-     * Chaque objet Secouriste est "hydraté" avec ses compétences et disponibilités.
+     * Les objets Secouriste sont "hydratés" en lot avec leurs compétences et disponibilités.
      *
      * @return Une liste de tous les objets Secouriste trouvés.
      */
@@ -172,12 +184,14 @@ public class SecouristeDAO extends DAO<Secouriste> {
     public List<Secouriste> findAll() {
         List<Secouriste> secouristes = new ArrayList<>();
         String sql = "SELECT id, nom, prenom, dateNaissance, email, tel, adresse FROM Secouriste";
-        try (Connection conn = getConnection();
-                Statement stmt = conn.createStatement();
-                ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                secouristes.add(mapResultSetToSecouriste(rs, true));
+        try (Connection conn = getConnection()) {
+            try (Statement stmt = conn.createStatement();
+                    ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    secouristes.add(mapResultSetToSecouriste(rs));
+                }
             }
+            hydrateRelations(conn, secouristes);
         } catch (SQLException e) {
             System.err.println("Error finding all Secouristes: " + e.getMessage());
         }
@@ -195,10 +209,11 @@ public class SecouristeDAO extends DAO<Secouriste> {
         String sql = "SELECT intituleCompetence FROM Possede WHERE idSecouriste = ?";
         try (Connection conn = getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            Map<String, Competence> connues = CacheReferences.getCompetences();
             pstmt.setLong(1, secouristeId);
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    Competence comp = competenceDAO.findByIntitule(rs.getString("intituleCompetence"));
+                    Competence comp = connues.get(rs.getString("intituleCompetence"));
                     if (comp != null)
                         competences.add(comp);
                 }
@@ -322,15 +337,14 @@ public class SecouristeDAO extends DAO<Secouriste> {
     }
 
     /**
-     * Transforme une ligne d'un ResultSet en un objet Secouriste.
+     * Transforme une ligne d'un ResultSet en un objet Secouriste, sans ses relations.
      *
      * @param rs Le ResultSet positionné sur la ligne à traiter.
-     * @param fetchRelations Si `true`, les compétences et disponibilités sont aussi chargées.
      * @return Un nouvel objet Secouriste.
      * @throws SQLException Si une erreur survient lors de l'accès au ResultSet.
      */
-    private Secouriste mapResultSetToSecouriste(ResultSet rs, boolean fetchRelations) throws SQLException {
-        Secouriste secouriste = new Secouriste(
+    private Secouriste mapResultSetToSecouriste(ResultSet rs) throws SQLException {
+        return new Secouriste(
                 rs.getLong("id"),
                 rs.getString("nom"),
                 rs.getString("prenom"),
@@ -338,11 +352,64 @@ public class SecouristeDAO extends DAO<Secouriste> {
                 rs.getString("email"),
                 rs.getString("tel"),
                 rs.getString("adresse"));
-        if (fetchRelations) {
-            secouriste.setCompetences(findCompetencesForSecouriste(secouriste.getId()));
-            secouriste.setDisponibilites(findAvailabilitiesForSecouriste(secouriste.getId()));
+    }
+
+    /**
+     * Charge les compétences et les disponibilités d'une liste de secouristes en lot :
+     * une requête sur 'Possede' et une sur 'EstDisponible' par tranche de {@link #TAILLE_LOT} IDs,
+     * puis rattachement en mémoire. Les compétences et les journées proviennent du cache de
+     * références ({@link CacheReferences}), qui partage une instance par intitulé et par date.
+     *
+     * @param conn        La connexion à utiliser.
+     * @param secouristes Les secouristes à hydrater.
+     * @throws SQLException Si une erreur survient lors de l'accès à la base de données.
+     */
+    private void hydrateRelations(Connection conn, List<Secouriste> secouristes) throws SQLException {
+        if (secouristes.isEmpty()) {
+            return;
+        }
+        Map<Long, Secouriste> byId = new HashMap<>();
+        for (Secouriste secouriste : secouristes) {
+            byId.put(secouriste.getId(), secouriste);
+        }
+        Map<String, Competence> competences = CacheReferences.getCompetences();
+
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT) {
+            List<Long> lot = ids.subList(debut, Math.min(ids.size(), debut + TAILLE_LOT));
+            StringBuilder placeholders = new StringBuilder("?");
+            for (int k = 1; k < lot.size(); k++) {
+                placeholders.append(", ?");
+            }
+
+            String sqlCompetences = "SELECT idSecouriste, intituleCompetence FROM Possede WHERE idSecouriste IN (" + placeholders + ")";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlCompetences)) {
+                for (int k = 0; k < lot.size(); k++) {
+                    pstmt.setLong(k + 1, lot.get(k));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Competence competence = competences.get(rs.getString("intituleCompetence"));
+                        if (competence != null) {
+                            byId.get(rs.getLong("idSecouriste")).addCompetence(competence);
+                        }
+                    }
+                }
+            }
+
+            String sqlDisponibilites = "SELECT idSecouriste, jour FROM EstDisponible WHERE idSecouriste IN (" + placeholders + ")";
+            try (PreparedStatement pstmt = conn.prepareStatement(sqlDisponibilites)) {
+                for (int k = 0; k < lot.size(); k++) {
+                    pstmt.setLong(k + 1, lot.get(k));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        Journee journee = CacheReferences.getJournee(rs.getDate("jour").toLocalDate());
+                        byId.get(rs.getLong("idSecouriste")).addDisponibilite(journee);
+                    }
+                }
+            }
         }
-        return secouriste;
     }
 
     /**
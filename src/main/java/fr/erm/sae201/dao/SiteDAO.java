@@ -4,22 +4,37 @@ import fr.erm.sae201.metier.persistence.Site;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * DAO (Data Access Object) pour la gestion des entités Site.
  * 
  * Un Site représente un lieu géographique, identifié par un 'code' unique,
  * et inclut un nom, une longitude et une latitude. Cette classe gère les
- * opérations CRUD pour les enregistrements de Site.
+ * opérations CRUD pour les enregistrements de Site. Toute écriture vide le
+ * cache de références ({@link CacheReferences}) et incrémente la version des sites.
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.2
  */
 public class SiteDAO extends DAO<Site> {
 
+    /** Nombre d'écritures effectuées sur la table Site depuis le démarrage. */
+    private static final AtomicLong VERSION = new AtomicLong();
+
+    /**
+     * Retourne la version des sites, incrémentée après chaque écriture. Les données calculées
+     * à partir des sites (comme une matrice de trajets) sont à jour tant qu'elle n'a pas changé.
+     *
+     * @return La version courante des sites.
+     */
+    public static long getVersion() {
+        return VERSION.get();
+    }
+
     /**
      * Récupère tous les sites de la base de données.
      *
@@ -84,7 +99,10 @@ public class SiteDAO extends DAO<Site> {
             pstmt.setString(2, site.getNom());
             pstmt.setFloat(3, site.getLongitude());
             pstmt.setFloat(4, site.getLatitude());
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            VERSION.incrementAndGet();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error creating Site " + site.getCode() + ": " + e.getMessage());
             return -1;
@@ -110,7 +128,10 @@ public class SiteDAO extends DAO<Site> {
             pstmt.setFloat(2, site.getLongitude());
             pstmt.setFloat(3, site.getLatitude());
             pstmt.setString(4, site.getCode());
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            VERSION.incrementAndGet();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error updating Site " + site.getCode() + ": " + e.getMessage());
             return -1;
@@ -132,7 +153,10 @@ public class SiteDAO extends DAO<Site> {
         try (Connection conn = getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, site.getCode());
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            VERSION.incrementAndGet();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error deleting Site " + site.getCode() + ": " + e.getMessage());
             return -1;
@@ -10,12 +10,13 @@ import java.util.List;
  * 
  * Un Sport est identifié par un 'code' unique et possède un 'nom'.
  * Cette classe gère les opérations CRUD pour les enregistrements de Sport.
+ * Toute écriture vide le cache de références ({@link CacheReferences}).
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class SportDAO extends DAO<Sport> {
 
@@ -81,7 +82,9 @@ public class SportDAO extends DAO<Sport> {
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, sport.getCode());
             pstmt.setString(2, sport.getNom());
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error creating Sport " + sport.getCode() + ": " + e.getMessage());
             return -1;
@@ -105,7 +108,9 @@ public class SportDAO extends DAO<Sport> {
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, sport.getNom());
             pstmt.setString(2, sport.getCode());
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error updating Sport " + sport.getCode() + ": " + e.getMessage());
             return -1;
@@ -141,7 +146,9 @@ public class SportDAO extends DAO<Sport> {
         try (Connection conn = getConnection();
                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setString(1, code);
-            return pstmt.executeUpdate();
+            int lignes = pstmt.executeUpdate();
+            CacheReferences.invalider();
+            return lignes;
         } catch (SQLException e) {
             System.err.println("Error deleting Sport by code " + code + ": " + e.getMessage());
             return -1;
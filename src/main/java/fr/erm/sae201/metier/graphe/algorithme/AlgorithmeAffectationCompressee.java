@@ -0,0 +1,220 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémente une affectation sur un problème compressé, en supprimant les symétries.
+ *
+ * Un besoin de 8 postes identiques produit 8 objets Poste interchangeables, et la recherche
+ * exhaustive explore alors les 8! façons d'y répartir les mêmes secouristes. Cet algorithme
+ * regroupe les postes qui ont exactement les mêmes secouristes aptes en "créneaux" munis
+ * d'une capacité, et les secouristes qui ont exactement les mêmes aptitudes en classes
+ * d'équivalence munies d'un effectif. Le problème compressé est un problème de transport,
+ * résolu exactement par flot maximum (Edmonds-Karp) entre créneaux et classes ; la solution
+ * est ensuite développée en affectations individuelles. La cardinalité est optimale.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationCompressee {
+
+    /** Indices des postes du graphe d'origine, regroupés par créneau. */
+    private List<List<Integer>> postesParCreneau;
+
+    /** Indices des secouristes du graphe d'origine, regroupés par classe. */
+    private List<List<Integer>> secouristesParClasse;
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return Une liste d'affectations de cardinalité maximale.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        postesParCreneau = regrouperPostes(graphe);
+        secouristesParClasse = regrouperSecouristes(graphe);
+        int nombreCreneaux = postesParCreneau.size();
+        int nombreClasses = secouristesParClasse.size();
+
+        // Sommets : 0 = source, 1..C = créneaux, C+1..C+K = classes, C+K+1 = puits.
+        int source = 0;
+        int puits = nombreCreneaux + nombreClasses + 1;
+        int[][] capacite = new int[puits + 1][puits + 1];
+        for (int c = 0; c < nombreCreneaux; c++) {
+            List<Integer> postes = postesParCreneau.get(c);
+            capacite[source][1 + c] = postes.size();
+            // Tous les postes du créneau ont les mêmes aptitudes : on consulte le premier.
+            int posteRepresentant = postes.get(0);
+            for (int k = 0; k < nombreClasses; k++) {
+                if (graphe.estApte(secouristesParClasse.get(k).get(0), posteRepresentant)) {
+                    capacite[1 + c][1 + nombreCreneaux + k] = postes.size();
+                }
+            }
+        }
+        for (int k = 0; k < nombreClasses; k++) {
+            capacite[1 + nombreCreneaux + k][puits] = secouristesParClasse.get(k).size();
+        }
+
+        int[][] flot = calculerFlotMaximum(capacite, source, puits);
+
+        // Développement : le flot entre un créneau et une classe donne le nombre de couples à former.
+        int[] prochainSecouristeDeLaClasse = new int[nombreClasses];
+        List<AffectationResultat> affectationsTrouvees = new ArrayList<>();
+        for (int c = 0; c < nombreCreneaux; c++) {
+            List<Integer> postes = postesParCreneau.get(c);
+            int prochainPoste = 0;
+            for (int k = 0; k < nombreClasses; k++) {
+                List<Integer> secouristes = secouristesParClasse.get(k);
+                for (int unite = 0; unite < flot[1 + c][1 + nombreCreneaux + k]; unite++) {
+                    affectationsTrouvees.add(new AffectationResultat(
+                            graphe.getSecouristes().get(secouristes.get(prochainSecouristeDeLaClasse[k])),
+                            graphe.getPostes().get(postes.get(prochainPoste))));
+                    prochainSecouristeDeLaClasse[k]++;
+                    prochainPoste++;
+                }
+            }
+        }
+        return affectationsTrouvees;
+    }
+
+    /**
+     * Retourne le nombre de créneaux (groupes de postes identiques) du dernier problème résolu.
+     *
+     * @return Le nombre de créneaux.
+     */
+    public int getNombreCreneaux() {
+        return postesParCreneau == null ? 0 : postesParCreneau.size();
+    }
+
+    /**
+     * Retourne le nombre de classes de secouristes interchangeables du dernier problème résolu.
+     *
+     * @return Le nombre de classes.
+     */
+    public int getNombreClasses() {
+        return secouristesParClasse == null ? 0 : secouristesParClasse.size();
+    }
+
+    /**
+     * Regroupe les postes ayant exactement le même ensemble de secouristes aptes.
+     * Les postes qu'aucun secouriste ne peut occuper sont écartés.
+     *
+     * @param graphe Le graphe du problème.
+     * @return Les indices des postes, par créneau.
+     */
+    private static List<List<Integer>> regrouperPostes(Graphe graphe) {
+        Map<String, List<Integer>> groupes = new HashMap<>();
+        List<List<Integer>> creneaux = new ArrayList<>();
+        for (int j = 0; j < graphe.getNombrePostes(); j++) {
+            if (graphe.getNombreSecouristesAptes(j) == 0) {
+                continue;
+            }
+            String cle = Arrays.toString(graphe.getSecouristesAptes(j));
+            List<Integer> groupe = groupes.get(cle);
+            if (groupe == null) {
+                groupe = new ArrayList<>();
+                groupes.put(cle, groupe);
+                creneaux.add(groupe);
+            }
+            groupe.add(j);
+        }
+        return creneaux;
+    }
+
+    /**
+     * Regroupe les secouristes ayant exactement les mêmes postes accessibles.
+     * Les secouristes aptes à aucun poste sont écartés.
+     *
+     * @param graphe Le graphe du problème.
+     * @return Les indices des secouristes, par classe.
+     */
+    private static List<List<Integer>> regrouperSecouristes(Graphe graphe) {
+        Map<String, List<Integer>> groupes = new HashMap<>();
+        List<List<Integer>> classes = new ArrayList<>();
+        for (int i = 0; i < graphe.getNombreSecouristes(); i++) {
+            long[] accessibles = graphe.getPostesAccessibles(i);
+            boolean aucunPoste = true;
+            for (long mot : accessibles) {
+                if (mot != 0) {
+                    aucunPoste = false;
+                }
+            }
+            if (aucunPoste) {
+                continue;
+            }
+            String cle = Arrays.toString(accessibles);
+            List<Integer> groupe = groupes.get(cle);
+            if (groupe == null) {
+                groupe = new ArrayList<>();
+                groupes.put(cle, groupe);
+                classes.add(groupe);
+            }
+            groupe.add(i);
+        }
+        return classes;
+    }
+
+    /**
+     * Calcule un flot maximum par l'algorithme d'Edmonds-Karp (chemins augmentants les plus courts).
+     *
+     * @param capacite La matrice des capacités.
+     * @param source   Le sommet source.
+     * @param puits    Le sommet puits.
+     * @return La matrice du flot sur chaque arc (valeurs positives uniquement).
+     */
+    private static int[][] calculerFlotMaximum(int[][] capacite, int source, int puits) {
+        int nombreSommets = capacite.length;
+        int[][] flot = new int[nombreSommets][nombreSommets];
+        int[] precedent = new int[nombreSommets];
+
+        while (true) {
+            Arrays.fill(precedent, -1);
+            precedent[source] = source;
+            Deque<Integer> file = new ArrayDeque<>();
+            file.add(source);
+            while (!file.isEmpty() && precedent[puits] < 0) {
+                int u = file.poll();
+                for (int v = 0; v < nombreSommets; v++) {
+                    if (precedent[v] < 0 && capacite[u][v] - flot[u][v] > 0) {
+                        precedent[v] = u;
+                        file.add(v);
+                    }
+                }
+            }
+            if (precedent[puits] < 0) {
+                break;
+            }
+
+            int augmentation = Integer.MAX_VALUE;
+            for (int v = puits; v != source; v = precedent[v]) {
+                int u = precedent[v];
+                augmentation = Math.min(augmentation, capacite[u][v] - flot[u][v]);
+            }
+            for (int v = puits; v != source; v = precedent[v]) {
+                int u = precedent[v];
+                flot[u][v] += augmentation;
+                flot[v][u] -= augmentation;
+            }
+        }
+
+        for (int u = 0; u < nombreSommets; u++) {
+            for (int v = 0; v < nombreSommets; v++) {
+                if (flot[u][v] < 0) {
+                    flot[u][v] = 0;
+                }
+            }
+        }
+        return flot;
+    }
+}
@@ -0,0 +1,227 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Implémente une affectation équitable : parmi les affectations de cardinalité maximale,
+ * elle retient celle qui minimise la variance du temps de service des secouristes,
+ * historique compris.
+ *
+ * Le nombre de postes pourvus étant fixé, la moyenne des charges l'est aussi : minimiser la
+ * variance revient à minimiser la somme des carrés des charges. Ce coût est convexe et
+ * séparable par secouriste : le k-ième poste confié à un secouriste de charge h coûte
+ * (h + k·d)² − (h + (k−1)·d)², une valeur croissante avec k. Le problème devient donc un flot
+ * de coût minimal (source → postes → secouristes → puits, un arc par poste supplémentaire
+ * vers le puits), résolu exactement par plus courts chemins successifs (Dijkstra avec potentiels).
+ * L'annulation du {@link SuiviResolution} est vérifiée avant chaque chemin augmentant.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class AlgorithmeAffectationEquitable {
+
+    /** Distance d'un sommet non atteint. */
+    private static final long INFINI = Long.MAX_VALUE / 4;
+
+    /** Charge déjà effectuée par chaque secouriste du graphe, en minutes. */
+    private final long[] chargesMinutes;
+
+    /** Durée de service ajoutée par un poste, en minutes. */
+    private final int dureeMinutes;
+
+    /** Nombre maximal de postes par secouriste. */
+    private final int capacite;
+
+    // Réseau de flot stocké en listes d'arcs chaînées (arc pair = arc direct, arc impair = arc inverse).
+    private int[] tete;
+    private int[] suivant;
+    private int[] destination;
+    private int[] capaciteResiduelle;
+    private long[] cout;
+    private int nombreArcs;
+
+    /** Suivi de la résolution (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /**
+     * Crée l'algorithme pour un DPS : chaque secouriste occupe au plus un poste.
+     *
+     * @param chargesMinutes Pour chaque secouriste du graphe (même ordre), le temps de service déjà effectué.
+     * @param dureeMinutes   La durée de service d'un poste, en minutes.
+     */
+    public AlgorithmeAffectationEquitable(long[] chargesMinutes, int dureeMinutes) {
+        this(chargesMinutes, dureeMinutes, 1);
+    }
+
+    /**
+     * Crée l'algorithme en autorisant plusieurs postes par secouriste.
+     *
+     * @param chargesMinutes Pour chaque secouriste du graphe (même ordre), le temps de service déjà effectué.
+     * @param dureeMinutes   La durée de service d'un poste, en minutes.
+     * @param capacite       Le nombre maximal de postes par secouriste. Doit être strictement positif.
+     * @throws IllegalArgumentException si la durée est négative ou la capacité n'est pas strictement positive.
+     */
+    public AlgorithmeAffectationEquitable(long[] chargesMinutes, int dureeMinutes, int capacite) {
+        if (dureeMinutes < 0) {
+            throw new IllegalArgumentException("La durée d'un poste ne peut pas être négative.");
+        }
+        if (capacite <= 0) {
+            throw new IllegalArgumentException("La capacité d'un secouriste doit être strictement positive.");
+        }
+        this.chargesMinutes = chargesMinutes;
+        this.dureeMinutes = dureeMinutes;
+        this.capacite = capacite;
+    }
+
+    /**
+     * Définit le suivi de la résolution.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return Une affectation de cardinalité maximale dont la variance des charges est minimale.
+     * @throws IllegalArgumentException si le nombre de charges ne correspond pas au nombre de secouristes.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        int nombrePostes = graphe.getNombrePostes();
+        int nombreSecouristes = graphe.getNombreSecouristes();
+        if (chargesMinutes.length != nombreSecouristes) {
+            throw new IllegalArgumentException("Une charge est attendue pour chaque secouriste.");
+        }
+
+        // Sommets : 0 = source, 1..P = postes, P+1..P+S = secouristes, P+S+1 = puits.
+        int source = 0;
+        int puits = nombrePostes + nombreSecouristes + 1;
+        int nombreSommets = puits + 1;
+        int capaciteArcs = 2 * (nombrePostes + nombreSecouristes * capacite);
+        for (int j = 0; j < nombrePostes; j++) {
+            capaciteArcs += 2 * graphe.getNombreSecouristesAptes(j);
+        }
+        tete = new int[nombreSommets];
+        Arrays.fill(tete, -1);
+        suivant = new int[capaciteArcs];
+        destination = new int[capaciteArcs];
+        capaciteResiduelle = new int[capaciteArcs];
+        cout = new long[capaciteArcs];
+        nombreArcs = 0;
+
+        for (int j = 0; j < nombrePostes; j++) {
+            ajouterArc(source, 1 + j, 0);
+            long[] aptes = graphe.getSecouristesAptes(j);
+            for (int i = EnsembleBits.prochain(aptes, 0); i >= 0; i = EnsembleBits.prochain(aptes, i + 1)) {
+                ajouterArc(1 + j, 1 + nombrePostes + i, 0);
+            }
+        }
+        long d = dureeMinutes;
+        for (int i = 0; i < nombreSecouristes; i++) {
+            long h = chargesMinutes[i];
+            for (int k = 1; k <= capacite; k++) {
+                // Coût marginal du k-ième poste : (h + k·d)² − (h + (k−1)·d)².
+                ajouterArc(1 + nombrePostes + i, puits, 2 * h * d + (2L * k - 1) * d * d);
+            }
+        }
+
+        suivi.demarrer(Math.min(nombrePostes, nombreSecouristes * capacite));
+        plusCourtsCheminsSuccessifs(source, puits, nombreSommets, nombrePostes);
+
+        List<AffectationResultat> resultat = new ArrayList<>();
+        for (int j = 0; j < nombrePostes; j++) {
+            for (int arc = tete[1 + j]; arc >= 0; arc = suivant[arc]) {
+                int cible = destination[arc];
+                if ((arc & 1) == 0 && cible > nombrePostes && cible < puits && capaciteResiduelle[arc] == 0) {
+                    resultat.add(new AffectationResultat(graphe.getSecouristes().get(cible - 1 - nombrePostes),
+                            graphe.getPostes().get(j)));
+                }
+            }
+        }
+        suivi.terminer(resultat.size());
+        return resultat;
+    }
+
+    /**
+     * Augmente le flot d'une unité à la fois le long du chemin de coût réduit minimal,
+     * jusqu'à ce que le puits ne soit plus atteignable. Les coûts initiaux étant positifs,
+     * les potentiels partent de zéro et Dijkstra reste valide à chaque itération.
+     */
+    private void plusCourtsCheminsSuccessifs(int source, int puits, int nombreSommets, int nombrePostes) {
+        long[] potentiel = new long[nombreSommets];
+        long[] distance = new long[nombreSommets];
+        int[] arcPrecedent = new int[nombreSommets];
+        int flot = 0;
+        while (true) {
+            suivi.avancer(1, flot == 0 ? 0 : 1.0 / nombrePostes, flot);
+            Arrays.fill(distance, INFINI);
+            Arrays.fill(arcPrecedent, -1);
+            distance[source] = 0;
+            PriorityQueue<long[]> file = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+            file.add(new long[]{0, source});
+            while (!file.isEmpty()) {
+                long[] courant = file.poll();
+                int sommet = (int) courant[1];
+                if (courant[0] > distance[sommet]) {
+                    continue;
+                }
+                for (int arc = tete[sommet]; arc >= 0; arc = suivant[arc]) {
+                    if (capaciteResiduelle[arc] > 0) {
+                        int cible = destination[arc];
+                        long nouvelle = distance[sommet] + cout[arc] + potentiel[sommet] - potentiel[cible];
+                        if (nouvelle < distance[cible]) {
+                            distance[cible] = nouvelle;
+                            arcPrecedent[cible] = arc;
+                            file.add(new long[]{nouvelle, cible});
+                        }
+                    }
+                }
+            }
+            if (distance[puits] >= INFINI) {
+                return;
+            }
+            for (int v = 0; v < nombreSommets; v++) {
+                if (distance[v] < INFINI) {
+                    potentiel[v] += distance[v];
+                }
+            }
+            for (int v = puits; v != source; v = destination[arcPrecedent[v] ^ 1]) {
+                capaciteResiduelle[arcPrecedent[v]]--;
+                capaciteResiduelle[arcPrecedent[v] ^ 1]++;
+            }
+            flot++;
+        }
+    }
+
+    /**
+     * Ajoute un arc de capacité 1 et son arc inverse de capacité 0.
+     */
+    private void ajouterArc(int origine, int cible, long coutArc) {
+        destination[nombreArcs] = cible;
+        capaciteResiduelle[nombreArcs] = 1;
+        cout[nombreArcs] = coutArc;
+        suivant[nombreArcs] = tete[origine];
+        tete[origine] = nombreArcs;
+        nombreArcs++;
+
+        destination[nombreArcs] = origine;
+        capaciteResiduelle[nombreArcs] = 0;
+        cout[nombreArcs] = -coutArc;
+        suivant[nombreArcs] = tete[cible];
+        tete[cible] = nombreArcs;
+        nombreArcs++;
+    }
+}
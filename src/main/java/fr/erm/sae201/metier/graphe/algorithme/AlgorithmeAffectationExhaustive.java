@@ -1,6 +1,7 @@
 package fr.erm.sae201.metier.graphe.algorithme;
 
 import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
 import fr.erm.sae201.metier.graphe.modele.Poste;
 import fr.erm.sae201.metier.graphe.modele.Graphe;
 import fr.erm.sae201.metier.persistence.Secouriste;
@@ -12,34 +13,105 @@ import java.util.List;
  * Implémente un algorithme d'affectation par recherche exhaustive (backtracking).
  * Il garantit de trouver la solution optimale (le plus grand nombre d'affectations)
  * en explorant toutes les combinaisons possibles.
- * 
+ *
+ * En mode "séparation et évaluation" (branch and bound), les postes sont traités du plus
+ * contraint au moins contraint, et une branche est abandonnée dès que la solution partielle,
+ * augmentée d'une borne supérieure sur ce qui reste à pourvoir, ne peut plus dépasser
+ * la meilleure solution connue. La recherche s'arrête dès que la borne globale est atteinte.
+ * La cardinalité retournée est identique à celle de l'exploration complète.
+ *
+ * La recherche peut être suivie et annulée au moyen d'un {@link SuiviResolution}.
+ *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.2
  */
 public class AlgorithmeAffectationExhaustive {
 
     private List<AffectationResultat> meilleureSolutionTrouvee;
     private Graphe graphe;
 
+    /** Indique si la recherche utilise l'élagage par borne supérieure. */
+    private final boolean avecElagage;
+
+    /** Ordre dans lequel les postes sont examinés (ordrePostes[k] = indice du k-ième poste traité). */
+    private int[] ordrePostes;
+
+    /** aptesRestants[k] = ensemble des secouristes aptes à au moins un des postes ordrePostes[k..]. */
+    private long[][] aptesRestants;
+
+    /** Nombre maximal d'affectations atteignable : une fois atteint, la recherche s'arrête. */
+    private int borneGlobale;
+
+    /** Suivi de la recherche (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /** Nœuds explorés et part de l'arbre terminée depuis le dernier lot transmis au suivi. */
+    private long noeudsLot;
+    private double fractionLot;
+
+    /**
+     * Construit l'algorithme en mode exploration complète, sans élagage.
+     */
+    public AlgorithmeAffectationExhaustive() {
+        this(false);
+    }
+
+    /**
+     * Construit l'algorithme en choisissant le mode de recherche.
+     *
+     * @param avecElagage `true` pour activer la séparation et évaluation, `false` pour explorer toutes les branches.
+     */
+    public AlgorithmeAffectationExhaustive(boolean avecElagage) {
+        this.avecElagage = avecElagage;
+    }
+
+    /**
+     * Définit le suivi de la recherche.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
     /**
      * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
      *
      * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
      * @return La meilleure liste d'affectations trouvée.
+     * @throws ResolutionAnnuleeException si la recherche est annulée.
      */
     public List<AffectationResultat> resoudre(Graphe graphe) {
         this.graphe = graphe;
         this.meilleureSolutionTrouvee = new ArrayList<>();
 
-        // Initialisation pour le backtracking
-        boolean[] secouristeEstPris = new boolean[graphe.getNombreSecouristes()];
+        if (avecElagage) {
+            ordrePostes = ordonnerPostesPlusContraintsDabord(graphe);
+            aptesRestants = calculerAptesRestants(graphe, ordrePostes);
+            borneGlobale = Math.min(ordrePostes.length, EnsembleBits.cardinal(aptesRestants[0]));
+        } else {
+            ordrePostes = new int[graphe.getNombrePostes()];
+            for (int j = 0; j < ordrePostes.length; j++) {
+                ordrePostes[j] = j;
+            }
+            borneGlobale = graphe.getNombrePostes();
+        }
+
+        // Initialisation pour le backtracking : tous les secouristes sont libres au départ.
+        long[] secouristesLibres = EnsembleBits.creerPlein(graphe.getNombreSecouristes());
         List<AffectationResultat> affectationActuelle = new ArrayList<>();
 
+        suivi.demarrer(borneGlobale);
+        noeudsLot = 0;
+        fractionLot = 0;
+
         // Lancement de la recherche récursive depuis le premier poste (index 0)
-        chercherSolution(0, secouristeEstPris, affectationActuelle);
+        chercherSolution(0, secouristesLibres, affectationActuelle, 1.0);
 
+        suivi.avancer(noeudsLot, fractionLot, meilleureSolutionTrouvee.size());
+        suivi.terminer(meilleureSolutionTrouvee.size());
         return meilleureSolutionTrouvee;
     }
 
@@ -48,41 +120,136 @@ public class AlgorithmeAffectationExhaustive {
      * Pour chaque poste, elle essaie de l'assigner à chaque secouriste apte et disponible.
      * Elle explore aussi la branche où le poste n'est pas pourvu.
      *
-     * @param indexPoste          L'index du poste que l'on essaie de pourvoir.
-     * @param secouristeEstPris   Tableau de booléens pour savoir si un secouriste est déjà affecté.
+     * @param rang                Le rang, dans l'ordre de traitement, du poste que l'on essaie de pourvoir.
+     * @param secouristesLibres   Ensemble (en bits) des secouristes qui ne sont pas encore affectés.
      * @param affectationActuelle La liste des affectations construite dans la branche actuelle.
+     * @param poids               La part de l'arbre de recherche que représente cette branche.
      */
-    private void chercherSolution(int indexPoste, boolean[] secouristeEstPris, List<AffectationResultat> affectationActuelle) {
+    private void chercherSolution(int rang, long[] secouristesLibres, List<AffectationResultat> affectationActuelle, double poids) {
+        noeudsLot++;
+        if (noeudsLot >= SuiviResolution.NOEUDS_PAR_LOT) {
+            suivi.avancer(noeudsLot, fractionLot, meilleureSolutionTrouvee.size());
+            noeudsLot = 0;
+            fractionLot = 0;
+        }
+
+        // Arrêt anticipé : une solution atteignant la borne globale est forcément optimale.
+        if (meilleureSolutionTrouvee.size() == borneGlobale) {
+            fractionLot += poids;
+            return;
+        }
+
         // Condition de base : si on a considéré tous les postes, on a une solution complète potentielle
-        if (indexPoste == graphe.getNombrePostes()) {
+        if (rang == ordrePostes.length) {
             if (affectationActuelle.size() > meilleureSolutionTrouvee.size()) {
                 meilleureSolutionTrouvee = new ArrayList<>(affectationActuelle);
             }
+            fractionLot += poids;
             return;
         }
 
+        // ÉLAGAGE : même en pourvoyant au mieux les postes restants, on ne battrait pas la meilleure solution.
+        if (avecElagage && affectationActuelle.size() + borneSuperieure(rang, secouristesLibres) <= meilleureSolutionTrouvee.size()) {
+            fractionLot += poids;
+            return;
+        }
+
+        int indexPoste = ordrePostes[rang];
         Poste posteCourant = graphe.getPostes().get(indexPoste);
         List<Secouriste> secouristes = graphe.getSecouristes();
-        int[][] matrice = graphe.getAdjacenceMatrice();
-
-        // BRANCHE 1 : On essaie d'affecter le poste courant à un secouriste
-        for (int i = 0; i < secouristes.size(); i++) {
-            // Si le secouriste n'est pas déjà pris ET qu'il est apte (via la matrice)
-            if (!secouristeEstPris[i] && matrice[i][indexPoste] == 1) {
-                // On l'affecte provisoirement
-                secouristeEstPris[i] = true;
-                affectationActuelle.add(new AffectationResultat(secouristes.get(i), posteCourant));
-
-                // On passe récursivement au poste suivant
-                chercherSolution(indexPoste + 1, secouristeEstPris, affectationActuelle);
-
-                // BACKTRACKING : on annule l'affectation pour tester d'autres possibilités
-                affectationActuelle.remove(affectationActuelle.size() - 1);
-                secouristeEstPris[i] = false;
-            }
+        // Le poids de la branche est réparti entre ses enfants : un par secouriste possible, plus le poste non pourvu.
+        double poidsEnfant = poids / (EnsembleBits.cardinalIntersection(graphe.getSecouristesAptes(indexPoste), secouristesLibres) + 1);
+
+        // BRANCHE 1 : On essaie d'affecter le poste courant à chaque secouriste libre ET apte
+        int i = graphe.prochainSecouristeAptEtLibre(indexPoste, secouristesLibres, 0);
+        while (i >= 0) {
+            // On l'affecte provisoirement
+            EnsembleBits.retirer(secouristesLibres, i);
+            affectationActuelle.add(new AffectationResultat(secouristes.get(i), posteCourant));
+
+            // On passe récursivement au poste suivant
+            chercherSolution(rang + 1, secouristesLibres, affectationActuelle, poidsEnfant);
+
+            // BACKTRACKING : on annule l'affectation pour tester d'autres possibilités
+            affectationActuelle.remove(affectationActuelle.size() - 1);
+            EnsembleBits.ajouter(secouristesLibres, i);
+
+            i = graphe.prochainSecouristeAptEtLibre(indexPoste, secouristesLibres, i + 1);
         }
 
         // BRANCHE 2 : On explore la possibilité de NE PAS pourvoir ce poste et de passer au suivant
-        chercherSolution(indexPoste + 1, secouristeEstPris, affectationActuelle);
+        chercherSolution(rang + 1, secouristesLibres, affectationActuelle, poidsEnfant);
+    }
+
+    /**
+     * Calcule une borne supérieure du nombre d'affectations encore possibles à partir d'un rang :
+     * on ne peut pas pourvoir plus de postes qu'il n'en reste, ni employer plus de secouristes
+     * libres qu'il n'y en a d'aptes à au moins un des postes restants.
+     *
+     * @param rang              Le rang du prochain poste à traiter.
+     * @param secouristesLibres L'ensemble des secouristes encore libres.
+     * @return La borne supérieure.
+     */
+    private int borneSuperieure(int rang, long[] secouristesLibres) {
+        int postesRestants = ordrePostes.length - rang;
+        int secouristesUtiles = EnsembleBits.cardinalIntersection(aptesRestants[rang], secouristesLibres);
+        return Math.min(postesRestants, secouristesUtiles);
+    }
+
+    /**
+     * Ordonne les postes du plus contraint (le moins de secouristes aptes) au moins contraint.
+     * Les postes qu'aucun secouriste ne peut occuper sont écartés, car ils ne seront jamais pourvus.
+     *
+     * @param graphe Le graphe du problème.
+     * @return Les indices des postes dans l'ordre de traitement.
+     */
+    static int[] ordonnerPostesPlusContraintsDabord(Graphe graphe) {
+        int nombrePostes = graphe.getNombrePostes();
+        int[] degres = new int[nombrePostes];
+        int nombrePostesUtiles = 0;
+        for (int j = 0; j < nombrePostes; j++) {
+            degres[j] = graphe.getNombreSecouristesAptes(j);
+            if (degres[j] > 0) {
+                nombrePostesUtiles++;
+            }
+        }
+
+        int[] ordre = new int[nombrePostesUtiles];
+        int position = 0;
+        for (int j = 0; j < nombrePostes; j++) {
+            if (degres[j] > 0) {
+                // Tri par insertion sur le degré : le nombre de postes d'un DPS reste modeste.
+                int k = position;
+                while (k > 0 && degres[ordre[k - 1]] > degres[j]) {
+                    ordre[k] = ordre[k - 1];
+                    k--;
+                }
+                ordre[k] = j;
+                position++;
+            }
+        }
+        return ordre;
+    }
+
+    /**
+     * Précalcule, pour chaque rang, l'union des aptitudes des postes restant à traiter.
+     *
+     * @param graphe Le graphe du problème.
+     * @param ordre  L'ordre de traitement des postes.
+     * @return Un tableau de taille ordre.length + 1 (le dernier ensemble est vide).
+     */
+    static long[][] calculerAptesRestants(Graphe graphe, int[] ordre) {
+        int nombreSecouristes = graphe.getNombreSecouristes();
+        long[][] unions = new long[ordre.length + 1][];
+        unions[ordre.length] = EnsembleBits.creerVide(nombreSecouristes);
+        for (int k = ordre.length - 1; k >= 0; k--) {
+            long[] aptes = graphe.getSecouristesAptes(ordre[k]);
+            long[] union = unions[k + 1].clone();
+            for (int mot = 0; mot < union.length; mot++) {
+                union[mot] |= aptes[mot];
+            }
+            unions[k] = union;
+        }
+        return unions;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,284 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implémente une version parallèle de la recherche exhaustive avec séparation et évaluation.
+ *
+ * Les premiers niveaux de l'arbre de recherche sont découpés en sous-tâches exécutées
+ * par un {@link ForkJoinPool}. Les tâches partagent la taille de la meilleure solution
+ * connue via un entier atomique : une solution trouvée par un thread permet immédiatement
+ * aux autres d'élaguer leurs branches. Le résultat a la même cardinalité que la recherche séquentielle.
+ * Les tâches partagent aussi un {@link SuiviResolution}, qui permet d'annuler la recherche et d'en suivre l'avancement.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class AlgorithmeAffectationExhaustiveParallele {
+
+    /** Nombre de niveaux de l'arbre au-delà duquel une tâche poursuit seule, sans se découper. */
+    private static final int PROFONDEUR_DECOUPAGE = 3;
+
+    /** Nombre de tâches en attente au-delà duquel on arrête de découper (la file est assez remplie). */
+    private static final int SURPLUS_TACHES_MAX = 2;
+
+    /** Valeur indiquant qu'un poste n'est pas pourvu dans la branche courante. */
+    private static final int NON_POURVU = -1;
+
+    /** Nombre de threads utilisés pour la recherche. */
+    private final int parallelisme;
+
+    private Graphe graphe;
+    private int[] ordrePostes;
+    private long[][] aptesRestants;
+    private int borneGlobale;
+
+    /** Taille de la meilleure solution connue, partagée par tous les threads pour l'élagage. */
+    private AtomicInteger meilleureTaille;
+
+    /** Meilleure solution connue : pour chaque rang, l'indice du secouriste choisi (ou NON_POURVU). */
+    private int[] meilleurChoix;
+
+    /** Suivi de la recherche (annulation et progression), partagé par toutes les tâches. */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /**
+     * Construit l'algorithme en utilisant tous les processeurs disponibles.
+     */
+    public AlgorithmeAffectationExhaustiveParallele() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construit l'algorithme avec un niveau de parallélisme donné.
+     *
+     * @param parallelisme Le nombre de threads à utiliser. Doit être strictement positif.
+     * @throws IllegalArgumentException si le parallélisme n'est pas strictement positif.
+     */
+    public AlgorithmeAffectationExhaustiveParallele(int parallelisme) {
+        if (parallelisme <= 0) {
+            throw new IllegalArgumentException("Le niveau de parallélisme doit être strictement positif.");
+        }
+        this.parallelisme = parallelisme;
+    }
+
+    /**
+     * Définit le suivi de la recherche.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return La meilleure liste d'affectations trouvée.
+     * @throws ResolutionAnnuleeException si la recherche est annulée.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        this.graphe = graphe;
+        this.ordrePostes = AlgorithmeAffectationExhaustive.ordonnerPostesPlusContraintsDabord(graphe);
+        this.aptesRestants = AlgorithmeAffectationExhaustive.calculerAptesRestants(graphe, ordrePostes);
+        this.borneGlobale = Math.min(ordrePostes.length, EnsembleBits.cardinal(aptesRestants[0]));
+        this.meilleureTaille = new AtomicInteger(0);
+        this.meilleurChoix = null;
+
+        int[] choix = new int[ordrePostes.length];
+        long[] secouristesLibres = EnsembleBits.creerPlein(graphe.getNombreSecouristes());
+
+        suivi.demarrer(borneGlobale);
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            pool.invoke(new TacheRecherche(0, 0, secouristesLibres, choix, 1.0));
+        } finally {
+            pool.shutdown();
+        }
+        suivi.terminer(meilleureTaille.get());
+
+        List<AffectationResultat> resultat = new ArrayList<>();
+        if (meilleurChoix != null) {
+            for (int rang = 0; rang < meilleurChoix.length; rang++) {
+                if (meilleurChoix[rang] != NON_POURVU) {
+                    resultat.add(new AffectationResultat(
+                            graphe.getSecouristes().get(meilleurChoix[rang]),
+                            graphe.getPostes().get(ordrePostes[rang])));
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Enregistre une solution si elle est strictement meilleure que la meilleure connue.
+     *
+     * @param choix  Le choix de secouriste pour chaque rang.
+     * @param taille Le nombre de postes pourvus.
+     */
+    private synchronized void proposerSolution(int[] choix, int taille) {
+        if (taille > meilleureTaille.get()) {
+            meilleurChoix = choix.clone();
+            meilleureTaille.set(taille);
+        }
+    }
+
+    /**
+     * Calcule une borne supérieure du nombre d'affectations encore possibles à partir d'un rang.
+     *
+     * @param rang              Le rang du prochain poste à traiter.
+     * @param secouristesLibres L'ensemble des secouristes encore libres.
+     * @return La borne supérieure.
+     */
+    private int borneSuperieure(int rang, long[] secouristesLibres) {
+        int postesRestants = ordrePostes.length - rang;
+        int secouristesUtiles = EnsembleBits.cardinalIntersection(aptesRestants[rang], secouristesLibres);
+        return Math.min(postesRestants, secouristesUtiles);
+    }
+
+    /**
+     * Tâche explorant le sous-arbre de recherche à partir d'un rang donné.
+     * Tant que l'on est dans les premiers niveaux, chaque branche devient une sous-tâche ;
+     * au-delà, l'exploration se poursuit séquentiellement dans le thread courant.
+     */
+    private class TacheRecherche extends RecursiveAction {
+
+        private final int rang;
+        private final int taille;
+        private final long[] secouristesLibres;
+        private final int[] choix;
+        private final double poids;
+
+        /** Nœuds explorés et part de l'arbre terminée par cette tâche depuis le dernier lot transmis au suivi. */
+        private long noeudsLot;
+        private double fractionLot;
+
+        /**
+         * Construit une tâche de recherche. Les tableaux transmis appartiennent à la tâche.
+         *
+         * @param rang              Le rang du prochain poste à traiter.
+         * @param taille            Le nombre de postes pourvus dans la branche.
+         * @param secouristesLibres L'ensemble des secouristes encore libres.
+         * @param choix             Les choix effectués pour les rangs précédents.
+         * @param poids             La part de l'arbre de recherche que représente la tâche.
+         */
+        TacheRecherche(int rang, int taille, long[] secouristesLibres, int[] choix, double poids) {
+            this.rang = rang;
+            this.taille = taille;
+            this.secouristesLibres = secouristesLibres;
+            this.choix = choix;
+            this.poids = poids;
+        }
+
+        @Override
+        protected void compute() {
+            suivi.verifier();
+            if (rang >= PROFONDEUR_DECOUPAGE || getSurplusQueuedTaskCount() > SURPLUS_TACHES_MAX) {
+                chercherSequentiellement(rang, taille, secouristesLibres, choix, poids);
+                suivi.avancer(noeudsLot, fractionLot, meilleureTaille.get());
+                return;
+            }
+            if (doitElaguer(rang, taille, secouristesLibres)) {
+                suivi.avancer(1, poids, meilleureTaille.get());
+                return;
+            }
+            if (rang == ordrePostes.length) {
+                proposerSolution(choix, taille);
+                suivi.avancer(1, poids, meilleureTaille.get());
+                return;
+            }
+
+            int indexPoste = ordrePostes[rang];
+            List<TacheRecherche> sousTaches = new ArrayList<>();
+            double poidsEnfant = poids / (EnsembleBits.cardinalIntersection(graphe.getSecouristesAptes(indexPoste), secouristesLibres) + 1);
+
+            int i = graphe.prochainSecouristeAptEtLibre(indexPoste, secouristesLibres, 0);
+            while (i >= 0) {
+                long[] libresEnfant = secouristesLibres.clone();
+                EnsembleBits.retirer(libresEnfant, i);
+                int[] choixEnfant = choix.clone();
+                choixEnfant[rang] = i;
+                sousTaches.add(new TacheRecherche(rang + 1, taille + 1, libresEnfant, choixEnfant, poidsEnfant));
+                i = graphe.prochainSecouristeAptEtLibre(indexPoste, secouristesLibres, i + 1);
+            }
+
+            int[] choixSansPoste = choix.clone();
+            choixSansPoste[rang] = NON_POURVU;
+            sousTaches.add(new TacheRecherche(rang + 1, taille, secouristesLibres.clone(), choixSansPoste, poidsEnfant));
+
+            invokeAll(sousTaches);
+        }
+
+        /**
+         * Exploration séquentielle (backtracking) du sous-arbre, en élaguant
+         * avec la meilleure taille partagée entre tous les threads.
+         *
+         * @param rangCourant  Le rang du poste à traiter.
+         * @param tailleCourante Le nombre de postes pourvus dans la branche.
+         * @param libres       L'ensemble des secouristes libres, modifié puis restauré.
+         * @param choixCourant Les choix de la branche, modifiés en place.
+         * @param poidsCourant La part de l'arbre de recherche que représente la branche.
+         */
+        private void chercherSequentiellement(int rangCourant, int tailleCourante, long[] libres, int[] choixCourant,
+                                              double poidsCourant) {
+            noeudsLot++;
+            if (noeudsLot >= SuiviResolution.NOEUDS_PAR_LOT) {
+                suivi.avancer(noeudsLot, fractionLot, meilleureTaille.get());
+                noeudsLot = 0;
+                fractionLot = 0;
+            }
+            if (doitElaguer(rangCourant, tailleCourante, libres)) {
+                fractionLot += poidsCourant;
+                return;
+            }
+            if (rangCourant == ordrePostes.length) {
+                proposerSolution(choixCourant, tailleCourante);
+                fractionLot += poidsCourant;
+                return;
+            }
+
+            int indexPoste = ordrePostes[rangCourant];
+            double poidsEnfant = poidsCourant / (EnsembleBits.cardinalIntersection(graphe.getSecouristesAptes(indexPoste), libres) + 1);
+            int i = graphe.prochainSecouristeAptEtLibre(indexPoste, libres, 0);
+            while (i >= 0) {
+                EnsembleBits.retirer(libres, i);
+                choixCourant[rangCourant] = i;
+                chercherSequentiellement(rangCourant + 1, tailleCourante + 1, libres, choixCourant, poidsEnfant);
+                EnsembleBits.ajouter(libres, i);
+                i = graphe.prochainSecouristeAptEtLibre(indexPoste, libres, i + 1);
+            }
+
+            choixCourant[rangCourant] = NON_POURVU;
+            chercherSequentiellement(rangCourant + 1, tailleCourante, libres, choixCourant, poidsEnfant);
+        }
+
+        /**
+         * Indique si une branche peut être abandonnée : soit la borne globale est déjà
+         * atteinte, soit la branche ne peut pas dépasser la meilleure solution connue.
+         *
+         * @param rangCourant    Le rang du poste à traiter.
+         * @param tailleCourante Le nombre de postes pourvus dans la branche.
+         * @param libres         L'ensemble des secouristes libres.
+         * @return `true` si la branche doit être abandonnée.
+         */
+        private boolean doitElaguer(int rangCourant, int tailleCourante, long[] libres) {
+            int meilleure = meilleureTaille.get();
+            if (meilleure == borneGlobale) {
+                return true;
+            }
+            return rangCourant < ordrePostes.length
+                    && tailleCourante + borneSuperieure(rangCourant, libres) <= meilleure;
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package fr.erm.sae201.metier.graphe.algorithme;
 
 import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
 import fr.erm.sae201.metier.graphe.modele.Poste;
 import fr.erm.sae201.metier.graphe.modele.Graphe;
 import fr.erm.sae201.metier.persistence.Secouriste;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * Implémente un algorithme d'affectation simple et rapide (glouton).
@@ -35,30 +34,23 @@ public class AlgorithmeAffectationGloutonne {
             return affectationsTrouvees;
         }
 
-        // Utilise les indices pour suivre les secouristes déjà affectés
-        Set<Integer> indicesSecouristesDejaAffectes = new HashSet<>();
+        // Ensemble (en bits) des secouristes encore libres : tous au départ.
+        long[] secouristesLibres = EnsembleBits.creerPlein(graphe.getNombreSecouristes());
         List<Poste> postes = graphe.getPostes();
         List<Secouriste> secouristes = graphe.getSecouristes();
-        int[][] matrice = graphe.getAdjacenceMatrice();
 
         // On parcourt les POSTES en premier.
         for (int j = 0; j < postes.size(); j++) {
             Poste posteCourant = postes.get(j);
 
-            // Pour chaque poste, on cherche le premier secouriste libre et apte.
-            for (int i = 0; i < secouristes.size(); i++) {
-                // Si le secouriste n'a pas déjà été pris
-                if (!indicesSecouristesDejaAffectes.contains(i)) {
-                    // Si le secouriste est apte pour le poste (vérification dans la matrice)
-                    if (matrice[i][j] == 1) {
-                        // On crée l'affectation
-                        affectationsTrouvees.add(new AffectationResultat(secouristes.get(i), posteCourant));
-                        // On marque le secouriste comme pris
-                        indicesSecouristesDejaAffectes.add(i);
-                        // On arrête de chercher un secouriste pour CE poste et on passe au suivant
-                        break;
-                    }
-                }
+            // Pour chaque poste, on cherche le premier secouriste libre et apte,
+            // en croisant mot par mot les aptitudes du poste et les secouristes libres.
+            int i = graphe.prochainSecouristeAptEtLibre(j, secouristesLibres, 0);
+            if (i >= 0) {
+                // On crée l'affectation
+                affectationsTrouvees.add(new AffectationResultat(secouristes.get(i), posteCourant));
+                // On marque le secouriste comme pris
+                EnsembleBits.retirer(secouristesLibres, i);
             }
         }
 
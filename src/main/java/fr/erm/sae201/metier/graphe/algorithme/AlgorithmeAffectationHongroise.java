@@ -0,0 +1,165 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémente la méthode hongroise pour une affectation pondérée.
+ *
+ * Parmi toutes les affectations de cardinalité maximale, elle retourne celle dont la somme
+ * des coûts des arêtes ({@link Graphe#getCout(int, int)}) est minimale. Avec un coût égal
+ * à la surqualification, un PSE2 n'est placé sur un poste PSE1 que si aucun secouriste
+ * exactement qualifié ne peut le remplacer sans perdre un poste pourvu.
+ *
+ * Chaque poste dispose d'une colonne fictive "non pourvu" dont le coût dépasse la somme
+ * de tous les coûts réels : minimiser le coût total revient donc d'abord à maximiser le
+ * nombre de postes pourvus. La complexité est en O(P² × (S + P)) pour P postes et S secouristes.
+ * L'annulation du {@link SuiviResolution} est vérifiée après chaque poste traité.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.2
+ */
+public class AlgorithmeAffectationHongroise {
+
+    /** Coût d'une arête inexistante : elle n'est jamais retenue puisqu'une colonne fictive est toujours disponible. */
+    private static final long INTERDIT = Long.MAX_VALUE / 4;
+
+    private Graphe graphe;
+    private int nombreSecouristes;
+
+    /** Coût d'un poste laissé non pourvu, strictement supérieur à la somme de tous les coûts réels. */
+    private long coutNonPourvu;
+
+    /** Suivi de la résolution (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /**
+     * Définit le suivi de la résolution.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, aptitudes et coûts).
+     * @return Une affectation de cardinalité maximale et de coût total minimal.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        this.graphe = graphe;
+        this.nombreSecouristes = graphe.getNombreSecouristes();
+        int nombrePostes = graphe.getNombrePostes();
+        List<AffectationResultat> affectationsTrouvees = new ArrayList<>();
+        if (nombrePostes == 0 || nombreSecouristes == 0) {
+            return affectationsTrouvees;
+        }
+
+        long coutMaximal = 0;
+        for (int j = 0; j < nombrePostes; j++) {
+            for (int i = 0; i < nombreSecouristes; i++) {
+                if (graphe.estApte(i, j)) {
+                    coutMaximal = Math.max(coutMaximal, graphe.getCout(i, j));
+                }
+            }
+        }
+        coutNonPourvu = (coutMaximal + 1) * nombrePostes + 1;
+
+        // Colonnes : les secouristes, puis une colonne fictive "non pourvu" par poste.
+        int nombreColonnes = nombreSecouristes + nombrePostes;
+
+        // Indices à partir de 1, l'indice 0 servant de sommet de départ de chaque recherche.
+        long[] potentielPoste = new long[nombrePostes + 1];
+        long[] potentielColonne = new long[nombreColonnes + 1];
+        int[] posteDeLaColonne = new int[nombreColonnes + 1];
+        int[] colonnePrecedente = new int[nombreColonnes + 1];
+
+        // Une colonne affectée le reste : chaque chemin augmentant ne fait qu'occuper sa colonne d'arrivée.
+        int postesPourvus = 0;
+        suivi.demarrer(Math.min(nombrePostes, nombreSecouristes));
+        for (int poste = 1; poste <= nombrePostes; poste++) {
+            if (poste > 1) {
+                suivi.avancer(1, 1.0 / nombrePostes, postesPourvus);
+            }
+            posteDeLaColonne[0] = poste;
+            int colonneCourante = 0;
+            long[] minimum = new long[nombreColonnes + 1];
+            boolean[] utilisee = new boolean[nombreColonnes + 1];
+            for (int c = 0; c <= nombreColonnes; c++) {
+                minimum[c] = Long.MAX_VALUE;
+            }
+
+            // Recherche d'un chemin augmentant de coût réduit minimal (variante de Dijkstra).
+            do {
+                utilisee[colonneCourante] = true;
+                int posteCourant = posteDeLaColonne[colonneCourante];
+                long delta = Long.MAX_VALUE;
+                int colonneSuivante = 0;
+                for (int c = 1; c <= nombreColonnes; c++) {
+                    if (!utilisee[c]) {
+                        long reduit = cout(posteCourant - 1, c - 1) - potentielPoste[posteCourant] - potentielColonne[c];
+                        if (reduit < minimum[c]) {
+                            minimum[c] = reduit;
+                            colonnePrecedente[c] = colonneCourante;
+                        }
+                        if (minimum[c] < delta) {
+                            delta = minimum[c];
+                            colonneSuivante = c;
+                        }
+                    }
+                }
+                for (int c = 0; c <= nombreColonnes; c++) {
+                    if (utilisee[c]) {
+                        potentielPoste[posteDeLaColonne[c]] += delta;
+                        potentielColonne[c] -= delta;
+                    } else {
+                        minimum[c] -= delta;
+                    }
+                }
+                colonneCourante = colonneSuivante;
+            } while (posteDeLaColonne[colonneCourante] != 0);
+            if (colonneCourante <= nombreSecouristes) {
+                postesPourvus++;
+            }
+
+            // Inversion des affectations le long du chemin trouvé.
+            do {
+                int colonneAvant = colonnePrecedente[colonneCourante];
+                posteDeLaColonne[colonneCourante] = posteDeLaColonne[colonneAvant];
+                colonneCourante = colonneAvant;
+            } while (colonneCourante != 0);
+        }
+
+        for (int c = 1; c <= nombreSecouristes; c++) {
+            if (posteDeLaColonne[c] != 0) {
+                affectationsTrouvees.add(new AffectationResultat(
+                        graphe.getSecouristes().get(c - 1),
+                        graphe.getPostes().get(posteDeLaColonne[c] - 1)));
+            }
+        }
+        suivi.terminer(affectationsTrouvees.size());
+        return affectationsTrouvees;
+    }
+
+    /**
+     * Retourne le coût d'affecter un poste à une colonne (secouriste ou colonne fictive).
+     *
+     * @param indexPoste   L'indice du poste.
+     * @param indexColonne L'indice de la colonne.
+     * @return Le coût correspondant.
+     */
+    private long cout(int indexPoste, int indexColonne) {
+        if (indexColonne >= nombreSecouristes) {
+            return coutNonPourvu;
+        }
+        return graphe.estApte(indexColonne, indexPoste) ? graphe.getCout(indexColonne, indexPoste) : INTERDIT;
+    }
+}
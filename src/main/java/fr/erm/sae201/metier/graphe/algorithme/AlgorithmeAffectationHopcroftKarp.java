@@ -0,0 +1,198 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Secouriste;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémente l'algorithme de Hopcroft-Karp pour trouver un couplage maximum
+ * dans le graphe biparti postes / secouristes.
+ *
+ * Contrairement à la recherche exhaustive, cet algorithme s'exécute en temps
+ * polynomial (O(E * racine(V))) tout en garantissant le nombre maximal d'affectations.
+ * À chaque phase, un parcours en largeur calcule les distances depuis les postes libres,
+ * puis des parcours en profondeur cherchent des chemins augmentants disjoints de longueur minimale.
+ * L'annulation du {@link SuiviResolution} est vérifiée entre deux phases.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class AlgorithmeAffectationHopcroftKarp {
+
+    /** Valeur utilisée pour indiquer qu'un sommet n'est pas couplé. */
+    private static final int LIBRE = -1;
+
+    /** Distance utilisée pour les sommets non atteints par le parcours en largeur. */
+    private static final int INFINI = Integer.MAX_VALUE;
+
+    /** Pour chaque poste, la liste des indices des secouristes aptes. */
+    private int[][] secouristesAptesParPoste;
+
+    /** Pour chaque poste, l'indice du secouriste qui lui est couplé (ou LIBRE). */
+    private int[] secouristeDuPoste;
+
+    /** Pour chaque secouriste, l'indice du poste qui lui est couplé (ou LIBRE). */
+    private int[] posteDuSecouriste;
+
+    /** Distances des postes calculées lors du parcours en largeur de la phase courante. */
+    private int[] distance;
+
+    /** Suivi de la résolution (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /**
+     * Définit le suivi de la résolution.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return Une liste d'affectations de cardinalité maximale.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        List<AffectationResultat> affectationsTrouvees = new ArrayList<>();
+        int nombrePostes = graphe.getNombrePostes();
+        int nombreSecouristes = graphe.getNombreSecouristes();
+
+        if (nombrePostes == 0 || nombreSecouristes == 0) {
+            return affectationsTrouvees;
+        }
+
+        construireListesAdjacence(graphe);
+
+        secouristeDuPoste = new int[nombrePostes];
+        posteDuSecouriste = new int[nombreSecouristes];
+        distance = new int[nombrePostes];
+        for (int j = 0; j < nombrePostes; j++) {
+            secouristeDuPoste[j] = LIBRE;
+        }
+        for (int i = 0; i < nombreSecouristes; i++) {
+            posteDuSecouriste[i] = LIBRE;
+        }
+
+        int borne = Math.min(nombrePostes, nombreSecouristes);
+        suivi.demarrer(borne);
+        int taille = 0;
+        // Chaque phase augmente le couplage d'un ensemble maximal de chemins augmentants disjoints.
+        while (parcoursEnLargeur()) {
+            int tailleAvantPhase = taille;
+            for (int j = 0; j < nombrePostes; j++) {
+                if (secouristeDuPoste[j] == LIBRE && parcoursEnProfondeur(j)) {
+                    taille++;
+                }
+            }
+            suivi.avancer(1, (double) (taille - tailleAvantPhase) / borne, taille);
+        }
+        suivi.terminer(taille);
+
+        List<Poste> postes = graphe.getPostes();
+        List<Secouriste> secouristes = graphe.getSecouristes();
+        for (int j = 0; j < nombrePostes; j++) {
+            if (secouristeDuPoste[j] != LIBRE) {
+                affectationsTrouvees.add(new AffectationResultat(secouristes.get(secouristeDuPoste[j]), postes.get(j)));
+            }
+        }
+        return affectationsTrouvees;
+    }
+
+    /**
+     * Convertit les ensembles de bits du graphe en listes d'adjacence compactes,
+     * afin que chaque parcours ne visite que les arêtes existantes.
+     *
+     * @param graphe Le graphe à convertir.
+     */
+    private void construireListesAdjacence(Graphe graphe) {
+        int nombrePostes = graphe.getNombrePostes();
+
+        secouristesAptesParPoste = new int[nombrePostes][];
+        for (int j = 0; j < nombrePostes; j++) {
+            long[] aptes = graphe.getSecouristesAptes(j);
+            int[] liste = new int[EnsembleBits.cardinal(aptes)];
+            int position = 0;
+            int i = EnsembleBits.prochain(aptes, 0);
+            while (i >= 0) {
+                liste[position] = i;
+                position++;
+                i = EnsembleBits.prochain(aptes, i + 1);
+            }
+            secouristesAptesParPoste[j] = liste;
+        }
+    }
+
+    /**
+     * Calcule, depuis l'ensemble des postes libres, la distance de chaque poste
+     * en suivant des chemins alternés (arête libre puis arête du couplage).
+     *
+     * @return `true` si au moins un chemin augmentant existe encore.
+     */
+    private boolean parcoursEnLargeur() {
+        int nombrePostes = secouristeDuPoste.length;
+        int[] file = new int[nombrePostes];
+        int debut = 0;
+        int fin = 0;
+
+        for (int j = 0; j < nombrePostes; j++) {
+            if (secouristeDuPoste[j] == LIBRE) {
+                distance[j] = 0;
+                file[fin] = j;
+                fin++;
+            } else {
+                distance[j] = INFINI;
+            }
+        }
+
+        boolean cheminAugmentantTrouve = false;
+        while (debut < fin) {
+            int poste = file[debut];
+            debut++;
+            for (int secouriste : secouristesAptesParPoste[poste]) {
+                int posteSuivant = posteDuSecouriste[secouriste];
+                if (posteSuivant == LIBRE) {
+                    // Un secouriste libre est atteignable : il existe un chemin augmentant.
+                    cheminAugmentantTrouve = true;
+                } else if (distance[posteSuivant] == INFINI) {
+                    distance[posteSuivant] = distance[poste] + 1;
+                    file[fin] = posteSuivant;
+                    fin++;
+                }
+            }
+        }
+        return cheminAugmentantTrouve;
+    }
+
+    /**
+     * Cherche un chemin augmentant depuis le poste donné en respectant les
+     * distances calculées par le parcours en largeur, puis inverse le couplage le long de ce chemin.
+     *
+     * @param poste L'indice du poste de départ.
+     * @return `true` si un chemin augmentant a été trouvé et appliqué.
+     */
+    private boolean parcoursEnProfondeur(int poste) {
+        for (int secouriste : secouristesAptesParPoste[poste]) {
+            int posteSuivant = posteDuSecouriste[secouriste];
+            if (posteSuivant == LIBRE
+                    || (distance[posteSuivant] == distance[poste] + 1 && parcoursEnProfondeur(posteSuivant))) {
+                posteDuSecouriste[secouriste] = poste;
+                secouristeDuPoste[poste] = secouriste;
+                return true;
+            }
+        }
+        // Le poste ne mène à aucun chemin augmentant dans cette phase : on le retire du parcours.
+        distance[poste] = INFINI;
+        return false;
+    }
+}
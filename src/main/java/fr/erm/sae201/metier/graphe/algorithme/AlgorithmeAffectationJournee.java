@@ -0,0 +1,246 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.GrapheJournee;
+import fr.erm.sae201.metier.graphe.modele.LimitesJournee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémente l'affectation globale d'une journée : tous les postes de tous les DPS du jour
+ * sont pourvus ensemble, un secouriste pouvant enchaîner plusieurs DPS dont les horaires
+ * ne se chevauchent pas.
+ *
+ * L'algorithme généralise la recherche de chemins augmentants (Kuhn) au cas avec conflits :
+ * pour pourvoir un poste, on peut prendre un secouriste apte s'il est libre sur ce créneau,
+ * ou s'il n'occupe qu'un seul poste en conflit, à condition de pouvoir réaffecter ce poste
+ * à quelqu'un d'autre, récursivement. Quand tous les DPS se chevauchent, ou qu'aucun ne se
+ * chevauche, on retrouve exactement un couplage maximum. Dans le cas général (problème
+ * NP-difficile), le résultat est une très bonne approximation qui ne dépend plus de l'ordre
+ * dans lequel les DPS sont traités par l'administrateur.
+ *
+ * Des {@link LimitesJournee} peuvent être fournies lorsque la journée fait partie d'une
+ * période plus longue : un secouriste n'est alors retenu pour un poste que s'il est reposé,
+ * s'il ne dépasse pas le nombre maximal de DPS du jour et s'il lui reste assez de temps de
+ * service dans la semaine. Si les limites portent les charges des secouristes, les candidats
+ * à un poste sont essayés du moins sollicité au plus sollicité, pour équilibrer le temps de service.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.2
+ */
+public class AlgorithmeAffectationJournee {
+
+    /** Valeur utilisée pour indiquer qu'un poste n'est pas pourvu. */
+    private static final int LIBRE = -1;
+
+    /** Les limites individuelles des secouristes, ou null s'il n'y en a pas. */
+    private final LimitesJournee limites;
+
+    private GrapheJournee grapheJournee;
+    private Graphe graphe;
+
+    /** Pour chaque poste, l'indice du secouriste qui l'occupe (ou LIBRE). */
+    private int[] secouristeDuPoste;
+
+    /** Pour chaque secouriste, la liste des postes qu'il occupe dans la journée. */
+    private List<List<Integer>> postesDuSecouriste;
+
+    /** Pour chaque secouriste, le temps de service cumulé de ses postes du jour, en minutes. */
+    private int[] minutesOccupees;
+
+    /** Secouristes déjà visités lors de la recherche de chemin augmentant courante. */
+    private boolean[] visite;
+
+    /**
+     * Crée l'algorithme sans limite individuelle : seuls les conflits d'horaires comptent.
+     */
+    public AlgorithmeAffectationJournee() {
+        this(null);
+    }
+
+    /**
+     * Crée l'algorithme en respectant des limites individuelles pour chaque secouriste.
+     *
+     * @param limites Les limites de la journée, ou null pour n'en appliquer aucune.
+     */
+    public AlgorithmeAffectationJournee(LimitesJournee limites) {
+        this.limites = limites;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation de la journée.
+     *
+     * @param grapheJournee Le graphe de la journée (aptitudes et conflits entre DPS).
+     * @return La liste des affectations retenues, tous DPS confondus.
+     */
+    public List<AffectationResultat> resoudre(GrapheJournee grapheJournee) {
+        this.grapheJournee = grapheJournee;
+        this.graphe = grapheJournee.getGraphe();
+        int nombrePostes = graphe.getNombrePostes();
+        int nombreSecouristes = graphe.getNombreSecouristes();
+
+        secouristeDuPoste = new int[nombrePostes];
+        for (int j = 0; j < nombrePostes; j++) {
+            secouristeDuPoste[j] = LIBRE;
+        }
+        postesDuSecouriste = new ArrayList<>();
+        for (int i = 0; i < nombreSecouristes; i++) {
+            postesDuSecouriste.add(new ArrayList<>());
+        }
+        visite = new boolean[nombreSecouristes];
+        minutesOccupees = new int[nombreSecouristes];
+
+        // Les postes les plus contraints sont traités en premier : ils ont le moins d'alternatives.
+        int[] ordre = AlgorithmeAffectationExhaustive.ordonnerPostesPlusContraintsDabord(graphe);
+        for (int indexPoste : ordre) {
+            for (int i = 0; i < nombreSecouristes; i++) {
+                visite[i] = false;
+            }
+            chercherCheminAugmentant(indexPoste);
+        }
+
+        List<AffectationResultat> resultat = new ArrayList<>();
+        for (int j = 0; j < nombrePostes; j++) {
+            if (secouristeDuPoste[j] != LIBRE) {
+                resultat.add(new AffectationResultat(graphe.getSecouristes().get(secouristeDuPoste[j]), graphe.getPostes().get(j)));
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Cherche à pourvoir un poste, quitte à réaffecter un poste en conflit déjà occupé.
+     *
+     * @param indexPoste L'indice du poste à pourvoir.
+     * @return `true` si le poste a pu être pourvu.
+     */
+    private boolean chercherCheminAugmentant(int indexPoste) {
+        for (int i : candidatsPour(indexPoste)) {
+            if (!visite[i]) {
+                visite[i] = true;
+                int posteEnConflit = trouverUniquePosteEnConflit(i, indexPoste);
+                if (!respecteLimites(i, indexPoste, posteEnConflit)) {
+                    posteEnConflit = -2;
+                }
+                if (posteEnConflit == LIBRE) {
+                    // Le secouriste est libre sur ce créneau.
+                    affecter(i, indexPoste);
+                    return true;
+                }
+                if (posteEnConflit >= 0) {
+                    // Le secouriste libère son poste en conflit, qu'on essaie de confier à un autre.
+                    desaffecter(i, posteEnConflit);
+                    affecter(i, indexPoste);
+                    if (chercherCheminAugmentant(posteEnConflit)) {
+                        return true;
+                    }
+                    desaffecter(i, indexPoste);
+                    affecter(i, posteEnConflit);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Liste les secouristes aptes à un poste, dans l'ordre où les essayer : par indice, ou par
+     * charge croissante (charge passée plus postes déjà occupés dans la journée) si les limites
+     * portent des charges.
+     *
+     * @param indexPoste L'indice du poste.
+     * @return Les indices des secouristes aptes.
+     */
+    private List<Integer> candidatsPour(int indexPoste) {
+        long[] aptes = graphe.getSecouristesAptes(indexPoste);
+        List<Integer> candidats = new ArrayList<>();
+        for (int i = EnsembleBits.prochain(aptes, 0); i >= 0; i = EnsembleBits.prochain(aptes, i + 1)) {
+            candidats.add(i);
+        }
+        if (limites != null && limites.aDesCharges()) {
+            candidats.sort((a, b) -> Long.compare(limites.getCharge(a) + minutesOccupees[a],
+                    limites.getCharge(b) + minutesOccupees[b]));
+        }
+        return candidats;
+    }
+
+    /**
+     * Cherche les postes occupés par un secouriste qui sont en conflit avec un poste donné.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste visé.
+     * @return LIBRE s'il n'y a aucun conflit, l'indice du poste s'il y en a exactement un,
+     *         ou -2 s'il y en a plusieurs (le secouriste est alors ignoré).
+     */
+    private int trouverUniquePosteEnConflit(int indexSecouriste, int indexPoste) {
+        int trouve = LIBRE;
+        for (int posteOccupe : postesDuSecouriste.get(indexSecouriste)) {
+            if (grapheJournee.postesEnConflit(posteOccupe, indexPoste)) {
+                if (trouve != LIBRE) {
+                    return -2;
+                }
+                trouve = posteOccupe;
+            }
+        }
+        return trouve;
+    }
+
+    /**
+     * Vérifie qu'un secouriste peut prendre un poste, éventuellement en libérant un autre poste,
+     * sans dépasser ses limites individuelles.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste visé.
+     * @param posteLibere     L'indice du poste qu'il libérerait, LIBRE s'il n'en libère aucun,
+     *                        ou -2 s'il est de toute façon ignoré.
+     * @return `true` si les limites sont respectées (toujours vrai sans limites).
+     */
+    private boolean respecteLimites(int indexSecouriste, int indexPoste, int posteLibere) {
+        if (limites == null || posteLibere == -2) {
+            return true;
+        }
+        int dps = grapheJournee.getDpsDuPoste(indexPoste);
+        if (!limites.estRepose(indexSecouriste, dps)) {
+            return false;
+        }
+        int nombre = postesDuSecouriste.get(indexSecouriste).size() + 1;
+        int minutes = minutesOccupees[indexSecouriste] + limites.getDuree(dps);
+        if (posteLibere >= 0) {
+            nombre--;
+            minutes -= limites.getDuree(grapheJournee.getDpsDuPoste(posteLibere));
+        }
+        return nombre <= limites.getMaxDps() && minutes <= limites.getBudget(indexSecouriste);
+    }
+
+    /**
+     * Affecte un secouriste à un poste.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste.
+     */
+    private void affecter(int indexSecouriste, int indexPoste) {
+        secouristeDuPoste[indexPoste] = indexSecouriste;
+        postesDuSecouriste.get(indexSecouriste).add(indexPoste);
+        if (limites != null) {
+            minutesOccupees[indexSecouriste] += limites.getDuree(grapheJournee.getDpsDuPoste(indexPoste));
+        }
+    }
+
+    /**
+     * Retire l'affectation d'un secouriste à un poste.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste.
+     */
+    private void desaffecter(int indexSecouriste, int indexPoste) {
+        secouristeDuPoste[indexPoste] = LIBRE;
+        postesDuSecouriste.get(indexSecouriste).remove(Integer.valueOf(indexPoste));
+        if (limites != null) {
+            minutesOccupees[indexSecouriste] -= limites.getDuree(grapheJournee.getDpsDuPoste(indexPoste));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Secouriste;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Résout le problème d'affectation en découpant d'abord le graphe en composantes connexes.
+ *
+ * Deux postes qui ne partagent aucun secouriste apte, même indirectement, forment des
+ * sous-problèmes indépendants : par exemple, les postes de chef de poste ne sont reliés
+ * qu'à quelques secouristes expérimentés. Chaque composante est résolue séparément, en
+ * parallèle, avec l'algorithme adapté à sa taille : la recherche exhaustive pour les
+ * petites composantes, Hopcroft-Karp au-delà. Les deux sont optimaux, le résultat fusionné
+ * l'est donc aussi, mais une recherche exponentielle devient plusieurs petites recherches.
+ * L'avancement est mesuré en postes des composantes résolues, et l'annulation est transmise
+ * à la résolution de chaque composante.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class AlgorithmeAffectationParComposantes {
+
+    /** Nombre de postes par défaut au-delà duquel une composante est résolue par Hopcroft-Karp. */
+    public static final int SEUIL_EXHAUSTIF_PAR_DEFAUT = 12;
+
+    /** Nombre maximal de postes d'une composante pour qu'elle soit résolue par recherche exhaustive. */
+    private final int seuilExhaustif;
+
+    /** Nombre de threads utilisés pour résoudre les composantes. */
+    private final int parallelisme;
+
+    /** Suivi de la résolution (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /**
+     * Construit l'algorithme avec le seuil par défaut, en utilisant tous les processeurs disponibles.
+     */
+    public AlgorithmeAffectationParComposantes() {
+        this(SEUIL_EXHAUSTIF_PAR_DEFAUT, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Construit l'algorithme.
+     *
+     * @param seuilExhaustif Le nombre maximal de postes d'une composante résolue par recherche exhaustive.
+     * @param parallelisme   Le nombre de threads à utiliser. Doit être strictement positif.
+     * @throws IllegalArgumentException si le seuil est négatif ou si le parallélisme n'est pas strictement positif.
+     */
+    public AlgorithmeAffectationParComposantes(int seuilExhaustif, int parallelisme) {
+        if (seuilExhaustif < 0) {
+            throw new IllegalArgumentException("Le seuil de la recherche exhaustive ne peut pas être négatif.");
+        }
+        if (parallelisme <= 0) {
+            throw new IllegalArgumentException("Le niveau de parallélisme doit être strictement positif.");
+        }
+        this.seuilExhaustif = seuilExhaustif;
+        this.parallelisme = parallelisme;
+    }
+
+    /**
+     * Définit le suivi de la résolution.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return La liste fusionnée des affectations de toutes les composantes.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        List<Graphe> composantes = decomposer(graphe);
+        List<AffectationResultat> resultat = new ArrayList<>();
+        if (composantes.isEmpty()) {
+            return resultat;
+        }
+
+        int nombrePostes = 0;
+        for (Graphe composante : composantes) {
+            nombrePostes += composante.getNombrePostes();
+        }
+        final int totalPostes = nombrePostes;
+        final AtomicInteger taille = new AtomicInteger();
+        suivi.demarrer(totalPostes);
+
+        List<RecursiveTask<List<AffectationResultat>>> taches = new ArrayList<>();
+        for (Graphe composante : composantes) {
+            taches.add(new RecursiveTask<>() {
+                @Override
+                protected List<AffectationResultat> compute() {
+                    suivi.verifier();
+                    List<AffectationResultat> solution = resoudreComposante(composante);
+                    suivi.avancer(1, (double) composante.getNombrePostes() / totalPostes, taille.addAndGet(solution.size()));
+                    return solution;
+                }
+            });
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            for (RecursiveTask<List<AffectationResultat>> tache : taches) {
+                pool.execute(tache);
+            }
+            for (RecursiveTask<List<AffectationResultat>> tache : taches) {
+                resultat.addAll(tache.join());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        suivi.terminer(resultat.size());
+        return resultat;
+    }
+
+    /**
+     * Résout une composante avec l'algorithme adapté à sa taille.
+     *
+     * @param composante Le sous-graphe d'une composante connexe.
+     * @return La meilleure affectation de la composante.
+     */
+    private List<AffectationResultat> resoudreComposante(Graphe composante) {
+        // Seule l'annulation est transmise : l'avancement est suivi composante par composante.
+        SuiviResolution suiviComposante = new SuiviResolution(suivi.getJeton(), null);
+        if (composante.getNombrePostes() <= seuilExhaustif) {
+            AlgorithmeAffectationExhaustive exhaustive = new AlgorithmeAffectationExhaustive(true);
+            exhaustive.setSuivi(suiviComposante);
+            return exhaustive.resoudre(composante);
+        }
+        AlgorithmeAffectationHopcroftKarp hopcroftKarp = new AlgorithmeAffectationHopcroftKarp();
+        hopcroftKarp.setSuivi(suiviComposante);
+        return hopcroftKarp.resoudre(composante);
+    }
+
+    /**
+     * Découpe un graphe en composantes connexes (union-find sur les postes et les secouristes).
+     * Les composantes sans poste ou sans secouriste sont écartées, car elles ne produisent aucune affectation.
+     * Les aptitudes et les coûts des arêtes sont recopiés dans chaque sous-graphe.
+     *
+     * @param graphe Le graphe à découper.
+     * @return Les sous-graphes, un par composante utile, dans l'ordre de leur premier poste.
+     */
+    public static List<Graphe> decomposer(Graphe graphe) {
+        int nombrePostes = graphe.getNombrePostes();
+        int nombreSecouristes = graphe.getNombreSecouristes();
+
+        // Sommets 0..P-1 : les postes ; sommets P..P+S-1 : les secouristes.
+        int[] parent = new int[nombrePostes + nombreSecouristes];
+        for (int k = 0; k < parent.length; k++) {
+            parent[k] = k;
+        }
+        for (int j = 0; j < nombrePostes; j++) {
+            long[] aptes = graphe.getSecouristesAptes(j);
+            int i = EnsembleBits.prochain(aptes, 0);
+            while (i >= 0) {
+                unir(parent, j, nombrePostes + i);
+                i = EnsembleBits.prochain(aptes, i + 1);
+            }
+        }
+
+        // Numérotation des composantes dans l'ordre de leur premier poste.
+        int[] composanteDeLaRacine = new int[parent.length];
+        for (int k = 0; k < parent.length; k++) {
+            composanteDeLaRacine[k] = -1;
+        }
+        List<List<Integer>> postesParComposante = new ArrayList<>();
+        List<List<Integer>> secouristesParComposante = new ArrayList<>();
+        for (int j = 0; j < nombrePostes; j++) {
+            if (graphe.getNombreSecouristesAptes(j) == 0) {
+                continue;
+            }
+            int racine = trouver(parent, j);
+            if (composanteDeLaRacine[racine] < 0) {
+                composanteDeLaRacine[racine] = postesParComposante.size();
+                postesParComposante.add(new ArrayList<>());
+                secouristesParComposante.add(new ArrayList<>());
+            }
+            postesParComposante.get(composanteDeLaRacine[racine]).add(j);
+        }
+        for (int i = 0; i < nombreSecouristes; i++) {
+            int indexComposante = composanteDeLaRacine[trouver(parent, nombrePostes + i)];
+            if (indexComposante >= 0) {
+                secouristesParComposante.get(indexComposante).add(i);
+            }
+        }
+
+        List<Graphe> composantes = new ArrayList<>();
+        for (int c = 0; c < postesParComposante.size(); c++) {
+            composantes.add(extraireSousGraphe(graphe, secouristesParComposante.get(c), postesParComposante.get(c)));
+        }
+        return composantes;
+    }
+
+    /**
+     * Construit le sous-graphe induit par une partie des secouristes et des postes.
+     *
+     * @param graphe            Le graphe d'origine.
+     * @param indexSecouristes  Les indices des secouristes retenus.
+     * @param indexPostes       Les indices des postes retenus.
+     * @return Le sous-graphe, avec les aptitudes et les coûts d'origine.
+     */
+    private static Graphe extraireSousGraphe(Graphe graphe, List<Integer> indexSecouristes, List<Integer> indexPostes) {
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i : indexSecouristes) {
+            secouristes.add(graphe.getSecouristes().get(i));
+        }
+        List<Poste> postes = new ArrayList<>();
+        for (int j : indexPostes) {
+            postes.add(graphe.getPostes().get(j));
+        }
+
+        Graphe sousGraphe = new Graphe(secouristes, postes);
+        for (int a = 0; a < indexSecouristes.size(); a++) {
+            for (int b = 0; b < indexPostes.size(); b++) {
+                int i = indexSecouristes.get(a);
+                int j = indexPostes.get(b);
+                if (graphe.estApte(i, j)) {
+                    sousGraphe.ajouterAptitude(a, b);
+                    sousGraphe.definirCout(a, b, graphe.getCout(i, j));
+                }
+            }
+        }
+        return sousGraphe;
+    }
+
+    /**
+     * Retourne la racine de l'ensemble contenant un sommet, avec compression de chemin.
+     *
+     * @param parent Le tableau des parents de l'union-find.
+     * @param sommet Le sommet.
+     * @return La racine de son ensemble.
+     */
+    private static int trouver(int[] parent, int sommet) {
+        int racine = sommet;
+        while (parent[racine] != racine) {
+            racine = parent[racine];
+        }
+        while (parent[sommet] != racine) {
+            int suivant = parent[sommet];
+            parent[sommet] = racine;
+            sommet = suivant;
+        }
+        return racine;
+    }
+
+    /**
+     * Réunit les ensembles de deux sommets.
+     *
+     * @param parent Le tableau des parents de l'union-find.
+     * @param a      Le premier sommet.
+     * @param b      Le second sommet.
+     */
+    private static void unir(int[] parent, int a, int b) {
+        int racineA = trouver(parent, a);
+        int racineB = trouver(parent, b);
+        if (racineA != racineB) {
+            parent[racineB] = racineA;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implémente un algorithme d'affectation "à tout moment" (anytime), limité par un délai.
+ *
+ * La recherche part de la solution gloutonne, immédiatement publiée, puis poursuit une
+ * séparation et évaluation qui publie chaque amélioration auprès d'un {@link EcouteurSolution}.
+ * Elle s'interrompt dès que le délai est écoulé ou que {@link #arreter()} est appelée,
+ * et retourne alors la meilleure solution connue. Si la recherche se termine avant,
+ * la solution retournée est optimale. Une instance correspond à une seule recherche.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationProgressive {
+
+    /** Nombre de nœuds explorés entre deux consultations de l'horloge. */
+    private static final int INTERVALLE_VERIFICATION = 1024;
+
+    /** Valeur indiquant qu'un poste n'est pas pourvu dans la branche courante. */
+    private static final int NON_POURVU = -1;
+
+    /** Durée maximale de la recherche, en millisecondes. */
+    private final long delaiMillis;
+
+    /** Écouteur notifié à chaque amélioration (peut être null). */
+    private final EcouteurSolution ecouteur;
+
+    /** Passe à `true` lorsque la recherche doit s'arrêter (délai écoulé ou demande explicite). */
+    private volatile boolean arretDemande;
+
+    private Graphe graphe;
+    private int[] ordrePostes;
+    private long[][] aptesRestants;
+    private int borneGlobale;
+    private long echeance;
+    private int noeudsDepuisVerification;
+
+    private List<AffectationResultat> meilleureSolution;
+    private int[] choixCourant;
+
+    /**
+     * Construit l'algorithme.
+     *
+     * @param delaiMillis Le délai maximal de recherche, en millisecondes. Doit être strictement positif.
+     * @param ecouteur    L'écouteur notifié à chaque amélioration, ou null.
+     * @throws IllegalArgumentException si le délai n'est pas strictement positif.
+     */
+    public AlgorithmeAffectationProgressive(long delaiMillis, EcouteurSolution ecouteur) {
+        if (delaiMillis <= 0) {
+            throw new IllegalArgumentException("Le délai de recherche doit être strictement positif.");
+        }
+        this.delaiMillis = delaiMillis;
+        this.ecouteur = ecouteur;
+    }
+
+    /**
+     * Demande l'arrêt de la recherche. Peut être appelée depuis n'importe quel thread ;
+     * {@link #resoudre(Graphe)} retourne alors la meilleure solution trouvée jusque-là.
+     */
+    public void arreter() {
+        arretDemande = true;
+    }
+
+    /**
+     * Indique si la dernière recherche a été interrompue avant d'avoir prouvé l'optimalité.
+     *
+     * @return `true` si la recherche a été interrompue.
+     */
+    public boolean estInterrompue() {
+        return arretDemande;
+    }
+
+    /**
+     * Point d'entrée pour résoudre le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return La meilleure liste d'affectations trouvée dans le délai imparti.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        this.graphe = graphe;
+        this.echeance = System.currentTimeMillis() + delaiMillis;
+        this.noeudsDepuisVerification = 0;
+
+        // Point de départ : la solution gloutonne, disponible presque instantanément.
+        meilleureSolution = new AlgorithmeAffectationGloutonne().resoudre(graphe);
+        publier();
+
+        ordrePostes = AlgorithmeAffectationExhaustive.ordonnerPostesPlusContraintsDabord(graphe);
+        aptesRestants = AlgorithmeAffectationExhaustive.calculerAptesRestants(graphe, ordrePostes);
+        borneGlobale = Math.min(ordrePostes.length, EnsembleBits.cardinal(aptesRestants[0]));
+        choixCourant = new int[ordrePostes.length];
+
+        if (!arretDemande) {
+            chercherSolution(0, 0, EnsembleBits.creerPlein(graphe.getNombreSecouristes()));
+        }
+        return meilleureSolution;
+    }
+
+    /**
+     * Méthode récursive de séparation et évaluation, interrompue à l'échéance.
+     *
+     * @param rang              Le rang du poste à traiter.
+     * @param taille            Le nombre de postes pourvus dans la branche.
+     * @param secouristesLibres L'ensemble des secouristes libres, modifié puis restauré.
+     */
+    private void chercherSolution(int rang, int taille, long[] secouristesLibres) {
+        if (arretDemande || meilleureSolution.size() == borneGlobale || delaiEcoule()) {
+            return;
+        }
+        if (rang == ordrePostes.length) {
+            if (taille > meilleureSolution.size()) {
+                enregistrerSolution();
+                publier();
+            }
+            return;
+        }
+        int borne = Math.min(ordrePostes.length - rang,
+                EnsembleBits.cardinalIntersection(aptesRestants[rang], secouristesLibres));
+        if (taille + borne <= meilleureSolution.size()) {
+            return;
+        }
+
+        int indexPoste = ordrePostes[rang];
+        int i = graphe.prochainSecouristeAptEtLibre(indexPoste, secouristesLibres, 0);
+        while (i >= 0) {
+            EnsembleBits.retirer(secouristesLibres, i);
+            choixCourant[rang] = i;
+            chercherSolution(rang + 1, taille + 1, secouristesLibres);
+            EnsembleBits.ajouter(secouristesLibres, i);
+            i = graphe.prochainSecouristeAptEtLibre(indexPoste, secouristesLibres, i + 1);
+        }
+
+        choixCourant[rang] = NON_POURVU;
+        chercherSolution(rang + 1, taille, secouristesLibres);
+    }
+
+    /**
+     * Vérifie périodiquement l'horloge et déclenche l'arrêt une fois l'échéance dépassée.
+     *
+     * @return `true` si le délai est écoulé.
+     */
+    private boolean delaiEcoule() {
+        noeudsDepuisVerification++;
+        if (noeudsDepuisVerification < INTERVALLE_VERIFICATION) {
+            return false;
+        }
+        noeudsDepuisVerification = 0;
+        if (System.currentTimeMillis() >= echeance) {
+            arretDemande = true;
+        }
+        return arretDemande;
+    }
+
+    /**
+     * Convertit les choix de la branche courante en liste d'affectations.
+     */
+    private void enregistrerSolution() {
+        List<AffectationResultat> solution = new ArrayList<>();
+        for (int rang = 0; rang < choixCourant.length; rang++) {
+            if (choixCourant[rang] != NON_POURVU) {
+                solution.add(new AffectationResultat(
+                        graphe.getSecouristes().get(choixCourant[rang]),
+                        graphe.getPostes().get(ordrePostes[rang])));
+            }
+        }
+        meilleureSolution = solution;
+    }
+
+    /**
+     * Transmet une copie de la meilleure solution à l'écouteur.
+     */
+    private void publier() {
+        if (ecouteur != null) {
+            ecouteur.nouvelleSolution(new ArrayList<>(meilleureSolution));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.EnsembleBits;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémente une amélioration par recherche locale d'une affectation existante (par exemple gloutonne).
+ *
+ * Deux familles de mouvements sont appliquées tant qu'elles améliorent la solution et que le délai
+ * n'est pas écoulé :
+ * 1. Chemins alternés : depuis chaque poste non pourvu, on cherche une chaîne de réaffectations
+ *    qui se termine sur un secouriste libre ; chaque chemin trouvé pourvoit un poste de plus.
+ *    Une fois ces chemins épuisés, l'affectation est de cardinalité maximale.
+ * 2. Échanges : un secouriste libre remplace un secouriste affecté moins économe, ou deux
+ *    secouristes affectés échangent leurs postes (2-opt), si le coût de surqualification diminue.
+ *    Le nombre de postes pourvus ne change pas.
+ * Le résultat n'est jamais moins bon que la solution de départ.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAmeliorationLocale {
+
+    /** Valeur indiquant qu'un poste n'est pas pourvu, ou qu'un secouriste est libre. */
+    private static final int AUCUN = -1;
+
+    /** Durée maximale de l'amélioration, en millisecondes. */
+    private final long delaiMillis;
+
+    /** Suivi de la résolution (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    private Graphe graphe;
+    private int[] secouristeDuPoste;
+    private int[] posteDuSecouriste;
+    private int[] visite;
+    private int marqueVisite;
+    private long echeance;
+
+    /**
+     * Construit l'algorithme.
+     *
+     * @param delaiMillis Le délai maximal de l'amélioration, en millisecondes. Doit être strictement positif.
+     * @throws IllegalArgumentException si le délai n'est pas strictement positif.
+     */
+    public AlgorithmeAmeliorationLocale(long delaiMillis) {
+        if (delaiMillis <= 0) {
+            throw new IllegalArgumentException("Le délai d'amélioration doit être strictement positif.");
+        }
+        this.delaiMillis = delaiMillis;
+    }
+
+    /**
+     * Définit le suivi de la résolution.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Résout le problème en améliorant la solution gloutonne.
+     *
+     * @param graphe Le graphe représentant le problème (secouristes, postes, et aptitudes).
+     * @return Une liste d'affectations au moins aussi bonne que la solution gloutonne.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
+     */
+    public List<AffectationResultat> resoudre(Graphe graphe) {
+        return ameliorer(graphe, new AlgorithmeAffectationGloutonne().resoudre(graphe));
+    }
+
+    /**
+     * Améliore une affectation partielle du graphe. Les affectations de la solution de départ
+     * qui ne correspondent à aucune arête libre du graphe sont ignorées.
+     *
+     * @param graphe   Le graphe représentant le problème.
+     * @param initiale La solution de départ.
+     * @return Une liste d'affectations au moins aussi bonne que la solution de départ.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
+     */
+    public List<AffectationResultat> ameliorer(Graphe graphe, List<AffectationResultat> initiale) {
+        this.graphe = graphe;
+        int nombrePostes = graphe.getNombrePostes();
+        int nombreSecouristes = graphe.getNombreSecouristes();
+        this.echeance = System.currentTimeMillis() + delaiMillis;
+        secouristeDuPoste = new int[nombrePostes];
+        posteDuSecouriste = new int[nombreSecouristes];
+        visite = new int[nombreSecouristes];
+        marqueVisite = 0;
+        Arrays.fill(secouristeDuPoste, AUCUN);
+        Arrays.fill(posteDuSecouriste, AUCUN);
+
+        int taille = importer(initiale);
+        int borne = Math.min(nombrePostes, nombreSecouristes);
+        suivi.demarrer(borne);
+
+        taille = ajouterCheminsAlternes(taille, borne);
+        ameliorerCouts(taille);
+
+        List<AffectationResultat> resultat = new ArrayList<>();
+        for (int j = 0; j < nombrePostes; j++) {
+            if (secouristeDuPoste[j] != AUCUN) {
+                resultat.add(new AffectationResultat(graphe.getSecouristes().get(secouristeDuPoste[j]), graphe.getPostes().get(j)));
+            }
+        }
+        suivi.terminer(resultat.size());
+        return resultat;
+    }
+
+    /**
+     * Reporte la solution de départ dans les tableaux d'indices. Les postes identiques
+     * (même DPS, même compétence) sont pris dans l'ordre.
+     *
+     * @return Le nombre de postes pourvus.
+     */
+    private int importer(List<AffectationResultat> initiale) {
+        Map<Long, Integer> indiceParId = new HashMap<>();
+        for (int i = 0; i < graphe.getNombreSecouristes(); i++) {
+            indiceParId.put(graphe.getSecouristes().get(i).getId(), i);
+        }
+        List<Poste> postes = graphe.getPostes();
+        int taille = 0;
+        for (AffectationResultat affectation : initiale) {
+            Integer i = indiceParId.get(affectation.getSecouriste().getId());
+            if (i == null || posteDuSecouriste[i] != AUCUN) {
+                continue;
+            }
+            for (int j = 0; j < postes.size(); j++) {
+                if (secouristeDuPoste[j] == AUCUN && postes.get(j).equals(affectation.getPoste()) && graphe.estApte(i, j)) {
+                    affecter(i, j);
+                    taille++;
+                    break;
+                }
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * Pourvoit autant de postes libres que possible par chemins alternés. S'il n'existe aucun
+     * chemin depuis un poste libre, il n'en existera pas davantage après d'autres augmentations :
+     * un seul passage suffit donc pour atteindre la cardinalité maximale.
+     *
+     * @return La nouvelle taille de l'affectation.
+     */
+    private int ajouterCheminsAlternes(int taille, int borne) {
+        for (int j = 0; j < graphe.getNombrePostes() && taille < borne && !delaiEcoule(); j++) {
+            if (secouristeDuPoste[j] == AUCUN) {
+                marqueVisite++;
+                if (chercherChemin(j)) {
+                    taille++;
+                }
+                suivi.avancer(1, 1.0 / Math.max(1, graphe.getNombrePostes()), taille);
+            }
+        }
+        return taille;
+    }
+
+    /**
+     * Cherche un chemin alterné depuis un poste : un secouriste apte libre le prend directement,
+     * sinon un secouriste apte déjà affecté le prend si son ancien poste trouve un remplaçant.
+     *
+     * @return `true` si le poste a été pourvu.
+     */
+    private boolean chercherChemin(int poste) {
+        long[] aptes = graphe.getSecouristesAptes(poste);
+        for (int i = EnsembleBits.prochain(aptes, 0); i >= 0; i = EnsembleBits.prochain(aptes, i + 1)) {
+            if (posteDuSecouriste[i] == AUCUN) {
+                affecter(i, poste);
+                return true;
+            }
+        }
+        for (int i = EnsembleBits.prochain(aptes, 0); i >= 0; i = EnsembleBits.prochain(aptes, i + 1)) {
+            if (visite[i] != marqueVisite) {
+                visite[i] = marqueVisite;
+                int ancienPoste = posteDuSecouriste[i];
+                if (chercherChemin(ancienPoste)) {
+                    affecter(i, poste);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Applique les remplacements et les échanges qui diminuent le coût total, jusqu'à ce qu'aucun
+     * ne l'améliore ou que le délai soit écoulé. Chaque mouvement diminue strictement un coût
+     * entier positif : la boucle se termine.
+     */
+    private void ameliorerCouts(int taille) {
+        int nombrePostes = graphe.getNombrePostes();
+        boolean ameliore = true;
+        while (ameliore && !delaiEcoule()) {
+            ameliore = false;
+            for (int j1 = 0; j1 < nombrePostes && !delaiEcoule(); j1++) {
+                int s1 = secouristeDuPoste[j1];
+                if (s1 == AUCUN) {
+                    continue;
+                }
+                // Remplacement par un secouriste libre moins surqualifié.
+                long[] aptes = graphe.getSecouristesAptes(j1);
+                for (int i = EnsembleBits.prochain(aptes, 0); i >= 0; i = EnsembleBits.prochain(aptes, i + 1)) {
+                    if (posteDuSecouriste[i] == AUCUN && graphe.getCout(i, j1) < graphe.getCout(s1, j1)) {
+                        posteDuSecouriste[s1] = AUCUN;
+                        affecter(i, j1);
+                        s1 = i;
+                        ameliore = true;
+                    }
+                }
+                // Échange 2-opt avec un autre poste pourvu.
+                for (int j2 = j1 + 1; j2 < nombrePostes; j2++) {
+                    int s2 = secouristeDuPoste[j2];
+                    if (s2 != AUCUN && graphe.estApte(s1, j2) && graphe.estApte(s2, j1)
+                            && graphe.getCout(s2, j1) + graphe.getCout(s1, j2) < graphe.getCout(s1, j1) + graphe.getCout(s2, j2)) {
+                        affecter(s2, j1);
+                        affecter(s1, j2);
+                        s1 = s2;
+                        ameliore = true;
+                    }
+                }
+            }
+            suivi.avancer(nombrePostes, 0, taille);
+        }
+    }
+
+    private void affecter(int secouriste, int poste) {
+        secouristeDuPoste[poste] = secouriste;
+        posteDuSecouriste[secouriste] = poste;
+    }
+
+    private boolean delaiEcoule() {
+        return System.currentTimeMillis() >= echeance;
+    }
+}
@@ -0,0 +1,319 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.ContraintesPlanification;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
+import fr.erm.sae201.metier.graphe.modele.GrapheJournee;
+import fr.erm.sae201.metier.graphe.modele.LimitesJournee;
+import fr.erm.sae201.metier.graphe.modele.MatriceTrajets;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Affectation;
+import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.Journee;
+import fr.erm.sae201.metier.persistence.Secouriste;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Planifie tous les DPS d'une période de plusieurs jours, par horizon glissant.
+ *
+ * Les journées sont résolues l'une après l'autre, dans l'ordre chronologique, avec
+ * {@link AlgorithmeAffectationJournee} : chaque journée tient compte de ce qui a été décidé
+ * les jours précédents (repos après le dernier DPS, temps de service déjà effectué dans la
+ * semaine). Les contraintes de {@link ContraintesPlanification} sont respectées pour chaque
+ * secouriste : nombre de DPS par jour, heures par semaine et repos entre deux DPS, y compris
+ * d'un jour sur l'autre. Si une {@link MatriceTrajets} est fournie, le temps de trajet entre
+ * les sites de deux DPS d'une même journée s'ajoute au repos exigé entre eux.
+ *
+ * La construction des graphes de chaque journée (secouristes disponibles, aptitudes, coûts,
+ * conflits) ne dépend pas des décisions prises : elle est lancée pour toutes les journées en
+ * parallèle dès le départ, pendant que les journées déjà prêtes sont résolues.
+ * L'avancement est compté en journées résolues, et l'annulation est vérifiée entre deux journées.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.4
+ */
+public class AlgorithmePlanificationPeriode {
+
+    /** Nombre de minutes dans une journée. */
+    private static final int MINUTES_PAR_JOUR = 24 * 60;
+
+    private final ContraintesPlanification contraintes;
+    private final int parallelisme;
+
+    /** Les temps de trajet entre sites, ou null s'ils sont ignorés. */
+    private final MatriceTrajets trajets;
+
+    /** Suivi de la planification (annulation et progression). */
+    private SuiviResolution suivi = new SuiviResolution();
+
+    /**
+     * Une journée prête à être résolue.
+     */
+    private static class JourPrepare {
+        private final LocalDate date;
+        private final List<DPS> dps;
+        private final int[] secouristes;
+        private final GrapheJournee grapheJournee;
+        private final int[] debuts;
+        private final int[] durees;
+
+        JourPrepare(LocalDate date, List<DPS> dps, int[] secouristes, GrapheJournee grapheJournee, int[] debuts, int[] durees) {
+            this.date = date;
+            this.dps = dps;
+            this.secouristes = secouristes;
+            this.grapheJournee = grapheJournee;
+            this.debuts = debuts;
+            this.durees = durees;
+        }
+    }
+
+    /**
+     * Crée le planificateur.
+     *
+     * @param contraintes  Les limites à respecter pour chaque secouriste.
+     * @param parallelisme Le nombre de threads à utiliser. Doit être strictement positif.
+     * @throws IllegalArgumentException si le parallélisme n'est pas strictement positif.
+     */
+    public AlgorithmePlanificationPeriode(ContraintesPlanification contraintes, int parallelisme) {
+        this(contraintes, parallelisme, null);
+    }
+
+    /**
+     * Crée le planificateur en tenant compte des temps de trajet entre sites.
+     *
+     * @param contraintes  Les limites à respecter pour chaque secouriste.
+     * @param parallelisme Le nombre de threads à utiliser. Doit être strictement positif.
+     * @param trajets      Les temps de trajet entre sites, ou null pour les ignorer.
+     * @throws IllegalArgumentException si le parallélisme n'est pas strictement positif.
+     */
+    public AlgorithmePlanificationPeriode(ContraintesPlanification contraintes, int parallelisme, MatriceTrajets trajets) {
+        if (parallelisme <= 0) {
+            throw new IllegalArgumentException("Le niveau de parallélisme doit être strictement positif.");
+        }
+        this.contraintes = contraintes;
+        this.parallelisme = parallelisme;
+        this.trajets = trajets;
+    }
+
+    /**
+     * Définit le suivi de la planification.
+     *
+     * @param suivi Le suivi à notifier et à consulter pour l'annulation.
+     */
+    public void setSuivi(SuiviResolution suivi) {
+        this.suivi = suivi;
+    }
+
+    /**
+     * Planifie la période.
+     *
+     * @param secouristes   Tous les secouristes, avec leurs compétences et leurs disponibilités.
+     * @param dpsPeriode    Les DPS de la période, dans n'importe quel ordre.
+     * @param postesParDps  Les postes à pourvoir de chaque DPS, par ID de DPS.
+     * @param hierarchie    Le graphe des compétences utilisé pour les aptitudes et les coûts.
+     * @param anterieures   Les affectations déjà enregistrées avant la période (même semaine),
+     *                      prises en compte pour le repos et les heures de la semaine.
+     * @return Les affectations proposées, tous DPS confondus (chaque poste porte l'ID de son DPS).
+     * @throws ResolutionAnnuleeException si la planification est annulée.
+     */
+    public List<AffectationResultat> resoudre(List<Secouriste> secouristes, List<DPS> dpsPeriode,
+            Map<Long, List<Poste>> postesParDps, GrapheCompetences hierarchie, List<Affectation> anterieures) {
+        Map<Long, Integer> indexSecouriste = new HashMap<>();
+        Map<LocalDate, List<Integer>> disponiblesParDate = new HashMap<>();
+        for (int k = 0; k < secouristes.size(); k++) {
+            indexSecouriste.put(secouristes.get(k).getId(), k);
+            for (Journee journee : secouristes.get(k).getDisponibilites()) {
+                disponiblesParDate.computeIfAbsent(journee.getDate(), d -> new ArrayList<>()).add(k);
+            }
+        }
+        TreeMap<LocalDate, List<DPS>> dpsParDate = new TreeMap<>();
+        for (DPS dps : dpsPeriode) {
+            dpsParDate.computeIfAbsent(dps.getJournee().getDate(), d -> new ArrayList<>()).add(dps);
+        }
+
+        // État glissant : fin du dernier service (en minutes absolues) et minutes travaillées par semaine.
+        long[] finDernierService = new long[secouristes.size()];
+        for (int k = 0; k < finDernierService.length; k++) {
+            finDernierService[k] = Long.MIN_VALUE / 2;
+        }
+        Map<Long, int[]> minutesParSemaine = new HashMap<>();
+        for (Affectation affectation : anterieures) {
+            Integer k = indexSecouriste.get(affectation.getSecouriste().getId());
+            if (k != null) {
+                enregistrerService(k, affectation.getDps(), finDernierService, minutesParSemaine);
+            }
+        }
+
+        List<RecursiveTask<JourPrepare>> taches = new ArrayList<>();
+        for (Map.Entry<LocalDate, List<DPS>> entree : dpsParDate.entrySet()) {
+            List<Integer> disponibles = disponiblesParDate.get(entree.getKey());
+            taches.add(new RecursiveTask<>() {
+                @Override
+                protected JourPrepare compute() {
+                    return preparerJour(entree.getKey(), entree.getValue(), secouristes,
+                            disponibles == null ? new ArrayList<>() : disponibles, postesParDps, hierarchie);
+                }
+            });
+        }
+
+        int nombrePostes = 0;
+        for (DPS dps : dpsPeriode) {
+            List<Poste> postes = postesParDps.get(dps.getId());
+            nombrePostes += postes == null ? 0 : postes.size();
+        }
+        suivi.demarrer(nombrePostes);
+
+        List<AffectationResultat> resultat = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            for (RecursiveTask<JourPrepare> tache : taches) {
+                pool.execute(tache);
+            }
+            for (RecursiveTask<JourPrepare> tache : taches) {
+                suivi.verifier();
+                JourPrepare jour = tache.join();
+                List<AffectationResultat> duJour = resoudreJour(jour, finDernierService, minutesParSemaine);
+                for (AffectationResultat res : duJour) {
+                    int k = indexSecouriste.get(res.getSecouriste().getId());
+                    enregistrerService(k, trouverDps(jour, res.getPoste().getIdDps()), finDernierService, minutesParSemaine);
+                }
+                resultat.addAll(duJour);
+                suivi.avancer(1, 1.0 / taches.size(), resultat.size());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        suivi.terminer(resultat.size());
+        return resultat;
+    }
+
+    /**
+     * Construit le graphe d'une journée : secouristes disponibles, postes de tous ses DPS,
+     * aptitudes et coûts, et conflits entre DPS trop rapprochés pour respecter le repos.
+     */
+    private JourPrepare preparerJour(LocalDate date, List<DPS> dpsDuJour, List<Secouriste> secouristes,
+            List<Integer> disponibles, Map<Long, List<Poste>> postesParDps, GrapheCompetences hierarchie) {
+        int nombreDps = dpsDuJour.size();
+        int[] debuts = new int[nombreDps];
+        int[] fins = new int[nombreDps];
+        int[] durees = new int[nombreDps];
+        List<Poste> postes = new ArrayList<>();
+        List<Integer> dpsDesPostes = new ArrayList<>();
+        for (int d = 0; d < nombreDps; d++) {
+            DPS dps = dpsDuJour.get(d);
+            debuts[d] = minutes(dps.getHoraireDepart());
+            fins[d] = minutes(dps.getHoraireFin());
+            durees[d] = Math.max(0, fins[d] - debuts[d]);
+            List<Poste> sesPostes = postesParDps.get(dps.getId());
+            if (sesPostes != null) {
+                for (Poste poste : sesPostes) {
+                    postes.add(poste);
+                    dpsDesPostes.add(d);
+                }
+            }
+        }
+        int[] dpsDuPoste = new int[postes.size()];
+        for (int j = 0; j < dpsDuPoste.length; j++) {
+            dpsDuPoste[j] = dpsDesPostes.get(j);
+        }
+
+        int repos = contraintes.getReposMinutes();
+        boolean[][] conflits = new boolean[nombreDps][nombreDps];
+        for (int a = 0; a < nombreDps; a++) {
+            for (int b = a + 1; b < nombreDps; b++) {
+                int ecart = repos;
+                if (trajets != null) {
+                    ecart += trajets.getMinutesTrajet(dpsDuJour.get(a).getSite(), dpsDuJour.get(b).getSite());
+                }
+                boolean tropProches = debuts[a] < fins[b] + ecart && debuts[b] < fins[a] + ecart;
+                conflits[a][b] = tropProches;
+                conflits[b][a] = tropProches;
+            }
+        }
+
+        List<Secouriste> secouristesDuJour = new ArrayList<>();
+        int[] indices = new int[disponibles.size()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = disponibles.get(i);
+            secouristesDuJour.add(secouristes.get(indices[i]));
+        }
+        Graphe graphe = new Graphe(secouristesDuJour, postes);
+        graphe.ajouterAptitudesEtCouts(hierarchie);
+        return new JourPrepare(date, dpsDuJour, indices, new GrapheJournee(graphe, dpsDuPoste, conflits), debuts, durees);
+    }
+
+    /**
+     * Résout une journée en tenant compte de l'état laissé par les journées précédentes.
+     */
+    private List<AffectationResultat> resoudreJour(JourPrepare jour, long[] finDernierService, Map<Long, int[]> minutesParSemaine) {
+        long debutJournee = jour.date.toEpochDay() * MINUTES_PAR_JOUR;
+        int[] semaine = minutesParSemaine.get(semaineDe(jour.date));
+        int[] debutAutorise = new int[jour.secouristes.length];
+        int[] budget = new int[jour.secouristes.length];
+        long[] charges = new long[jour.secouristes.length];
+        for (int i = 0; i < jour.secouristes.length; i++) {
+            int k = jour.secouristes[i];
+            long reprise = finDernierService[k] + contraintes.getReposMinutes() - debutJournee;
+            debutAutorise[i] = (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, reprise));
+            charges[i] = semaine == null ? 0 : semaine[k];
+            budget[i] = contraintes.getMaxMinutesParSemaine() - (int) charges[i];
+        }
+        // Les secouristes les moins sollicités de la semaine sont essayés en premier.
+        LimitesJournee limites = new LimitesJournee(contraintes.getMaxDpsParJour(), jour.debuts, jour.durees,
+                debutAutorise, budget, charges);
+        return new AlgorithmeAffectationJournee(limites).resoudre(jour.grapheJournee);
+    }
+
+    /**
+     * Met à jour l'état glissant d'un secouriste après un service sur un DPS.
+     */
+    private void enregistrerService(int k, DPS dps, long[] finDernierService, Map<Long, int[]> minutesParSemaine) {
+        LocalDate date = dps.getJournee().getDate();
+        int debut = minutes(dps.getHoraireDepart());
+        int fin = minutes(dps.getHoraireFin());
+        long finAbsolue = date.toEpochDay() * MINUTES_PAR_JOUR + fin;
+        if (finAbsolue > finDernierService[k]) {
+            finDernierService[k] = finAbsolue;
+        }
+        int[] semaine = minutesParSemaine.computeIfAbsent(semaineDe(date), s -> new int[finDernierService.length]);
+        semaine[k] += Math.max(0, fin - debut);
+    }
+
+    /**
+     * Retrouve un DPS de la journée par son ID.
+     */
+    private DPS trouverDps(JourPrepare jour, long idDps) {
+        for (DPS dps : jour.dps) {
+            if (dps.getId() == idDps) {
+                return dps;
+            }
+        }
+        throw new IllegalStateException("DPS introuvable dans la journée : " + idDps);
+    }
+
+    /**
+     * @return Le jour (en jours depuis l'époque) du lundi de la semaine contenant la date.
+     */
+    private static long semaineDe(LocalDate date) {
+        return date.with(DayOfWeek.MONDAY).toEpochDay();
+    }
+
+    /**
+     * @return L'horaire exprimé en minutes depuis minuit.
+     */
+    private static int minutes(int[] horaire) {
+        return horaire[0] * 60 + horaire[1];
+    }
+}
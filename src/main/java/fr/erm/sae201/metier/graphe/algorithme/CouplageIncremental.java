@@ -0,0 +1,404 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.Secouriste;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Couplage maximum maintenu de façon incrémentale entre des postes et des secouristes.
+ *
+ * Plutôt que de reconstruire le graphe à chaque modification, la structure garde le dernier
+ * couplage et le répare à partir des seuls sommets touchés par un changement : un poste
+ * ajouté ou retiré, un secouriste qui devient disponible ou indisponible, ou dont les
+ * compétences changent. Le couplage étant maximum avant le changement, un unique chemin
+ * augmentant partant du sommet touché suffit à le rendre de nouveau maximum ; les autres
+ * affectations ne bougent que si ce chemin les traverse, ce qui garde le planning stable.
+ *
+ * Les sommets sont rangés dans des emplacements qui ne sont jamais réutilisés :
+ * un sommet retiré laisse un emplacement vide (null).
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class CouplageIncremental {
+
+    /**
+     * Critère indiquant si un secouriste est apte à occuper un poste.
+     */
+    public interface Aptitude {
+
+        /**
+         * Indique si un secouriste est apte à occuper un poste.
+         *
+         * @param secouriste Le secouriste.
+         * @param poste      Le poste.
+         * @return `true` si le secouriste peut occuper le poste.
+         */
+        boolean estApte(Secouriste secouriste, Poste poste);
+    }
+
+    /** Valeur indiquant qu'un sommet n'est pas couplé. */
+    private static final int LIBRE = -1;
+
+    private final Aptitude aptitude;
+
+    private final List<Poste> postes = new ArrayList<>();
+    private final List<List<Integer>> secouristesAptesParPoste = new ArrayList<>();
+    private final List<Integer> secouristeDuPoste = new ArrayList<>();
+
+    private final List<Secouriste> secouristes = new ArrayList<>();
+    private final List<List<Integer>> postesAccessiblesParSecouriste = new ArrayList<>();
+    private final List<Integer> posteDuSecouriste = new ArrayList<>();
+    private final Map<Long, Integer> emplacementParIdSecouriste = new HashMap<>();
+
+    /** Marques de visite pour le parcours en cours (réinitialisées avant chaque réparation). */
+    private boolean[] visite;
+
+    /**
+     * Construit un couplage vide.
+     *
+     * @param aptitude Le critère d'aptitude entre secouristes et postes.
+     */
+    public CouplageIncremental(Aptitude aptitude) {
+        this.aptitude = aptitude;
+    }
+
+    /**
+     * Initialise le couplage à partir d'une affectation existante (par exemple celle enregistrée
+     * en base), puis le complète. Les affectations existantes encore valides sont conservées.
+     *
+     * @param secouristesInitiaux Les secouristes disponibles.
+     * @param postesInitiaux      Les postes à pourvoir.
+     * @param existantes          Les affectations à conserver si possible.
+     */
+    public void initialiser(List<Secouriste> secouristesInitiaux, List<Poste> postesInitiaux, List<AffectationResultat> existantes) {
+        for (Secouriste secouriste : secouristesInitiaux) {
+            creerEmplacementSecouriste(secouriste);
+        }
+        for (Poste poste : postesInitiaux) {
+            creerEmplacementPoste(poste);
+        }
+        for (AffectationResultat existante : existantes) {
+            Integer s = emplacementParIdSecouriste.get(existante.getSecouriste().getId());
+            if (s == null || posteDuSecouriste.get(s) != LIBRE) {
+                continue;
+            }
+            for (int p : postesAccessiblesParSecouriste.get(s)) {
+                if (secouristeDuPoste.get(p) == LIBRE && postes.get(p).equals(existante.getPoste())) {
+                    coupler(s, p);
+                    break;
+                }
+            }
+        }
+        for (int p = 0; p < postes.size(); p++) {
+            if (secouristeDuPoste.get(p) == LIBRE) {
+                reparerDepuisPoste(p);
+            }
+        }
+    }
+
+    /**
+     * Ajoute un poste et tente de le pourvoir.
+     *
+     * @param poste Le poste ajouté.
+     */
+    public void ajouterPoste(Poste poste) {
+        reparerDepuisPoste(creerEmplacementPoste(poste));
+    }
+
+    /**
+     * Retire un poste requérant la compétence donnée, en choisissant de préférence un poste non pourvu.
+     * Si le poste retiré était pourvu, son secouriste est réaffecté si possible.
+     *
+     * @param competence La compétence du poste à retirer.
+     * @return `true` si un poste a été retiré, `false` s'il n'y en avait aucun.
+     */
+    public boolean retirerPoste(Competence competence) {
+        int aRetirer = LIBRE;
+        for (int p = 0; p < postes.size(); p++) {
+            if (postes.get(p) != null && postes.get(p).getCompetenceRequise().equals(competence)) {
+                aRetirer = p;
+                if (secouristeDuPoste.get(p) == LIBRE) {
+                    break;
+                }
+            }
+        }
+        if (aRetirer == LIBRE) {
+            return false;
+        }
+
+        int secouristeLibere = secouristeDuPoste.get(aRetirer);
+        if (secouristeLibere != LIBRE) {
+            posteDuSecouriste.set(secouristeLibere, LIBRE);
+        }
+        for (int s : secouristesAptesParPoste.get(aRetirer)) {
+            postesAccessiblesParSecouriste.get(s).remove(Integer.valueOf(aRetirer));
+        }
+        postes.set(aRetirer, null);
+        secouristesAptesParPoste.set(aRetirer, new ArrayList<>());
+        secouristeDuPoste.set(aRetirer, LIBRE);
+
+        if (secouristeLibere != LIBRE) {
+            reparerDepuisSecouriste(secouristeLibere);
+        }
+        return true;
+    }
+
+    /**
+     * Ajoute un secouriste (par exemple devenu disponible) et tente de l'employer.
+     * Si le secouriste est déjà présent, ses aptitudes sont simplement mises à jour.
+     *
+     * @param secouriste Le secouriste ajouté.
+     */
+    public void ajouterSecouriste(Secouriste secouriste) {
+        if (emplacementParIdSecouriste.containsKey(secouriste.getId())) {
+            mettreAJourSecouriste(secouriste);
+            return;
+        }
+        reparerDepuisSecouriste(creerEmplacementSecouriste(secouriste));
+    }
+
+    /**
+     * Retire un secouriste (par exemple devenu indisponible). Son poste éventuel est repourvu si possible.
+     *
+     * @param idSecouriste L'identifiant du secouriste.
+     * @return `true` si le secouriste était présent.
+     */
+    public boolean retirerSecouriste(long idSecouriste) {
+        Integer s = emplacementParIdSecouriste.remove(idSecouriste);
+        if (s == null) {
+            return false;
+        }
+        int posteLibere = posteDuSecouriste.get(s);
+        if (posteLibere != LIBRE) {
+            secouristeDuPoste.set(posteLibere, LIBRE);
+        }
+        for (int p : postesAccessiblesParSecouriste.get(s)) {
+            secouristesAptesParPoste.get(p).remove(s);
+        }
+        secouristes.set(s, null);
+        postesAccessiblesParSecouriste.set(s, new ArrayList<>());
+        posteDuSecouriste.set(s, LIBRE);
+
+        if (posteLibere != LIBRE) {
+            reparerDepuisPoste(posteLibere);
+        }
+        return true;
+    }
+
+    /**
+     * Met à jour un secouriste dont les compétences ont changé : ses aptitudes sont recalculées,
+     * il quitte son poste s'il n'y est plus apte, et le couplage est réparé autour de lui.
+     *
+     * @param secouriste Le secouriste, avec ses nouvelles compétences.
+     * @return `true` si le secouriste était présent.
+     */
+    public boolean mettreAJourSecouriste(Secouriste secouriste) {
+        Integer s = emplacementParIdSecouriste.get(secouriste.getId());
+        if (s == null) {
+            return false;
+        }
+        secouristes.set(s, secouriste);
+        for (int p : postesAccessiblesParSecouriste.get(s)) {
+            secouristesAptesParPoste.get(p).remove(s);
+        }
+        List<Integer> accessibles = new ArrayList<>();
+        for (int p = 0; p < postes.size(); p++) {
+            if (postes.get(p) != null && aptitude.estApte(secouriste, postes.get(p))) {
+                accessibles.add(p);
+                secouristesAptesParPoste.get(p).add(s);
+            }
+        }
+        postesAccessiblesParSecouriste.set(s, accessibles);
+
+        int posteActuel = posteDuSecouriste.get(s);
+        if (posteActuel != LIBRE && !accessibles.contains(posteActuel)) {
+            posteDuSecouriste.set(s, LIBRE);
+            secouristeDuPoste.set(posteActuel, LIBRE);
+            reparerDepuisPoste(posteActuel);
+            posteActuel = posteDuSecouriste.get(s);
+        }
+        if (posteActuel == LIBRE) {
+            reparerDepuisSecouriste(s);
+        } else {
+            // Une nouvelle aptitude peut ouvrir un chemin augmentant qui traverse ce secouriste
+            // depuis n'importe quel poste libre, y compris un poste auquel il n'est pas apte.
+            for (int p = 0; p < postes.size(); p++) {
+                if (postes.get(p) != null && secouristeDuPoste.get(p) == LIBRE) {
+                    reparerDepuisPoste(p);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retourne les affectations du couplage courant, dans l'ordre des postes.
+     *
+     * @return La liste des affectations.
+     */
+    public List<AffectationResultat> getAffectations() {
+        List<AffectationResultat> affectations = new ArrayList<>();
+        for (int p = 0; p < postes.size(); p++) {
+            if (secouristeDuPoste.get(p) != LIBRE) {
+                affectations.add(new AffectationResultat(secouristes.get(secouristeDuPoste.get(p)), postes.get(p)));
+            }
+        }
+        return affectations;
+    }
+
+    /**
+     * Compte les postes présents requérant une compétence donnée.
+     *
+     * @param competence La compétence.
+     * @return Le nombre de postes.
+     */
+    public int compterPostes(Competence competence) {
+        int nombre = 0;
+        for (Poste poste : postes) {
+            if (poste != null && poste.getCompetenceRequise().equals(competence)) {
+                nombre++;
+            }
+        }
+        return nombre;
+    }
+
+    /**
+     * Retourne les compétences des postes présents, avec leur nombre.
+     *
+     * @return Le nombre de postes par compétence.
+     */
+    public Map<Competence, Integer> getBesoins() {
+        Map<Competence, Integer> besoins = new HashMap<>();
+        for (Poste poste : postes) {
+            if (poste != null) {
+                besoins.merge(poste.getCompetenceRequise(), 1, Integer::sum);
+            }
+        }
+        return besoins;
+    }
+
+    /**
+     * Crée l'emplacement d'un nouveau poste et calcule ses aptitudes.
+     *
+     * @param poste Le poste.
+     * @return L'emplacement créé.
+     */
+    private int creerEmplacementPoste(Poste poste) {
+        int p = postes.size();
+        postes.add(poste);
+        secouristeDuPoste.add(LIBRE);
+        List<Integer> aptes = new ArrayList<>();
+        for (int s = 0; s < secouristes.size(); s++) {
+            if (secouristes.get(s) != null && aptitude.estApte(secouristes.get(s), poste)) {
+                aptes.add(s);
+                postesAccessiblesParSecouriste.get(s).add(p);
+            }
+        }
+        secouristesAptesParPoste.add(aptes);
+        return p;
+    }
+
+    /**
+     * Crée l'emplacement d'un nouveau secouriste et calcule ses aptitudes.
+     *
+     * @param secouriste Le secouriste.
+     * @return L'emplacement créé.
+     */
+    private int creerEmplacementSecouriste(Secouriste secouriste) {
+        int s = secouristes.size();
+        secouristes.add(secouriste);
+        posteDuSecouriste.add(LIBRE);
+        emplacementParIdSecouriste.put(secouriste.getId(), s);
+        List<Integer> accessibles = new ArrayList<>();
+        for (int p = 0; p < postes.size(); p++) {
+            if (postes.get(p) != null && aptitude.estApte(secouriste, postes.get(p))) {
+                accessibles.add(p);
+                secouristesAptesParPoste.get(p).add(s);
+            }
+        }
+        postesAccessiblesParSecouriste.add(accessibles);
+        return s;
+    }
+
+    /**
+     * Cherche un chemin augmentant depuis un poste libre.
+     *
+     * @param p L'emplacement du poste.
+     */
+    private void reparerDepuisPoste(int p) {
+        visite = new boolean[secouristes.size()];
+        augmenterDepuisPoste(p);
+    }
+
+    /**
+     * Cherche un chemin augmentant depuis un secouriste libre.
+     *
+     * @param s L'emplacement du secouriste.
+     */
+    private void reparerDepuisSecouriste(int s) {
+        visite = new boolean[postes.size()];
+        augmenterDepuisSecouriste(s);
+    }
+
+    /**
+     * Parcours en profondeur depuis un poste : un secouriste apte libre le prend,
+     * ou un secouriste occupé le prend si son poste actuel peut être repourvu.
+     *
+     * @param p L'emplacement du poste.
+     * @return `true` si le poste a été pourvu.
+     */
+    private boolean augmenterDepuisPoste(int p) {
+        for (int s : secouristesAptesParPoste.get(p)) {
+            if (!visite[s]) {
+                visite[s] = true;
+                int posteActuel = posteDuSecouriste.get(s);
+                if (posteActuel == LIBRE || augmenterDepuisPoste(posteActuel)) {
+                    coupler(s, p);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parcours en profondeur depuis un secouriste : il prend un poste libre,
+     * ou un poste occupé dont le secouriste actuel peut aller ailleurs.
+     *
+     * @param s L'emplacement du secouriste.
+     * @return `true` si le secouriste a été employé.
+     */
+    private boolean augmenterDepuisSecouriste(int s) {
+        for (int p : postesAccessiblesParSecouriste.get(s)) {
+            if (!visite[p]) {
+                visite[p] = true;
+                int secouristeActuel = secouristeDuPoste.get(p);
+                if (secouristeActuel == LIBRE || augmenterDepuisSecouriste(secouristeActuel)) {
+                    coupler(s, p);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Couple un secouriste et un poste.
+     *
+     * @param s L'emplacement du secouriste.
+     * @param p L'emplacement du poste.
+     */
+    private void coupler(int s, int p) {
+        posteDuSecouriste.set(s, p);
+        secouristeDuPoste.set(p, s);
+    }
+}
@@ -0,0 +1,24 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+/**
+ * Écouteur notifié périodiquement de l'avancement d'une résolution.
+ *
+ * Comme pour {@link EcouteurSolution}, l'appel a lieu dans le thread de l'algorithme
+ * (éventuellement l'un des threads d'une résolution parallèle) : une interface graphique
+ * doit elle-même repasser sur son propre thread avant de s'afficher.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public interface EcouteurProgression {
+
+    /**
+     * Appelée au plus une fois par {@link SuiviResolution#PERIODE_RAPPORT_MILLIS} pendant la
+     * résolution, puis une dernière fois à la fin.
+     *
+     * @param progression L'état d'avancement.
+     */
+    void progression(Progression progression);
+}
@@ -0,0 +1,27 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+
+import java.util.List;
+
+/**
+ * Écouteur notifié par un algorithme d'affectation chaque fois qu'il trouve
+ * une solution strictement meilleure que la précédente.
+ *
+ * L'appel a lieu dans le thread de l'algorithme : une interface graphique doit
+ * elle-même repasser sur son propre thread avant de s'afficher.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public interface EcouteurSolution {
+
+    /**
+     * Appelée lorsqu'une meilleure solution vient d'être trouvée.
+     *
+     * @param solution Une copie de la nouvelle meilleure solution, que l'écouteur peut conserver.
+     */
+    void nouvelleSolution(List<AffectationResultat> solution);
+}
@@ -0,0 +1,43 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+/**
+ * Jeton d'annulation coopérative d'une résolution.
+ *
+ * L'interface graphique appelle {@link #annuler()} depuis son propre thread ; l'algorithme
+ * consulte le jeton à intervalles réguliers et s'interrompt en levant une
+ * {@link ResolutionAnnuleeException}. Un jeton annulé le reste.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class JetonAnnulation {
+
+    private volatile boolean annule;
+
+    /**
+     * Demande l'arrêt de la résolution. Peut être appelée depuis n'importe quel thread.
+     */
+    public void annuler() {
+        annule = true;
+    }
+
+    /**
+     * @return `true` si l'annulation a été demandée.
+     */
+    public boolean estAnnule() {
+        return annule;
+    }
+
+    /**
+     * Interrompt la résolution si l'annulation a été demandée.
+     *
+     * @throws ResolutionAnnuleeException si le jeton est annulé.
+     */
+    public void verifier() {
+        if (annule) {
+            throw new ResolutionAnnuleeException();
+        }
+    }
+}
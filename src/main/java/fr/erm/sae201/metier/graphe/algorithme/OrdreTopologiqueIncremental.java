@@ -0,0 +1,385 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ordre topologique maintenu incrémentalement sur le graphe des prérequis des compétences
+ * (algorithme de Pearce et Kelly).
+ *
+ * Chaque compétence reçoit un rang tel qu'un prérequis a toujours un rang inférieur à
+ * celui des compétences qui le requièrent. Pour savoir si l'ajout d'un prérequis crée un
+ * cycle, il suffit alors de comparer deux rangs ; ce n'est que lorsque l'ordre est violé
+ * qu'un parcours est lancé, limité aux compétences dont le rang est compris entre ceux des
+ * deux extrémités de l'arc. Les rangs de cette seule région sont ensuite réattribués sur place.
+ *
+ * Les compétences sont identifiées par leur intitulé. Les arcs vont d'un prérequis vers la
+ * compétence qui le requiert.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class OrdreTopologiqueIncremental {
+
+    /** Identifiant interne de chaque intitulé présent. */
+    private final Map<String, Integer> identifiants = new HashMap<>();
+
+    /** Intitulé de chaque identifiant, ou {@code null} si la compétence a été retirée. */
+    private final List<String> intitules = new ArrayList<>();
+
+    /** successeurs[n] = compétences qui requièrent n. */
+    private final List<Set<Integer>> successeurs = new ArrayList<>();
+
+    /** predecesseurs[n] = prérequis directs de n. */
+    private final List<Set<Integer>> predecesseurs = new ArrayList<>();
+
+    /** Rang de chaque identifiant dans l'ordre topologique. */
+    private int[] rangs = new int[16];
+
+    /** Prochain rang libre, attribué aux compétences ajoutées. */
+    private int prochainRang = 0;
+
+    /**
+     * Crée un ordre vide.
+     */
+    public OrdreTopologiqueIncremental() {
+    }
+
+    /**
+     * Crée l'ordre initial d'un graphe de prérequis par un tri topologique en temps linéaire.
+     *
+     * @param prerequisDirects Pour chaque intitulé, les intitulés de ses prérequis directs.
+     * @throws IllegalArgumentException si le graphe contient déjà un cycle.
+     */
+    public OrdreTopologiqueIncremental(Map<String, Set<String>> prerequisDirects) {
+        for (Map.Entry<String, Set<String>> entree : prerequisDirects.entrySet()) {
+            creerSommet(entree.getKey());
+            for (String prerequis : entree.getValue()) {
+                creerSommet(prerequis);
+            }
+        }
+        for (Map.Entry<String, Set<String>> entree : prerequisDirects.entrySet()) {
+            int competence = identifiants.get(entree.getKey());
+            for (String prerequis : entree.getValue()) {
+                int source = identifiants.get(prerequis);
+                successeurs.get(source).add(competence);
+                predecesseurs.get(competence).add(source);
+            }
+        }
+
+        // Tri de Kahn : chaque arc n'est examiné qu'une fois.
+        int nombre = intitules.size();
+        int[] degres = new int[nombre];
+        int[] file = new int[nombre];
+        int fin = 0;
+        for (int n = 0; n < nombre; n++) {
+            degres[n] = predecesseurs.get(n).size();
+            if (degres[n] == 0) {
+                file[fin] = n;
+                fin++;
+            }
+        }
+        int debut = 0;
+        while (debut < fin) {
+            int courant = file[debut];
+            debut++;
+            rangs[courant] = prochainRang;
+            prochainRang++;
+            for (int suivant : successeurs.get(courant)) {
+                degres[suivant]--;
+                if (degres[suivant] == 0) {
+                    file[fin] = suivant;
+                    fin++;
+                }
+            }
+        }
+        if (fin < nombre) {
+            throw new IllegalArgumentException("Le graphe des prérequis contient un cycle.");
+        }
+    }
+
+    /**
+     * @param intitule L'intitulé d'une compétence.
+     * @return `true` si la compétence fait partie du graphe.
+     */
+    public synchronized boolean contient(String intitule) {
+        return identifiants.containsKey(intitule);
+    }
+
+    /**
+     * Ajoute une compétence sans prérequis, placée après toutes les autres.
+     *
+     * @param intitule L'intitulé de la compétence.
+     * @return `false` si la compétence existait déjà.
+     */
+    public synchronized boolean ajouterCompetence(String intitule) {
+        if (identifiants.containsKey(intitule)) {
+            return false;
+        }
+        creerSommet(intitule);
+        return true;
+    }
+
+    /**
+     * Retire une compétence et tous les arcs qui la touchent. L'ordre des autres reste valide.
+     *
+     * @param intitule L'intitulé de la compétence.
+     * @return `false` si la compétence était inconnue.
+     */
+    public synchronized boolean retirerCompetence(String intitule) {
+        Integer id = identifiants.remove(intitule);
+        if (id == null) {
+            return false;
+        }
+        for (int suivant : successeurs.get(id)) {
+            predecesseurs.get(suivant).remove(id);
+        }
+        for (int precedent : predecesseurs.get(id)) {
+            successeurs.get(precedent).remove(id);
+        }
+        successeurs.get(id).clear();
+        predecesseurs.get(id).clear();
+        intitules.set(id, null);
+        return true;
+    }
+
+    /**
+     * Indique si ajouter un prérequis à une compétence créerait un cycle, sans modifier le graphe.
+     *
+     * @param competence L'intitulé de la compétence.
+     * @param prerequis  L'intitulé du prérequis envisagé.
+     * @return `true` si l'arc fermerait un cycle.
+     */
+    public synchronized boolean creeraitCycle(String competence, String prerequis) {
+        if (competence.equals(prerequis)) {
+            return true;
+        }
+        Integer cible = identifiants.get(competence);
+        Integer source = identifiants.get(prerequis);
+        if (cible == null || source == null || rangs[source] < rangs[cible]) {
+            return false;
+        }
+        return parcourirEnAvant(cible, rangs[source], new ArrayList<>());
+    }
+
+    /**
+     * Ajoute un prérequis à une compétence (les deux compétences sont créées si besoin)
+     * et répare l'ordre si nécessaire. Le graphe n'est pas modifié si l'arc crée un cycle.
+     *
+     * @param competence L'intitulé de la compétence.
+     * @param prerequis  L'intitulé de son nouveau prérequis.
+     * @return `false` si l'arc aurait créé un cycle.
+     */
+    public synchronized boolean ajouterPrerequis(String competence, String prerequis) {
+        if (competence.equals(prerequis)) {
+            return false;
+        }
+        int cible = creerSommet(competence);
+        int source = creerSommet(prerequis);
+        if (successeurs.get(source).contains(cible)) {
+            return true;
+        }
+        int borneBasse = rangs[cible];
+        int borneHaute = rangs[source];
+        if (borneHaute > borneBasse) {
+            List<Integer> avant = new ArrayList<>();
+            if (parcourirEnAvant(cible, borneHaute, avant)) {
+                return false;
+            }
+            List<Integer> arriere = parcourirEnArriere(source, borneBasse);
+            reordonner(arriere, avant);
+        }
+        successeurs.get(source).add(cible);
+        predecesseurs.get(cible).add(source);
+        return true;
+    }
+
+    /**
+     * Retire un prérequis. Supprimer un arc ne peut pas invalider l'ordre.
+     *
+     * @param competence L'intitulé de la compétence.
+     * @param prerequis  L'intitulé du prérequis à retirer.
+     */
+    public synchronized void retirerPrerequis(String competence, String prerequis) {
+        Integer cible = identifiants.get(competence);
+        Integer source = identifiants.get(prerequis);
+        if (cible != null && source != null) {
+            successeurs.get(source).remove(cible);
+            predecesseurs.get(cible).remove(source);
+        }
+    }
+
+    /**
+     * Remplace tous les prérequis directs d'une compétence. Si l'un des nouveaux
+     * prérequis crée un cycle, les anciens sont rétablis et le graphe reste inchangé.
+     *
+     * @param competence L'intitulé de la compétence.
+     * @param nouveaux   Les intitulés de ses nouveaux prérequis.
+     * @return `false` si la modification aurait créé un cycle.
+     */
+    public synchronized boolean remplacerPrerequis(String competence, Set<String> nouveaux) {
+        Set<String> anciens = getPrerequis(competence);
+        for (String prerequis : anciens) {
+            retirerPrerequis(competence, prerequis);
+        }
+        List<String> ajoutes = new ArrayList<>();
+        for (String prerequis : nouveaux) {
+            if (!ajouterPrerequis(competence, prerequis)) {
+                for (String ajoute : ajoutes) {
+                    retirerPrerequis(competence, ajoute);
+                }
+                // Le graphe est redevenu un sous-graphe de l'ancien : rétablir les arcs ne peut pas échouer.
+                for (String ancien : anciens) {
+                    ajouterPrerequis(competence, ancien);
+                }
+                return false;
+            }
+            ajoutes.add(prerequis);
+        }
+        return true;
+    }
+
+    /**
+     * @param competence L'intitulé de la compétence.
+     * @return Les intitulés de ses prérequis directs (copie).
+     */
+    public synchronized Set<String> getPrerequis(String competence) {
+        Set<String> resultat = new HashSet<>();
+        Integer id = identifiants.get(competence);
+        if (id != null) {
+            for (int precedent : predecesseurs.get(id)) {
+                resultat.add(intitules.get(precedent));
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne les compétences dans l'ordre maintenu : chaque prérequis précède
+     * les compétences qui le requièrent.
+     *
+     * @return La liste ordonnée des intitulés.
+     */
+    public synchronized List<String> getOrdre() {
+        List<Integer> presents = new ArrayList<>(identifiants.values());
+        presents.sort((a, b) -> Integer.compare(rangs[a], rangs[b]));
+        List<String> resultat = new ArrayList<>();
+        for (int id : presents) {
+            resultat.add(intitules.get(id));
+        }
+        return resultat;
+    }
+
+    /**
+     * Retourne l'identifiant d'un intitulé, en créant le sommet au dernier rang s'il est inconnu.
+     */
+    private int creerSommet(String intitule) {
+        Integer existant = identifiants.get(intitule);
+        if (existant != null) {
+            return existant;
+        }
+        int id = intitules.size();
+        intitules.add(intitule);
+        successeurs.add(new HashSet<>());
+        predecesseurs.add(new HashSet<>());
+        if (id == rangs.length) {
+            rangs = Arrays.copyOf(rangs, rangs.length * 2);
+        }
+        rangs[id] = prochainRang;
+        prochainRang++;
+        identifiants.put(intitule, id);
+        return id;
+    }
+
+    /**
+     * Parcours en profondeur depuis un sommet vers ses successeurs, limité aux rangs
+     * inférieurs ou égaux à la borne. Atteindre la borne signifie revenir à la source de l'arc.
+     *
+     * @param depart     Le sommet de départ (extrémité de l'arc ajouté).
+     * @param borneHaute Le rang de la source de l'arc ajouté.
+     * @param visites    Reçoit les sommets visités.
+     * @return `true` si un cycle est détecté.
+     */
+    private boolean parcourirEnAvant(int depart, int borneHaute, List<Integer> visites) {
+        Set<Integer> vus = new HashSet<>();
+        List<Integer> pile = new ArrayList<>();
+        pile.add(depart);
+        vus.add(depart);
+        while (!pile.isEmpty()) {
+            int courant = pile.remove(pile.size() - 1);
+            visites.add(courant);
+            for (int suivant : successeurs.get(courant)) {
+                if (rangs[suivant] == borneHaute) {
+                    return true;
+                }
+                if (rangs[suivant] < borneHaute && vus.add(suivant)) {
+                    pile.add(suivant);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parcours en profondeur depuis un sommet vers ses prédécesseurs, limité aux rangs
+     * strictement supérieurs à la borne.
+     *
+     * @param depart     Le sommet de départ (source de l'arc ajouté).
+     * @param borneBasse Le rang de l'extrémité de l'arc ajouté.
+     * @return Les sommets visités.
+     */
+    private List<Integer> parcourirEnArriere(int depart, int borneBasse) {
+        List<Integer> visites = new ArrayList<>();
+        Set<Integer> vus = new HashSet<>();
+        List<Integer> pile = new ArrayList<>();
+        pile.add(depart);
+        vus.add(depart);
+        while (!pile.isEmpty()) {
+            int courant = pile.remove(pile.size() - 1);
+            visites.add(courant);
+            for (int precedent : predecesseurs.get(courant)) {
+                if (rangs[precedent] > borneBasse && vus.add(precedent)) {
+                    pile.add(precedent);
+                }
+            }
+        }
+        return visites;
+    }
+
+    /**
+     * Réattribue les rangs de la région affectée : les sommets atteints en arrière
+     * (ancêtres de la source) passent avant ceux atteints en avant (descendants de
+     * l'extrémité), chaque groupe conservant son ordre relatif.
+     */
+    private void reordonner(List<Integer> arriere, List<Integer> avant) {
+        arriere.sort((a, b) -> Integer.compare(rangs[a], rangs[b]));
+        avant.sort((a, b) -> Integer.compare(rangs[a], rangs[b]));
+        int[] rangsLibres = new int[arriere.size() + avant.size()];
+        int position = 0;
+        for (int id : arriere) {
+            rangsLibres[position] = rangs[id];
+            position++;
+        }
+        for (int id : avant) {
+            rangsLibres[position] = rangs[id];
+            position++;
+        }
+        Arrays.sort(rangsLibres);
+        position = 0;
+        for (int id : arriere) {
+            rangs[id] = rangsLibres[position];
+            position++;
+        }
+        for (int id : avant) {
+            rangs[id] = rangsLibres[position];
+            position++;
+        }
+    }
+}
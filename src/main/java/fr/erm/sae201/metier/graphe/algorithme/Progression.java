@@ -0,0 +1,71 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+/**
+ * État d'avancement d'une résolution, transmis à un {@link EcouteurProgression}.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class Progression {
+
+    private final long noeudsExplores;
+    private final int meilleureTaille;
+    private final int borneSuperieure;
+    private final double fractionExploree;
+    private final long restantEstimeMillis;
+
+    /**
+     * Construit un état d'avancement.
+     *
+     * @param noeudsExplores      Le nombre de nœuds (ou d'étapes) explorés.
+     * @param meilleureTaille     Le nombre de postes pourvus par la meilleure solution connue.
+     * @param borneSuperieure     Le nombre maximal de postes que l'on peut espérer pourvoir.
+     * @param fractionExploree    La part estimée du travail effectué, entre 0 et 1.
+     * @param restantEstimeMillis Le temps restant estimé, en millisecondes, ou -1 s'il est inconnu.
+     */
+    public Progression(long noeudsExplores, int meilleureTaille, int borneSuperieure,
+                       double fractionExploree, long restantEstimeMillis) {
+        this.noeudsExplores = noeudsExplores;
+        this.meilleureTaille = meilleureTaille;
+        this.borneSuperieure = borneSuperieure;
+        this.fractionExploree = fractionExploree;
+        this.restantEstimeMillis = restantEstimeMillis;
+    }
+
+    /**
+     * @return Le nombre de nœuds (ou d'étapes) explorés.
+     */
+    public long getNoeudsExplores() {
+        return noeudsExplores;
+    }
+
+    /**
+     * @return Le nombre de postes pourvus par la meilleure solution connue.
+     */
+    public int getMeilleureTaille() {
+        return meilleureTaille;
+    }
+
+    /**
+     * @return Le nombre maximal de postes que l'on peut espérer pourvoir.
+     */
+    public int getBorneSuperieure() {
+        return borneSuperieure;
+    }
+
+    /**
+     * @return La part estimée du travail effectué, entre 0 et 1.
+     */
+    public double getFractionExploree() {
+        return fractionExploree;
+    }
+
+    /**
+     * @return Le temps restant estimé, en millisecondes, ou -1 s'il est inconnu.
+     */
+    public long getRestantEstimeMillis() {
+        return restantEstimeMillis;
+    }
+}
@@ -0,0 +1,19 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+/**
+ * Levée par un algorithme d'affectation lorsque son {@link JetonAnnulation} a été annulé.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class ResolutionAnnuleeException extends RuntimeException {
+
+    /**
+     * Construit l'exception avec le message par défaut.
+     */
+    public ResolutionAnnuleeException() {
+        super("La résolution a été annulée.");
+    }
+}
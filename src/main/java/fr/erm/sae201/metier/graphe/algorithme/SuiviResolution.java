@@ -0,0 +1,148 @@
+package fr.erm.sae201.metier.graphe.algorithme;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Regroupe le jeton d'annulation et l'écouteur de progression d'une résolution.
+ *
+ * Pour rester négligeable devant le calcul, un algorithme ne s'adresse pas au suivi à chaque
+ * nœud : il compte localement, puis transmet ses compteurs par lots avec {@link #avancer}.
+ * C'est aussi à ce moment que l'annulation est vérifiée. Les compteurs étant des additionneurs
+ * concurrents, plusieurs threads d'une même résolution peuvent partager le suivi.
+ *
+ * La part explorée d'un arbre de recherche est estimée en répartissant le poids de chaque
+ * nœud à parts égales entre ses branches : la somme des poids des branches terminées
+ * (feuilles ou branches élaguées) donne la fraction de l'arbre parcourue, d'où une estimation
+ * du temps restant proportionnelle au temps écoulé.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class SuiviResolution {
+
+    /** Nombre de nœuds qu'un algorithme explore entre deux appels à {@link #avancer}. */
+    public static final int NOEUDS_PAR_LOT = 1024;
+
+    /** Intervalle minimal entre deux notifications de l'écouteur, en millisecondes. */
+    public static final long PERIODE_RAPPORT_MILLIS = 200;
+
+    private final JetonAnnulation jeton;
+    private final EcouteurProgression ecouteur;
+
+    private final LongAdder noeuds = new LongAdder();
+    private final DoubleAdder fraction = new DoubleAdder();
+    private final AtomicLong prochainRapport = new AtomicLong();
+    private volatile int meilleureTaille;
+    private volatile int borneSuperieure;
+    private volatile long debut;
+
+    /**
+     * Construit un suivi sans annulation ni écouteur.
+     */
+    public SuiviResolution() {
+        this(null, null);
+    }
+
+    /**
+     * Construit un suivi.
+     *
+     * @param jeton    Le jeton consulté pour interrompre la résolution, ou null.
+     * @param ecouteur L'écouteur notifié de l'avancement, ou null.
+     */
+    public SuiviResolution(JetonAnnulation jeton, EcouteurProgression ecouteur) {
+        this.jeton = jeton;
+        this.ecouteur = ecouteur;
+        this.debut = System.currentTimeMillis();
+    }
+
+    /**
+     * Remet les compteurs à zéro au début d'une résolution.
+     *
+     * @param borneSuperieure Le nombre maximal de postes que l'on peut espérer pourvoir.
+     */
+    public void demarrer(int borneSuperieure) {
+        noeuds.reset();
+        fraction.reset();
+        this.meilleureTaille = 0;
+        this.borneSuperieure = borneSuperieure;
+        this.debut = System.currentTimeMillis();
+        prochainRapport.set(debut + PERIODE_RAPPORT_MILLIS);
+    }
+
+    /**
+     * @return Le jeton d'annulation de la résolution, ou null.
+     */
+    public JetonAnnulation getJeton() {
+        return jeton;
+    }
+
+    /**
+     * Interrompt la résolution si l'annulation a été demandée.
+     *
+     * @throws ResolutionAnnuleeException si le jeton est annulé.
+     */
+    public void verifier() {
+        if (jeton != null) {
+            jeton.verifier();
+        }
+    }
+
+    /**
+     * @return `true` si l'annulation a été demandée.
+     */
+    public boolean estAnnule() {
+        return jeton != null && jeton.estAnnule();
+    }
+
+    /**
+     * Transmet un lot de travail, vérifie l'annulation et notifie l'écouteur si la période est écoulée.
+     *
+     * @param noeudsLot       Le nombre de nœuds explorés depuis le lot précédent.
+     * @param fractionLot     La part de l'arbre terminée depuis le lot précédent.
+     * @param meilleureTaille La taille de la meilleure solution connue.
+     * @throws ResolutionAnnuleeException si le jeton est annulé.
+     */
+    public void avancer(long noeudsLot, double fractionLot, int meilleureTaille) {
+        noeuds.add(noeudsLot);
+        fraction.add(fractionLot);
+        if (meilleureTaille > this.meilleureTaille) {
+            this.meilleureTaille = meilleureTaille;
+        }
+        verifier();
+        if (ecouteur != null) {
+            long maintenant = System.currentTimeMillis();
+            long prevu = prochainRapport.get();
+            // Un seul thread gagne le droit de notifier pour cette période.
+            if (maintenant >= prevu && prochainRapport.compareAndSet(prevu, maintenant + PERIODE_RAPPORT_MILLIS)) {
+                ecouteur.progression(etatCourant(maintenant));
+            }
+        }
+    }
+
+    /**
+     * Notifie l'écouteur de la fin de la résolution.
+     *
+     * @param taille La taille de la solution retenue.
+     */
+    public void terminer(int taille) {
+        if (taille > meilleureTaille) {
+            meilleureTaille = taille;
+        }
+        if (ecouteur != null) {
+            ecouteur.progression(new Progression(noeuds.sum(), meilleureTaille, borneSuperieure, 1.0, 0));
+        }
+    }
+
+    private Progression etatCourant(long maintenant) {
+        double part = Math.min(1.0, fraction.sum());
+        long restant = -1;
+        if (part > 0) {
+            restant = (long) ((maintenant - debut) * (1.0 - part) / part);
+        }
+        return new Progression(noeuds.sum(), meilleureTaille, borneSuperieure, part, restant);
+    }
+}
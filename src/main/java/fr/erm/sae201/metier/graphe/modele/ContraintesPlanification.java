@@ -0,0 +1,60 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+/**
+ * Limites imposées à chaque secouriste lors de la planification d'une période de plusieurs jours.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class ContraintesPlanification {
+
+    /** Contraintes par défaut : 2 DPS par jour, 48 heures par semaine, 1 heure de repos entre deux DPS. */
+    public static final ContraintesPlanification DEFAUT = new ContraintesPlanification(2, 48 * 60, 60);
+
+    private final int maxDpsParJour;
+    private final int maxMinutesParSemaine;
+    private final int reposMinutes;
+
+    /**
+     * Construit un jeu de contraintes.
+     *
+     * @param maxDpsParJour        Le nombre maximal de DPS couverts par un secouriste dans une journée.
+     * @param maxMinutesParSemaine Le temps de service maximal d'un secouriste par semaine (du lundi au dimanche), en minutes.
+     * @param reposMinutes         Le temps de repos minimal entre la fin d'un DPS et le début du suivant, en minutes.
+     * @throws IllegalArgumentException si une valeur est négative ou si le nombre de DPS par jour est nul.
+     */
+    public ContraintesPlanification(int maxDpsParJour, int maxMinutesParSemaine, int reposMinutes) {
+        if (maxDpsParJour < 1) {
+            throw new IllegalArgumentException("Un secouriste doit pouvoir couvrir au moins un DPS par jour.");
+        }
+        if (maxMinutesParSemaine < 0 || reposMinutes < 0) {
+            throw new IllegalArgumentException("Les durées ne peuvent pas être négatives.");
+        }
+        this.maxDpsParJour = maxDpsParJour;
+        this.maxMinutesParSemaine = maxMinutesParSemaine;
+        this.reposMinutes = reposMinutes;
+    }
+
+    /**
+     * @return Le nombre maximal de DPS par secouriste et par jour.
+     */
+    public int getMaxDpsParJour() {
+        return maxDpsParJour;
+    }
+
+    /**
+     * @return Le temps de service maximal par secouriste et par semaine, en minutes.
+     */
+    public int getMaxMinutesParSemaine() {
+        return maxMinutesParSemaine;
+    }
+
+    /**
+     * @return Le temps de repos minimal entre deux DPS, en minutes.
+     */
+    public int getReposMinutes() {
+        return reposMinutes;
+    }
+}
@@ -0,0 +1,146 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.persistence.Site;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modèle de lecture chargé d'un bloc pour résoudre l'affectation d'un DPS.
+ *
+ * Il regroupe les secouristes disponibles le jour du DPS (avec leurs compétences), les
+ * occupations de la journée (une par affectation existante, avec les horaires et le site
+ * du DPS concerné) rangées dans des tableaux parallèles, et les besoins du DPS.
+ * Les secouristes ne portent que la disponibilité du jour chargé.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class DonneesResolution {
+
+    private final List<Secouriste> secouristes;
+
+    // Occupations de la journée : la k-ième occupation est décrite par l'indice k de chaque tableau.
+    private final long[] secouristeOccupation;
+    private final long[] dpsOccupation;
+    private final int[] debutOccupation;
+    private final int[] finOccupation;
+    private final Site[] siteOccupation;
+
+    private final Competence[] competencesBesoins;
+    private final int[] nombresBesoins;
+
+    /** Indices des occupations de chaque secouriste, par ID de secouriste. */
+    private final Map<Long, List<Integer>> occupationsParSecouriste = new HashMap<>();
+
+    /**
+     * Construit le modèle de lecture.
+     *
+     * @param secouristes          Les secouristes disponibles ce jour-là, compétences chargées.
+     * @param secouristeOccupation Pour chaque occupation, l'ID du secouriste.
+     * @param dpsOccupation        Pour chaque occupation, l'ID du DPS.
+     * @param debutOccupation      Pour chaque occupation, le début du DPS en minutes depuis minuit.
+     * @param finOccupation        Pour chaque occupation, la fin du DPS en minutes depuis minuit.
+     * @param siteOccupation       Pour chaque occupation, le site du DPS (peut contenir null).
+     * @param competencesBesoins   Les compétences demandées par le DPS.
+     * @param nombresBesoins       Pour chaque compétence demandée, le nombre de secouristes requis.
+     * @throws IllegalArgumentException si des tableaux parallèles n'ont pas la même taille.
+     */
+    public DonneesResolution(List<Secouriste> secouristes, long[] secouristeOccupation, long[] dpsOccupation,
+                             int[] debutOccupation, int[] finOccupation, Site[] siteOccupation,
+                             Competence[] competencesBesoins, int[] nombresBesoins) {
+        int nombre = secouristeOccupation.length;
+        if (dpsOccupation.length != nombre || debutOccupation.length != nombre || finOccupation.length != nombre
+                || siteOccupation.length != nombre || competencesBesoins.length != nombresBesoins.length) {
+            throw new IllegalArgumentException("Dimensions incohérentes pour les données de résolution.");
+        }
+        this.secouristes = secouristes;
+        this.secouristeOccupation = secouristeOccupation;
+        this.dpsOccupation = dpsOccupation;
+        this.debutOccupation = debutOccupation;
+        this.finOccupation = finOccupation;
+        this.siteOccupation = siteOccupation;
+        this.competencesBesoins = competencesBesoins;
+        this.nombresBesoins = nombresBesoins;
+        for (int k = 0; k < nombre; k++) {
+            occupationsParSecouriste.computeIfAbsent(secouristeOccupation[k], id -> new ArrayList<>()).add(k);
+        }
+    }
+
+    /**
+     * @return Les secouristes disponibles le jour du DPS.
+     */
+    public List<Secouriste> getSecouristes() {
+        return secouristes;
+    }
+
+    /**
+     * @param idSecouriste L'ID d'un secouriste.
+     * @return Les indices de ses occupations de la journée (liste vide s'il n'en a aucune).
+     */
+    public List<Integer> getOccupations(long idSecouriste) {
+        List<Integer> indices = occupationsParSecouriste.get(idSecouriste);
+        return indices == null ? new ArrayList<>() : indices;
+    }
+
+    /**
+     * @return Le nombre d'occupations de la journée.
+     */
+    public int getNombreOccupations() {
+        return secouristeOccupation.length;
+    }
+
+    /**
+     * @param occupation L'indice de l'occupation.
+     * @return L'ID du DPS occupé.
+     */
+    public long getDpsOccupation(int occupation) {
+        return dpsOccupation[occupation];
+    }
+
+    /**
+     * @param occupation L'indice de l'occupation.
+     * @return Le début du DPS, en minutes depuis minuit.
+     */
+    public int getDebutOccupation(int occupation) {
+        return debutOccupation[occupation];
+    }
+
+    /**
+     * @param occupation L'indice de l'occupation.
+     * @return La fin du DPS, en minutes depuis minuit.
+     */
+    public int getFinOccupation(int occupation) {
+        return finOccupation[occupation];
+    }
+
+    /**
+     * @param occupation L'indice de l'occupation.
+     * @return Le site du DPS, ou null s'il n'en a pas.
+     */
+    public Site getSiteOccupation(int occupation) {
+        return siteOccupation[occupation];
+    }
+
+    /**
+     * Crée un poste par secouriste requis pour le DPS.
+     *
+     * @param idDps L'ID du DPS auquel rattacher les postes.
+     * @return Les postes à pourvoir.
+     */
+    public List<Poste> creerPostes(long idDps) {
+        List<Poste> postes = new ArrayList<>();
+        for (int c = 0; c < competencesBesoins.length; c++) {
+            for (int i = 0; i < nombresBesoins[c]; i++) {
+                postes.add(new Poste(idDps, competencesBesoins[c]));
+            }
+        }
+        return postes;
+    }
+}
@@ -0,0 +1,180 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+/**
+ * Regroupe les opérations élémentaires sur des ensembles d'entiers représentés
+ * sous forme de tableaux de mots de 64 bits (un bit par élément).
+ *
+ * Cette représentation est utilisée par le graphe d'affectation pour stocker les
+ * aptitudes de manière compacte et pour parcourir les candidats mot par mot
+ * grâce à {@link Long#numberOfTrailingZeros(long)}.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class EnsembleBits {
+
+    /** Nombre de bits dans un mot. */
+    private static final int BITS_PAR_MOT = 64;
+
+    /** Décalage permettant de passer d'un indice de bit à un indice de mot. */
+    private static final int DECALAGE_MOT = 6;
+
+    /**
+     * Constructeur privé : classe utilitaire non instanciable.
+     */
+    private EnsembleBits() {
+    }
+
+    /**
+     * Calcule le nombre de mots nécessaires pour représenter un ensemble de taille donnée.
+     *
+     * @param taille Le nombre d'éléments possibles.
+     * @return Le nombre de mots de 64 bits nécessaires.
+     */
+    public static int nombreMots(int taille) {
+        return (taille + BITS_PAR_MOT - 1) >>> DECALAGE_MOT;
+    }
+
+    /**
+     * Crée un ensemble vide pouvant contenir des éléments de 0 à taille - 1.
+     *
+     * @param taille Le nombre d'éléments possibles.
+     * @return Un nouvel ensemble vide.
+     */
+    public static long[] creerVide(int taille) {
+        return new long[nombreMots(taille)];
+    }
+
+    /**
+     * Crée un ensemble contenant tous les éléments de 0 à taille - 1.
+     *
+     * @param taille Le nombre d'éléments.
+     * @return Un nouvel ensemble plein.
+     */
+    public static long[] creerPlein(int taille) {
+        long[] ensemble = creerVide(taille);
+        for (int mot = 0; mot < ensemble.length; mot++) {
+            ensemble[mot] = -1L;
+        }
+        int reste = taille & (BITS_PAR_MOT - 1);
+        if (reste != 0) {
+            // On efface les bits au-delà de la taille dans le dernier mot.
+            ensemble[ensemble.length - 1] = (1L << reste) - 1;
+        }
+        return ensemble;
+    }
+
+    /**
+     * Ajoute un élément à l'ensemble.
+     *
+     * @param ensemble L'ensemble à modifier.
+     * @param element  L'élément à ajouter.
+     */
+    public static void ajouter(long[] ensemble, int element) {
+        ensemble[element >>> DECALAGE_MOT] |= 1L << element;
+    }
+
+    /**
+     * Retire un élément de l'ensemble.
+     *
+     * @param ensemble L'ensemble à modifier.
+     * @param element  L'élément à retirer.
+     */
+    public static void retirer(long[] ensemble, int element) {
+        ensemble[element >>> DECALAGE_MOT] &= ~(1L << element);
+    }
+
+    /**
+     * Teste l'appartenance d'un élément à l'ensemble.
+     *
+     * @param ensemble L'ensemble à consulter.
+     * @param element  L'élément recherché.
+     * @return `true` si l'élément appartient à l'ensemble.
+     */
+    public static boolean contient(long[] ensemble, int element) {
+        return (ensemble[element >>> DECALAGE_MOT] & (1L << element)) != 0;
+    }
+
+    /**
+     * Compte le nombre d'éléments de l'ensemble.
+     *
+     * @param ensemble L'ensemble à consulter.
+     * @return Le cardinal de l'ensemble.
+     */
+    public static int cardinal(long[] ensemble) {
+        int total = 0;
+        for (long mot : ensemble) {
+            total += Long.bitCount(mot);
+        }
+        return total;
+    }
+
+    /**
+     * Compte le nombre d'éléments communs à deux ensembles de même taille.
+     *
+     * @param a Le premier ensemble.
+     * @param b Le second ensemble.
+     * @return Le cardinal de l'intersection.
+     */
+    public static int cardinalIntersection(long[] a, long[] b) {
+        int total = 0;
+        for (int mot = 0; mot < a.length; mot++) {
+            total += Long.bitCount(a[mot] & b[mot]);
+        }
+        return total;
+    }
+
+    /**
+     * Retourne le plus petit élément de l'ensemble supérieur ou égal à une borne.
+     *
+     * @param ensemble L'ensemble à parcourir.
+     * @param depuis   La borne inférieure (incluse).
+     * @return L'élément trouvé, ou -1 s'il n'y en a aucun.
+     */
+    public static int prochain(long[] ensemble, int depuis) {
+        int mot = depuis >>> DECALAGE_MOT;
+        if (mot >= ensemble.length) {
+            return -1;
+        }
+        long courant = ensemble[mot] & (-1L << depuis);
+        while (true) {
+            if (courant != 0) {
+                return (mot << DECALAGE_MOT) + Long.numberOfTrailingZeros(courant);
+            }
+            mot++;
+            if (mot == ensemble.length) {
+                return -1;
+            }
+            courant = ensemble[mot];
+        }
+    }
+
+    /**
+     * Retourne le plus petit élément commun à deux ensembles supérieur ou égal à une borne.
+     * L'intersection est calculée mot par mot, sans allocation.
+     *
+     * @param a      Le premier ensemble.
+     * @param b      Le second ensemble, de même taille que le premier.
+     * @param depuis La borne inférieure (incluse).
+     * @return L'élément trouvé, ou -1 s'il n'y en a aucun.
+     */
+    public static int prochainCommun(long[] a, long[] b, int depuis) {
+        int mot = depuis >>> DECALAGE_MOT;
+        if (mot >= a.length) {
+            return -1;
+        }
+        long courant = a[mot] & b[mot] & (-1L << depuis);
+        while (true) {
+            if (courant != 0) {
+                return (mot << DECALAGE_MOT) + Long.numberOfTrailingZeros(courant);
+            }
+            mot++;
+            if (mot == a.length) {
+                return -1;
+            }
+            courant = a[mot] & b[mot];
+        }
+    }
+}
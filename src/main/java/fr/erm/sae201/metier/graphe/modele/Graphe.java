@@ -1,21 +1,34 @@
 package fr.erm.sae201.metier.graphe.modele;
 
+import fr.erm.sae201.metier.persistence.Competence;
 import fr.erm.sae201.metier.persistence.Secouriste;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Représente un graphe biparti utilisé pour modéliser le problème d'affectation.
- * 
+ *
  * Cette structure de données contient les deux ensembles de sommets (les secouristes
- * et les postes à pourvoir) ainsi qu'une matrice d'adjacence qui définit les arêtes
- * possibles, c'est-à-dire l'aptitude d'un secouriste pour un poste donné.
- * 
+ * et les postes à pourvoir) ainsi que les arêtes possibles, c'est-à-dire l'aptitude
+ * d'un secouriste pour un poste donné.
+ *
+ * Les aptitudes sont stockées sous forme d'ensembles de bits (voir {@link EnsembleBits}) :
+ * pour chaque poste, l'ensemble des secouristes aptes, et pour chaque secouriste,
+ * l'ensemble des postes qu'il peut occuper. Une arête coûte ainsi deux bits au lieu
+ * d'un entier, et la recherche d'un candidat se fait 64 secouristes à la fois.
+ *
+ * Chaque arête peut en outre porter un coût (par défaut nul), utilisé par les
+ * algorithmes pondérés pour départager des affectations de même cardinalité.
+ * Seuls les coûts non nuls sont stockés, poste par poste, dans des tableaux triés
+ * par indice de secouriste : la mémoire reste proportionnelle au nombre d'arêtes.
+ *
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.5
  */
 public class Graphe {
 
@@ -25,19 +38,216 @@ public class Graphe {
     /** La liste des postes à pourvoir, représentant le second ensemble de sommets. */
     private final List<Poste> postes;
 
-    /** La matrice d'adjacence où matrice[i][j] = 1 si le secouriste i est apte pour le poste j. */
-    private final int[][] adjacenceMatrice;
+    /** Pour chaque poste j, l'ensemble (en bits) des secouristes aptes à l'occuper. */
+    private final long[][] secouristesAptesParPoste;
+
+    /** Pour chaque secouriste i, l'ensemble (en bits) des postes qu'il peut occuper. */
+    private final long[][] postesAccessiblesParSecouriste;
+
+    /** Pour chaque poste j, les indices triés des secouristes dont le coût est non nul (null si aucun). */
+    private final int[][] secouristesCoutes;
+
+    /** Pour chaque poste j, les coûts non nuls, dans l'ordre de {@link #secouristesCoutes}. */
+    private final int[][] couts;
+
+    /** Pour chaque poste j, le nombre de coûts non nuls stockés. */
+    private final int[] nombreCouts;
+
+    /**
+     * Construit un Graphe sans aucune arête.
+     * Les aptitudes sont ensuite déclarées avec {@link #ajouterAptitude(int, int)}.
+     *
+     * @param secouristes La liste des secouristes (un des ensembles de sommets).
+     * @param postes      La liste des postes à pourvoir (l'autre ensemble de sommets).
+     */
+    public Graphe(List<Secouriste> secouristes, List<Poste> postes) {
+        this.secouristes = secouristes;
+        this.postes = postes;
+        this.secouristesAptesParPoste = new long[postes.size()][];
+        for (int j = 0; j < postes.size(); j++) {
+            secouristesAptesParPoste[j] = EnsembleBits.creerVide(secouristes.size());
+        }
+        this.postesAccessiblesParSecouriste = new long[secouristes.size()][];
+        for (int i = 0; i < secouristes.size(); i++) {
+            postesAccessiblesParSecouriste[i] = EnsembleBits.creerVide(postes.size());
+        }
+        this.secouristesCoutes = new int[postes.size()][];
+        this.couts = new int[postes.size()][];
+        this.nombreCouts = new int[postes.size()];
+    }
 
     /**
-     * Construit un objet Graphe.
+     * Construit un objet Graphe à partir d'une matrice d'adjacence.
      * @param secouristes      La liste des secouristes (un des ensembles de sommets).
      * @param postes           La liste des postes à pourvoir (l'autre ensemble de sommets).
-     * @param adjacenceMatrice La matrice d'adjacence représentant les aptitudes.
+     * @param adjacenceMatrice La matrice d'adjacence où matrice[i][j] = 1 si le secouriste i est apte pour le poste j.
      */
     public Graphe(List<Secouriste> secouristes, List<Poste> postes, int[][] adjacenceMatrice) {
-        this.secouristes = secouristes;
-        this.postes = postes;
-        this.adjacenceMatrice = adjacenceMatrice;
+        this(secouristes, postes);
+        for (int i = 0; i < secouristes.size(); i++) {
+            for (int j = 0; j < postes.size(); j++) {
+                if (adjacenceMatrice[i][j] == 1) {
+                    ajouterAptitude(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Déclare les aptitudes et les coûts de surqualification de tous les couples (secouriste, poste)
+     * d'après la hiérarchie des compétences : un secouriste est apte si ses compétences couvrent celle
+     * du poste. La compétence exacte suffit même si la hiérarchie ne la connaît pas.
+     *
+     * @param hierarchie L'instantané du graphe des compétences, le même pour tout le graphe.
+     */
+    public void ajouterAptitudesEtCouts(GrapheCompetences hierarchie) {
+        for (int i = 0; i < secouristes.size(); i++) {
+            Set<Competence> competences = secouristes.get(i).getCompetences();
+            // Calculé une fois par secouriste : chaque poste se teste ensuite en un bit.
+            long[] couvertes = hierarchie.calculerCompetencesCouvertes(competences);
+            for (int j = 0; j < postes.size(); j++) {
+                Competence requise = postes.get(j).getCompetenceRequise();
+                if (hierarchie.couvre(couvertes, requise) || competences.contains(requise)) {
+                    ajouterAptitude(i, j);
+                    definirCout(i, j, hierarchie.coutSurqualification(competences, requise));
+                }
+            }
+        }
+    }
+
+    /**
+     * Déclare que le secouriste d'indice i est apte à occuper le poste d'indice j.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste.
+     */
+    public void ajouterAptitude(int indexSecouriste, int indexPoste) {
+        EnsembleBits.ajouter(secouristesAptesParPoste[indexPoste], indexSecouriste);
+        EnsembleBits.ajouter(postesAccessiblesParSecouriste[indexSecouriste], indexPoste);
+    }
+
+    /**
+     * Définit le coût de l'affectation du secouriste i au poste j.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste.
+     * @param cout            Le coût, positif ou nul.
+     * @throws IllegalArgumentException si le coût est négatif.
+     */
+    public void definirCout(int indexSecouriste, int indexPoste, int cout) {
+        if (cout < 0) {
+            throw new IllegalArgumentException("Le coût d'une affectation ne peut pas être négatif.");
+        }
+        int nombre = nombreCouts[indexPoste];
+        int position = chercherCout(indexSecouriste, indexPoste);
+        if (position >= 0) {
+            if (cout != 0) {
+                couts[indexPoste][position] = cout;
+            } else {
+                // Un coût remis à zéro n'est plus stocké.
+                System.arraycopy(secouristesCoutes[indexPoste], position + 1, secouristesCoutes[indexPoste], position, nombre - position - 1);
+                System.arraycopy(couts[indexPoste], position + 1, couts[indexPoste], position, nombre - position - 1);
+                nombreCouts[indexPoste]--;
+            }
+            return;
+        }
+        if (cout == 0) {
+            return;
+        }
+        if (secouristesCoutes[indexPoste] == null) {
+            secouristesCoutes[indexPoste] = new int[4];
+            couts[indexPoste] = new int[4];
+        } else if (nombre == secouristesCoutes[indexPoste].length) {
+            secouristesCoutes[indexPoste] = Arrays.copyOf(secouristesCoutes[indexPoste], 2 * nombre);
+            couts[indexPoste] = Arrays.copyOf(couts[indexPoste], 2 * nombre);
+        }
+        // Les coûts sont en général définis par indice de secouriste croissant : l'insertion se fait alors en fin de tableau.
+        int insertion = -position - 1;
+        System.arraycopy(secouristesCoutes[indexPoste], insertion, secouristesCoutes[indexPoste], insertion + 1, nombre - insertion);
+        System.arraycopy(couts[indexPoste], insertion, couts[indexPoste], insertion + 1, nombre - insertion);
+        secouristesCoutes[indexPoste][insertion] = indexSecouriste;
+        couts[indexPoste][insertion] = cout;
+        nombreCouts[indexPoste]++;
+    }
+
+    /**
+     * Retourne le coût de l'affectation du secouriste i au poste j.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste.
+     * @return Le coût défini, ou 0 si aucun coût n'a été défini.
+     */
+    public int getCout(int indexSecouriste, int indexPoste) {
+        int position = chercherCout(indexSecouriste, indexPoste);
+        return position >= 0 ? couts[indexPoste][position] : 0;
+    }
+
+    /**
+     * Recherche dichotomique du coût stocké d'un couple (secouriste, poste).
+     *
+     * @return La position du coût, ou (-(point d'insertion) - 1) s'il n'est pas stocké.
+     */
+    private int chercherCout(int indexSecouriste, int indexPoste) {
+        if (secouristesCoutes[indexPoste] == null) {
+            return -1;
+        }
+        return Arrays.binarySearch(secouristesCoutes[indexPoste], 0, nombreCouts[indexPoste], indexSecouriste);
+    }
+
+    /**
+     * Indique si le secouriste d'indice i est apte à occuper le poste d'indice j.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexPoste      L'indice du poste.
+     * @return `true` si l'arête existe.
+     */
+    public boolean estApte(int indexSecouriste, int indexPoste) {
+        return EnsembleBits.contient(secouristesAptesParPoste[indexPoste], indexSecouriste);
+    }
+
+    /**
+     * Retourne l'ensemble (en bits) des secouristes aptes pour un poste.
+     * Le tableau retourné est la structure interne du graphe et ne doit pas être modifié.
+     *
+     * @param indexPoste L'indice du poste.
+     * @return L'ensemble des indices des secouristes aptes.
+     */
+    public long[] getSecouristesAptes(int indexPoste) {
+        return secouristesAptesParPoste[indexPoste];
+    }
+
+    /**
+     * Retourne l'ensemble (en bits) des postes accessibles à un secouriste.
+     * Le tableau retourné est la structure interne du graphe et ne doit pas être modifié.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @return L'ensemble des indices des postes qu'il peut occuper.
+     */
+    public long[] getPostesAccessibles(int indexSecouriste) {
+        return postesAccessiblesParSecouriste[indexSecouriste];
+    }
+
+    /**
+     * Cherche le premier secouriste, à partir d'un indice donné, qui est à la fois
+     * apte pour le poste et présent dans l'ensemble des secouristes libres.
+     *
+     * @param indexPoste L'indice du poste à pourvoir.
+     * @param libres     L'ensemble (en bits) des secouristes encore libres.
+     * @param depuis     L'indice de secouriste à partir duquel chercher (inclus).
+     * @return L'indice du secouriste trouvé, ou -1 s'il n'y en a aucun.
+     */
+    public int prochainSecouristeAptEtLibre(int indexPoste, long[] libres, int depuis) {
+        return EnsembleBits.prochainCommun(secouristesAptesParPoste[indexPoste], libres, depuis);
+    }
+
+    /**
+     * Compte le nombre de secouristes aptes pour un poste (son degré dans le graphe).
+     *
+     * @param indexPoste L'indice du poste.
+     * @return Le nombre de secouristes aptes.
+     */
+    public int getNombreSecouristesAptes(int indexPoste) {
+        return EnsembleBits.cardinal(secouristesAptesParPoste[indexPoste]);
     }
 
     /**
@@ -58,15 +268,6 @@ public class Graphe {
         return postes;
     }
 
-    /**
-     * Retourne la matrice d'adjacence.
-     *
-     * @return La matrice d'adjacence.
-     */
-    public int[][] getAdjacenceMatrice() {
-        return adjacenceMatrice;
-    }
-
     /**
      * Retourne le nombre total de secouristes dans le graphe.
      *
@@ -84,4 +285,4 @@ public class Graphe {
     public int getNombrePostes() {
         return postes.size();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,221 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+import fr.erm.sae201.metier.persistence.Competence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instantané immuable du graphe des prérequis entre compétences.
+ *
+ * Chaque intitulé reçoit un identifiant entier, et chaque compétence porte l'ensemble
+ * (en bits) des compétences qu'elle couvre (fermeture transitive des prérequis, elle-même
+ * comprise) ainsi que la distance vers chacune d'elles. Tout est calculé à la construction ;
+ * l'instantané n'est ensuite plus jamais modifié et peut donc être partagé sans verrou
+ * entre plusieurs threads.
+ *
+ * Le numéro de version permet de savoir si un résultat calculé à partir d'un instantané
+ * (par exemple un ensemble de compétences couvertes) est encore cohérent avec le graphe courant.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class GrapheCompetences {
+
+    private final long version;
+
+    /** Pour chaque intitulé, les intitulés de ses prérequis directs (copie non modifiable). */
+    private final Map<String, Set<String>> prerequisDirects;
+
+    /** Identifiant entier de chaque intitulé de compétence connu. */
+    private final Map<String, Integer> identifiants = new HashMap<>();
+
+    /** couvertes[c] = ensemble des compétences couvertes par la compétence c (elle-même comprise). */
+    private final long[][] couvertes;
+
+    /** distances[c][r] = nombre de niveaux de prérequis de c à r, ou -1 si c ne couvre pas r. */
+    private final int[][] distances;
+
+    /**
+     * Construit un instantané à partir de la liste d'adjacence des prérequis.
+     * Un prérequis qui n'apparaît pas comme clé est considéré comme une compétence sans prérequis.
+     *
+     * @param version         Le numéro de version de cet instantané.
+     * @param grapheAdjacence Pour chaque intitulé, les intitulés de ses prérequis directs.
+     */
+    public GrapheCompetences(long version, Map<String, Set<String>> grapheAdjacence) {
+        this.version = version;
+        Map<String, Set<String>> copie = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entree : grapheAdjacence.entrySet()) {
+            copie.put(entree.getKey(), Collections.unmodifiableSet(new HashSet<>(entree.getValue())));
+            for (String prerequis : entree.getValue()) {
+                copie.putIfAbsent(prerequis, Collections.emptySet());
+            }
+        }
+        this.prerequisDirects = Collections.unmodifiableMap(copie);
+
+        for (String intitule : prerequisDirects.keySet()) {
+            identifiants.put(intitule, identifiants.size());
+        }
+        int nombre = identifiants.size();
+        int[][] listes = new int[nombre][];
+        for (Map.Entry<String, Integer> entree : identifiants.entrySet()) {
+            Set<String> prerequis = prerequisDirects.get(entree.getKey());
+            int[] liste = new int[prerequis.size()];
+            int position = 0;
+            for (String intitule : prerequis) {
+                liste[position] = identifiants.get(intitule);
+                position++;
+            }
+            listes[entree.getValue()] = liste;
+        }
+
+        // Parcours en largeur depuis chaque compétence.
+        couvertes = new long[nombre][];
+        distances = new int[nombre][nombre];
+        int[] file = new int[nombre];
+        for (int depart = 0; depart < nombre; depart++) {
+            int[] distance = distances[depart];
+            Arrays.fill(distance, -1);
+            distance[depart] = 0;
+            int debut = 0;
+            int fin = 0;
+            file[fin] = depart;
+            fin++;
+            while (debut < fin) {
+                int courante = file[debut];
+                debut++;
+                for (int prerequis : listes[courante]) {
+                    if (distance[prerequis] < 0) {
+                        distance[prerequis] = distance[courante] + 1;
+                        file[fin] = prerequis;
+                        fin++;
+                    }
+                }
+            }
+            long[] ensemble = EnsembleBits.creerVide(nombre);
+            for (int r = 0; r < nombre; r++) {
+                if (distance[r] >= 0) {
+                    EnsembleBits.ajouter(ensemble, r);
+                }
+            }
+            couvertes[depart] = ensemble;
+        }
+    }
+
+    /**
+     * @return Le numéro de version de cet instantané.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return Le nombre de compétences connues.
+     */
+    public int getNombreCompetences() {
+        return identifiants.size();
+    }
+
+    /**
+     * @return Pour chaque intitulé, les intitulés de ses prérequis directs (non modifiable).
+     */
+    public Map<String, Set<String>> getPrerequisDirects() {
+        return prerequisDirects;
+    }
+
+    /**
+     * Reconstruit la liste des compétences avec leurs prérequis directs.
+     * Les objets retournés sont neufs : l'appelant peut les modifier sans toucher à l'instantané.
+     *
+     * @return La liste de toutes les compétences connues.
+     */
+    public List<Competence> creerCompetences() {
+        Map<String, Competence> parIntitule = new HashMap<>();
+        for (String intitule : prerequisDirects.keySet()) {
+            parIntitule.put(intitule, new Competence(intitule));
+        }
+        List<Competence> resultat = new ArrayList<>();
+        for (Map.Entry<String, Set<String>> entree : prerequisDirects.entrySet()) {
+            Competence competence = parIntitule.get(entree.getKey());
+            Set<Competence> prerequis = new HashSet<>();
+            for (String intitule : entree.getValue()) {
+                prerequis.add(parIntitule.get(intitule));
+            }
+            competence.setPrerequisites(prerequis);
+            resultat.add(competence);
+        }
+        return resultat;
+    }
+
+    /**
+     * Calcule l'ensemble (en bits) de toutes les compétences couvertes par celles d'un secouriste.
+     *
+     * @param competencesPossedees L'ensemble des compétences du secouriste.
+     * @return L'union des fermetures de ses compétences.
+     */
+    public long[] calculerCompetencesCouvertes(Set<Competence> competencesPossedees) {
+        long[] resultat = EnsembleBits.creerVide(identifiants.size());
+        for (Competence possedee : competencesPossedees) {
+            Integer id = identifiants.get(possedee.getIntitule());
+            if (id != null) {
+                long[] fermeture = couvertes[id];
+                for (int mot = 0; mot < resultat.length; mot++) {
+                    resultat[mot] |= fermeture[mot];
+                }
+            }
+        }
+        return resultat;
+    }
+
+    /**
+     * Indique si un ensemble de compétences couvertes contient une compétence requise.
+     * Une compétence inconnue du graphe n'est jamais couverte.
+     *
+     * @param competencesCouvertes L'ensemble calculé par {@link #calculerCompetencesCouvertes(Set)} sur cet instantané.
+     * @param competenceRequise    La compétence demandée pour le poste.
+     * @return `true` si la compétence requise est couverte.
+     */
+    public boolean couvre(long[] competencesCouvertes, Competence competenceRequise) {
+        Integer id = identifiants.get(competenceRequise.getIntitule());
+        return id != null && EnsembleBits.contient(competencesCouvertes, id);
+    }
+
+    /**
+     * Calcule le coût de surqualification d'un secouriste pour une compétence requise :
+     * 0 s'il possède exactement la compétence, sinon le plus petit nombre de niveaux de
+     * prérequis séparant une de ses compétences de la compétence requise.
+     *
+     * @param competencesPossedees L'ensemble des compétences du secouriste.
+     * @param competenceRequise    La compétence demandée pour le poste.
+     * @return Le coût de surqualification, ou -1 si le secouriste n'est pas apte.
+     */
+    public int coutSurqualification(Set<Competence> competencesPossedees, Competence competenceRequise) {
+        if (competencesPossedees.contains(competenceRequise)) {
+            return 0;
+        }
+        Integer idRequise = identifiants.get(competenceRequise.getIntitule());
+        if (idRequise == null) {
+            return -1;
+        }
+        int meilleurCout = -1;
+        for (Competence possedee : competencesPossedees) {
+            Integer idPossedee = identifiants.get(possedee.getIntitule());
+            if (idPossedee != null) {
+                int distance = distances[idPossedee][idRequise];
+                if (distance >= 0 && (meilleurCout < 0 || distance < meilleurCout)) {
+                    meilleurCout = distance;
+                }
+            }
+        }
+        return meilleurCout;
+    }
+}
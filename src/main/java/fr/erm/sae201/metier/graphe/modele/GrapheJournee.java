@@ -0,0 +1,93 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+/**
+ * Représente le problème d'affectation d'une journée complète, tous DPS confondus.
+ *
+ * Il s'appuie sur un {@link Graphe} biparti dont les postes regroupent ceux de tous les DPS
+ * du jour. Chaque poste est rattaché à l'indice de son DPS, et une matrice symétrique indique
+ * quels DPS sont en conflit (horaires qui se chevauchent) : un secouriste ne peut occuper
+ * qu'un seul poste parmi des DPS en conflit. Un DPS est toujours en conflit avec lui-même,
+ * ce qui interdit d'occuper deux postes du même dispositif.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class GrapheJournee {
+
+    /** Le graphe des aptitudes entre les secouristes du jour et tous les postes du jour. */
+    private final Graphe graphe;
+
+    /** Pour chaque poste du graphe, l'indice du DPS auquel il appartient. */
+    private final int[] dpsDuPoste;
+
+    /** dpsEnConflit[a][b] vaut `true` si les DPS a et b ne peuvent pas partager un secouriste. */
+    private final boolean[][] dpsEnConflit;
+
+    /**
+     * Construit le graphe d'une journée.
+     *
+     * @param graphe       Le graphe des aptitudes, dont les postes couvrent tous les DPS du jour.
+     * @param dpsDuPoste   Pour chaque poste du graphe, l'indice de son DPS.
+     * @param dpsEnConflit La matrice des conflits entre DPS (symétrique, carrée).
+     * @throws IllegalArgumentException si les dimensions ne correspondent pas.
+     */
+    public GrapheJournee(Graphe graphe, int[] dpsDuPoste, boolean[][] dpsEnConflit) {
+        if (dpsDuPoste.length != graphe.getNombrePostes()) {
+            throw new IllegalArgumentException("Chaque poste doit être rattaché à un DPS.");
+        }
+        for (int indexDps : dpsDuPoste) {
+            if (indexDps < 0 || indexDps >= dpsEnConflit.length) {
+                throw new IllegalArgumentException("Indice de DPS invalide : " + indexDps);
+            }
+        }
+        this.graphe = graphe;
+        this.dpsDuPoste = dpsDuPoste;
+        this.dpsEnConflit = dpsEnConflit;
+        // Un secouriste ne peut jamais occuper deux postes du même DPS.
+        for (int a = 0; a < dpsEnConflit.length; a++) {
+            dpsEnConflit[a][a] = true;
+        }
+    }
+
+    /**
+     * Retourne le graphe des aptitudes.
+     *
+     * @return Le graphe biparti secouristes / postes de la journée.
+     */
+    public Graphe getGraphe() {
+        return graphe;
+    }
+
+    /**
+     * Retourne l'indice du DPS auquel appartient un poste.
+     *
+     * @param indexPoste L'indice du poste dans le graphe.
+     * @return L'indice du DPS.
+     */
+    public int getDpsDuPoste(int indexPoste) {
+        return dpsDuPoste[indexPoste];
+    }
+
+    /**
+     * Indique si deux postes appartiennent à des DPS en conflit,
+     * c'est-à-dire s'ils ne peuvent pas être occupés par le même secouriste.
+     *
+     * @param indexPoste1 L'indice du premier poste.
+     * @param indexPoste2 L'indice du second poste.
+     * @return `true` si les deux postes sont incompatibles pour un même secouriste.
+     */
+    public boolean postesEnConflit(int indexPoste1, int indexPoste2) {
+        return dpsEnConflit[dpsDuPoste[indexPoste1]][dpsDuPoste[indexPoste2]];
+    }
+
+    /**
+     * Retourne le nombre de DPS de la journée.
+     *
+     * @return Le nombre de DPS.
+     */
+    public int getNombreDps() {
+        return dpsEnConflit.length;
+    }
+}
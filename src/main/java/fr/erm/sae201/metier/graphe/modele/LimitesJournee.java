@@ -0,0 +1,115 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+/**
+ * Limites individuelles des secouristes pour une journée, utilisées par
+ * l'affectation globale d'une journée lorsqu'elle s'inscrit dans une période plus longue.
+ *
+ * Pour chaque secouriste du {@link GrapheJournee} : l'heure à partir de laquelle il peut
+ * reprendre un service (repos après son dernier DPS des jours précédents) et le temps de
+ * service qu'il lui reste dans la semaine. Pour chaque DPS du jour : son heure de début et sa durée.
+ * Des charges facultatives (temps de service déjà effectué) permettent de proposer les postes
+ * en priorité aux secouristes les moins sollicités.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class LimitesJournee {
+
+    private final int maxDps;
+    private final int[] debutDps;
+    private final int[] dureeDps;
+    private final int[] debutAutorise;
+    private final int[] budgetMinutes;
+    private final long[] charges;
+
+    /**
+     * Construit les limites d'une journée.
+     *
+     * @param maxDps        Le nombre maximal de DPS par secouriste dans la journée.
+     * @param debutDps      Pour chaque DPS du jour, son heure de début en minutes depuis minuit.
+     * @param dureeDps      Pour chaque DPS du jour, sa durée en minutes.
+     * @param debutAutorise Pour chaque secouriste, l'heure (en minutes depuis minuit) avant laquelle
+     *                      aucun DPS ne peut commencer pour lui.
+     * @param budgetMinutes Pour chaque secouriste, le temps de service restant dans la semaine.
+     * @throws IllegalArgumentException si les tableaux d'une même dimension n'ont pas la même taille.
+     */
+    public LimitesJournee(int maxDps, int[] debutDps, int[] dureeDps, int[] debutAutorise, int[] budgetMinutes) {
+        this(maxDps, debutDps, dureeDps, debutAutorise, budgetMinutes, null);
+    }
+
+    /**
+     * Construit les limites d'une journée avec les charges des secouristes, pour équilibrer le temps de service.
+     *
+     * @param maxDps        Le nombre maximal de DPS par secouriste dans la journée.
+     * @param debutDps      Pour chaque DPS du jour, son heure de début en minutes depuis minuit.
+     * @param dureeDps      Pour chaque DPS du jour, sa durée en minutes.
+     * @param debutAutorise Pour chaque secouriste, l'heure (en minutes depuis minuit) avant laquelle
+     *                      aucun DPS ne peut commencer pour lui.
+     * @param budgetMinutes Pour chaque secouriste, le temps de service restant dans la semaine.
+     * @param charges       Pour chaque secouriste, le temps de service déjà effectué, ou null.
+     * @throws IllegalArgumentException si les tableaux d'une même dimension n'ont pas la même taille.
+     */
+    public LimitesJournee(int maxDps, int[] debutDps, int[] dureeDps, int[] debutAutorise, int[] budgetMinutes, long[] charges) {
+        if (debutDps.length != dureeDps.length || debutAutorise.length != budgetMinutes.length
+                || (charges != null && charges.length != budgetMinutes.length)) {
+            throw new IllegalArgumentException("Dimensions incohérentes pour les limites de la journée.");
+        }
+        this.maxDps = maxDps;
+        this.debutDps = debutDps;
+        this.dureeDps = dureeDps;
+        this.debutAutorise = debutAutorise;
+        this.budgetMinutes = budgetMinutes;
+        this.charges = charges;
+    }
+
+    /**
+     * @return `true` si des charges ont été fournies pour équilibrer le temps de service.
+     */
+    public boolean aDesCharges() {
+        return charges != null;
+    }
+
+    /**
+     * @param indexSecouriste L'indice du secouriste.
+     * @return Le temps de service qu'il a déjà effectué, en minutes (0 sans charges).
+     */
+    public long getCharge(int indexSecouriste) {
+        return charges == null ? 0 : charges[indexSecouriste];
+    }
+
+    /**
+     * @return Le nombre maximal de DPS par secouriste dans la journée.
+     */
+    public int getMaxDps() {
+        return maxDps;
+    }
+
+    /**
+     * @param indexDps L'indice du DPS dans la journée.
+     * @return Sa durée en minutes.
+     */
+    public int getDuree(int indexDps) {
+        return dureeDps[indexDps];
+    }
+
+    /**
+     * @param indexSecouriste L'indice du secouriste.
+     * @return Le temps de service qu'il lui reste dans la semaine, en minutes.
+     */
+    public int getBudget(int indexSecouriste) {
+        return budgetMinutes[indexSecouriste];
+    }
+
+    /**
+     * Indique si un secouriste est suffisamment reposé pour commencer un DPS.
+     *
+     * @param indexSecouriste L'indice du secouriste.
+     * @param indexDps        L'indice du DPS dans la journée.
+     * @return `true` si le DPS commence après la fin de sa période de repos.
+     */
+    public boolean estRepose(int indexSecouriste, int indexDps) {
+        return debutDps[indexDps] >= debutAutorise[indexSecouriste];
+    }
+}
@@ -0,0 +1,131 @@
+package fr.erm.sae201.metier.graphe.modele;
+
+import fr.erm.sae201.metier.persistence.Site;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Matrice précalculée des distances et des temps de trajet entre les sites.
+ *
+ * Les distances sont calculées une seule fois à la construction avec la formule de haversine
+ * (distance à vol d'oiseau sur la sphère terrestre) à partir de la latitude et de la longitude
+ * de chaque {@link Site}. Le temps de trajet en découle avec une vitesse moyenne. Chaque
+ * consultation revient ensuite à une recherche d'indice et une lecture de tableau.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class MatriceTrajets {
+
+    /** Vitesse moyenne par défaut d'un déplacement entre deux sites, en km/h. */
+    public static final double VITESSE_MOYENNE_KMH = 50.0;
+
+    /** Rayon moyen de la Terre, en kilomètres. */
+    private static final double RAYON_TERRE_KM = 6371.0;
+
+    /** Indice de chaque site, par code. */
+    private final Map<String, Integer> indices = new HashMap<>();
+
+    /** distancesKm[a][b] = distance entre les sites a et b, en kilomètres. */
+    private final double[][] distancesKm;
+
+    /** minutesTrajet[a][b] = temps de trajet entre les sites a et b, arrondi à la minute supérieure. */
+    private final int[][] minutesTrajet;
+
+    /**
+     * Précalcule la matrice pour un ensemble de sites.
+     *
+     * @param sites      Les sites à couvrir.
+     * @param vitesseKmH La vitesse moyenne de déplacement, en km/h. Doit être strictement positive.
+     * @throws IllegalArgumentException si la vitesse n'est pas strictement positive.
+     */
+    public MatriceTrajets(Collection<Site> sites, double vitesseKmH) {
+        if (vitesseKmH <= 0) {
+            throw new IllegalArgumentException("La vitesse moyenne doit être strictement positive.");
+        }
+        Site[] parIndice = new Site[sites.size()];
+        for (Site site : sites) {
+            if (!indices.containsKey(site.getCode())) {
+                parIndice[indices.size()] = site;
+                indices.put(site.getCode(), indices.size());
+            }
+        }
+        int nombre = indices.size();
+        distancesKm = new double[nombre][nombre];
+        minutesTrajet = new int[nombre][nombre];
+        for (int a = 0; a < nombre; a++) {
+            for (int b = a + 1; b < nombre; b++) {
+                double distance = distanceHaversineKm(parIndice[a].getLatitude(), parIndice[a].getLongitude(),
+                        parIndice[b].getLatitude(), parIndice[b].getLongitude());
+                int minutes = (int) Math.ceil(distance / vitesseKmH * 60.0);
+                distancesKm[a][b] = distance;
+                distancesKm[b][a] = distance;
+                minutesTrajet[a][b] = minutes;
+                minutesTrajet[b][a] = minutes;
+            }
+        }
+    }
+
+    /**
+     * Calcule la distance à vol d'oiseau entre deux points avec la formule de haversine.
+     *
+     * @param latitude1  Latitude du premier point, en degrés.
+     * @param longitude1 Longitude du premier point, en degrés.
+     * @param latitude2  Latitude du second point, en degrés.
+     * @param longitude2 Longitude du second point, en degrés.
+     * @return La distance en kilomètres.
+     */
+    public static double distanceHaversineKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double deltaLatitude = Math.toRadians(latitude2 - latitude1);
+        double deltaLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(deltaLatitude / 2) * Math.sin(deltaLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(deltaLongitude / 2) * Math.sin(deltaLongitude / 2);
+        return 2 * RAYON_TERRE_KM * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * @param site Un site.
+     * @return `true` si le site fait partie de la matrice.
+     */
+    public boolean contient(Site site) {
+        return site != null && indices.containsKey(site.getCode());
+    }
+
+    /**
+     * Retourne la distance entre deux sites.
+     *
+     * @param depart  Le site de départ.
+     * @param arrivee Le site d'arrivée.
+     * @return La distance en kilomètres, ou 0 si l'un des sites est inconnu de la matrice.
+     */
+    public double getDistanceKm(Site depart, Site arrivee) {
+        Integer a = indiceDe(depart);
+        Integer b = indiceDe(arrivee);
+        return a == null || b == null ? 0.0 : distancesKm[a][b];
+    }
+
+    /**
+     * Retourne le temps de trajet entre deux sites.
+     *
+     * @param depart  Le site de départ.
+     * @param arrivee Le site d'arrivée.
+     * @return Le temps de trajet en minutes, ou 0 si l'un des sites est inconnu de la matrice.
+     */
+    public int getMinutesTrajet(Site depart, Site arrivee) {
+        Integer a = indiceDe(depart);
+        Integer b = indiceDe(arrivee);
+        return a == null || b == null ? 0 : minutesTrajet[a][b];
+    }
+
+    /**
+     * @return L'indice du site dans la matrice, ou null s'il est inconnu.
+     */
+    private Integer indiceDe(Site site) {
+        return site == null ? null : indices.get(site.getCode());
+    }
+}
@@ -0,0 +1,134 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+/**
+ * Métadonnées décrivant un {@link SolveurAffectation}, utilisées pour le présenter à
+ * l'utilisateur et pour choisir automatiquement un solveur adapté à un graphe.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class CaracteristiquesSolveur {
+
+    private final boolean optimal;
+    private final ClasseComplexite classeComplexite;
+    private final String complexite;
+    private final boolean gerePoids;
+    private final boolean gereAnnulation;
+    private final boolean utiliseHistorique;
+    private final int maxPostes;
+
+    /**
+     * Construit les caractéristiques d'un solveur.
+     *
+     * @param optimal           Vrai si le solveur garantit une affectation de cardinalité maximale.
+     * @param classeComplexite  La classe de complexité dans le pire cas.
+     * @param complexite        La complexité détaillée, par exemple "O(E·√V)".
+     * @param gerePoids         Vrai si le solveur tient compte des coûts des arêtes.
+     * @param gereAnnulation    Vrai si la résolution peut être interrompue en cours de route.
+     * @param utiliseHistorique Vrai si le solveur a besoin des charges passées des secouristes.
+     * @param maxPostes         Le nombre de postes au-delà duquel le solveur ne doit pas être lancé,
+     *                          ou {@link Integer#MAX_VALUE} s'il n'y a pas de limite.
+     * @throws IllegalArgumentException si la classe de complexité est absente ou la limite négative.
+     */
+    public CaracteristiquesSolveur(boolean optimal, ClasseComplexite classeComplexite, String complexite,
+                                   boolean gerePoids, boolean gereAnnulation, boolean utiliseHistorique, int maxPostes) {
+        if (classeComplexite == null) {
+            throw new IllegalArgumentException("La classe de complexité est obligatoire.");
+        }
+        if (maxPostes < 0) {
+            throw new IllegalArgumentException("Le nombre maximal de postes ne peut pas être négatif.");
+        }
+        this.optimal = optimal;
+        this.classeComplexite = classeComplexite;
+        this.complexite = complexite;
+        this.gerePoids = gerePoids;
+        this.gereAnnulation = gereAnnulation;
+        this.utiliseHistorique = utiliseHistorique;
+        this.maxPostes = maxPostes;
+    }
+
+    /**
+     * @return `true` si le solveur garantit une affectation de cardinalité maximale.
+     */
+    public boolean isOptimal() {
+        return optimal;
+    }
+
+    /**
+     * @return La classe de complexité dans le pire cas.
+     */
+    public ClasseComplexite getClasseComplexite() {
+        return classeComplexite;
+    }
+
+    /**
+     * @return La complexité détaillée.
+     */
+    public String getComplexite() {
+        return complexite;
+    }
+
+    /**
+     * @return `true` si le solveur tient compte des coûts des arêtes.
+     */
+    public boolean gerePoids() {
+        return gerePoids;
+    }
+
+    /**
+     * @return `true` si la résolution peut être interrompue en cours de route.
+     */
+    public boolean gereAnnulation() {
+        return gereAnnulation;
+    }
+
+    /**
+     * @return `true` si le solveur a besoin des charges passées des secouristes.
+     */
+    public boolean utiliseHistorique() {
+        return utiliseHistorique;
+    }
+
+    /**
+     * @return Le nombre de postes au-delà duquel le solveur ne doit pas être lancé.
+     */
+    public int getMaxPostes() {
+        return maxPostes;
+    }
+
+    /**
+     * Indique si le solveur peut être lancé sur un graphe sans risquer de ne jamais terminer.
+     *
+     * @param nombrePostes Le nombre de postes du graphe.
+     * @return `true` si le nombre de postes ne dépasse pas la limite du solveur.
+     */
+    public boolean accepte(int nombrePostes) {
+        return nombrePostes <= maxPostes;
+    }
+
+    /**
+     * @return Une description courte, par exemple "Optimal, polynomiale O(E·√V), pondéré".
+     */
+    public String decrire() {
+        StringBuilder description = new StringBuilder(optimal ? "Optimal" : "Heuristique");
+        description.append(", ").append(classeComplexite.getLibelle().toLowerCase());
+        if (complexite != null && !complexite.isEmpty()) {
+            description.append(' ').append(complexite);
+        }
+        if (gerePoids) {
+            description.append(", pondéré");
+        }
+        if (gereAnnulation) {
+            description.append(", interruptible");
+        }
+        if (utiliseHistorique) {
+            description.append(", historique");
+        }
+        if (maxPostes != Integer.MAX_VALUE) {
+            description.append(", ").append(maxPostes).append(" postes max.");
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,31 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+/**
+ * Classe de complexité d'un solveur d'affectation dans le pire cas.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public enum ClasseComplexite {
+
+    /** Le temps de calcul croît de façon polynomiale avec la taille du graphe. */
+    POLYNOMIALE("Polynomiale"),
+
+    /** Le temps de calcul peut croître de façon exponentielle avec le nombre de postes. */
+    EXPONENTIELLE("Exponentielle");
+
+    private final String libelle;
+
+    ClasseComplexite(String libelle) {
+        this.libelle = libelle;
+    }
+
+    /**
+     * @return Le libellé affichable de la classe de complexité.
+     */
+    public String getLibelle() {
+        return libelle;
+    }
+}
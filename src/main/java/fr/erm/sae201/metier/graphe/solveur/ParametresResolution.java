@@ -0,0 +1,91 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.SuiviResolution;
+
+/**
+ * Paramètres transmis à un {@link SolveurAffectation} pour une résolution.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public final class ParametresResolution {
+
+    private final int parallelisme;
+    private final long[] chargesMinutes;
+    private final int dureeMinutes;
+    private final SuiviResolution suivi;
+
+    /**
+     * Construit des paramètres sans historique des secouristes.
+     *
+     * @param parallelisme Le nombre de threads que le solveur peut utiliser.
+     * @throws IllegalArgumentException si le parallélisme n'est pas strictement positif.
+     */
+    public ParametresResolution(int parallelisme) {
+        this(parallelisme, null, 0);
+    }
+
+    /**
+     * Construit des paramètres avec l'historique des secouristes.
+     *
+     * @param parallelisme   Le nombre de threads que le solveur peut utiliser.
+     * @param chargesMinutes Pour chaque secouriste du graphe (même ordre), le temps de service déjà effectué, ou null.
+     * @param dureeMinutes   La durée de service d'un poste, en minutes.
+     * @throws IllegalArgumentException si le parallélisme n'est pas strictement positif ou la durée négative.
+     */
+    public ParametresResolution(int parallelisme, long[] chargesMinutes, int dureeMinutes) {
+        this(parallelisme, chargesMinutes, dureeMinutes, null);
+    }
+
+    /**
+     * Construit des paramètres avec l'historique des secouristes et un suivi de la résolution.
+     *
+     * @param parallelisme   Le nombre de threads que le solveur peut utiliser.
+     * @param chargesMinutes Pour chaque secouriste du graphe (même ordre), le temps de service déjà effectué, ou null.
+     * @param dureeMinutes   La durée de service d'un poste, en minutes.
+     * @param suivi          Le suivi (annulation et progression) de la résolution, ou null.
+     * @throws IllegalArgumentException si le parallélisme n'est pas strictement positif ou la durée négative.
+     */
+    public ParametresResolution(int parallelisme, long[] chargesMinutes, int dureeMinutes, SuiviResolution suivi) {
+        if (parallelisme <= 0) {
+            throw new IllegalArgumentException("Le niveau de parallélisme doit être strictement positif.");
+        }
+        if (dureeMinutes < 0) {
+            throw new IllegalArgumentException("La durée d'un poste ne peut pas être négative.");
+        }
+        this.parallelisme = parallelisme;
+        this.chargesMinutes = chargesMinutes;
+        this.dureeMinutes = dureeMinutes;
+        this.suivi = suivi == null ? new SuiviResolution() : suivi;
+    }
+
+    /**
+     * @return Le nombre de threads que le solveur peut utiliser.
+     */
+    public int getParallelisme() {
+        return parallelisme;
+    }
+
+    /**
+     * @return Les charges des secouristes du graphe, en minutes, ou null si elles ne sont pas connues.
+     */
+    public long[] getChargesMinutes() {
+        return chargesMinutes;
+    }
+
+    /**
+     * @return La durée de service d'un poste, en minutes.
+     */
+    public int getDureeMinutes() {
+        return dureeMinutes;
+    }
+
+    /**
+     * @return Le suivi de la résolution, jamais null.
+     */
+    public SuiviResolution getSuivi() {
+        return suivi;
+    }
+}
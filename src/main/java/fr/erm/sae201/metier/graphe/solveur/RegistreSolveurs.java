@@ -0,0 +1,95 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registre des solveurs d'affectation disponibles.
+ *
+ * Les solveurs sont découverts une seule fois, à la première utilisation, avec un
+ * {@link ServiceLoader} : tout {@link SolveurAffectation} déclaré dans un fichier
+ * {@code META-INF/services} du classpath est proposé sans autre modification du code.
+ * Le registre veille aussi à ce qu'un solveur exponentiel ne soit jamais lancé sur un
+ * graphe trop grand pour lui : la stratégie {@link #AUTO} le remplace alors.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class RegistreSolveurs {
+
+    /** Identifiant de la stratégie qui choisit le solveur d'après le graphe. */
+    public static final String AUTO = "auto";
+
+    /** Solveurs indexés par identifiant, dans l'ordre de déclaration. */
+    private static Map<String, SolveurAffectation> solveurs;
+
+    private RegistreSolveurs() {
+    }
+
+    /**
+     * @return Les solveurs enregistrés, dans l'ordre de déclaration.
+     */
+    public static List<SolveurAffectation> getSolveurs() {
+        return Collections.unmodifiableList(new ArrayList<>(charger().values()));
+    }
+
+    /**
+     * @param identifiant L'identifiant d'un solveur.
+     * @return Le solveur correspondant, ou null s'il n'est pas enregistré.
+     */
+    public static SolveurAffectation getSolveur(String identifiant) {
+        return charger().get(identifiant);
+    }
+
+    /**
+     * Sélectionne le solveur à lancer sur un graphe. Un identifiant inconnu, ou un solveur dont
+     * la limite de taille est dépassée par le graphe, est remplacé par la stratégie {@link #AUTO}.
+     *
+     * @param identifiant  L'identifiant du solveur demandé.
+     * @param nombrePostes Le nombre de postes du graphe à résoudre.
+     * @return Le solveur demandé, ou la stratégie automatique.
+     * @throws IllegalStateException si la stratégie automatique n'est pas enregistrée.
+     */
+    public static SolveurAffectation selectionner(String identifiant, int nombrePostes) {
+        SolveurAffectation solveur = getSolveur(identifiant);
+        if (solveur != null && solveur.getCaracteristiques().accepte(nombrePostes)) {
+            return solveur;
+        }
+        if (solveur == null) {
+            System.err.println("Solveur inconnu : " + identifiant + ". Sélection automatique.");
+        } else {
+            System.out.println("Le solveur " + solveur.getNom() + " est limité à " + solveur.getCaracteristiques().getMaxPostes()
+                    + " postes (" + nombrePostes + " demandés). Sélection automatique.");
+        }
+        SolveurAffectation auto = getSolveur(AUTO);
+        if (auto == null) {
+            throw new IllegalStateException("La stratégie automatique n'est pas enregistrée.");
+        }
+        return auto;
+    }
+
+    /**
+     * Découvre les solveurs à la première utilisation. Un identifiant déclaré deux fois
+     * conserve le premier solveur trouvé.
+     */
+    private static synchronized Map<String, SolveurAffectation> charger() {
+        if (solveurs == null) {
+            Map<String, SolveurAffectation> trouves = new LinkedHashMap<>();
+            for (SolveurAffectation solveur : ServiceLoader.load(SolveurAffectation.class)) {
+                if (trouves.containsKey(solveur.getIdentifiant())) {
+                    System.err.println("Solveur ignoré, identifiant déjà utilisé : " + solveur.getIdentifiant());
+                } else {
+                    trouves.put(solveur.getIdentifiant(), solveur);
+                }
+            }
+            solveurs = trouves;
+        }
+        return solveurs;
+    }
+}
@@ -0,0 +1,47 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Point d'extension des algorithmes d'affectation d'un DPS.
+ *
+ * Chaque implémentation est déclarée dans
+ * {@code META-INF/services/fr.erm.sae201.metier.graphe.solveur.SolveurAffectation} et découverte
+ * par {@link RegistreSolveurs} avec un {@link java.util.ServiceLoader} : ajouter un solveur ne
+ * demande ni de modifier le service d'affectation, ni le contrôleur. Une implémentation doit
+ * posséder un constructeur public sans argument et ne conserver aucun état entre deux résolutions.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public interface SolveurAffectation {
+
+    /**
+     * @return L'identifiant unique du solveur (par exemple "hopcroft-karp"), utilisé pour le choisir.
+     */
+    String getIdentifiant();
+
+    /**
+     * @return Le nom du solveur affiché à l'utilisateur.
+     */
+    String getNom();
+
+    /**
+     * @return Les caractéristiques du solveur (optimalité, complexité, options prises en charge).
+     */
+    CaracteristiquesSolveur getCaracteristiques();
+
+    /**
+     * Résout le problème d'affectation pour le graphe donné.
+     *
+     * @param graphe     Le graphe représentant le problème (secouristes, postes, aptitudes et coûts).
+     * @param parametres Les paramètres de la résolution (parallélisme, charges des secouristes).
+     * @return La liste des affectations trouvées.
+     */
+    List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres);
+}
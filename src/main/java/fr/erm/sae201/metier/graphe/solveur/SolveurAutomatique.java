@@ -0,0 +1,100 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Stratégie "auto" : choisit parmi les solveurs enregistrés celui qui convient au graphe,
+ * d'après sa taille et sa densité, puis lui délègue la résolution.
+ *
+ * - graphe vide ou sans arête : le glouton, trivialement optimal ;
+ * - petit graphe : la méthode hongroise, optimale et économe en compétences (O(n³) reste rapide) ;
+ * - grand graphe : Hopcroft-Karp.
+ *
+ * Seuls des solveurs polynomiaux sont retenus : un solveur exponentiel, même borné comme
+ * l'approche par composantes, n'est jamais lancé par cette stratégie.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.2
+ */
+public class SolveurAutomatique implements SolveurAffectation {
+
+    /** Nombre de sommets (du plus grand côté) jusqu'auquel la méthode hongroise est retenue. */
+    public static final int SEUIL_HONGROISE = 300;
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.POLYNOMIALE, "selon le graphe",
+                    false, true, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return RegistreSolveurs.AUTO;
+    }
+
+    @Override
+    public String getNom() {
+        return "Automatique";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        return choisir(graphe).resoudre(graphe, parametres);
+    }
+
+    /**
+     * Choisit le solveur adapté à un graphe.
+     *
+     * @param graphe Le graphe à résoudre.
+     * @return Le solveur retenu, jamais cette stratégie elle-même.
+     * @throws IllegalStateException si aucun solveur optimal et polynomial n'est enregistré.
+     */
+    public SolveurAffectation choisir(Graphe graphe) {
+        int nombrePostes = graphe.getNombrePostes();
+        int nombreSecouristes = graphe.getNombreSecouristes();
+        long nombreAretes = 0;
+        for (int j = 0; j < nombrePostes; j++) {
+            nombreAretes += graphe.getNombreSecouristesAptes(j);
+        }
+
+        String prefere;
+        if (nombreAretes == 0) {
+            prefere = "glouton";
+        } else if (Math.max(nombrePostes, nombreSecouristes) <= SEUIL_HONGROISE) {
+            prefere = "hongroise";
+        } else {
+            prefere = "hopcroft-karp";
+        }
+
+        SolveurAffectation solveur = RegistreSolveurs.getSolveur(prefere);
+        if (estUtilisable(solveur, nombrePostes)) {
+            return solveur;
+        }
+        solveur = RegistreSolveurs.getSolveur("hopcroft-karp");
+        if (estUtilisable(solveur, nombrePostes)) {
+            return solveur;
+        }
+        // Solveurs retirés du registre : on se rabat sur n'importe quel solveur optimal et polynomial.
+        for (SolveurAffectation candidat : RegistreSolveurs.getSolveurs()) {
+            if (estUtilisable(candidat, nombrePostes) && candidat.getCaracteristiques().isOptimal()
+                    && !candidat.getCaracteristiques().utiliseHistorique()) {
+                return candidat;
+            }
+        }
+        throw new IllegalStateException("Aucun solveur optimal et polynomial n'est enregistré.");
+    }
+
+    private boolean estUtilisable(SolveurAffectation solveur, int nombrePostes) {
+        return solveur != null && !(solveur instanceof SolveurAutomatique)
+                && solveur.getCaracteristiques().getClasseComplexite() == ClasseComplexite.POLYNOMIALE
+                && solveur.getCaracteristiques().accepte(nombrePostes);
+    }
+}
@@ -0,0 +1,43 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationCompressee;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "par classes" : regroupe les postes identiques et les secouristes interchangeables
+ * avant de résoudre par flot maximum (voir {@link AlgorithmeAffectationCompressee}).
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class SolveurCompresse implements SolveurAffectation {
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.POLYNOMIALE, "O(V·E²) sur le problème compressé",
+                    false, false, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "compressee";
+    }
+
+    @Override
+    public String getNom() {
+        return "Par classes";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        return new AlgorithmeAffectationCompressee().resoudre(graphe);
+    }
+}
@@ -0,0 +1,50 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationEquitable;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "équitable" : cardinalité maximale puis variance minimale du temps de service
+ * des secouristes, historique compris (voir {@link AlgorithmeAffectationEquitable}).
+ * Sans charges dans les paramètres, tous les secouristes partent d'une charge nulle.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class SolveurEquitable implements SolveurAffectation {
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.POLYNOMIALE, "O(P·E·log V)",
+                    false, true, true, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "equitable";
+    }
+
+    @Override
+    public String getNom() {
+        return "Équitable";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        long[] charges = parametres.getChargesMinutes();
+        if (charges == null) {
+            charges = new long[graphe.getNombreSecouristes()];
+        }
+        AlgorithmeAffectationEquitable algorithme = new AlgorithmeAffectationEquitable(charges, parametres.getDureeMinutes());
+        algorithme.setSuivi(parametres.getSuivi());
+        return algorithme.resoudre(graphe);
+    }
+}
@@ -0,0 +1,49 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustiveParallele;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "exhaustif parallèle" : recherche exhaustive avec séparation et évaluation répartie
+ * sur plusieurs threads (voir {@link AlgorithmeAffectationExhaustiveParallele}). Sa complexité
+ * étant exponentielle, il est limité aux graphes d'au plus {@link #MAX_POSTES} postes.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class SolveurExhaustifParallele implements SolveurAffectation {
+
+    /** Nombre maximal de postes pour lequel la recherche exhaustive termine en un temps raisonnable. */
+    public static final int MAX_POSTES = 25;
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.EXPONENTIELLE, "O(S^P)",
+                    false, true, false, SolveurExhaustifParallele.MAX_POSTES);
+
+    @Override
+    public String getIdentifiant() {
+        return "exhaustive-parallele";
+    }
+
+    @Override
+    public String getNom() {
+        return "Exhaustif parallèle";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        AlgorithmeAffectationExhaustiveParallele algorithme = new AlgorithmeAffectationExhaustiveParallele(parametres.getParallelisme());
+        algorithme.setSuivi(parametres.getSuivi());
+        return algorithme.resoudre(graphe);
+    }
+}
@@ -0,0 +1,43 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationGloutonne;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "glouton" : chaque poste reçoit le premier secouriste apte encore libre
+ * (voir {@link AlgorithmeAffectationGloutonne}). Rapide mais pas nécessairement optimal.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class SolveurGlouton implements SolveurAffectation {
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(false, ClasseComplexite.POLYNOMIALE, "O(P·S)",
+                    false, false, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "glouton";
+    }
+
+    @Override
+    public String getNom() {
+        return "Glouton";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        return new AlgorithmeAffectationGloutonne().resoudre(graphe);
+    }
+}
@@ -0,0 +1,49 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAmeliorationLocale;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "glouton+" : la solution gloutonne est améliorée par chemins alternés et échanges
+ * (voir {@link AlgorithmeAmeliorationLocale}). Proche de l'optimum pour un temps proche du glouton ;
+ * la cardinalité n'est maximale que si l'amélioration se termine avant {@link #DELAI_MILLIS}.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class SolveurGloutonAmeliore implements SolveurAffectation {
+
+    /** Durée maximale de la phase d'amélioration, en millisecondes. */
+    public static final long DELAI_MILLIS = 2000;
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(false, ClasseComplexite.POLYNOMIALE, "O(P·E)",
+                    true, true, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "glouton+";
+    }
+
+    @Override
+    public String getNom() {
+        return "Glouton amélioré";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        AlgorithmeAmeliorationLocale algorithme = new AlgorithmeAmeliorationLocale(DELAI_MILLIS);
+        algorithme.setSuivi(parametres.getSuivi());
+        return algorithme.resoudre(graphe);
+    }
+}
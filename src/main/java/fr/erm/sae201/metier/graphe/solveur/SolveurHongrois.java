@@ -0,0 +1,45 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHongroise;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "hongrois" : cardinalité maximale puis surqualification totale minimale
+ * (voir {@link AlgorithmeAffectationHongroise}).
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class SolveurHongrois implements SolveurAffectation {
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.POLYNOMIALE, "O(n³)",
+                    true, true, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "hongroise";
+    }
+
+    @Override
+    public String getNom() {
+        return "Hongrois (économe)";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        AlgorithmeAffectationHongroise algorithme = new AlgorithmeAffectationHongroise();
+        algorithme.setSuivi(parametres.getSuivi());
+        return algorithme.resoudre(graphe);
+    }
+}
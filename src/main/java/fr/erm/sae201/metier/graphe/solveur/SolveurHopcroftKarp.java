@@ -0,0 +1,45 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "Hopcroft-Karp" : couplage de cardinalité maximale en temps polynomial
+ * (voir {@link AlgorithmeAffectationHopcroftKarp}).
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class SolveurHopcroftKarp implements SolveurAffectation {
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.POLYNOMIALE, "O(E·√V)",
+                    false, true, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "hopcroft-karp";
+    }
+
+    @Override
+    public String getNom() {
+        return "Hopcroft-Karp";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        AlgorithmeAffectationHopcroftKarp algorithme = new AlgorithmeAffectationHopcroftKarp();
+        algorithme.setSuivi(parametres.getSuivi());
+        return algorithme.resoudre(graphe);
+    }
+}
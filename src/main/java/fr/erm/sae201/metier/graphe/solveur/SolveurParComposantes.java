@@ -0,0 +1,50 @@
+package fr.erm.sae201.metier.graphe.solveur;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationParComposantes;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+
+import java.util.List;
+
+/**
+ * Solveur "par composantes" : découpe le graphe en composantes connexes, résout les petites par
+ * recherche exhaustive et les grandes par Hopcroft-Karp (voir {@link AlgorithmeAffectationParComposantes}).
+ * La recherche exhaustive d'une composante est exponentielle en son nombre de postes, qui est
+ * borné par {@link AlgorithmeAffectationParComposantes#SEUIL_EXHAUSTIF_PAR_DEFAUT}.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.2
+ */
+public class SolveurParComposantes implements SolveurAffectation {
+
+    private static final CaracteristiquesSolveur CARACTERISTIQUES =
+            new CaracteristiquesSolveur(true, ClasseComplexite.EXPONENTIELLE,
+                    "O(S^k) par composante de k ≤ " + AlgorithmeAffectationParComposantes.SEUIL_EXHAUSTIF_PAR_DEFAUT
+                            + " postes, O(E·√V) au-delà",
+                    false, true, false, Integer.MAX_VALUE);
+
+    @Override
+    public String getIdentifiant() {
+        return "composantes";
+    }
+
+    @Override
+    public String getNom() {
+        return "Par composantes";
+    }
+
+    @Override
+    public CaracteristiquesSolveur getCaracteristiques() {
+        return CARACTERISTIQUES;
+    }
+
+    @Override
+    public List<AffectationResultat> resoudre(Graphe graphe, ParametresResolution parametres) {
+        AlgorithmeAffectationParComposantes algorithme = new AlgorithmeAffectationParComposantes(
+                AlgorithmeAffectationParComposantes.SEUIL_EXHAUSTIF_PAR_DEFAUT, parametres.getParallelisme());
+        algorithme.setSuivi(parametres.getSuivi());
+        return algorithme.resoudre(graphe);
+    }
+}
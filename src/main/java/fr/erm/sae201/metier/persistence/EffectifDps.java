@@ -0,0 +1,19 @@
+package fr.erm.sae201.metier.persistence;
+
+/**
+ * Représente l'état d'effectif d'un DPS : le nombre de secouristes affectés
+ * et le nombre total de postes à pourvoir.
+ *
+ * Ce n'est pas une entité stockée : ses valeurs sont calculées par agrégation
+ * des tables 'Affectation' et 'ABesoin'.
+ *
+ * @param dps      Le DPS concerné.
+ * @param affectes Le nombre de secouristes affectés au DPS.
+ * @param requis   Le nombre total de secouristes requis par le DPS.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public record EffectifDps(DPS dps, int affectes, int requis) {}
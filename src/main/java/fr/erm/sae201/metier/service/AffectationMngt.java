@@ -14,23 +14,13 @@ import java.util.List;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class AffectationMngt {
 
     /** Le DAO pour l'accès aux données des affectations. */
     private final AffectationDAO affectationDAO = new AffectationDAO();
     
-    /**
-     * Récupère le nombre total de secouristes affectés à un DPS donné.
-     *
-     * @param dpsId L'identifiant du DPS.
-     * @return Le nombre d'affectations pour ce DPS.
-     */
-    public int getAssignmentCountForDps(long dpsId) {
-        return affectationDAO.countAffectationsForDps(dpsId);
-    }
-    
     /**
      * Récupère toutes les affectations pour un secouriste spécifique.
      *
@@ -1,7 +1,8 @@
 package fr.erm.sae201.metier.service;
 
 import fr.erm.sae201.dao.CompetenceDAO;
-import fr.erm.sae201.metier.graphe.algorithme.TriTopologique;
+import fr.erm.sae201.metier.graphe.algorithme.OrdreTopologiqueIncremental;
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
 import fr.erm.sae201.metier.persistence.Competence;
 
 import java.sql.SQLException;
@@ -14,18 +15,27 @@ import java.util.Set;
  * 
  * Ce service encapsule les règles de validation, comme la détection de
  * dépendances cycliques entre les compétences, avant d'appliquer les
- * changements en base de données.
+ * changements en base de données. Chaque modification validée est ensuite
+ * publiée dans le {@link RegistreCompetences} partagé.
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.5
  */
 public class CompetenceMngt {
 
     private final CompetenceDAO competenceDAO = new CompetenceDAO();
-    private final TriTopologique validator = new TriTopologique();
+
+    /**
+     * Ordre topologique des compétences, partagé et maintenu incrémentalement à chaque
+     * modification. Protégé par le verrou de la classe.
+     */
+    private static OrdreTopologiqueIncremental ordre;
+
+    /** Version du registre des compétences à laquelle correspond {@link #ordre}. */
+    private static long versionOrdre = -1;
 
     /**
      * Exception personnalisée levée lorsqu'un cycle de dépendances est détecté.
@@ -50,25 +60,31 @@ public class CompetenceMngt {
      * @throws SQLException           Si une erreur BDD survient, par exemple si le nom est dupliqué.
      */
     public void createCompetence(String intitule, List<Competence> prerequisites) throws CycleDetectedException, SQLException {
-        // Simule l'ajout de la nouvelle compétence et de ses prérequis au graphe actuel pour tester la cyclicité.
-        Set<Competence> graphToTest = new HashSet<>(competenceDAO.findAll());
-        Competence newCompetenceNode = new Competence(intitule);
-        newCompetenceNode.setPrerequisites(new HashSet<>(prerequisites));
-        graphToTest.add(newCompetenceNode);
-
-        if (!validator.estAcyclique(graphToTest)) {
-            throw new CycleDetectedException("L'ajout de ces prérequis créerait un cycle de dépendances.");
-        }
-
-        // Si la validation passe, on procède à la création en BDD.
-        // Idéalement, cette partie devrait être dans une transaction pour garantir l'atomicité.
-        Competence competenceToSave = new Competence(intitule);
-        if (competenceDAO.create(competenceToSave) <= 0) {
-            throw new SQLException("Une compétence avec ce nom existe déjà ou une erreur est survenue.");
-        }
+        synchronized (CompetenceMngt.class) {
+            // Ajoute la nouvelle compétence et ses prérequis à l'ordre maintenu pour tester la cyclicité.
+            OrdreTopologiqueIncremental ordre = getOrdre();
+            if (!ordre.ajouterCompetence(intitule)) {
+                throw new SQLException("Une compétence avec ce nom existe déjà ou une erreur est survenue.");
+            }
+            if (!ordre.remplacerPrerequis(intitule, intitulesDe(prerequisites))) {
+                ordre.retirerCompetence(intitule);
+                throw new CycleDetectedException("L'ajout de ces prérequis créerait un cycle de dépendances.");
+            }
 
-        for (Competence prereq : prerequisites) {
-            competenceDAO.addPrerequisite(intitule, prereq.getIntitule());
+            // Si la validation passe, la compétence et ses prérequis sont créés en une seule transaction.
+            boolean enregistre = false;
+            try {
+                enregistre = competenceDAO.createWithPrerequisites(intitule, intitulesDe(prerequisites));
+            } finally {
+                if (!enregistre) {
+                    // L'ordre ne doit refléter que ce qui a été validé en base.
+                    ordre.retirerCompetence(intitule);
+                }
+            }
+            if (!enregistre) {
+                throw new SQLException("Une compétence avec ce nom existe déjà ou une erreur est survenue.");
+            }
+            publier();
         }
     }
 
@@ -76,37 +92,163 @@ public class CompetenceMngt {
      * Met à jour les prérequis d'une compétence existante après avoir validé
      * que la modification n'introduit pas de cycle de dépendance.
      *
+     * Si la compétence est inconnue de l'ordre maintenu, celui-ci est reconstruit depuis
+     * la base avant la vérification ; si elle reste inconnue, la modification est refusée.
+     *
      * @param competenceToEdit      La compétence à modifier.
      * @param newPrerequisitesList  La nouvelle liste de prérequis.
      * @throws CycleDetectedException Si la modification crée un cycle.
+     * @throws SQLException           Si le graphe des compétences ne peut pas être relu ou si la compétence n'y figure pas.
      */
-    public void updatePrerequisites(Competence competenceToEdit, List<Competence> newPrerequisitesList) throws CycleDetectedException {
-        Set<Competence> allCompetences = new HashSet<>(competenceDAO.findAll());
+    public void updatePrerequisites(Competence competenceToEdit, List<Competence> newPrerequisitesList) throws CycleDetectedException, SQLException {
+        synchronized (CompetenceMngt.class) {
+            OrdreTopologiqueIncremental ordre = getOrdre();
+            if (!ordre.contient(competenceToEdit.getIntitule())) {
+                // L'ordre peut dater d'avant une modification faite ailleurs : on le reconstruit depuis la base.
+                ordre = reconstruireOrdre();
+                if (!ordre.contient(competenceToEdit.getIntitule())) {
+                    throw new SQLException("La compétence '" + competenceToEdit.getIntitule() + "' n'existe plus.");
+                }
+            }
 
-        // Recherche la compétence à modifier dans une copie locale du graphe.
-        Competence nodeToUpdate = allCompetences.stream()
-            .filter(c -> c.equals(competenceToEdit))
-            .findFirst().orElse(null);
+            // Seule la région de l'ordre comprise entre les compétences concernées est examinée.
+            String intitule = competenceToEdit.getIntitule();
+            Set<String> anciens = ordre.getPrerequis(intitule);
+            Set<String> nouveaux = intitulesDe(newPrerequisitesList);
+            if (!ordre.remplacerPrerequis(intitule, nouveaux)) {
+                throw new CycleDetectedException("Cette modification créerait un cycle de dépendances.");
+            }
 
-        if (nodeToUpdate != null) {
-            // Met à jour ses prérequis dans la copie pour effectuer le test de cyclicité.
-            nodeToUpdate.setPrerequisites(new HashSet<>(newPrerequisitesList));
+            // Si le test réussit, les prérequis sont remplacés en base en une seule transaction.
+            boolean enregistre = false;
+            try {
+                enregistre = competenceDAO.replacePrerequisites(intitule, nouveaux);
+            } finally {
+                if (!enregistre) {
+                    // Rétablir les anciens arcs ne peut pas créer de cycle : l'ordre redevient celui de la base.
+                    ordre.remplacerPrerequis(intitule, anciens);
+                }
+            }
+            if (!enregistre) {
+                throw new SQLException("Les prérequis de '" + intitule + "' n'ont pas pu être enregistrés.");
+            }
+            publier();
+        }
+    }
 
-            if (!validator.estAcyclique(allCompetences)) {
-                throw new CycleDetectedException("Cette modification créerait un cycle de dépendances.");
+    /**
+     * Supprime une compétence et publie le graphe des compétences mis à jour.
+     *
+     * @param competence La compétence à supprimer.
+     * @return `true` si la suppression a réussi.
+     */
+    public boolean deleteCompetence(Competence competence) {
+        synchronized (CompetenceMngt.class) {
+            if (competenceDAO.delete(competence) <= 0) {
+                return false;
+            }
+            if (ordre != null) {
+                ordre.retirerCompetence(competence.getIntitule());
+            }
+            publier();
+            return true;
+        }
+    }
+
+    /**
+     * Retourne l'ordre topologique maintenu, en le reconstruisant depuis le registre
+     * des compétences si celui-ci a été rechargé par ailleurs depuis la dernière modification.
+     * Doit être appelé en détenant le verrou de la classe.
+     *
+     * @return L'ordre à jour.
+     * @throws CycleDetectedException Si le graphe enregistré en base contient déjà un cycle.
+     * @throws SQLException           Si le graphe des compétences n'a jamais pu être chargé.
+     */
+    private static OrdreTopologiqueIncremental getOrdre() throws CycleDetectedException, SQLException {
+        GrapheCompetences instantane = RegistreCompetences.getInstantane();
+        if (instantane.getVersion() == RegistreCompetences.VERSION_NON_CHARGEE) {
+            // Un graphe vide ne permet aucune vérification : on ne valide rien contre lui.
+            instantane = RegistreCompetences.recharger();
+            if (instantane == null) {
+                throw new SQLException("Le graphe des compétences n'a pas pu être chargé ; modification refusée.");
             }
         }
+        if (ordre == null || versionOrdre != instantane.getVersion()) {
+            construireOrdre(instantane);
+        }
+        return ordre;
+    }
+
+    /**
+     * Relit le graphe des compétences en base et reconstruit l'ordre maintenu.
+     * Doit être appelé en détenant le verrou de la classe.
+     *
+     * @return Le nouvel ordre.
+     * @throws CycleDetectedException Si le graphe enregistré en base contient déjà un cycle.
+     * @throws SQLException           Si le graphe des compétences ne peut pas être relu.
+     */
+    private static OrdreTopologiqueIncremental reconstruireOrdre() throws CycleDetectedException, SQLException {
+        GrapheCompetences instantane = RegistreCompetences.recharger();
+        if (instantane == null) {
+            throw new SQLException("Le graphe des compétences n'a pas pu être relu ; modification refusée.");
+        }
+        construireOrdre(instantane);
+        return ordre;
+    }
+
+    /**
+     * Construit l'ordre maintenu à partir d'un instantané du registre.
+     *
+     * @param instantane L'instantané à partir duquel construire l'ordre.
+     * @throws CycleDetectedException Si le graphe contient déjà un cycle.
+     */
+    private static void construireOrdre(GrapheCompetences instantane) throws CycleDetectedException {
+        try {
+            ordre = new OrdreTopologiqueIncremental(instantane.getPrerequisDirects());
+        } catch (IllegalArgumentException e) {
+            ordre = null;
+            versionOrdre = -1;
+            throw new CycleDetectedException("Le graphe des compétences enregistré contient déjà un cycle.");
+        }
+        versionOrdre = instantane.getVersion();
+    }
 
-        // Si le test réussit, applique les changements en base de données.
-        // D'abord, supprime tous les anciens prérequis.
-        Set<Competence> oldPrerequisites = competenceToEdit.getPrerequisites();
-        for (Competence oldPrereq : oldPrerequisites) {
-            competenceDAO.removePrerequisite(competenceToEdit.getIntitule(), oldPrereq.getIntitule());
+    /**
+     * Publie le graphe modifié dans le registre. L'ordre maintenu reflète déjà la modification :
+     * si le registre n'a été rechargé que par cette publication (version suivante), l'ordre est
+     * simplement marqué comme correspondant à la nouvelle version. Sinon, une autre modification
+     * a été publiée entre-temps et l'ordre est reconstruit depuis le nouvel instantané.
+     */
+    private static void publier() {
+        long versionAttendue = versionOrdre + 1;
+        GrapheCompetences instantane = RegistreCompetences.recharger();
+        if (instantane == null) {
+            // Le registre n'a pas pu relire la base : l'ordre sera reconstruit au prochain rechargement réussi.
+            ordre = null;
+            versionOrdre = -1;
+            return;
+        }
+        if (ordre != null && versionOrdre >= 0 && instantane.getVersion() == versionAttendue) {
+            versionOrdre = instantane.getVersion();
+            return;
+        }
+        try {
+            construireOrdre(instantane);
+        } catch (CycleDetectedException e) {
+            // L'ordre est invalidé ; l'erreur sera signalée à la prochaine modification.
+            System.err.println(e.getMessage());
         }
+    }
 
-        // Ensuite, ajoute les nouveaux.
-        for (Competence newPrereq : newPrerequisitesList) {
-            competenceDAO.addPrerequisite(competenceToEdit.getIntitule(), newPrereq.getIntitule());
+    /**
+     * @param competences Une liste de compétences.
+     * @return L'ensemble de leurs intitulés.
+     */
+    private static Set<String> intitulesDe(List<Competence> competences) {
+        Set<String> intitules = new HashSet<>();
+        for (Competence competence : competences) {
+            intitules.add(competence.getIntitule());
         }
+        return intitules;
     }
 }
\ No newline at end of file
@@ -6,9 +6,11 @@ import fr.erm.sae201.dao.JourneeDAO;
 import fr.erm.sae201.exception.EntityNotFoundException;
 import fr.erm.sae201.metier.persistence.Competence;
 import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.EffectifDps;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -18,7 +20,7 @@ import java.util.Map;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.5
  */
 public class DPSMngt {
 
@@ -46,6 +48,7 @@ public class DPSMngt {
 
     /**
      * Récupère tous les DPS entre deux dates et les hydrate avec leurs besoins en compétences.
+     * Les besoins de toute la période sont chargés en une seule requête.
      *
      * @param startDate La date de début de la recherche.
      * @param endDate La date de fin de la recherche.
@@ -53,12 +56,11 @@ public class DPSMngt {
      */
     public List<DPS> getAllDpsBetweenDates(LocalDate startDate, LocalDate endDate) {
         List<DPS> dpsList = dpsDAO.findAllBetweenDates(startDate, endDate);
-        dpsList.forEach(dps -> {
-            if (dps != null) {
-                Map<Competence, Integer> requirements = dpsDAO.findRequiredCompetencesForDps(dps.getId());
-                dps.setCompetencesRequises(requirements);
-            }
-        });
+        Map<Long, Map<Competence, Integer>> requirements = dpsDAO.findRequiredCompetencesBetweenDates(startDate, endDate);
+        for (DPS dps : dpsList) {
+            Map<Competence, Integer> dpsRequirements = requirements.get(dps.getId());
+            dps.setCompetencesRequises(dpsRequirements == null ? new HashMap<>() : dpsRequirements);
+        }
         return dpsList;
     }
 
@@ -72,20 +74,15 @@ public class DPSMngt {
     }
 
     /**
-     * Calcule le nombre total de postes à pourvoir pour un DPS.
+     * Récupère tous les DPS entre deux dates avec leur nombre de secouristes affectés
+     * et requis, calculés en une seule requête d'agrégation.
      *
-     * @param dpsId L'ID du DPS.
-     * @return Le nombre total de secouristes requis.
+     * @param startDate La date de début de la recherche.
+     * @param endDate La date de fin de la recherche.
+     * @return L'effectif de chaque DPS de la période.
      */
-    public int getTotalPersonnelRequired(long dpsId) {
-        try {
-            DPS dps = getDps(dpsId); // Utilise la méthode hydratée
-            return dps.getCompetencesRequises().values().stream()
-                    .mapToInt(Integer::intValue)
-                    .sum();
-        } catch (EntityNotFoundException e) {
-            return 0;
-        }
+    public List<EffectifDps> getStaffingBetweenDates(LocalDate startDate, LocalDate endDate) {
+        return dpsDAO.findStaffingBetweenDates(startDate, endDate);
     }
     
     /**
@@ -141,13 +138,29 @@ public class DPSMngt {
         return dpsDAO.removeRequiredCompetence(dpsId, intituleCompetence) > 0;
     }
 
+    /**
+     * Supprime un DPS. Les couplages incrémentaux de son jour sont oubliés,
+     * ses secouristes redevenant libres.
+     *
+     * @param dps Le DPS à supprimer.
+     * @return `true` si la suppression a réussi, `false` sinon.
+     */
+    public boolean deleteDps(DPS dps) {
+        boolean succes = dpsDAO.delete(dps) > 0;
+        new MoteurAffectationIncremental().oublierPeriode(dps.getJournee().getDate(), dps.getJournee().getDate());
+        return succes;
+    }
+
     /**
      * Supprime toutes les affectations liées à un DPS.
+     * Les couplages incrémentaux du jour du DPS sont oubliés.
      *
      * @param dpsId L'ID du DPS.
      * @return `true` si la suppression a réussi (même si 0 ligne est supprimée), `false` sinon.
      */
     public boolean deleteAllAffectationsForDps(long dpsId) {
-        return affectationDAO.deleteAllAffectationsForDps(dpsId) >= 0;
+        boolean succes = affectationDAO.deleteAllAffectationsForDps(dpsId) >= 0;
+        new MoteurAffectationIncremental().affectationsModifiees(dpsId);
+        return succes;
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import fr.erm.sae201.metier.persistence.Competence;
 import fr.erm.sae201.metier.persistence.DPS;
 
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -15,7 +16,7 @@ import java.util.stream.Collectors;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class ExportService {
 
@@ -24,12 +25,18 @@ public class ExportService {
     /**
      * Génère une chaîne de caractères au format CSV contenant tous les dispositifs.
      * Les données incluent les détails du DPS ainsi que ses besoins en compétences.
-     * Le séparateur de champ utilisé est la virgule.
+     * Le séparateur de champ utilisé est la virgule. Les besoins de tous les DPS
+     * sont chargés en une fois.
      *
      * @return Une chaîne de caractères représentant les données au format CSV.
      */
     public String exportDpsToCsvString() {
         List<DPS> allDps = dpsDAO.findAll();
+        List<Long> dpsIds = new ArrayList<>();
+        for (DPS dps : allDps) {
+            dpsIds.add(dps.getId());
+        }
+        Map<Long, Map<Competence, Integer>> allRequirements = dpsDAO.findRequiredCompetencesForDpsIds(dpsIds);
         StringBuilder csvBuilder = new StringBuilder();
 
         csvBuilder.append("ID,Date,Sport,Site,Heure Debut,Heure Fin,Besoins\n");
@@ -37,7 +44,7 @@ public class ExportService {
         DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
         for (DPS dps : allDps) {
-            Map<Competence, Integer> requirements = dpsDAO.findRequiredCompetencesForDps(dps.getId());
+            Map<Competence, Integer> requirements = allRequirements.get(dps.getId());
 
             // Formatte la liste des besoins en une seule chaîne de caractères pour la colonne CSV.
             String requirementsString = requirements.entrySet().stream()
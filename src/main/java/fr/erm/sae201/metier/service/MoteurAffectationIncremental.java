@@ -0,0 +1,277 @@
+package fr.erm.sae201.metier.service;
+
+import fr.erm.sae201.dao.AffectationDAO;
+import fr.erm.sae201.dao.DPSDAO;
+import fr.erm.sae201.dao.SecouristeDAO;
+import fr.erm.sae201.metier.graphe.algorithme.CouplageIncremental;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Affectation;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.Secouriste;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Moteur de ré-affectation incrémentale des DPS.
+ *
+ * Il conserve, pour chaque DPS déjà résolu, le dernier couplage calculé ({@link CouplageIncremental}),
+ * partagé par toute l'application. Les contrôleurs qui modifient les données lui signalent
+ * chaque changement (besoins d'un DPS, disponibilité ou compétences d'un secouriste) ;
+ * le couplage concerné est alors réparé par chemins augmentants à partir des seuls sommets
+ * touchés, sans reconstruire le graphe, et les affectations existantes restent stables.
+ *
+ * Un DPS dont la date ou les horaires changent doit être oublié avec {@link #oublier(long)} :
+ * il sera reconstruit entièrement au prochain appel. Toute écriture d'affectations, ou la
+ * suppression d'un DPS, doit être signalée avec {@link #affectationsModifiees(long)} ou
+ * {@link #oublierPeriode(LocalDate, LocalDate)} : les secouristes réservés ailleurs ne sont
+ * plus libres, et les couplages des DPS du même jour sont alors reconstruits.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public class MoteurAffectationIncremental {
+
+    /** Couplages maintenus, par ID de DPS. Partagés par toutes les instances du moteur. */
+    private static final Map<Long, EtatDps> ETATS = new HashMap<>();
+
+    private final DPSDAO dpsDAO = new DPSDAO();
+    private final SecouristeDAO secouristeDAO = new SecouristeDAO();
+    private final AffectationDAO affectationDAO = new AffectationDAO();
+
+    /** Service utilisé pour construire un couplage initial, créé seulement si nécessaire. */
+    private ServiceAffectation serviceAffectation;
+
+    /**
+     * État maintenu pour un DPS : le DPS lui-même et son couplage courant.
+     */
+    private static class EtatDps {
+        private final DPS dps;
+        private final CouplageIncremental couplage;
+
+        EtatDps(DPS dps, CouplageIncremental couplage) {
+            this.dps = dps;
+            this.couplage = couplage;
+        }
+    }
+
+    /**
+     * Construit un moteur qui créera son service d'affectation au premier besoin.
+     */
+    public MoteurAffectationIncremental() {
+        this(null);
+    }
+
+    /**
+     * Construit un moteur utilisant un service d'affectation existant.
+     *
+     * @param serviceAffectation Le service utilisé pour construire les couplages initiaux (peut être null).
+     */
+    public MoteurAffectationIncremental(ServiceAffectation serviceAffectation) {
+        this.serviceAffectation = serviceAffectation;
+    }
+
+    /**
+     * Retourne l'affectation courante d'un DPS, en la construisant si elle n'est pas encore maintenue.
+     * La construction part des affectations enregistrées en base, pour les conserver autant que possible.
+     *
+     * @param dps Le DPS concerné.
+     * @return La liste des affectations courantes.
+     */
+    public List<AffectationResultat> resoudre(DPS dps) {
+        synchronized (ETATS) {
+            EtatDps etat = ETATS.get(dps.getId());
+            if (etat == null) {
+                ServiceAffectation service = getServiceAffectation();
+                CouplageIncremental couplage = new CouplageIncremental(service::estApte);
+
+                List<AffectationResultat> existantes = new ArrayList<>();
+                for (Affectation affectation : affectationDAO.findAffectationsByDpsId(dps.getId())) {
+                    existantes.add(new AffectationResultat(affectation.getSecouriste(), new Poste(dps.getId(), affectation.getCompetence())));
+                }
+                couplage.initialiser(service.trouverSecouristesLibresPour(dps), service.preparerPostesPourUnSeulDps(dps), existantes);
+
+                etat = new EtatDps(dps, couplage);
+                ETATS.put(dps.getId(), etat);
+            }
+            return etat.couplage.getAffectations();
+        }
+    }
+
+    /**
+     * Signale que les besoins d'un DPS ont été modifiés en base : les postes ajoutés
+     * ou retirés sont répercutés sur le couplage maintenu, s'il existe.
+     *
+     * @param dpsId L'ID du DPS modifié.
+     */
+    public void besoinsModifies(long dpsId) {
+        synchronized (ETATS) {
+            EtatDps etat = ETATS.get(dpsId);
+            if (etat == null) {
+                return;
+            }
+            Map<Competence, Integer> nouveauxBesoins = dpsDAO.findRequiredCompetencesForDps(dpsId);
+            Set<Competence> competences = new HashSet<>(nouveauxBesoins.keySet());
+            competences.addAll(etat.couplage.getBesoins().keySet());
+            for (Competence competence : competences) {
+                int voulu = nouveauxBesoins.getOrDefault(competence, 0);
+                int actuel = etat.couplage.compterPostes(competence);
+                for (; actuel < voulu; actuel++) {
+                    etat.couplage.ajouterPoste(new Poste(dpsId, competence));
+                }
+                for (; actuel > voulu; actuel--) {
+                    etat.couplage.retirerPoste(competence);
+                }
+            }
+        }
+    }
+
+    /**
+     * Signale qu'un secouriste s'est déclaré disponible pour une date.
+     * Il est ajouté aux couplages des DPS de ce jour. N'étant pas disponible auparavant,
+     * il ne peut avoir aucune affectation ce jour-là, donc aucun conflit horaire.
+     *
+     * @param idSecouriste L'ID du secouriste.
+     * @param date         La date de la nouvelle disponibilité.
+     */
+    public void disponibiliteAjoutee(long idSecouriste, LocalDate date) {
+        synchronized (ETATS) {
+            List<EtatDps> concernes = etatsDuJour(date);
+            if (concernes.isEmpty()) {
+                return;
+            }
+            Secouriste secouriste = secouristeDAO.findByID(idSecouriste);
+            if (secouriste == null) {
+                return;
+            }
+            for (EtatDps etat : concernes) {
+                etat.couplage.ajouterSecouriste(secouriste);
+            }
+        }
+    }
+
+    /**
+     * Signale qu'un secouriste n'est plus disponible pour une date.
+     * Il est retiré des couplages des DPS de ce jour et ses postes sont repourvus si possible.
+     *
+     * @param idSecouriste L'ID du secouriste.
+     * @param date         La date de la disponibilité retirée.
+     */
+    public void disponibiliteRetiree(long idSecouriste, LocalDate date) {
+        synchronized (ETATS) {
+            for (EtatDps etat : etatsDuJour(date)) {
+                etat.couplage.retirerSecouriste(idSecouriste);
+            }
+        }
+    }
+
+    /**
+     * Signale que les compétences d'un secouriste ont changé.
+     * Ses aptitudes sont recalculées dans tous les couplages où il figure.
+     *
+     * @param idSecouriste L'ID du secouriste.
+     */
+    public void competencesModifiees(long idSecouriste) {
+        synchronized (ETATS) {
+            if (ETATS.isEmpty()) {
+                return;
+            }
+            Secouriste secouriste = secouristeDAO.findByID(idSecouriste);
+            if (secouriste == null) {
+                return;
+            }
+            for (EtatDps etat : ETATS.values()) {
+                etat.couplage.mettreAJourSecouriste(secouriste);
+            }
+        }
+    }
+
+    /**
+     * Oublie le couplage maintenu pour un DPS (par exemple après un changement de date ou d'horaires).
+     *
+     * @param dpsId L'ID du DPS.
+     */
+    public void oublier(long dpsId) {
+        synchronized (ETATS) {
+            ETATS.remove(dpsId);
+        }
+    }
+
+    /**
+     * Signale que les affectations d'un DPS ont été écrites ou supprimées en base.
+     * Les couplages de tous les DPS du même jour sont oubliés, car les secouristes
+     * libres de ce jour ont pu changer.
+     *
+     * @param dpsId L'ID du DPS dont les affectations ont changé.
+     */
+    public void affectationsModifiees(long dpsId) {
+        synchronized (ETATS) {
+            if (ETATS.isEmpty()) {
+                return;
+            }
+            EtatDps etat = ETATS.get(dpsId);
+            DPS dps = etat != null ? etat.dps : dpsDAO.findByID(dpsId);
+            ETATS.remove(dpsId);
+            if (dps != null) {
+                oublierPeriode(dps.getJournee().getDate(), dps.getJournee().getDate());
+            }
+        }
+    }
+
+    /**
+     * Oublie les couplages de tous les DPS d'une période, par exemple après l'enregistrement
+     * de ses affectations ou la suppression d'un de ses DPS.
+     *
+     * @param debut Le premier jour de la période.
+     * @param fin   Le dernier jour de la période (inclus).
+     */
+    public void oublierPeriode(LocalDate debut, LocalDate fin) {
+        synchronized (ETATS) {
+            Iterator<EtatDps> iterateur = ETATS.values().iterator();
+            while (iterateur.hasNext()) {
+                LocalDate jour = iterateur.next().dps.getJournee().getDate();
+                if (!jour.isBefore(debut) && !jour.isAfter(fin)) {
+                    iterateur.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne les états des DPS ayant lieu à une date donnée.
+     *
+     * @param date La date.
+     * @return Les états concernés.
+     */
+    private List<EtatDps> etatsDuJour(LocalDate date) {
+        List<EtatDps> concernes = new ArrayList<>();
+        for (EtatDps etat : ETATS.values()) {
+            if (etat.dps.getJournee().getDate().equals(date)) {
+                concernes.add(etat);
+            }
+        }
+        return concernes;
+    }
+
+    /**
+     * Retourne le service d'affectation, en le créant au premier appel.
+     *
+     * @return Le service d'affectation.
+     */
+    private ServiceAffectation getServiceAffectation() {
+        if (serviceAffectation == null) {
+            serviceAffectation = new ServiceAffectation();
+        }
+        return serviceAffectation;
+    }
+}
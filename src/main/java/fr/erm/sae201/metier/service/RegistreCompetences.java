@@ -0,0 +1,99 @@
+package fr.erm.sae201.metier.service;
+
+import fr.erm.sae201.dao.CompetenceDAO;
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Registre du graphe des compétences, partagé par toute l'application.
+ *
+ * Le graphe est chargé une seule fois (deux requêtes : les compétences, puis les
+ * prérequis) et exposé sous forme d'un {@link GrapheCompetences} immuable et versionné.
+ * Après chaque modification validée en base ({@link CompetenceMngt}), un nouvel instantané
+ * est construit puis substitué atomiquement à l'ancien : les lecteurs en cours gardent
+ * une vue cohérente, les suivants voient directement la nouvelle version.
+ *
+ * Un chargement qui échoue ne publie rien : l'instantané précédent reste en place. Tant
+ * qu'aucun chargement n'a réussi, {@link #getInstantane()} retourne un instantané vide
+ * non publié (version {@link #VERSION_NON_CHARGEE}) et retente le chargement au prochain appel.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.1
+ */
+public final class RegistreCompetences {
+
+    /** Version de l'instantané vide retourné tant qu'aucun chargement n'a réussi. */
+    public static final long VERSION_NON_CHARGEE = 0;
+
+    /** Instantané courant, {@code null} tant que le graphe n'a pas encore été chargé. */
+    private static final AtomicReference<GrapheCompetences> COURANT = new AtomicReference<>();
+
+    /** Dernier numéro de version attribué. Protégé par le verrou de la classe. */
+    private static long derniereVersion = 0;
+
+    /**
+     * Constructeur privé : classe utilitaire non instanciable.
+     */
+    private RegistreCompetences() {
+    }
+
+    /**
+     * Retourne l'instantané courant du graphe des compétences, en le chargeant
+     * depuis la base de données au premier appel.
+     *
+     * @return L'instantané courant, ou un instantané vide de version {@link #VERSION_NON_CHARGEE}
+     *         si le graphe n'a encore jamais pu être chargé.
+     */
+    public static GrapheCompetences getInstantane() {
+        GrapheCompetences instantane = COURANT.get();
+        if (instantane == null) {
+            synchronized (RegistreCompetences.class) {
+                instantane = COURANT.get();
+                if (instantane == null) {
+                    instantane = recharger();
+                }
+                if (instantane == null) {
+                    // Rien n'est publié : le chargement sera retenté au prochain appel.
+                    instantane = new GrapheCompetences(VERSION_NON_CHARGEE, new HashMap<>());
+                }
+            }
+        }
+        return instantane;
+    }
+
+    /**
+     * Relit le graphe des compétences en base et publie un nouvel instantané.
+     * À appeler après toute modification validée des tables Competence ou Necessite.
+     *
+     * @return Le nouvel instantané publié, ou `null` si le chargement a échoué
+     *         (l'instantané précédent reste alors publié).
+     */
+    public static synchronized GrapheCompetences recharger() {
+        Map<String, Set<String>> grapheAdjacence = new CompetenceDAO().findPrerequisiteGraph();
+        if (grapheAdjacence == null) {
+            System.err.println("Competence graph could not be reloaded; keeping snapshot version "
+                    + (COURANT.get() == null ? VERSION_NON_CHARGEE : COURANT.get().getVersion()) + ".");
+            return null;
+        }
+        return publier(grapheAdjacence);
+    }
+
+    /**
+     * Publie un nouvel instantané construit à partir d'une liste d'adjacence déjà chargée.
+     *
+     * @param grapheAdjacence Pour chaque intitulé, les intitulés de ses prérequis directs.
+     * @return Le nouvel instantané publié.
+     */
+    static synchronized GrapheCompetences publier(Map<String, Set<String>> grapheAdjacence) {
+        derniereVersion++;
+        GrapheCompetences instantane = new GrapheCompetences(derniereVersion, grapheAdjacence);
+        COURANT.set(instantane);
+        return instantane;
+    }
+}
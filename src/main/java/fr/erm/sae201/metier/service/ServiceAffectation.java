@@ -2,16 +2,30 @@ package fr.erm.sae201.metier.service;
 
 import fr.erm.sae201.dao.AffectationDAO;
 import fr.erm.sae201.dao.DPSDAO;
-import fr.erm.sae201.dao.SecouristeDAO;
-import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustive;
-import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationGloutonne;
+import fr.erm.sae201.dao.DonneesResolutionDAO;
+import fr.erm.sae201.dao.SiteDAO;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationJournee;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationProgressive;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmePlanificationPeriode;
+import fr.erm.sae201.metier.graphe.algorithme.ResolutionAnnuleeException;
+import fr.erm.sae201.metier.graphe.algorithme.SuiviResolution;
 import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.ContraintesPlanification;
+import fr.erm.sae201.metier.graphe.modele.DonneesResolution;
 import fr.erm.sae201.metier.graphe.modele.Poste;
 import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.GrapheJournee;
+import fr.erm.sae201.metier.graphe.modele.MatriceTrajets;
+import fr.erm.sae201.metier.graphe.solveur.ParametresResolution;
+import fr.erm.sae201.metier.graphe.solveur.RegistreSolveurs;
+import fr.erm.sae201.metier.graphe.solveur.SolveurAffectation;
+import fr.erm.sae201.metier.graphe.solveur.SolveurAutomatique;
 import fr.erm.sae201.metier.persistence.*;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,103 +35,549 @@ import java.util.Map;
  * 
  * Ce service utilise les DAOs pour récupérer les données nécessaires, construit
  * un graphe biparti représentant les secouristes et les postes, puis délègue
- * la résolution à des classes d'algorithmes spécifiques.
+ * la résolution à un solveur choisi dans le {@link RegistreSolveurs}.
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.2
+ * @version 2.1
  */
 public class ServiceAffectation {
 
     private final DPSDAO dpsDAO = new DPSDAO();
-    private final SecouristeDAO secouristeDAO = new SecouristeDAO();
     private final AffectationDAO affectationDAO = new AffectationDAO();
+    private final DonneesResolutionDAO donneesResolutionDAO = new DonneesResolutionDAO();
     private final ServiceCompetences serviceCompetences = new ServiceCompetences();
+    private final SiteDAO siteDAO = new SiteDAO();
 
     /**
-     * Trouve la meilleure affectation possible pour un DPS en utilisant une approche exhaustive.
-     * Cette méthode explore toutes les combinaisons possibles pour garantir un résultat optimal.
+     * Poids d'un niveau de surqualification dans le coût d'une arête lorsque la proximité est
+     * prise en compte : un niveau pèse autant que ce nombre de kilomètres, si bien que la
+     * surqualification reste le critère principal et la distance départage.
+     */
+    private static final int KM_PAR_NIVEAU_SURQUALIFICATION = 1000;
+
+    /*
+     * Les réglages des trajets sont modifiés par le thread de l'interface pendant qu'une
+     * résolution peut tourner en tâche de fond : ils sont volatils, et chaque résolution les
+     * lit une seule fois.
+     */
+
+    /** Vrai si les temps de trajet entre sites sont pris en compte dans les conflits. */
+    private volatile boolean trajetsActifs = false;
+
+    /** Vrai si les secouristes proches de leur DPS précédent sont préférés. */
+    private volatile boolean preferenceProximite = false;
+
+    /** Vitesse moyenne utilisée pour les temps de trajet, en km/h. */
+    private volatile double vitesseKmH = MatriceTrajets.VITESSE_MOYENNE_KMH;
+
+    /** Matrice des trajets entre tous les sites, calculée à la première utilisation. */
+    private volatile MatriceTrajets matriceTrajets;
+
+    /** Version des sites ({@link SiteDAO#getVersion()}) à partir de laquelle {@link #matriceTrajets} a été calculée. */
+    private long versionSitesTrajets;
+
+    /**
+     * Active la prise en compte des trajets : deux DPS sont en conflit si un secouriste
+     * ne peut pas rejoindre le second site à temps après la fin du premier.
      *
-     * @param dpsCible Le DPS pour lequel chercher une affectation.
-     * @return Une liste de résultats d'affectation, représentant la meilleure solution trouvée.
+     * @param vitesseKmH          La vitesse moyenne de déplacement, en km/h.
+     * @param preferenceProximite Si vrai, l'approche économe (hongroise) préfère, à surqualification
+     *                            égale, les secouristes dont le DPS précédent du jour est le plus proche.
+     * @throws IllegalArgumentException si la vitesse n'est pas strictement positive.
+     */
+    public synchronized void activerTrajets(double vitesseKmH, boolean preferenceProximite) {
+        if (vitesseKmH <= 0) {
+            throw new IllegalArgumentException("La vitesse moyenne doit être strictement positive.");
+        }
+        if (vitesseKmH != this.vitesseKmH) {
+            matriceTrajets = null;
+        }
+        this.vitesseKmH = vitesseKmH;
+        this.preferenceProximite = preferenceProximite;
+        this.trajetsActifs = true;
+    }
+
+    /**
+     * Désactive la prise en compte des trajets : seuls les chevauchements d'horaires comptent.
+     */
+    public void desactiverTrajets() {
+        this.trajetsActifs = false;
+        this.preferenceProximite = false;
+    }
+
+    /**
+     * @return Les solveurs d'affectation disponibles, stratégie automatique comprise.
+     */
+    public List<SolveurAffectation> getSolveurs() {
+        return RegistreSolveurs.getSolveurs();
+    }
+
+    /**
+     * Trouve une affectation pour un DPS avec le solveur demandé.
+     * Un solveur inconnu, ou exponentiel face à un DPS trop grand pour lui, est remplacé
+     * par la stratégie automatique, qui choisit un solveur d'après la taille et la densité du graphe.
+     * Si le solveur a besoin de l'historique, le temps de service des secouristes sur les derniers
+     * jours (hors ce DPS) lui est transmis.
+     *
+     * @param dpsCible     Le DPS pour lequel chercher une affectation.
+     * @param identifiant  L'identifiant du solveur (voir {@link #getSolveurs()}).
+     * @param parallelisme Le nombre de threads que le solveur peut utiliser.
+     * @param fenetreJours Le nombre de jours d'historique pris en compte, jusqu'au jour du DPS inclus.
+     * @return Une liste de résultats d'affectation.
+     */
+    public List<AffectationResultat> trouverAffectation(DPS dpsCible, String identifiant, int parallelisme, int fenetreJours) {
+        return trouverAffectation(dpsCible, identifiant, parallelisme, fenetreJours, new SuiviResolution());
+    }
+
+    /**
+     * Trouve une affectation pour un DPS avec le solveur demandé, en suivant la résolution :
+     * l'écouteur du suivi est notifié de l'avancement, et l'annulation de son jeton interrompt le solveur.
+     *
+     * @param dpsCible     Le DPS pour lequel chercher une affectation.
+     * @param identifiant  L'identifiant du solveur (voir {@link #getSolveurs()}).
+     * @param parallelisme Le nombre de threads que le solveur peut utiliser.
+     * @param fenetreJours Le nombre de jours d'historique pris en compte, jusqu'au jour du DPS inclus.
+     * @param suivi        Le suivi de la résolution.
+     * @return Une liste de résultats d'affectation.
+     * @throws ResolutionAnnuleeException si la résolution est annulée.
      */
-    public List<AffectationResultat> trouverAffectationExhaustive(DPS dpsCible) {
+    public List<AffectationResultat> trouverAffectation(DPS dpsCible, String identifiant, int parallelisme, int fenetreJours,
+                                                        SuiviResolution suivi) {
         Graphe graphe = construireGraphePourDPS(dpsCible);
-        AlgorithmeAffectationExhaustive algorithme = new AlgorithmeAffectationExhaustive();
-        
+        SolveurAffectation solveur = RegistreSolveurs.selectionner(identifiant, graphe.getNombrePostes());
+        if (solveur instanceof SolveurAutomatique) {
+            solveur = ((SolveurAutomatique) solveur).choisir(graphe);
+        }
+        ParametresResolution parametres;
+        if (solveur.getCaracteristiques().utiliseHistorique()) {
+            parametres = new ParametresResolution(parallelisme, chargerCharges(graphe, dpsCible, fenetreJours),
+                    dureeEnMinutes(dpsCible), suivi);
+        } else {
+            parametres = new ParametresResolution(parallelisme, null, 0, suivi);
+        }
+
         long startTime = System.currentTimeMillis();
-        List<AffectationResultat> result = algorithme.resoudre(graphe);
+        List<AffectationResultat> result;
+        try {
+            result = solveur.resoudre(graphe, parametres);
+        } catch (ResolutionAnnuleeException e) {
+            System.out.println("Algorithme " + solveur.getNom().toUpperCase() + " annulé après "
+                    + (System.currentTimeMillis() - startTime) + " ms.");
+            throw e;
+        }
         long endTime = System.currentTimeMillis();
-        System.out.println("Temps d'exécution de l'algorithme EXHAUSTIF : " + (endTime - startTime) + " ms.");
+        System.out.println("Temps d'exécution de l'algorithme " + solveur.getNom().toUpperCase() + " : " + (endTime - startTime) + " ms.");
 
         return result;
     }
 
     /**
-     * Trouve une affectation pour un DPS en utilisant une approche gloutonne.
-     * Cette méthode fournit une solution rapide mais pas nécessairement optimale.
+     * Retourne l'affectation maintenue de façon incrémentale pour un DPS : calculée une seule fois,
+     * puis réparée à chaque modification signalée (besoins, disponibilités, compétences)
+     * au lieu d'être recalculée entièrement. Les affectations déjà enregistrées sont conservées autant que possible.
      *
      * @param dpsCible Le DPS pour lequel chercher une affectation.
-     * @return Une liste de résultats d'affectation.
+     * @return Une liste de résultats d'affectation de cardinalité maximale.
+     */
+    public List<AffectationResultat> trouverAffectationIncrementale(DPS dpsCible) {
+        long startTime = System.nanoTime();
+        List<AffectationResultat> result = new MoteurAffectationIncremental(this).resoudre(dpsCible);
+        long endTime = System.nanoTime();
+        System.out.println("Temps d'exécution de l'algorithme INCRÉMENTAL : " + (endTime - startTime) / 1000 + " µs.");
+
+        return result;
+    }
+
+    /**
+     * Trouve une affectation pour un DPS avec l'approche progressive : la solution gloutonne
+     * est améliorée tant que le délai de l'algorithme n'est pas écoulé. Chaque amélioration
+     * est transmise à l'écouteur de l'algorithme, qui peut aussi être arrêté à tout moment.
+     *
+     * @param dpsCible   Le DPS pour lequel chercher une affectation.
+     * @param algorithme L'algorithme progressif à exécuter, configuré avec son délai et son écouteur.
+     * @return La meilleure solution trouvée avant l'arrêt ou l'échéance.
      */
-    public List<AffectationResultat> trouverAffectationGloutonne(DPS dpsCible) {
+    public List<AffectationResultat> trouverAffectationProgressive(DPS dpsCible, AlgorithmeAffectationProgressive algorithme) {
         Graphe graphe = construireGraphePourDPS(dpsCible);
-        AlgorithmeAffectationGloutonne algorithme = new AlgorithmeAffectationGloutonne();
 
         long startTime = System.currentTimeMillis();
         List<AffectationResultat> result = algorithme.resoudre(graphe);
         long endTime = System.currentTimeMillis();
-        System.out.println("Temps d'exécution de l'algorithme GLOUTON : " + (endTime - startTime) + " ms.");
+        System.out.println("Temps d'exécution de l'algorithme PROGRESSIF : " + (endTime - startTime) + " ms"
+                + (algorithme.estInterrompue() ? " (interrompu)." : " (optimal)."));
 
         return result;
     }
 
+    /**
+     * Trouve une affectation globale pour tous les DPS d'une journée.
+     * Contrairement aux approches par DPS, les affectations déjà enregistrées ce jour-là
+     * ne sont pas prises en compte : toute la journée est recalculée, et un secouriste peut
+     * enchaîner plusieurs DPS dont les horaires ne se chevauchent pas.
+     *
+     * @param date La date de la journée à planifier.
+     * @return Les affectations proposées, tous DPS confondus (chaque poste porte l'ID de son DPS).
+     */
+    public List<AffectationResultat> trouverAffectationJournee(LocalDate date) {
+        GrapheJournee grapheJournee = construireGraphePourJournee(dpsDAO.findAllBetweenDates(date, date), date);
+        AlgorithmeAffectationJournee algorithme = new AlgorithmeAffectationJournee();
+
+        long startTime = System.currentTimeMillis();
+        List<AffectationResultat> result = algorithme.resoudre(grapheJournee);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Temps d'exécution de l'algorithme JOURNÉE (" + grapheJournee.getNombreDps() + " DPS) : " + (endTime - startTime) + " ms.");
+
+        return result;
+    }
+
+    /**
+     * Enregistre l'affectation globale d'une journée : les affectations de tous les DPS
+     * du jour sont remplacées en une seule transaction.
+     *
+     * @param date        La date de la journée planifiée.
+     * @param proposition Les affectations proposées par {@link #trouverAffectationJournee(LocalDate)}.
+     * @return `true` si l'enregistrement a réussi, `false` sinon.
+     */
+    public boolean enregistrerAffectationJournee(LocalDate date, List<AffectationResultat> proposition) {
+        return enregistrerPlanificationPeriode(date, date, proposition);
+    }
+
+    /**
+     * Planifie tous les DPS d'une période de plusieurs jours, journée après journée, en respectant
+     * pour chaque secouriste un nombre maximal de DPS par jour, un nombre maximal d'heures par
+     * semaine et un temps de repos entre deux DPS. Comme pour une journée, les affectations déjà
+     * enregistrées sur la période sont recalculées ; celles des jours précédents de la même
+     * semaine sont prises en compte pour le repos et les heures déjà effectuées.
+     *
+     * @param debut       Le premier jour de la période.
+     * @param fin         Le dernier jour de la période (inclus).
+     * @param contraintes Les limites à respecter pour chaque secouriste.
+     * @return Les affectations proposées, tous DPS confondus (chaque poste porte l'ID de son DPS).
+     */
+    public List<AffectationResultat> trouverPlanificationPeriode(LocalDate debut, LocalDate fin, ContraintesPlanification contraintes) {
+        return trouverPlanificationPeriode(debut, fin, contraintes, new SuiviResolution());
+    }
+
+    /**
+     * Planifie tous les DPS d'une période en suivant la planification : l'écouteur du suivi
+     * est notifié après chaque journée, et l'annulation de son jeton interrompt la planification.
+     *
+     * @param debut       Le premier jour de la période.
+     * @param fin         Le dernier jour de la période (inclus).
+     * @param contraintes Les limites à respecter pour chaque secouriste.
+     * @param suivi       Le suivi de la planification.
+     * @return Les affectations proposées pour tous les DPS de la période.
+     * @throws ResolutionAnnuleeException si la planification est annulée.
+     */
+    public List<AffectationResultat> trouverPlanificationPeriode(LocalDate debut, LocalDate fin, ContraintesPlanification contraintes,
+                                                                 SuiviResolution suivi) {
+        List<DPS> dpsPeriode = dpsDAO.findAllBetweenDates(debut, fin);
+        Map<Long, Map<Competence, Integer>> besoinsPeriode = dpsDAO.findRequiredCompetencesBetweenDates(debut, fin);
+        Map<Long, List<Poste>> postesParDps = new HashMap<>();
+        for (DPS dps : dpsPeriode) {
+            postesParDps.put(dps.getId(), preparerPostes(dps, besoinsPeriode.get(dps.getId())));
+        }
+        // Seuls les secouristes disponibles pendant la période peuvent être affectés.
+        List<Secouriste> secouristes = donneesResolutionDAO.findAvailableWithCompetencesBetweenDates(debut, fin);
+        List<Affectation> anterieures = new ArrayList<>();
+        LocalDate lundi = debut.with(DayOfWeek.MONDAY);
+        if (lundi.isBefore(debut)) {
+            anterieures = donneesResolutionDAO.findAffectationsBetweenDates(lundi, debut.minusDays(1), secouristes);
+        }
+        AlgorithmePlanificationPeriode algorithme = new AlgorithmePlanificationPeriode(contraintes,
+                Runtime.getRuntime().availableProcessors(), trajetsActifs ? getMatriceTrajets(dpsPeriode) : null);
+        algorithme.setSuivi(suivi);
+
+        long startTime = System.currentTimeMillis();
+        List<AffectationResultat> result = algorithme.resoudre(secouristes, dpsPeriode, postesParDps,
+                serviceCompetences.getInstantane(), anterieures);
+        long endTime = System.currentTimeMillis();
+        System.out.println("Temps d'exécution de l'algorithme PÉRIODE (" + dpsPeriode.size() + " DPS) : " + (endTime - startTime) + " ms.");
+
+        return result;
+    }
+
+    /**
+     * Enregistre les affectations proposées pour un DPS, en remplaçant celles existantes.
+     * Les couplages incrémentaux du jour sont oubliés.
+     *
+     * @param dps         Le DPS concerné.
+     * @param proposition Les affectations proposées pour ce DPS.
+     * @return `true` si l'enregistrement a réussi, `false` sinon.
+     */
+    public boolean enregistrerAffectationsDps(DPS dps, List<AffectationResultat> proposition) {
+        List<Affectation> affectations = new ArrayList<>();
+        for (AffectationResultat res : proposition) {
+            affectations.add(new Affectation(dps, res.getSecouriste(), res.getPoste().getCompetenceRequise()));
+        }
+        boolean succes = affectationDAO.replaceAffectationsForDps(dps.getId(), affectations);
+        new MoteurAffectationIncremental(this).oublierPeriode(dps.getJournee().getDate(), dps.getJournee().getDate());
+        return succes;
+    }
+
+    /**
+     * Enregistre la planification d'une période : les affectations de tous les DPS de la
+     * période sont remplacées en une seule transaction. Les couplages incrémentaux de la
+     * période sont oubliés.
+     *
+     * @param debut       Le premier jour de la période.
+     * @param fin         Le dernier jour de la période (inclus).
+     * @param proposition Les affectations proposées.
+     * @return `true` si l'enregistrement a réussi, `false` sinon.
+     */
+    public boolean enregistrerPlanificationPeriode(LocalDate debut, LocalDate fin, List<AffectationResultat> proposition) {
+        List<DPS> dpsPeriode = dpsDAO.findAllBetweenDates(debut, fin);
+        Map<Long, DPS> dpsParId = new HashMap<>();
+        List<Long> dpsIds = new ArrayList<>();
+        for (DPS dps : dpsPeriode) {
+            dpsParId.put(dps.getId(), dps);
+            dpsIds.add(dps.getId());
+        }
+
+        List<Affectation> affectations = new ArrayList<>();
+        for (AffectationResultat res : proposition) {
+            DPS dps = dpsParId.get(res.getPoste().getIdDps());
+            if (dps != null) {
+                affectations.add(new Affectation(dps, res.getSecouriste(), res.getPoste().getCompetenceRequise()));
+            }
+        }
+        boolean succes = affectationDAO.replaceAffectationsForDpsList(dpsIds, affectations);
+        new MoteurAffectationIncremental(this).oublierPeriode(debut, fin);
+        return succes;
+    }
+
+    /**
+     * Calcule le temps de service de chaque secouriste du graphe sur les derniers jours, hors ce DPS.
+     *
+     * @param graphe       Le graphe du DPS.
+     * @param dpsCible     Le DPS à résoudre.
+     * @param fenetreJours Le nombre de jours d'historique, jusqu'au jour du DPS inclus.
+     * @return Pour chaque secouriste du graphe (même ordre), son temps de service en minutes.
+     */
+    private long[] chargerCharges(Graphe graphe, DPS dpsCible, int fenetreJours) {
+        LocalDate jour = dpsCible.getJournee().getDate();
+        Map<Long, Long> historique = affectationDAO.sumMinutesBySecouristeBetweenDates(
+                jour.minusDays(Math.max(0, fenetreJours - 1)), jour, dpsCible.getId());
+        long[] charges = new long[graphe.getNombreSecouristes()];
+        for (int i = 0; i < charges.length; i++) {
+            Long minutes = historique.get(graphe.getSecouristes().get(i).getId());
+            charges[i] = minutes == null ? 0 : minutes;
+        }
+        return charges;
+    }
+
+    private int dureeEnMinutes(DPS dps) {
+        return Math.max(0, (dps.getHoraireFin()[0] * 60 + dps.getHoraireFin()[1])
+                - (dps.getHoraireDepart()[0] * 60 + dps.getHoraireDepart()[1]));
+    }
+
+    /**
+     * Construit le graphe d'une journée : les secouristes disponibles ce jour-là,
+     * les postes de tous les DPS du jour, et les conflits entre DPS dont les horaires se chevauchent.
+     *
+     * @param dpsDuJour Les DPS de la journée.
+     * @param date      La date de la journée.
+     * @return Le graphe de la journée, prêt à être résolu.
+     */
+    private GrapheJournee construireGraphePourJournee(List<DPS> dpsDuJour, LocalDate date) {
+        List<Poste> postes = new ArrayList<>();
+        List<Integer> dpsDesPostes = new ArrayList<>();
+        Map<Long, Map<Competence, Integer>> besoinsDuJour = dpsDAO.findRequiredCompetencesBetweenDates(date, date);
+        for (int d = 0; d < dpsDuJour.size(); d++) {
+            for (Poste poste : preparerPostes(dpsDuJour.get(d), besoinsDuJour.get(dpsDuJour.get(d).getId()))) {
+                postes.add(poste);
+                dpsDesPostes.add(d);
+            }
+        }
+        int[] dpsDuPoste = new int[postes.size()];
+        for (int j = 0; j < dpsDuPoste.length; j++) {
+            dpsDuPoste[j] = dpsDesPostes.get(j);
+        }
+
+        MatriceTrajets trajets = trajetsActifs ? getMatriceTrajets(dpsDuJour) : null;
+        boolean[][] conflits = new boolean[dpsDuJour.size()][dpsDuJour.size()];
+        for (int a = 0; a < dpsDuJour.size(); a++) {
+            for (int b = a + 1; b < dpsDuJour.size(); b++) {
+                boolean chevauchement = sontIncompatibles(dpsDuJour.get(a), dpsDuJour.get(b), trajets);
+                conflits[a][b] = chevauchement;
+                conflits[b][a] = chevauchement;
+            }
+        }
+
+        Graphe graphe = new Graphe(donneesResolutionDAO.findAvailableWithCompetences(date), postes);
+        graphe.ajouterAptitudesEtCouts(serviceCompetences.getInstantane());
+        return new GrapheJournee(graphe, dpsDuPoste, conflits);
+    }
+
     /**
      * Construit l'objet Graphe biparti qui modélise le problème d'affectation pour un DPS.
+     * Toutes les données sont lues d'un bloc par le {@link DonneesResolutionDAO}.
      *
      * @param dpsCible Le DPS concerné.
      * @return Un objet Graphe prêt à être utilisé par les algorithmes.
      */
     private Graphe construireGraphePourDPS(DPS dpsCible) {
-        List<Poste> postesAPourvoir = preparerPostesPourUnSeulDps(dpsCible);
-        List<Secouriste> secouristesLibres = trouverSecouristesLibresPour(dpsCible);
-
-        int[][] matrice = new int[secouristesLibres.size()][postesAPourvoir.size()];
-        for (int i = 0; i < secouristesLibres.size(); i++) {
-            for (int j = 0; j < postesAPourvoir.size(); j++) {
-                if (estApte(secouristesLibres.get(i), postesAPourvoir.get(j))) {
-                    matrice[i][j] = 1;
-                } else {
-                    matrice[i][j] = 0;
+        DonneesResolution donnees = donneesResolutionDAO.loadForDps(dpsCible.getId(), dpsCible.getJournee().getDate());
+        List<Poste> postesAPourvoir = donnees.creerPostes(dpsCible.getId());
+        boolean proximite = preferenceProximite;
+        MatriceTrajets trajets = getMatriceTrajets(donnees, dpsCible);
+        List<Secouriste> secouristesLibres = trouverSecouristesLibres(donnees, dpsCible, trajets);
+
+        Graphe graphe = new Graphe(secouristesLibres, postesAPourvoir);
+        graphe.ajouterAptitudesEtCouts(serviceCompetences.getInstantane());
+        if (trajets != null && proximite) {
+            ajouterCoutsProximite(graphe, dpsCible, donnees, trajets);
+        }
+
+        return graphe;
+    }
+
+    /**
+     * Ajoute à chaque arête la distance entre le site du DPS et celui du DPS précédent du
+     * secouriste dans la journée. La surqualification reste prioritaire : elle est pondérée
+     * par {@link #KM_PAR_NIVEAU_SURQUALIFICATION}.
+     *
+     * @param graphe   Le graphe du DPS, dont les aptitudes et les coûts sont déjà définis.
+     * @param dpsCible Le DPS concerné.
+     * @param donnees  Les données de résolution du DPS, qui contiennent les occupations de la journée.
+     * @param trajets  La matrice des trajets, qui couvre les sites du DPS et de ses occupations.
+     */
+    private void ajouterCoutsProximite(Graphe graphe, DPS dpsCible, DonneesResolution donnees, MatriceTrajets trajets) {
+        int debutCible = dpsCible.getHoraireDepart()[0] * 60 + dpsCible.getHoraireDepart()[1];
+        List<Secouriste> secouristes = graphe.getSecouristes();
+        Site[] sitePrecedent = new Site[secouristes.size()];
+        for (int i = 0; i < secouristes.size(); i++) {
+            int precedente = -1;
+            for (int occupation : donnees.getOccupations(secouristes.get(i).getId())) {
+                int fin = donnees.getFinOccupation(occupation);
+                if (donnees.getDpsOccupation(occupation) != dpsCible.getId() && fin <= debutCible
+                        && (precedente < 0 || fin > donnees.getFinOccupation(precedente))) {
+                    precedente = occupation;
                 }
             }
+            if (precedente >= 0) {
+                sitePrecedent[i] = donnees.getSiteOccupation(precedente);
+            }
         }
 
-        return new Graphe(secouristesLibres, postesAPourvoir, matrice);
+        for (int i = 0; i < secouristes.size(); i++) {
+            int distance = 0;
+            if (sitePrecedent[i] != null) {
+                distance = (int) Math.min(KM_PAR_NIVEAU_SURQUALIFICATION - 1,
+                        Math.round(trajets.getDistanceKm(sitePrecedent[i], dpsCible.getSite())));
+            }
+            for (int j = 0; j < graphe.getNombrePostes(); j++) {
+                if (graphe.estApte(i, j)) {
+                    graphe.definirCout(i, j, graphe.getCout(i, j) * KM_PAR_NIVEAU_SURQUALIFICATION + distance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Retourne la matrice des trajets, en la (re)calculant pour tous les sites connus si
+     * elle n'existe pas encore ou si un des DPS se tient sur un site qu'elle ne couvre pas.
+     *
+     * @param dpsConcernes Les DPS dont les sites doivent être couverts.
+     * @return La matrice des trajets.
+     */
+    private MatriceTrajets getMatriceTrajets(Collection<DPS> dpsConcernes) {
+        List<Site> sites = new ArrayList<>();
+        for (DPS dps : dpsConcernes) {
+            sites.add(dps.getSite());
+        }
+        return getMatriceTrajetsPourSites(sites);
+    }
+
+    /**
+     * Retourne la matrice des trajets pour un DPS, couvrant son site et ceux de toutes les
+     * occupations de la journée.
+     *
+     * @param donnees  Les données de résolution du DPS.
+     * @param dpsCible Le DPS concerné.
+     * @return La matrice des trajets, ou null si les trajets ne sont pas pris en compte.
+     */
+    private MatriceTrajets getMatriceTrajets(DonneesResolution donnees, DPS dpsCible) {
+        if (!trajetsActifs) {
+            return null;
+        }
+        List<Site> sites = new ArrayList<>();
+        sites.add(dpsCible.getSite());
+        for (int occupation = 0; occupation < donnees.getNombreOccupations(); occupation++) {
+            sites.add(donnees.getSiteOccupation(occupation));
+        }
+        return getMatriceTrajetsPourSites(sites);
     }
 
     /**
-     * Vérifie si les horaires de deux DPS se chevauchent.
-     * Convertit les horaires en minutes depuis minuit pour faciliter la comparaison.
+     * Retourne la matrice des trajets, en la (re)calculant pour tous les sites connus si
+     * elle n'existe pas encore, si un site a été modifié depuis son calcul ou si elle ne
+     * couvre pas un des sites demandés.
      *
-     * @param dps1 Le premier DPS.
-     * @param dps2 Le second DPS.
-     * @return true si les intervalles de temps se chevauchent, false sinon.
+     * @param sitesConcernes Les sites à couvrir (les valeurs null sont ignorées).
+     * @return La matrice des trajets.
      */
-    private boolean horairesSeChevauchent(DPS dps1, DPS dps2) {
-        int[] horaireDepart1 = dps1.getHoraireDepart();
-        int[] horaireFin1 = dps1.getHoraireFin();
-        int startMinutes1 = horaireDepart1[0] * 60 + horaireDepart1[1];
-        int endMinutes1 = horaireFin1[0] * 60 + horaireFin1[1];
+    private synchronized MatriceTrajets getMatriceTrajetsPourSites(Collection<Site> sitesConcernes) {
+        long versionSites = SiteDAO.getVersion();
+        boolean complete = matriceTrajets != null && versionSitesTrajets == versionSites;
+        for (Site site : sitesConcernes) {
+            if (!complete) {
+                break;
+            }
+            complete = site == null || matriceTrajets.contient(site);
+        }
+        if (!complete) {
+            List<Site> sites = new ArrayList<>(siteDAO.findAll());
+            for (Site site : sitesConcernes) {
+                if (site != null) {
+                    sites.add(site);
+                }
+            }
+            matriceTrajets = new MatriceTrajets(sites, vitesseKmH);
+            versionSitesTrajets = versionSites;
+        }
+        return matriceTrajets;
+    }
 
-        int[] horaireDepart2 = dps2.getHoraireDepart();
-        int[] horaireFin2 = dps2.getHoraireFin();
-        int startMinutes2 = horaireDepart2[0] * 60 + horaireDepart2[1];
-        int endMinutes2 = horaireFin2[0] * 60 + horaireFin2[1];
+    /**
+     * Indique si un même secouriste ne peut pas couvrir deux DPS d'une même journée :
+     * leurs horaires se chevauchent ou, si les trajets sont pris en compte, le temps de
+     * trajet entre leurs sites ne laisse pas le temps de passer de l'un à l'autre.
+     *
+     * @param dps1    Le premier DPS.
+     * @param dps2    Le second DPS.
+     * @param trajets La matrice des trajets couvrant les deux sites, ou null si les trajets sont ignorés.
+     * @return true si les deux DPS sont incompatibles.
+     */
+    private static boolean sontIncompatibles(DPS dps1, DPS dps2, MatriceTrajets trajets) {
+        return sontIncompatibles(dps1.getHoraireDepart()[0] * 60 + dps1.getHoraireDepart()[1],
+                dps1.getHoraireFin()[0] * 60 + dps1.getHoraireFin()[1], dps1.getSite(),
+                dps2.getHoraireDepart()[0] * 60 + dps2.getHoraireDepart()[1],
+                dps2.getHoraireFin()[0] * 60 + dps2.getHoraireFin()[1], dps2.getSite(), trajets);
+    }
 
-        return startMinutes1 < endMinutes2 && startMinutes2 < endMinutes1;
+    /**
+     * Variante de {@link #sontIncompatibles(DPS, DPS, MatriceTrajets)} sur des horaires en minutes depuis minuit.
+     *
+     * @param debut1  Le début du premier DPS.
+     * @param fin1    La fin du premier DPS.
+     * @param site1   Le site du premier DPS (peut être null).
+     * @param debut2  Le début du second DPS.
+     * @param fin2    La fin du second DPS.
+     * @param site2   Le site du second DPS (peut être null).
+     * @param trajets La matrice des trajets couvrant les deux sites, ou null si les trajets sont ignorés.
+     * @return true si les deux DPS sont incompatibles.
+     */
+    private static boolean sontIncompatibles(int debut1, int fin1, Site site1, int debut2, int fin2, Site site2,
+                                             MatriceTrajets trajets) {
+        if (trajets == null) {
+            return debut1 < fin2 && debut2 < fin1;
+        }
+        int trajet = trajets.getMinutesTrajet(site1, site2);
+        return debut1 < fin2 + trajet && debut2 < fin1 + trajet;
     }
 
     /**
@@ -127,38 +587,36 @@ public class ServiceAffectation {
      * @param dpsCible Le DPS pour lequel on cherche des secouristes.
      * @return Une liste de secouristes disponibles et sans conflit.
      */
-    private List<Secouriste> trouverSecouristesLibresPour(DPS dpsCible) {
-        List<Secouriste> tousLesSecouristes = secouristeDAO.findAll();
-        List<Affectation> affectationsDuJour = affectationDAO.findAllByDate(dpsCible.getJournee().getDate());
-
-        // Prétraitement des affectations du jour pour un accès rapide par ID de secouriste.
-        Map<Long, List<Affectation>> affectationsParSecouriste = new HashMap<>();
-        for (Affectation aff : affectationsDuJour) {
-            long secouristeId = aff.getSecouriste().getId();
-            affectationsParSecouriste.computeIfAbsent(secouristeId, k -> new ArrayList<>()).add(aff);
-        }
+    List<Secouriste> trouverSecouristesLibresPour(DPS dpsCible) {
+        DonneesResolution donnees = donneesResolutionDAO.loadForDps(dpsCible.getId(), dpsCible.getJournee().getDate());
+        return trouverSecouristesLibres(donnees, dpsCible, getMatriceTrajets(donnees, dpsCible));
+    }
 
+    /**
+     * Retient, parmi les secouristes disponibles des données de résolution, ceux dont aucune
+     * occupation de la journée (hors le DPS lui-même) n'est incompatible avec le DPS.
+     *
+     * @param donnees  Les données de résolution du DPS.
+     * @param dpsCible Le DPS pour lequel on cherche des secouristes.
+     * @param trajets  La matrice des trajets couvrant les sites des données, ou null si les trajets sont ignorés.
+     * @return Une liste de secouristes disponibles et sans conflit.
+     */
+    private static List<Secouriste> trouverSecouristesLibres(DonneesResolution donnees, DPS dpsCible, MatriceTrajets trajets) {
+        int debutCible = dpsCible.getHoraireDepart()[0] * 60 + dpsCible.getHoraireDepart()[1];
+        int finCible = dpsCible.getHoraireFin()[0] * 60 + dpsCible.getHoraireFin()[1];
         List<Secouriste> secouristesLibres = new ArrayList<>();
-        for (Secouriste secouriste : tousLesSecouristes) {
-            if (!estDisponibleCeJour(secouriste, dpsCible.getJournee().getDate())) {
-                continue;
-            }
-
+        for (Secouriste secouriste : donnees.getSecouristes()) {
             boolean aUnConflit = false;
-            List<Affectation> sesAffectations = affectationsParSecouriste.get(secouriste.getId());
-
-            if (sesAffectations != null) {
-                for (Affectation affectationExistante : sesAffectations) {
-                    if (affectationExistante.getDps().getId() == dpsCible.getId()) {
-                        continue;
-                    }
-                    if (horairesSeChevauchent(affectationExistante.getDps(), dpsCible)) {
-                        aUnConflit = true;
-                        break;
-                    }
+            for (int occupation : donnees.getOccupations(secouriste.getId())) {
+                if (donnees.getDpsOccupation(occupation) == dpsCible.getId()) {
+                    continue;
+                }
+                if (sontIncompatibles(donnees.getDebutOccupation(occupation), donnees.getFinOccupation(occupation),
+                        donnees.getSiteOccupation(occupation), debutCible, finCible, dpsCible.getSite(), trajets)) {
+                    aUnConflit = true;
+                    break;
                 }
             }
-
             if (!aUnConflit) {
                 secouristesLibres.add(secouriste);
             }
@@ -172,9 +630,22 @@ public class ServiceAffectation {
      * @param dps Le DPS concerné.
      * @return Une liste d'objets Poste.
      */
-    private List<Poste> preparerPostesPourUnSeulDps(DPS dps) {
+    List<Poste> preparerPostesPourUnSeulDps(DPS dps) {
+        return preparerPostes(dps, dpsDAO.findRequiredCompetencesForDps(dps.getId()));
+    }
+
+    /**
+     * Crée la liste des postes à pourvoir pour un DPS à partir de besoins déjà chargés.
+     *
+     * @param dps     Le DPS concerné.
+     * @param besoins Les besoins du DPS, par compétence (null si le DPS n'en a aucun).
+     * @return Une liste d'objets Poste.
+     */
+    private List<Poste> preparerPostes(DPS dps, Map<Competence, Integer> besoins) {
         List<Poste> postes = new ArrayList<>();
-        Map<Competence, Integer> besoins = dpsDAO.findRequiredCompetencesForDps(dps.getId());
+        if (besoins == null) {
+            return postes;
+        }
         for (Map.Entry<Competence, Integer> besoin : besoins.entrySet()) {
             for (int i = 0; i < besoin.getValue(); i++) {
                 postes.add(new Poste(dps.getId(), besoin.getKey()));
@@ -190,26 +661,7 @@ public class ServiceAffectation {
      * @param poste Le poste.
      * @return `true` si le secouriste possède la compétence requise ou une compétence supérieure.
      */
-    private boolean estApte(Secouriste secouriste, Poste poste) {
-        return serviceCompetences.possedeCompetenceRequiseOuSuperieure(secouriste.getCompetences(), poste.getCompetenceRequise());
-    }
-
-    /**
-     * Vérifie si un secouriste s'est déclaré disponible pour une date donnée.
-     *
-     * @param secouriste Le secouriste.
-     * @param date La date à vérifier.
-     * @return `true` si le secouriste est disponible ce jour-là.
-     */
-    private boolean estDisponibleCeJour(Secouriste secouriste, LocalDate date) {
-        if (secouriste.getDisponibilites() == null) {
-            return false;
-        }
-        for (Journee jourDispo : secouriste.getDisponibilites()) {
-            if (jourDispo.getDate().equals(date)) {
-                return true;
-            }
-        }
-        return false;
+    boolean estApte(Secouriste secouriste, Poste poste) {
+        return serviceCompetences.possedeCompetenceRequiseOuSuperieure(secouriste, poste.getCompetenceRequise());
     }
-}
\ No newline at end of file
+}
@@ -1,50 +1,69 @@
 package fr.erm.sae201.metier.service;
 
-import fr.erm.sae201.dao.CompetenceDAO;
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
 import fr.erm.sae201.metier.persistence.Competence;
-import java.util.*;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service pour gérer la logique métier liée à la hiérarchie des compétences.
  * 
- * Il construit un graphe des prérequis en mémoire au moment de son instanciation,
- * puis l'utilise pour vérifier si une compétence possédée par un secouriste est
- * suffisante pour un poste requérant une compétence inférieure.
+ * Il vérifie si une compétence possédée par un secouriste est suffisante pour un poste
+ * requérant une compétence inférieure, et mesure la surqualification d'un secouriste pour
+ * un poste, c'est-à-dire la distance dans le graphe des prérequis entre sa compétence la
+ * plus proche et la compétence requise.
+ * 
+ * Le graphe n'est plus rechargé par chaque instance : le service s'appuie sur l'instantané
+ * courant du {@link RegistreCompetences}, partagé par toute l'application, dont la fermeture
+ * transitive est précalculée une seule fois par version. Les compétences couvertes par chaque
+ * secouriste sont mémorisées par le service, tant que la version et ses compétences ne changent pas.
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.4
  */
 public class ServiceCompetences {
 
-    /** Le graphe des compétences, représenté par une liste d'adjacence. */
-    private final Map<String, Set<String>> grapheAdjacence = new HashMap<>();
-
     /**
-     * Constructeur du service.
-     * Charge l'ensemble des compétences depuis la base de données et construit
-     * une représentation en mémoire du graphe des prérequis pour des consultations rapides.
+     * Compétences couvertes par un secouriste, calculées pour une version du graphe
+     * et un ensemble de compétences possédées.
      */
-    public ServiceCompetences() {
-        CompetenceDAO competenceDAO = new CompetenceDAO();
-        List<Competence> toutesLesCompetences = competenceDAO.findAll();
-        for (Competence competence : toutesLesCompetences) {
-            Set<String> prerequisIntitules = new HashSet<>();
-            for (Competence prerequis : competence.getPrerequisites()) {
-                prerequisIntitules.add(prerequis.getIntitule());
-            }
-            grapheAdjacence.put(competence.getIntitule(), prerequisIntitules);
+    private static final class Couverture {
+        private final long version;
+        private final Set<Competence> competences;
+        private final long[] couvertes;
+
+        private Couverture(long version, Set<Competence> competences, long[] couvertes) {
+            this.version = version;
+            this.competences = competences;
+            this.couvertes = couvertes;
         }
     }
 
+    /** Compétences couvertes mémorisées, par ID de secouriste. */
+    private final Map<Long, Couverture> couvertures = new ConcurrentHashMap<>();
+
+    /**
+     * Retourne l'instantané courant du graphe des compétences.
+     * Un appelant qui enchaîne {@link GrapheCompetences#calculerCompetencesCouvertes(Set)} et
+     * {@link GrapheCompetences#couvre(long[], Competence)} doit utiliser le même instantané.
+     *
+     * @return L'instantané courant, immuable.
+     */
+    public GrapheCompetences getInstantane() {
+        return RegistreCompetences.getInstantane();
+    }
+
     /**
      * Vérifie si un secouriste, avec son ensemble de compétences, satisfait une
      * compétence requise en tenant compte de la hiérarchie.
      * 
      * Pour chaque compétence possédée par le secouriste, elle vérifie si celle-ci
-     * est équivalente ou supérieure à la compétence requise en explorant le graphe des prérequis.
+     * est équivalente ou supérieure à la compétence requise, grâce à la fermeture précalculée.
      * 
      *
      * @param competencesPossedees L'ensemble des compétences du secouriste.
@@ -52,43 +71,54 @@ public class ServiceCompetences {
      * @return `true` si une des compétences possédées est égale ou supérieure à la compétence requise.
      */
     public boolean possedeCompetenceRequiseOuSuperieure(Set<Competence> competencesPossedees, Competence competenceRequise) {
-        for (Competence possedee : competencesPossedees) {
-            if (estSuperieureOuEgale(possedee.getIntitule(), competenceRequise.getIntitule())) {
-                return true;
-            }
-        }
-        return false;
+        GrapheCompetences graphe = getInstantane();
+        return graphe.couvre(graphe.calculerCompetencesCouvertes(competencesPossedees), competenceRequise)
+                || competencesPossedees.contains(competenceRequise);
     }
 
     /**
-     * Détermine par une exploration récursive si une compétence possédée est
-     * équivalente ou hiérarchiquement supérieure à une compétence requise.
+     * Vérifie si un secouriste satisfait une compétence requise en tenant compte de la hiérarchie,
+     * avec l'instantané courant. Ses compétences couvertes ne sont calculées qu'une fois par version.
      *
-     * @param intitulePossedee L'intitulé de la compétence que le secouriste possède.
-     * @param intituleRequise  L'intitulé de la compétence requise pour le poste.
-     * @return `true` si la compétence possédée est un "parent" ou est égale à la compétence requise.
+     * @param secouriste        Le secouriste.
+     * @param competenceRequise La compétence demandée pour le poste.
+     * @return `true` si une des compétences du secouriste est égale ou supérieure à la compétence requise.
      */
-    private boolean estSuperieureOuEgale(String intitulePossedee, String intituleRequise) {
-        // Cas de base 1 : La compétence possédée est exactement celle qui est requise.
-        if (intitulePossedee.equals(intituleRequise)) {
-            return true;
-        }
-
-        Set<String> prerequisDirects = grapheAdjacence.get(intitulePossedee);
-
-        // Cas de base 2 : La compétence possédée n'a pas de prérequis, l'exploration s'arrête ici.
-        if (prerequisDirects == null || prerequisDirects.isEmpty()) {
-            return false;
-        }
+    public boolean possedeCompetenceRequiseOuSuperieure(Secouriste secouriste, Competence competenceRequise) {
+        GrapheCompetences graphe = getInstantane();
+        return graphe.couvre(getCompetencesCouvertes(graphe, secouriste), competenceRequise)
+                || secouriste.getCompetences().contains(competenceRequise);
+    }
 
-        // Étape récursive : On vérifie si l'un des prérequis de la compétence possédée
-        // est lui-même supérieur ou égal à la compétence requise.
-        for (String prerequis : prerequisDirects) {
-            if (estSuperieureOuEgale(prerequis, intituleRequise)) {
-                return true;
-            }
+    /**
+     * Retourne les compétences couvertes par un secouriste dans un instantané, en réutilisant
+     * le dernier calcul tant que la version de l'instantané et les compétences du secouriste
+     * sont inchangées.
+     *
+     * @param instantane L'instantané du graphe des compétences.
+     * @param secouriste Le secouriste.
+     * @return Les compétences couvertes (voir {@link GrapheCompetences#calculerCompetencesCouvertes(Set)}),
+     *         partagées entre les appels : le tableau ne doit pas être modifié.
+     */
+    public long[] getCompetencesCouvertes(GrapheCompetences instantane, Secouriste secouriste) {
+        Set<Competence> competences = secouriste.getCompetences();
+        Couverture couverture = couvertures.get(secouriste.getId());
+        if (couverture == null || couverture.version != instantane.getVersion() || !couverture.competences.equals(competences)) {
+            couverture = new Couverture(instantane.getVersion(), competences, instantane.calculerCompetencesCouvertes(competences));
+            couvertures.put(secouriste.getId(), couverture);
         }
+        return couverture.couvertes;
+    }
 
-        return false;
+    /**
+     * Calcule le coût de surqualification d'un secouriste pour une compétence requise.
+     *
+     * @param competencesPossedees L'ensemble des compétences du secouriste.
+     * @param competenceRequise    La compétence demandée pour le poste.
+     * @return Le coût de surqualification, ou -1 si le secouriste n'est pas apte.
+     * @see GrapheCompetences#coutSurqualification(Set, Competence)
+     */
+    public int coutSurqualification(Set<Competence> competencesPossedees, Competence competenceRequise) {
+        return getInstantane().coutSurqualification(competencesPossedees, competenceRequise);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,61 @@
+package fr.erm.sae201.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exécuteur partagé des calculs lancés depuis l'interface (algorithmes d'affectation).
+ *
+ * Le nombre de threads et la file d'attente sont bornés : des clics répétés ne peuvent pas
+ * multiplier les calculs concurrents, et une demande en surnombre est refusée plutôt que
+ * mise en attente indéfiniment. Les threads sont des démons, pour ne jamais empêcher
+ * l'application de se fermer.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public final class ExecuteurCalculs {
+
+    /** Nombre maximal de calculs exécutés en même temps. */
+    public static final int NOMBRE_THREADS = 2;
+
+    /** Nombre maximal de calculs en attente d'un thread libre. */
+    public static final int TAILLE_FILE = 4;
+
+    private static final AtomicInteger COMPTEUR = new AtomicInteger();
+
+    private static final ThreadPoolExecutor EXECUTEUR = new ThreadPoolExecutor(NOMBRE_THREADS, NOMBRE_THREADS,
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(TAILLE_FILE), tache -> {
+                Thread thread = new Thread(tache, "calcul-affectation-" + COMPTEUR.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    static {
+        EXECUTEUR.allowCoreThreadTimeOut(true);
+    }
+
+    private ExecuteurCalculs() {
+    }
+
+    /**
+     * Soumet un calcul à l'exécuteur.
+     *
+     * @param calcul Le calcul à exécuter (typiquement une {@code javafx.concurrent.Task}).
+     * @return `true` si le calcul a été accepté, `false` si l'exécuteur est saturé.
+     */
+    public static boolean soumettre(Runnable calcul) {
+        try {
+            EXECUTEUR.execute(calcul);
+            return true;
+        } catch (RejectedExecutionException e) {
+            System.err.println("Calcul refusé, trop de calculs en cours : " + e.getMessage());
+            return false;
+        }
+    }
+}
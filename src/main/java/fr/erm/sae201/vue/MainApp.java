@@ -7,6 +7,7 @@ import fr.erm.sae201.controleur.auth.ResetPasswordController;
 import fr.erm.sae201.controleur.auth.SignupController;
 import fr.erm.sae201.controleur.user.UserCompetencesController;
 import fr.erm.sae201.controleur.user.UserDispoController;
+import fr.erm.sae201.dao.DAO;
 import fr.erm.sae201.metier.persistence.CompteUtilisateur;
 import fr.erm.sae201.metier.persistence.Secouriste;
 import fr.erm.sae201.metier.persistence.DPS;
@@ -32,7 +33,7 @@ import javafx.stage.Stage;
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.0
+ * @version 1.1
  */
 public class MainApp extends Application {
 
@@ -65,6 +66,16 @@ public class MainApp extends Application {
         primaryStage.centerOnScreen();
     }
 
+    /**
+     * Appelée à la fermeture de l'application : journalise les métriques du pool
+     * de connexions puis ferme ses connexions.
+     */
+    @Override
+    public void stop() {
+        System.out.println(DAO.getPool().decrire());
+        DAO.getPool().fermer();
+    }
+
     /**
      * Applique les feuilles de style CSS communes à la scène principale.
      */
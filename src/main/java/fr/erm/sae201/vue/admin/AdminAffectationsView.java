@@ -1,7 +1,11 @@
 package fr.erm.sae201.vue.admin;
 
 import fr.erm.sae201.controleur.admin.AdminAffectationsController;
+import fr.erm.sae201.metier.graphe.algorithme.Progression;
 import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.ContraintesPlanification;
+import fr.erm.sae201.metier.graphe.modele.MatriceTrajets;
+import fr.erm.sae201.metier.graphe.solveur.SolveurAffectation;
 import fr.erm.sae201.metier.persistence.CompteUtilisateur;
 import fr.erm.sae201.metier.persistence.DPS;
 import fr.erm.sae201.vue.MainApp;
@@ -17,6 +21,7 @@ import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Locale;
@@ -25,14 +30,16 @@ import java.util.Locale;
  * Vue pour l'interface de gestion des affectations des secouristes par un administrateur.
  * 
  * Elle affiche une liste de Dispositifs Prévisionnels de Secours (DPS), permet de
- * lancer des algorithmes d'affectation (exhaustif et glouton) et de visualiser
- * les propositions résultantes avant de les enregistrer.
+ * lancer des algorithmes d'affectation (tout solveur enregistré, ou progressif) et de visualiser
+ * les propositions résultantes avant de les enregistrer. L'approche progressive affiche chaque
+ * amélioration au fil de l'eau et peut être arrêtée en conservant la meilleure proposition.
+ * Pendant les autres calculs, une barre de progression et un bouton d'annulation sont affichés.
  * 
  *
  * @author Ewan QUELO
  * @author Raphael MILLE
  * @author Matheo BIET
- * @version 1.2
+ * @version 1.8
  */
 public class AdminAffectationsView extends BaseView {
 
@@ -48,11 +55,59 @@ public class AdminAffectationsView extends BaseView {
     /** Conteneur pour afficher les lignes de la proposition d'affectation. */
     private VBox propositionContainer;
 
-    /** Bouton pour lancer l'algorithme exhaustif. */
-    private Button runExhaustiveButton;
+    /** Liste des solveurs disponibles, découverts dans le registre des solveurs. */
+    private ComboBox<SolveurAffectation> solveurComboBox;
 
-    /** Bouton pour lancer l'algorithme glouton. */
-    private Button runGloutonButton;
+    /** Bouton pour lancer le solveur choisi dans la liste. */
+    private Button runSolveurButton;
+
+    /** Sélecteur du nombre de threads utilisés par les solveurs parallèles. */
+    private Spinner<Integer> parallelismeSpinner;
+
+    /** Bouton pour lancer l'algorithme progressif. */
+    private Button runProgressiveButton;
+
+    /** Sélecteur du délai (en secondes) accordé à l'algorithme progressif. */
+    private Spinner<Integer> delaiSpinner;
+
+    /** Bouton pour arrêter l'algorithme progressif en conservant la meilleure proposition. */
+    private Button stopProgressiveButton;
+
+    /** Bouton pour obtenir l'affectation maintenue de façon incrémentale. */
+    private Button runIncrementaleButton;
+
+    /** Nombre de jours d'historique pris en compte par le solveur équitable. */
+    private Spinner<Integer> fenetreEquiteSpinner;
+
+    /** Bouton pour lancer l'affectation globale de la journée du DPS sélectionné. */
+    private Button runJourneeButton;
+
+    /** Bouton pour planifier tous les DPS d'une période. */
+    private Button runPeriodeButton;
+
+    /** Premier jour de la période à planifier. */
+    private DatePicker debutPeriodePicker;
+
+    /** Dernier jour (inclus) de la période à planifier. */
+    private DatePicker finPeriodePicker;
+
+    /** Nombre maximal de DPS par secouriste et par jour pour la planification d'une période. */
+    private Spinner<Integer> maxDpsParJourSpinner;
+
+    /** Nombre maximal d'heures par secouriste et par semaine pour la planification d'une période. */
+    private Spinner<Integer> maxHeuresParSemaineSpinner;
+
+    /** Temps de repos minimal (en minutes) entre deux DPS pour la planification d'une période. */
+    private Spinner<Integer> reposSpinner;
+
+    /** Case à cocher activant la prise en compte des trajets entre sites. */
+    private CheckBox trajetsCheckBox;
+
+    /** Sélecteur de la vitesse moyenne (en km/h) utilisée pour les temps de trajet. */
+    private Spinner<Integer> vitesseSpinner;
+
+    /** Case à cocher donnant la préférence aux secouristes proches de leur DPS précédent. */
+    private CheckBox proximiteCheckBox;
 
     /** Bouton pour enregistrer les modifications. */
     private Button saveChangesButton;
@@ -60,6 +115,18 @@ public class AdminAffectationsView extends BaseView {
     /** Vue pour l'animation de chargement (GIF). */
     private ImageView loadingGifView;
 
+    /** Panneau affiché au-dessus de la vue pendant un calcul : animation, progression et annulation. */
+    private VBox chargementBox;
+
+    /** Barre de progression du calcul en cours (indéterminée tant que l'avancement est inconnu). */
+    private ProgressBar progressBar;
+
+    /** Détail de l'avancement du calcul en cours. */
+    private Label progressionLabel;
+
+    /** Bouton pour annuler le calcul en cours. */
+    private Button cancelButton;
+
     /**
      * Constructeur de la vue des affectations.
      * Initialise la vue et crée une instance de son contrôleur associé.
@@ -113,14 +180,82 @@ public class AdminAffectationsView extends BaseView {
         dpsDetailsLabel = new Label("Veuillez sélectionner un dispositif pour commencer.");
         dpsDetailsLabel.getStyleClass().addAll("admin-subtitle", "placeholder-text");
 
-        runExhaustiveButton = new Button("Approche Exhaustive");
-        runExhaustiveButton.getStyleClass().addAll("algo-button", "exhaustive-button");
-
-        runGloutonButton = new Button("Approche Gloutonne");
-        runGloutonButton.getStyleClass().addAll("algo-button", "glouton-button");
-
-        HBox algoButtons = new HBox(20, runExhaustiveButton, runGloutonButton);
-        algoButtons.setAlignment(Pos.CENTER);
+        solveurComboBox = new ComboBox<>();
+        solveurComboBox.setPrefWidth(220);
+        solveurComboBox.setCellFactory(lv -> new SolveurListCell());
+        solveurComboBox.setButtonCell(new SolveurListCell());
+        runSolveurButton = new Button("Résoudre");
+        runSolveurButton.getStyleClass().addAll("algo-button", "solve-button");
+
+        HBox solveurBox = new HBox(10, new Label("Solveur :"), solveurComboBox, runSolveurButton);
+        solveurBox.setAlignment(Pos.CENTER);
+
+        int processeurs = Runtime.getRuntime().availableProcessors();
+        parallelismeSpinner = new Spinner<>(1, processeurs, processeurs);
+        parallelismeSpinner.setPrefWidth(80);
+        fenetreEquiteSpinner = new Spinner<>(1, 365, 28);
+        fenetreEquiteSpinner.setPrefWidth(80);
+
+        // Options transmises au solveur choisi : seuls les solveurs concernés les utilisent.
+        HBox optionsSolveurBox = new HBox(10, new Label("Threads :"), parallelismeSpinner, new Label("Historique (jours) :"), fenetreEquiteSpinner);
+        optionsSolveurBox.setAlignment(Pos.CENTER);
+
+        runProgressiveButton = new Button("Approche Progressive");
+        runProgressiveButton.getStyleClass().addAll("algo-button", "solve-secondary-button");
+
+        delaiSpinner = new Spinner<>(1, 120, 2);
+        delaiSpinner.setPrefWidth(80);
+
+        stopProgressiveButton = new Button("Arrêter");
+        stopProgressiveButton.getStyleClass().add("algo-button");
+        stopProgressiveButton.setDisable(true);
+
+        HBox progressiveBox = new HBox(10, runProgressiveButton, new Label("Délai (s) :"), delaiSpinner, stopProgressiveButton);
+        progressiveBox.setAlignment(Pos.CENTER);
+
+        runJourneeButton = new Button("Optimiser la journée");
+        runJourneeButton.getStyleClass().addAll("algo-button", "solve-button");
+        runIncrementaleButton = new Button("Approche Incrémentale");
+        runIncrementaleButton.getStyleClass().addAll("algo-button", "solve-secondary-button");
+        runIncrementaleButton.setTooltip(new Tooltip("Répare la dernière affectation après les modifications, sans tout recalculer."));
+
+        HBox journeeBox = new HBox(20, runIncrementaleButton, runJourneeButton);
+        journeeBox.setAlignment(Pos.CENTER);
+
+        runPeriodeButton = new Button("Planifier la période");
+        runPeriodeButton.getStyleClass().addAll("algo-button", "solve-button");
+        runPeriodeButton.setTooltip(new Tooltip("Planifie tous les DPS de la période, jour après jour, en respectant les limites de chaque secouriste."));
+        debutPeriodePicker = new DatePicker();
+        debutPeriodePicker.setPrefWidth(130);
+        finPeriodePicker = new DatePicker();
+        finPeriodePicker.setPrefWidth(130);
+
+        HBox periodeBox = new HBox(10, runPeriodeButton, new Label("Du :"), debutPeriodePicker, new Label("au :"), finPeriodePicker);
+        periodeBox.setAlignment(Pos.CENTER);
+
+        ContraintesPlanification defaut = ContraintesPlanification.DEFAUT;
+        maxDpsParJourSpinner = new Spinner<>(1, 10, defaut.getMaxDpsParJour());
+        maxDpsParJourSpinner.setPrefWidth(70);
+        maxHeuresParSemaineSpinner = new Spinner<>(1, 168, defaut.getMaxMinutesParSemaine() / 60);
+        maxHeuresParSemaineSpinner.setPrefWidth(80);
+        reposSpinner = new Spinner<>(0, 24 * 60, defaut.getReposMinutes(), 15);
+        reposSpinner.setPrefWidth(90);
+
+        HBox contraintesBox = new HBox(10, new Label("DPS / jour :"), maxDpsParJourSpinner,
+                new Label("Heures / semaine :"), maxHeuresParSemaineSpinner, new Label("Repos (min) :"), reposSpinner);
+        contraintesBox.setAlignment(Pos.CENTER);
+
+        trajetsCheckBox = new CheckBox("Tenir compte des trajets");
+        trajetsCheckBox.setTooltip(new Tooltip("Deux DPS sont incompatibles si le temps de trajet entre leurs sites ne laisse pas le temps de passer de l'un à l'autre."));
+        vitesseSpinner = new Spinner<>(5, 130, (int) MatriceTrajets.VITESSE_MOYENNE_KMH, 5);
+        vitesseSpinner.setPrefWidth(80);
+        proximiteCheckBox = new CheckBox("Préférer les secouristes proches");
+        proximiteCheckBox.setTooltip(new Tooltip("Avec l'approche économe, départage les secouristes par la distance depuis leur DPS précédent."));
+        vitesseSpinner.disableProperty().bind(trajetsCheckBox.selectedProperty().not());
+        proximiteCheckBox.disableProperty().bind(trajetsCheckBox.selectedProperty().not());
+
+        HBox trajetsBox = new HBox(10, trajetsCheckBox, new Label("Vitesse (km/h) :"), vitesseSpinner, proximiteCheckBox);
+        trajetsBox.setAlignment(Pos.CENTER);
 
         propositionContainer = new VBox(5);
         propositionContainer.getStyleClass().add("affectations-proposition-container");
@@ -135,7 +270,7 @@ public class AdminAffectationsView extends BaseView {
         HBox saveBox = new HBox(saveChangesButton);
         saveBox.setAlignment(Pos.CENTER_RIGHT);
 
-        rightPanel.getChildren().addAll(dpsDetailsLabel, algoButtons, new Separator(),
+        rightPanel.getChildren().addAll(dpsDetailsLabel, solveurBox, optionsSolveurBox, progressiveBox, journeeBox, periodeBox, contraintesBox, trajetsBox, new Separator(),
                 new Label("Proposition d'affectation :"), propositionScrollPane, saveBox);
 
         StackPane rightStack = new StackPane(rightPanel);
@@ -145,9 +280,19 @@ public class AdminAffectationsView extends BaseView {
         loadingGifView.setFitWidth(80);
         loadingGifView.setFitHeight(80);
         loadingGifView.setPreserveRatio(true);
-        loadingGifView.setVisible(false);
 
-        rightStack.getChildren().add(loadingGifView);
+        progressBar = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        progressBar.setPrefWidth(260);
+        progressionLabel = new Label();
+        cancelButton = new Button("Annuler");
+        cancelButton.getStyleClass().add("algo-button");
+
+        chargementBox = new VBox(10, loadingGifView, progressBar, progressionLabel, cancelButton);
+        chargementBox.setAlignment(Pos.CENTER);
+        chargementBox.setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+        chargementBox.setVisible(false);
+
+        rightStack.getChildren().add(chargementBox);
 
         splitPane.getItems().addAll(leftPanel, rightStack);
         splitPane.setDividerPositions(0.35);
@@ -210,6 +355,37 @@ public class AdminAffectationsView extends BaseView {
         }
     }
 
+    /**
+     * Affiche une proposition couvrant tous les DPS d'une journée, regroupée par DPS.
+     *
+     * @param dpsDuJour   Les DPS de la journée, dans l'ordre d'affichage.
+     * @param proposition La liste des résultats d'affectation, tous DPS confondus.
+     */
+    public void displayPropositionJournee(List<DPS> dpsDuJour, List<AffectationResultat> proposition) {
+        clearProposition();
+        if (proposition.isEmpty()) {
+            propositionContainer.getChildren().add(new Label("Aucune affectation possible trouvée."));
+            return;
+        }
+        for (DPS dps : dpsDuJour) {
+            Label titre = new Label(String.format("%s - %s (%02dh%02d - %02dh%02d)",
+                    dps.getJournee().getDate().format(DateTimeFormatter.ofPattern("dd/MM")), dps.getSport().getNom(),
+                    dps.getHoraireDepart()[0], dps.getHoraireDepart()[1],
+                    dps.getHoraireFin()[0], dps.getHoraireFin()[1]));
+            titre.getStyleClass().add("admin-subtitle");
+            propositionContainer.getChildren().add(titre);
+            for (AffectationResultat res : proposition) {
+                if (res.getPoste().getIdDps() == dps.getId()) {
+                    String text = String.format("Poste [%s] → %s %s",
+                            res.getPoste().getCompetenceRequise().getIntitule(),
+                            res.getSecouriste().getPrenom(),
+                            res.getSecouriste().getNom());
+                    propositionContainer.getChildren().add(new Label(text));
+                }
+            }
+        }
+    }
+
     /**
      * Active ou désactive le panneau de droite.
      *
@@ -229,8 +405,11 @@ public class AdminAffectationsView extends BaseView {
      * @param isLoading `true` pour afficher le chargement, `false` pour le masquer.
      */
     public void showLoading(boolean isLoading) {
-        if (loadingGifView != null) {
-            loadingGifView.setVisible(isLoading);
+        if (chargementBox != null) {
+            chargementBox.setVisible(isLoading);
+            progressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+            progressionLabel.setText("");
+            cancelButton.setDisable(!isLoading);
         }
         
         if (rightPanel != null) {
@@ -239,32 +418,216 @@ public class AdminAffectationsView extends BaseView {
         }
     }
 
+    /**
+     * Affiche l'avancement du calcul en cours.
+     *
+     * @param progression L'état d'avancement transmis par l'algorithme.
+     */
+    public void afficherProgression(Progression progression) {
+        double fraction = progression.getFractionExploree();
+        progressBar.setProgress(fraction > 0 ? fraction : ProgressBar.INDETERMINATE_PROGRESS);
+        StringBuilder texte = new StringBuilder();
+        texte.append(String.format(Locale.FRANCE, "%,d étapes", progression.getNoeudsExplores()));
+        texte.append(" · meilleure : ").append(progression.getMeilleureTaille())
+                .append(" / ").append(progression.getBorneSuperieure()).append(" postes");
+        if (progression.getRestantEstimeMillis() >= 0 && fraction < 1.0) {
+            texte.append(" · reste ≈ ").append(Math.max(1, progression.getRestantEstimeMillis() / 1000)).append(" s");
+        }
+        progressionLabel.setText(texte.toString());
+    }
+
+    /**
+     * Définit l'action du bouton d'annulation du calcul en cours.
+     *
+     * @param handler Le gestionnaire d'événement pour l'action du bouton.
+     */
+    public void setCancelAction(EventHandler<ActionEvent> handler) {
+        cancelButton.setOnAction(handler);
+    }
+
     /**
      * Active ou désactive les boutons de lancement des algorithmes.
      *
      * @param disabled `true` pour désactiver, `false` pour activer.
      */
     public void setAlgoButtonsDisabled(boolean disabled) {
-        runExhaustiveButton.setDisable(disabled);
-        runGloutonButton.setDisable(disabled);
+        runSolveurButton.setDisable(disabled);
+        runProgressiveButton.setDisable(disabled);
+        runJourneeButton.setDisable(disabled);
+        runIncrementaleButton.setDisable(disabled);
+        runPeriodeButton.setDisable(disabled);
+    }
+
+    /**
+     * Bascule la vue dans l'état "recherche progressive en cours" : les boutons de lancement
+     * sont désactivés et seul le bouton d'arrêt est actif. La liste des DPS est verrouillée
+     * pour que les propositions publiées correspondent toujours au DPS affiché.
+     *
+     * @param running `true` pendant la recherche, `false` une fois terminée.
+     */
+    public void setProgressiveRunning(boolean running) {
+        setAlgoButtonsDisabled(running);
+        stopProgressiveButton.setDisable(!running);
+        dpsListView.setDisable(running);
+    }
+
+    /**
+     * Retourne le nombre de threads choisi pour les solveurs parallèles.
+     *
+     * @return Le niveau de parallélisme sélectionné.
+     */
+    public int getParallelisme() {
+        return parallelismeSpinner.getValue();
+    }
+
+    /**
+     * Définit l'action du bouton pour l'approche progressive.
+     *
+     * @param handler Le gestionnaire d'événement pour l'action du bouton.
+     */
+    public void setRunProgressiveAction(EventHandler<ActionEvent> handler) {
+        runProgressiveButton.setOnAction(handler);
+    }
+
+    /**
+     * Définit l'action du bouton d'arrêt de l'approche progressive.
+     *
+     * @param handler Le gestionnaire d'événement pour l'action du bouton.
+     */
+    public void setStopProgressiveAction(EventHandler<ActionEvent> handler) {
+        stopProgressiveButton.setOnAction(handler);
     }
 
     /**
-     * Définit l'action du bouton pour l'approche exhaustive.
+     * Retourne le délai choisi pour l'approche progressive.
+     *
+     * @return Le délai en secondes.
+     */
+    public int getDelaiSecondes() {
+        return delaiSpinner.getValue();
+    }
+
+    /**
+     * Définit l'action du bouton pour l'approche incrémentale.
      *
      * @param handler Le gestionnaire d'événement pour l'action du bouton.
      */
-    public void setRunExhaustiveAction(EventHandler<ActionEvent> handler) {
-        runExhaustiveButton.setOnAction(handler);
+    public void setRunIncrementaleAction(EventHandler<ActionEvent> handler) {
+        runIncrementaleButton.setOnAction(handler);
+    }
+
+    /**
+     * Remplit la liste des solveurs proposés et sélectionne le premier.
+     *
+     * @param solveurs Les solveurs disponibles.
+     */
+    public void setSolveursDisponibles(List<SolveurAffectation> solveurs) {
+        solveurComboBox.getItems().setAll(solveurs);
+        if (!solveurs.isEmpty()) {
+            solveurComboBox.getSelectionModel().selectFirst();
+        }
     }
 
     /**
-     * Définit l'action du bouton pour l'approche gloutonne.
+     * @return L'identifiant du solveur choisi dans la liste, ou null si aucun n'est choisi.
+     */
+    public String getSolveurChoisi() {
+        SolveurAffectation solveur = solveurComboBox.getValue();
+        return solveur == null ? null : solveur.getIdentifiant();
+    }
+
+    /**
+     * Définit l'action du bouton qui lance le solveur choisi dans la liste.
      *
      * @param handler Le gestionnaire d'événement pour l'action du bouton.
      */
-    public void setRunGreedyAction(EventHandler<ActionEvent> handler) {
-        runGloutonButton.setOnAction(handler);
+    public void setRunSolveurAction(EventHandler<ActionEvent> handler) {
+        runSolveurButton.setOnAction(handler);
+    }
+
+    /**
+     * @return Le nombre de jours d'historique à prendre en compte par le solveur équitable.
+     */
+    public int getFenetreEquite() {
+        return fenetreEquiteSpinner.getValue();
+    }
+
+    /**
+     * Définit l'action du bouton d'affectation globale de la journée.
+     *
+     * @param handler Le gestionnaire d'événement pour l'action du bouton.
+     */
+    public void setRunJourneeAction(EventHandler<ActionEvent> handler) {
+        runJourneeButton.setOnAction(handler);
+    }
+
+    /**
+     * Définit l'action du bouton de planification d'une période.
+     *
+     * @param handler Le gestionnaire d'événement pour l'action du bouton.
+     */
+    public void setRunPeriodeAction(EventHandler<ActionEvent> handler) {
+        runPeriodeButton.setOnAction(handler);
+    }
+
+    /**
+     * Retourne le premier jour de la période à planifier.
+     *
+     * @return La date choisie, ou null si aucune date n'est choisie.
+     */
+    public LocalDate getDebutPeriode() {
+        return debutPeriodePicker.getValue();
+    }
+
+    /**
+     * Retourne le dernier jour (inclus) de la période à planifier.
+     *
+     * @return La date choisie, ou null si aucune date n'est choisie.
+     */
+    public LocalDate getFinPeriode() {
+        return finPeriodePicker.getValue();
+    }
+
+    /**
+     * Préremplit la période à planifier.
+     *
+     * @param debut Le premier jour.
+     * @param fin   Le dernier jour (inclus).
+     */
+    public void setPeriode(LocalDate debut, LocalDate fin) {
+        debutPeriodePicker.setValue(debut);
+        finPeriodePicker.setValue(fin);
+    }
+
+    /**
+     * Retourne les limites choisies pour chaque secouriste lors de la planification d'une période.
+     *
+     * @return Les contraintes de planification.
+     */
+    public ContraintesPlanification getContraintesPlanification() {
+        return new ContraintesPlanification(maxDpsParJourSpinner.getValue(),
+                maxHeuresParSemaineSpinner.getValue() * 60, reposSpinner.getValue());
+    }
+
+    /**
+     * @return `true` si les temps de trajet entre sites doivent être pris en compte.
+     */
+    public boolean isTrajetsActives() {
+        return trajetsCheckBox.isSelected();
+    }
+
+    /**
+     * @return La vitesse moyenne choisie pour les temps de trajet, en km/h.
+     */
+    public int getVitesseKmH() {
+        return vitesseSpinner.getValue();
+    }
+
+    /**
+     * @return `true` si les secouristes proches de leur DPS précédent doivent être préférés.
+     */
+    public boolean isProximitePreferee() {
+        return proximiteCheckBox.isSelected();
     }
 
     /**
@@ -275,4 +638,21 @@ public class AdminAffectationsView extends BaseView {
     public void setSaveChangesAction(EventHandler<ActionEvent> handler) {
         saveChangesButton.setOnAction(handler);
     }
-}
\ No newline at end of file
+
+    /**
+     * Cellule affichant le nom d'un solveur, avec ses caractéristiques en infobulle.
+     */
+    private static class SolveurListCell extends ListCell<SolveurAffectation> {
+        @Override
+        protected void updateItem(SolveurAffectation solveur, boolean empty) {
+            super.updateItem(solveur, empty);
+            if (empty || solveur == null) {
+                setText(null);
+                setTooltip(null);
+            } else {
+                setText(solveur.getNom());
+                setTooltip(new Tooltip(solveur.getCaracteristiques().decrire()));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationCompressee;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'approche par classes de postes et de secouristes.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationCompresseeTest {
+
+    /**
+     * Teste l'approche par classes : les postes identiques et les secouristes interchangeables
+     * sont regroupés, et le résultat développé reste valide et optimal.
+     */
+    @Test
+    public void testCompressee() {
+        System.out.println("** testCompressee() **");
+        AlgorithmeAffectationCompressee compressee = new AlgorithmeAffectationCompressee();
+
+        System.out.println("Cas limite :");
+        assertTrue(compressee.resoudre(creerGraphe(new int[0][0])).isEmpty());
+
+        System.out.println("Cas postes identiques :");
+        // 8 postes identiques, 10 secouristes identiques : un seul créneau et une seule classe.
+        int[][] matrice = new int[10][8];
+        for (int[] ligne : matrice) {
+            Arrays.fill(ligne, 1);
+        }
+        Graphe identiques = creerGraphe(matrice);
+        List<AffectationResultat> solution = compressee.resoudre(identiques);
+        verifierSolutionValide(identiques, solution);
+        assertEquals(8, solution.size());
+        assertEquals(1, compressee.getNombreCreneaux());
+        assertEquals(1, compressee.getNombreClasses());
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(29);
+        for (int essai = 0; essai < 50; essai++) {
+            // Peu de profils distincts, répétés : beaucoup de symétries.
+            int[][] profils = matriceAleatoire(random, 1 + random.nextInt(4), 1 + random.nextInt(4), 0.5);
+            int nombreSecouristes = 1 + random.nextInt(12);
+            int nombrePostes = 1 + random.nextInt(12);
+            int[] profilDuPoste = new int[nombrePostes];
+            for (int j = 0; j < nombrePostes; j++) {
+                profilDuPoste[j] = random.nextInt(profils[0].length);
+            }
+            int[][] aleatoire = new int[nombreSecouristes][nombrePostes];
+            for (int i = 0; i < nombreSecouristes; i++) {
+                int profil = random.nextInt(profils.length);
+                for (int j = 0; j < nombrePostes; j++) {
+                    aleatoire[i][j] = profils[profil][profilDuPoste[j]];
+                }
+            }
+            Graphe graphe = creerGraphe(aleatoire);
+            solution = compressee.resoudre(graphe);
+            verifierSolutionMaximale(graphe, solution);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationEquitable;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'affectation équitable.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationEquitableTest {
+
+    /**
+     * Teste l'affectation équitable : elle doit pourvoir autant de postes que Hopcroft-Karp et,
+     * parmi les affectations de cardinalité maximale, minimiser la somme des carrés des charges
+     * (énumérées exhaustivement sur de petits graphes aléatoires).
+     */
+    @Test
+    public void testEquitable() {
+        System.out.println("** testEquitable() **");
+        System.out.println("Cas simple :");
+        // Les deux secouristes sont aptes, seul le moins chargé doit être retenu.
+        Graphe simple = creerGraphe(new int[][]{{1}, {1}});
+        List<AffectationResultat> choix = new AlgorithmeAffectationEquitable(new long[]{600, 120}, 60).resoudre(simple);
+        assertEquals(1, choix.size());
+        assertEquals(simple.getSecouristes().get(1), choix.get(0).getSecouriste());
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(16);
+        for (int essai = 0; essai < 60; essai++) {
+            int nombreSecouristes = 1 + random.nextInt(6);
+            int nombrePostes = 1 + random.nextInt(5);
+            Graphe graphe = creerGraphe(matriceAleatoire(random, nombreSecouristes, nombrePostes, 0.5));
+            long[] charges = new long[nombreSecouristes];
+            for (int i = 0; i < nombreSecouristes; i++) {
+                charges[i] = random.nextInt(10) * 60L;
+            }
+            int duree = 30 + random.nextInt(4) * 30;
+            List<AffectationResultat> solution = new AlgorithmeAffectationEquitable(charges, duree).resoudre(graphe);
+            verifierSolutionMaximale(graphe, solution);
+
+            long[] chargesSolution = charges.clone();
+            for (AffectationResultat res : solution) {
+                chargesSolution[graphe.getSecouristes().indexOf(res.getSecouriste())] += duree;
+            }
+            long[] meilleur = {-1, Long.MAX_VALUE};
+            enumererAffectations(graphe, 0, new boolean[nombreSecouristes], 0, charges.clone(), duree, meilleur);
+            assertEquals(meilleur[0], solution.size());
+            assertEquals("La somme des carrés des charges doit être minimale.", meilleur[1], sommeDesCarres(chargesSolution));
+        }
+    }
+
+    /**
+     * Énumère toutes les affectations à partir d'un poste et retient, dans meilleur,
+     * la cardinalité maximale et la plus petite somme des carrés des charges à cette cardinalité.
+     */
+    private void enumererAffectations(Graphe graphe, int poste, boolean[] pris, int taille, long[] charges,
+                                      int duree, long[] meilleur) {
+        if (poste == graphe.getNombrePostes()) {
+            long somme = sommeDesCarres(charges);
+            if (taille > meilleur[0] || (taille == meilleur[0] && somme < meilleur[1])) {
+                meilleur[0] = taille;
+                meilleur[1] = somme;
+            }
+            return;
+        }
+        enumererAffectations(graphe, poste + 1, pris, taille, charges, duree, meilleur);
+        for (int i = 0; i < graphe.getNombreSecouristes(); i++) {
+            if (!pris[i] && graphe.estApte(i, poste)) {
+                pris[i] = true;
+                charges[i] += duree;
+                enumererAffectations(graphe, poste + 1, pris, taille + 1, charges, duree, meilleur);
+                charges[i] -= duree;
+                pris[i] = false;
+            }
+        }
+    }
+
+    /**
+     * @param valeurs Des valeurs.
+     * @return La somme de leurs carrés.
+     */
+    private static long sommeDesCarres(long[] valeurs) {
+        long somme = 0;
+        for (long valeur : valeurs) {
+            somme += valeur * valeur;
+        }
+        return somme;
+    }
+}
@@ -0,0 +1,53 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustive;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustiveParallele;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour la recherche exhaustive parallèle.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationExhaustiveParalleleTest {
+
+    /**
+     * Teste la recherche exhaustive parallèle : même cardinalité que la version séquentielle,
+     * quel que soit le nombre de threads.
+     */
+    @Test
+    public void testExhaustiveParallele() {
+        System.out.println("** testExhaustiveParallele() **");
+
+        System.out.println("Cas erreur :");
+        try {
+            new AlgorithmeAffectationExhaustiveParallele(0);
+            fail("Exception attendue mais non levée: IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Comportement attendu.
+        }
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(11);
+        for (int essai = 0; essai < 30; essai++) {
+            Graphe graphe = grapheAleatoire(random, 8, 0.4);
+            int attendu = new AlgorithmeAffectationExhaustive().resoudre(graphe).size();
+            for (int threads = 1; threads <= 4; threads *= 2) {
+                List<AffectationResultat> solution = new AlgorithmeAffectationExhaustiveParallele(threads).resoudre(graphe);
+                verifierSolutionMaximale("Le parallélisme ne doit pas changer la cardinalité optimale.", graphe, solution,
+                        attendu);
+            }
+        }
+    }
+}
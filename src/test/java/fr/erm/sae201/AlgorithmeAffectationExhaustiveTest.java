@@ -0,0 +1,52 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustive;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour la recherche exhaustive séquentielle.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationExhaustiveTest {
+
+    /**
+     * Teste le mode séparation et évaluation de la recherche exhaustive.
+     * La cardinalité obtenue doit être identique à celle de l'exploration complète.
+     */
+    @Test
+    public void testExhaustiveAvecElagage() {
+        System.out.println("** testExhaustiveAvecElagage() **");
+        AlgorithmeAffectationExhaustive avecElagage = new AlgorithmeAffectationExhaustive(true);
+
+        System.out.println("Cas limite :");
+        assertTrue(avecElagage.resoudre(creerGraphe(new int[0][0])).isEmpty());
+        assertTrue(avecElagage.resoudre(creerGraphe(new int[][]{{0, 0}, {0, 0}})).isEmpty());
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(7);
+        for (int essai = 0; essai < 50; essai++) {
+            Graphe graphe = grapheAleatoire(random, 7, 0.4);
+            List<AffectationResultat> solution = avecElagage.resoudre(graphe);
+            verifierSolutionMaximale("L'élagage ne doit pas changer la cardinalité optimale.", graphe, solution,
+                    new AlgorithmeAffectationExhaustive().resoudre(graphe).size());
+        }
+
+        System.out.println("Cas de grande taille :");
+        // 40 postes et 40 secouristes : impraticable sans élagage, immédiat avec.
+        Graphe grand = creerGraphe(matriceAleatoire(random, 40, 40, 0.2));
+        List<AffectationResultat> solution = avecElagage.resoudre(grand);
+        verifierSolutionMaximale(grand, solution);
+    }
+}
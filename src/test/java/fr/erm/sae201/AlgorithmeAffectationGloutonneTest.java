@@ -0,0 +1,43 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationGloutonne;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'algorithme glouton.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationGloutonneTest {
+
+    /**
+     * Teste l'algorithme glouton sur un graphe de plus de 64 secouristes,
+     * afin de vérifier le parcours des aptitudes sur plusieurs mots de bits.
+     */
+    @Test
+    public void testGloutonSurPlusieursMots() {
+        System.out.println("** testGloutonSurPlusieursMots() **");
+        int[][] matrice = new int[130][2];
+        // Seuls les secouristes 70 et 129 sont aptes, respectivement au poste 0 et aux deux postes.
+        matrice[70][0] = 1;
+        matrice[129][0] = 1;
+        matrice[129][1] = 1;
+        Graphe graphe = creerGraphe(matrice);
+
+        List<AffectationResultat> solution = new AlgorithmeAffectationGloutonne().resoudre(graphe);
+        verifierSolutionValide(graphe, solution);
+        assertEquals(2, solution.size());
+        assertEquals(graphe.getSecouristes().get(70), solution.get(0).getSecouriste());
+        assertEquals(graphe.getSecouristes().get(129), solution.get(1).getSecouriste());
+    }
+}
@@ -0,0 +1,112 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHongroise;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour la méthode hongroise.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationHongroiseTest {
+
+    /**
+     * Teste la méthode hongroise : cardinalité maximale, puis coût total minimal,
+     * comparé à une énumération complète sur de petits graphes.
+     */
+    @Test
+    public void testHongroise() {
+        System.out.println("** testHongroise() **");
+        AlgorithmeAffectationHongroise hongroise = new AlgorithmeAffectationHongroise();
+
+        System.out.println("Cas limite :");
+        assertTrue(hongroise.resoudre(creerGraphe(new int[0][0])).isEmpty());
+        assertTrue(hongroise.resoudre(creerGraphe(new int[][]{{0, 0}, {0, 0}})).isEmpty());
+
+        System.out.println("Cas surqualification :");
+        // Le secouriste 0 est surqualifié pour le poste, le secouriste 1 a exactement la compétence.
+        Graphe surqualification = creerGraphe(new int[][]{{1}, {1}});
+        surqualification.definirCout(0, 0, 2);
+        List<AffectationResultat> solution = hongroise.resoudre(surqualification);
+        assertEquals(1, solution.size());
+        assertEquals(surqualification.getSecouristes().get(1), solution.get(0).getSecouriste());
+
+        System.out.println("Cas cardinalité prioritaire :");
+        // Le seul moyen de pourvoir les deux postes passe par l'arête coûteuse.
+        Graphe prioritaire = creerGraphe(new int[][]{{1, 1}, {1, 0}});
+        prioritaire.definirCout(0, 1, 5);
+        assertEquals(2, hongroise.resoudre(prioritaire).size());
+
+        System.out.println("Cas coûts creux :");
+        // Coûts définis dans le désordre, écrasés puis remis à zéro.
+        Graphe creux = creerGraphe(new int[][]{{1, 1}, {1, 1}, {1, 1}});
+        creux.definirCout(2, 0, 4);
+        creux.definirCout(0, 0, 1);
+        creux.definirCout(1, 0, 2);
+        creux.definirCout(0, 0, 5);
+        creux.definirCout(1, 0, 0);
+        assertEquals(5, creux.getCout(0, 0));
+        assertEquals(0, creux.getCout(1, 0));
+        assertEquals(4, creux.getCout(2, 0));
+        assertEquals(0, creux.getCout(0, 1));
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(17);
+        for (int essai = 0; essai < 50; essai++) {
+            Graphe graphe = grapheAleatoire(random, 6, 0.5);
+            for (int i = 0; i < graphe.getNombreSecouristes(); i++) {
+                for (int j = 0; j < graphe.getNombrePostes(); j++) {
+                    graphe.definirCout(i, j, random.nextInt(4));
+                }
+            }
+            solution = hongroise.resoudre(graphe);
+            verifierSolutionMaximale(graphe, solution);
+            int cout = 0;
+            for (AffectationResultat res : solution) {
+                cout += graphe.getCout(graphe.getSecouristes().indexOf(res.getSecouriste()), graphe.getPostes().indexOf(res.getPoste()));
+            }
+            long[] meilleur = {-1, 0};
+            enumererCouts(graphe, 0, new boolean[graphe.getNombreSecouristes()], 0, 0, meilleur);
+            assertEquals("Le coût doit être minimal parmi les solutions de cardinalité maximale.", meilleur[1], cout);
+        }
+    }
+
+    /**
+     * Énumère toutes les affectations et retient la meilleure au sens (cardinalité maximale, coût minimal).
+     *
+     * @param graphe   Le graphe du problème.
+     * @param poste    Le poste à traiter.
+     * @param pris     Les secouristes déjà affectés.
+     * @param taille   Le nombre de postes pourvus.
+     * @param cout     Le coût accumulé.
+     * @param meilleur Le meilleur couple {taille, coût} trouvé, mis à jour en place.
+     */
+    private void enumererCouts(Graphe graphe, int poste, boolean[] pris, int taille, int cout, long[] meilleur) {
+        if (poste == graphe.getNombrePostes()) {
+            if (taille > meilleur[0] || (taille == meilleur[0] && cout < meilleur[1])) {
+                meilleur[0] = taille;
+                meilleur[1] = cout;
+            }
+            return;
+        }
+        for (int i = 0; i < graphe.getNombreSecouristes(); i++) {
+            if (!pris[i] && graphe.estApte(i, poste)) {
+                pris[i] = true;
+                enumererCouts(graphe, poste + 1, pris, taille + 1, cout + graphe.getCout(i, poste), meilleur);
+                pris[i] = false;
+            }
+        }
+        enumererCouts(graphe, poste + 1, pris, taille, cout, meilleur);
+    }
+}
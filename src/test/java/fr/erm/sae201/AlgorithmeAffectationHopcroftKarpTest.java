@@ -0,0 +1,57 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustive;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationGloutonne;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'algorithme de Hopcroft-Karp.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationHopcroftKarpTest {
+
+    /**
+     * Teste l'algorithme de Hopcroft-Karp.
+     * Vérifie les cas limites, un cas où l'approche gloutonne échoue, et compare
+     * la cardinalité obtenue à celle de la recherche exhaustive sur des graphes aléatoires.
+     */
+    @Test
+    public void testHopcroftKarp() {
+        System.out.println("** testHopcroftKarp() **");
+        AlgorithmeAffectationHopcroftKarp hopcroftKarp = new AlgorithmeAffectationHopcroftKarp();
+
+        System.out.println("Cas limite :");
+        assertTrue(hopcroftKarp.resoudre(creerGraphe(new int[0][0])).isEmpty());
+        assertTrue(hopcroftKarp.resoudre(creerGraphe(new int[][]{{0, 0}, {0, 0}})).isEmpty());
+
+        System.out.println("Cas piège pour le glouton :");
+        // Le secouriste 0 est apte aux deux postes, le secouriste 1 seulement au premier.
+        Graphe piege = creerGraphe(new int[][]{{1, 1}, {1, 0}});
+        assertEquals(1, new AlgorithmeAffectationGloutonne().resoudre(piege).size());
+        List<AffectationResultat> solutionPiege = hopcroftKarp.resoudre(piege);
+        verifierSolutionValide(piege, solutionPiege);
+        assertEquals(2, solutionPiege.size());
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(42);
+        for (int essai = 0; essai < 50; essai++) {
+            Graphe graphe = grapheAleatoire(random, 7, 0.35);
+            List<AffectationResultat> solution = hopcroftKarp.resoudre(graphe);
+            verifierSolutionMaximale("Hopcroft-Karp doit atteindre la cardinalité optimale.", graphe, solution,
+                    new AlgorithmeAffectationExhaustive().resoudre(graphe).size());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationJournee;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.GrapheJournee;
+import fr.erm.sae201.metier.persistence.DPS;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'affectation globale d'une journée.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationJourneeTest {
+
+    /**
+     * Teste l'affectation globale d'une journée : un secouriste peut enchaîner des DPS
+     * qui ne se chevauchent pas, jamais des DPS en conflit ni deux postes d'un même DPS.
+     */
+    @Test
+    public void testJournee() {
+        System.out.println("** testJournee() **");
+        AlgorithmeAffectationJournee journee = new AlgorithmeAffectationJournee();
+
+        System.out.println("Cas DPS successifs :");
+        // Un seul secouriste, apte aux deux postes de deux DPS qui ne se chevauchent pas.
+        Graphe successifs = creerGraphe(new int[][]{{1, 1}});
+        List<AffectationResultat> solution = journee.resoudre(new GrapheJournee(successifs, new int[]{0, 1}, new boolean[2][2]));
+        assertEquals(2, solution.size());
+
+        System.out.println("Cas même DPS :");
+        assertEquals(1, journee.resoudre(new GrapheJournee(successifs, new int[]{0, 0}, new boolean[1][1])).size());
+
+        System.out.println("Cas réaffectation nécessaire :");
+        // DPS 0 et 1 se chevauchent, DPS 2 est plus tard. Le secouriste 0 sait tout faire,
+        // le secouriste 1 seulement le poste du DPS 0 : il faut libérer le secouriste 0 pour le DPS 1.
+        Graphe reaffectation = creerGraphe(new int[][]{{1, 1, 1}, {1, 0, 0}});
+        boolean[][] conflits = new boolean[3][3];
+        conflits[0][1] = true;
+        conflits[1][0] = true;
+        GrapheJournee grapheReaffectation = new GrapheJournee(reaffectation, new int[]{0, 1, 2}, conflits);
+        solution = journee.resoudre(grapheReaffectation);
+        verifierSolutionJourneeValide(grapheReaffectation, solution);
+        assertEquals(3, solution.size());
+
+        System.out.println("Cas aléatoires, tous les DPS en conflit :");
+        Random random = new Random(3);
+        for (int essai = 0; essai < 40; essai++) {
+            int nombrePostes = 1 + random.nextInt(8);
+            Graphe graphe = creerGraphe(matriceAleatoire(random, 1 + random.nextInt(8), nombrePostes, 0.4));
+            int nombreDps = 1 + random.nextInt(3);
+            int[] dpsDuPoste = new int[nombrePostes];
+            for (int j = 0; j < nombrePostes; j++) {
+                dpsDuPoste[j] = random.nextInt(nombreDps);
+            }
+            boolean[][] tousEnConflit = new boolean[nombreDps][nombreDps];
+            for (boolean[] ligne : tousEnConflit) {
+                Arrays.fill(ligne, true);
+            }
+            GrapheJournee grapheJournee = new GrapheJournee(graphe, dpsDuPoste, tousEnConflit);
+            solution = journee.resoudre(grapheJournee);
+            verifierSolutionJourneeValide(grapheJournee, solution);
+            // Sans DPS compatibles, le problème redevient un couplage maximum.
+            assertEquals(new AlgorithmeAffectationHopcroftKarp().resoudre(graphe).size(), solution.size());
+        }
+    }
+
+    /**
+     * Vérifie qu'une solution journée respecte les aptitudes et les conflits entre DPS.
+     *
+     * @param grapheJournee Le graphe de la journée.
+     * @param solution      La solution à valider.
+     */
+    private void verifierSolutionJourneeValide(GrapheJournee grapheJournee, List<AffectationResultat> solution) {
+        Graphe graphe = grapheJournee.getGraphe();
+        Set<Integer> postesPris = new HashSet<>();
+        List<int[]> couples = new ArrayList<>();
+        for (AffectationResultat res : solution) {
+            int i = graphe.getSecouristes().indexOf(res.getSecouriste());
+            int j = graphe.getPostes().indexOf(res.getPoste());
+            assertTrue("Un poste est pourvu deux fois.", postesPris.add(j));
+            assertTrue("Affectation sur une arête inexistante.", graphe.estApte(i, j));
+            for (int[] couple : couples) {
+                assertFalse("Un secouriste occupe deux postes en conflit.",
+                        couple[0] == i && grapheJournee.postesEnConflit(couple[1], j));
+            }
+            couples.add(new int[]{i, j});
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationParComposantes;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour la résolution par composantes connexes.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationParComposantesTest {
+
+    /**
+     * Teste la décomposition en composantes connexes et la résolution par composantes.
+     */
+    @Test
+    public void testParComposantes() {
+        System.out.println("** testParComposantes() **");
+
+        System.out.println("Cas décomposition :");
+        // Composante {postes 0,1 ; secouristes 0,1}, composante {poste 2 ; secouriste 2},
+        // poste 3 sans secouriste apte et secouriste 3 isolé (écartés).
+        Graphe graphe = creerGraphe(new int[][]{
+                {1, 0, 0, 0},
+                {1, 1, 0, 0},
+                {0, 0, 1, 0},
+                {0, 0, 0, 0}});
+        graphe.definirCout(1, 1, 3);
+        List<Graphe> composantes = AlgorithmeAffectationParComposantes.decomposer(graphe);
+        assertEquals(2, composantes.size());
+        assertEquals(2, composantes.get(0).getNombrePostes());
+        assertEquals(2, composantes.get(0).getNombreSecouristes());
+        assertEquals(3, composantes.get(0).getCout(1, 1));
+        assertEquals(1, composantes.get(1).getNombrePostes());
+        assertEquals(3, new AlgorithmeAffectationParComposantes().resoudre(graphe).size());
+
+        System.out.println("Cas erreur :");
+        try {
+            new AlgorithmeAffectationParComposantes(-1, 1);
+            fail("Exception attendue mais non levée: IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Comportement attendu.
+        }
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(23);
+        for (int essai = 0; essai < 30; essai++) {
+            // Graphe peu dense de grande taille : beaucoup de petites composantes.
+            Graphe aleatoire = creerGraphe(matriceAleatoire(random, 20 + random.nextInt(40), 20 + random.nextInt(40), 0.03));
+            for (int seuil = 0; seuil <= 12; seuil += 12) {
+                List<AffectationResultat> solution = new AlgorithmeAffectationParComposantes(seuil, 2).resoudre(aleatoire);
+                verifierSolutionMaximale(aleatoire, solution);
+            }
+        }
+    }
+}
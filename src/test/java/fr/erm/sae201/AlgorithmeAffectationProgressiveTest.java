@@ -0,0 +1,66 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationProgressive;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'approche progressive.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAffectationProgressiveTest {
+
+    /**
+     * Teste l'approche progressive : les solutions publiées s'améliorent strictement,
+     * la recherche menée à terme est optimale, et un arrêt immédiat conserve la solution gloutonne.
+     */
+    @Test
+    public void testProgressive() {
+        System.out.println("** testProgressive() **");
+
+        System.out.println("Cas erreur :");
+        try {
+            new AlgorithmeAffectationProgressive(0, null);
+            fail("Exception attendue mais non levée: IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // Comportement attendu.
+        }
+
+        System.out.println("Cas piège pour le glouton :");
+        Graphe piege = creerGraphe(new int[][]{{1, 1}, {1, 0}});
+        List<Integer> taillesPubliees = new ArrayList<>();
+        AlgorithmeAffectationProgressive progressive =
+                new AlgorithmeAffectationProgressive(10_000, solution -> taillesPubliees.add(solution.size()));
+        List<AffectationResultat> solutionPiege = progressive.resoudre(piege);
+        verifierSolutionValide(piege, solutionPiege);
+        assertEquals(2, solutionPiege.size());
+        assertFalse(progressive.estInterrompue());
+        assertEquals(List.of(1, 2), taillesPubliees);
+
+        System.out.println("Cas arrêt immédiat :");
+        AlgorithmeAffectationProgressive arretee = new AlgorithmeAffectationProgressive(10_000, null);
+        arretee.arreter();
+        assertEquals(1, arretee.resoudre(piege).size());
+        assertTrue(arretee.estInterrompue());
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(5);
+        for (int essai = 0; essai < 30; essai++) {
+            Graphe graphe = grapheAleatoire(random, 8, 0.4);
+            List<AffectationResultat> solution = new AlgorithmeAffectationProgressive(10_000, null).resoudre(graphe);
+            verifierSolutionMaximale(graphe, solution);
+        }
+    }
+}
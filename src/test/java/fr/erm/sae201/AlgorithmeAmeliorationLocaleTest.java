@@ -0,0 +1,71 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationGloutonne;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHongroise;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAmeliorationLocale;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'amélioration locale d'une affectation.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmeAmeliorationLocaleTest {
+
+    /**
+     * Teste l'amélioration locale : elle corrige le cas piège du glouton, supprime une
+     * surqualification par échange, et sur des graphes aléatoires atteint la cardinalité
+     * maximale sans augmenter le coût de la solution de départ.
+     */
+    @Test
+    public void testAmeliorationLocale() {
+        System.out.println("** testAmeliorationLocale() **");
+        AlgorithmeAmeliorationLocale locale = new AlgorithmeAmeliorationLocale(10_000);
+
+        System.out.println("Cas piège du glouton :");
+        // Le glouton donne le poste 0 au secouriste 0, seul apte au poste 1.
+        Graphe piege = creerGraphe(new int[][]{{1, 1}, {1, 0}});
+        assertEquals(1, new AlgorithmeAffectationGloutonne().resoudre(piege).size());
+        List<AffectationResultat> solution = locale.resoudre(piege);
+        verifierSolutionValide(piege, solution);
+        assertEquals(2, solution.size());
+
+        System.out.println("Cas échange :");
+        // Les deux secouristes sont aptes aux deux postes, mais chacun est surqualifié pour celui que le glouton lui donne.
+        Graphe echange = creerGraphe(new int[][]{{1, 1}, {1, 1}});
+        echange.definirCout(0, 0, 3);
+        echange.definirCout(1, 1, 3);
+        assertEquals(0, coutTotal(echange, locale.resoudre(echange)));
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(20);
+        for (int essai = 0; essai < 50; essai++) {
+            Graphe graphe = grapheAleatoire(random, 8, 0.4);
+            for (int i = 0; i < graphe.getNombreSecouristes(); i++) {
+                for (int j = 0; j < graphe.getNombrePostes(); j++) {
+                    graphe.definirCout(i, j, random.nextInt(4));
+                }
+            }
+            List<AffectationResultat> gloutonne = new AlgorithmeAffectationGloutonne().resoudre(graphe);
+            solution = locale.ameliorer(graphe, gloutonne);
+            verifierSolutionMaximale(graphe, solution);
+            if (gloutonne.size() == solution.size()) {
+                assertTrue(coutTotal(graphe, solution) <= coutTotal(graphe, gloutonne));
+            }
+            // Partir d'une solution optimale ne la dégrade pas.
+            List<AffectationResultat> optimale = new AlgorithmeAffectationHongroise().resoudre(graphe);
+            assertEquals(coutTotal(graphe, optimale), coutTotal(graphe, locale.ameliorer(graphe, optimale)));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmePlanificationPeriode;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.ContraintesPlanification;
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.Journee;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.persistence.Site;
+import fr.erm.sae201.metier.persistence.Sport;
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour la planification d'une période.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class AlgorithmePlanificationPeriodeTest {
+
+    /**
+     * Teste la planification d'une période : le repos est respecté d'un jour sur l'autre,
+     * et sur une période aléatoire de deux semaines aucune limite n'est dépassée.
+     */
+    @Test
+    public void testPlanificationPeriode() {
+        System.out.println("** testPlanificationPeriode() **");
+        Site site = new Site("SDF", "Stade de France", 2.36f, 48.92f);
+        Sport sport = new Sport("ATH", "Athlétisme");
+        Competence pse1 = new Competence("PSE1");
+        Map<String, Set<String>> adjacence = new HashMap<>();
+        adjacence.put("PSE1", new HashSet<>());
+        GrapheCompetences hierarchie = new GrapheCompetences(1, adjacence);
+
+        System.out.println("Cas repos entre deux jours :");
+        Secouriste seul = new Secouriste(1, "Nom", "Prenom", new Date(), "s@test.com", "0102030405", "Adresse");
+        seul.addCompetence(pse1);
+        seul.addDisponibilite(new Journee(1, 7, 2024));
+        seul.addDisponibilite(new Journee(2, 7, 2024));
+        DPS soir = new DPS(1L, new int[]{18, 0}, new int[]{23, 0}, site, new Journee(1, 7, 2024), sport);
+        DPS matin = new DPS(2L, new int[]{6, 0}, new int[]{10, 0}, site, new Journee(2, 7, 2024), sport);
+        Map<Long, List<Poste>> postes = new HashMap<>();
+        postes.put(1L, Arrays.asList(new Poste(1L, pse1)));
+        postes.put(2L, Arrays.asList(new Poste(2L, pse1)));
+        List<AffectationResultat> resultat = new AlgorithmePlanificationPeriode(new ContraintesPlanification(2, 48 * 60, 8 * 60), 2)
+                .resoudre(Arrays.asList(seul), Arrays.asList(matin, soir), postes, hierarchie, new ArrayList<>());
+        assertEquals(1, resultat.size());
+        assertEquals(1L, resultat.get(0).getPoste().getIdDps());
+        resultat = new AlgorithmePlanificationPeriode(new ContraintesPlanification(2, 48 * 60, 6 * 60), 2)
+                .resoudre(Arrays.asList(seul), Arrays.asList(matin, soir), postes, hierarchie, new ArrayList<>());
+        assertEquals(2, resultat.size());
+
+        System.out.println("Cas instantané non chargé :");
+        // Un instantané vide (chargement échoué) ne doit pas rendre tout le monde inapte.
+        resultat = new AlgorithmePlanificationPeriode(new ContraintesPlanification(2, 48 * 60, 6 * 60), 2)
+                .resoudre(Arrays.asList(seul), Arrays.asList(matin, soir), postes,
+                        new GrapheCompetences(0, new HashMap<>()), new ArrayList<>());
+        assertEquals(2, resultat.size());
+
+        System.out.println("Cas période aléatoire :");
+        Random random = new Random(5);
+        LocalDate debut = LocalDate.of(2024, 7, 1);
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int k = 0; k < 60; k++) {
+            Secouriste secouriste = new Secouriste(k + 1, "N", "P", new Date(), "x" + k + "@test.com", "0102030405", "A");
+            secouriste.addCompetence(pse1);
+            for (int jour = 0; jour < 14; jour++) {
+                if (random.nextInt(3) > 0) {
+                    secouriste.addDisponibilite(new Journee(debut.plusDays(jour)));
+                }
+            }
+            secouristes.add(secouriste);
+        }
+        List<DPS> dpsPeriode = new ArrayList<>();
+        postes = new HashMap<>();
+        Map<Long, DPS> dpsParId = new HashMap<>();
+        for (long id = 1; id <= 200; id++) {
+            int heure = random.nextInt(18);
+            DPS dps = new DPS(id, new int[]{heure, 0}, new int[]{heure + 2 + random.nextInt(5), 0}, site,
+                    new Journee(debut.plusDays(random.nextInt(14))), sport);
+            dpsPeriode.add(dps);
+            dpsParId.put(id, dps);
+            List<Poste> sesPostes = new ArrayList<>();
+            for (int p = 0; p < 1 + random.nextInt(3); p++) {
+                sesPostes.add(new Poste(id, pse1));
+            }
+            postes.put(id, sesPostes);
+        }
+        ContraintesPlanification contraintes = new ContraintesPlanification(2, 20 * 60, 90);
+        resultat = new AlgorithmePlanificationPeriode(contraintes, 4).resoudre(secouristes, dpsPeriode, postes, hierarchie, new ArrayList<>());
+        assertFalse(resultat.isEmpty());
+
+        Map<Long, List<DPS>> servicesParSecouriste = new HashMap<>();
+        for (AffectationResultat res : resultat) {
+            DPS dps = dpsParId.get(res.getPoste().getIdDps());
+            assertTrue("Secouriste indisponible.", res.getSecouriste().getDisponibilites().contains(dps.getJournee()));
+            servicesParSecouriste.computeIfAbsent(res.getSecouriste().getId(), k -> new ArrayList<>()).add(dps);
+        }
+        for (List<DPS> services : servicesParSecouriste.values()) {
+            Map<LocalDate, Integer> parJour = new HashMap<>();
+            Map<LocalDate, Integer> minutesParSemaine = new HashMap<>();
+            for (DPS a : services) {
+                LocalDate date = a.getJournee().getDate();
+                parJour.merge(date, 1, Integer::sum);
+                minutesParSemaine.merge(date.with(DayOfWeek.MONDAY), minutesFin(a) - minutesDebut(a), Integer::sum);
+                for (DPS b : services) {
+                    if (a != b) {
+                        long finA = date.toEpochDay() * 1440 + minutesFin(a);
+                        long debutB = b.getJournee().getDate().toEpochDay() * 1440 + minutesDebut(b);
+                        long debutA = date.toEpochDay() * 1440 + minutesDebut(a);
+                        assertTrue("Repos non respecté.", debutB >= finA + 90 || debutA >= debutB);
+                    }
+                }
+            }
+            for (int nombre : parJour.values()) {
+                assertTrue("Trop de DPS dans une journée.", nombre <= 2);
+            }
+            for (int minutes : minutesParSemaine.values()) {
+                assertTrue("Trop d'heures dans la semaine.", minutes <= 20 * 60);
+            }
+        }
+    }
+
+    /**
+     * @param dps Un DPS.
+     * @return Son heure de début, en minutes depuis minuit.
+     */
+    private static int minutesDebut(DPS dps) {
+        return dps.getHoraireDepart()[0] * 60 + dps.getHoraireDepart()[1];
+    }
+
+    /**
+     * @param dps Un DPS.
+     * @return Son heure de fin, en minutes depuis minuit.
+     */
+    private static int minutesFin(DPS dps) {
+        return dps.getHoraireFin()[0] * 60 + dps.getHoraireFin()[1];
+    }
+}
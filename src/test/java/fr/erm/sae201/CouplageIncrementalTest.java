@@ -0,0 +1,170 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.algorithme.CouplageIncremental;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour le couplage incrémental.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class CouplageIncrementalTest {
+
+    /**
+     * Teste le couplage incrémental : après une suite aléatoire de modifications,
+     * il doit rester maximum (comparé à Hopcroft-Karp sur le graphe reconstruit)
+     * et une modification sans rapport ne doit déplacer aucune affectation.
+     */
+    @Test
+    public void testCouplageIncremental() {
+        System.out.println("** testCouplageIncremental() **");
+        // Aptitude : le secouriste d'ID k est apte aux compétences "C0".."C{k mod 4}".
+        CouplageIncremental.Aptitude aptitude = (secouriste, poste) ->
+                Integer.parseInt(poste.getCompetenceRequise().getIntitule().substring(1)) <= secouriste.getId() % 4;
+
+        System.out.println("Cas stabilité :");
+        CouplageIncremental couplage = new CouplageIncremental(aptitude);
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int k = 1; k <= 3; k++) {
+            secouristes.add(new Secouriste(k, "Nom" + k, "Prenom" + k, new Date(), "s" + k + "@test.com", "0102030405", "Adresse"));
+        }
+        List<Poste> postes = new ArrayList<>();
+        postes.add(new Poste(1L, new Competence("C1")));
+        postes.add(new Poste(1L, new Competence("C3")));
+        // L'affectation existante du secouriste 2 sur C1 doit être conservée.
+        List<AffectationResultat> existantes = new ArrayList<>();
+        existantes.add(new AffectationResultat(secouristes.get(1), postes.get(0)));
+        couplage.initialiser(secouristes, postes, existantes);
+        List<AffectationResultat> avant = couplage.getAffectations();
+        assertEquals(2, avant.size());
+        assertEquals(secouristes.get(1), avant.get(0).getSecouriste());
+        couplage.ajouterPoste(new Poste(1L, new Competence("C0")));
+        List<AffectationResultat> apres = couplage.getAffectations();
+        assertEquals(3, apres.size());
+        assertEquals(avant.get(0).getSecouriste(), apres.get(0).getSecouriste());
+        assertEquals(avant.get(1).getSecouriste(), apres.get(1).getSecouriste());
+
+        System.out.println("Cas nouvelle aptitude :");
+        // Postes X(C0), p(C1), q(C2) ; t{C0, C1} sur p, s{C2} sur q, Y{C2} libre : X reste vide.
+        // Quand s acquiert C1, le chemin X→t, p→s, q→Y part d'un poste auquel s n'est pas apte.
+        CouplageIncremental.Aptitude parCompetences = (secouriste, poste) ->
+                secouriste.getCompetences().contains(poste.getCompetenceRequise());
+        couplage = new CouplageIncremental(parCompetences);
+        Secouriste t = creerSecouristeAvecCompetences(1, "C0", "C1");
+        Secouriste s = creerSecouristeAvecCompetences(2, "C2");
+        Secouriste y = creerSecouristeAvecCompetences(3, "C2");
+        postes = new ArrayList<>();
+        postes.add(new Poste(1L, new Competence("C0")));
+        postes.add(new Poste(1L, new Competence("C1")));
+        postes.add(new Poste(1L, new Competence("C2")));
+        existantes = new ArrayList<>();
+        existantes.add(new AffectationResultat(t, postes.get(1)));
+        existantes.add(new AffectationResultat(s, postes.get(2)));
+        couplage.initialiser(new ArrayList<>(Arrays.asList(t, s, y)), postes, existantes);
+        assertEquals(2, couplage.getAffectations().size());
+        assertTrue(couplage.mettreAJourSecouriste(creerSecouristeAvecCompetences(2, "C1", "C2")));
+        assertEquals(3, couplage.getAffectations().size());
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(31);
+        for (int essai = 0; essai < 20; essai++) {
+            couplage = new CouplageIncremental(parCompetences);
+            couplage.initialiser(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            List<Secouriste> presents = new ArrayList<>();
+            List<Poste> postesPresents = new ArrayList<>();
+            long prochainId = 1;
+            for (int etape = 0; etape < 80; etape++) {
+                int operation = random.nextInt(5);
+                if (operation == 0) {
+                    Secouriste secouriste = creerSecouristeAleatoire(random, prochainId++);
+                    presents.add(secouriste);
+                    couplage.ajouterSecouriste(secouriste);
+                } else if (operation == 1 && !presents.isEmpty()) {
+                    Secouriste retire = presents.remove(random.nextInt(presents.size()));
+                    assertTrue(couplage.retirerSecouriste(retire.getId()));
+                } else if (operation == 2) {
+                    Poste poste = new Poste(1L, new Competence("C" + random.nextInt(4)));
+                    postesPresents.add(poste);
+                    couplage.ajouterPoste(poste);
+                } else if (operation == 3 && !postesPresents.isEmpty()) {
+                    Poste retire = postesPresents.remove(random.nextInt(postesPresents.size()));
+                    assertTrue(couplage.retirerPoste(retire.getCompetenceRequise()));
+                } else if (operation == 4 && !presents.isEmpty()) {
+                    // Le secouriste garde son ID mais change de compétences.
+                    int index = random.nextInt(presents.size());
+                    Secouriste modifie = creerSecouristeAleatoire(random, presents.get(index).getId());
+                    presents.set(index, modifie);
+                    assertTrue(couplage.mettreAJourSecouriste(modifie));
+                }
+
+                Graphe reconstruit = new Graphe(presents, postesPresents);
+                for (int i = 0; i < presents.size(); i++) {
+                    for (int j = 0; j < postesPresents.size(); j++) {
+                        if (parCompetences.estApte(presents.get(i), postesPresents.get(j))) {
+                            reconstruit.ajouterAptitude(i, j);
+                        }
+                    }
+                }
+                List<AffectationResultat> courantes = couplage.getAffectations();
+                Set<Long> employes = new HashSet<>();
+                for (AffectationResultat res : courantes) {
+                    assertTrue("Un secouriste est affecté deux fois.", employes.add(res.getSecouriste().getId()));
+                    assertTrue("Affectation non apte.", parCompetences.estApte(res.getSecouriste(), res.getPoste()));
+                }
+                assertEquals("Le couplage incrémental doit rester maximum.",
+                        new AlgorithmeAffectationHopcroftKarp().resoudre(reconstruit).size(), courantes.size());
+            }
+        }
+    }
+
+    /**
+     * Crée un secouriste de test possédant les compétences indiquées.
+     *
+     * @param id        L'ID du secouriste.
+     * @param intitules Les intitulés de ses compétences.
+     * @return Le secouriste créé.
+     */
+    private Secouriste creerSecouristeAvecCompetences(long id, String... intitules) {
+        Secouriste secouriste = new Secouriste(id, "N", "P", new Date(), "x" + id + "@test.com", "0102030405", "A");
+        for (String intitule : intitules) {
+            secouriste.addCompetence(new Competence(intitule));
+        }
+        return secouriste;
+    }
+
+    /**
+     * Crée un secouriste de test possédant au hasard certaines des compétences C0 à C3.
+     *
+     * @param random Le générateur aléatoire.
+     * @param id     L'ID du secouriste.
+     * @return Le secouriste créé.
+     */
+    private Secouriste creerSecouristeAleatoire(Random random, long id) {
+        Secouriste secouriste = creerSecouristeAvecCompetences(id);
+        for (int c = 0; c < 4; c++) {
+            if (random.nextInt(3) == 0) {
+                secouriste.addCompetence(new Competence("C" + c));
+            }
+        }
+        return secouriste;
+    }
+}
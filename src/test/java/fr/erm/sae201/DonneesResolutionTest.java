@@ -0,0 +1,73 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.modele.DonneesResolution;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.persistence.Site;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour les données de résolution d'un DPS.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class DonneesResolutionTest {
+
+    /**
+     * Teste les données de résolution d'un DPS : index des occupations par secouriste,
+     * accès aux horaires et aux sites, création des postes à partir des besoins, et refus
+     * de tableaux de tailles incohérentes.
+     */
+    @Test
+    public void testDonneesResolution() {
+        System.out.println("** testDonneesResolution() **");
+        Competence pse1 = new Competence("PSE1");
+        Competence ce = new Competence("CE");
+        List<Secouriste> secouristes = new ArrayList<>();
+        secouristes.add(new Secouriste(1, "Nom1", "Prenom1", new Date(), "s1@test.fr", "0600000001", "Adresse"));
+        Site site = new Site("S1", "Site", 0f, 0f);
+        DonneesResolution donnees = new DonneesResolution(secouristes,
+                new long[]{1, 2, 1}, new long[]{10, 10, 11}, new int[]{480, 480, 840}, new int[]{600, 600, 900},
+                new Site[]{site, site, null}, new Competence[]{pse1, ce}, new int[]{2, 1});
+
+        assertEquals(3, donnees.getNombreOccupations());
+        assertEquals(Arrays.asList(0, 2), donnees.getOccupations(1));
+        assertEquals(Arrays.asList(1), donnees.getOccupations(2));
+        assertTrue(donnees.getOccupations(3).isEmpty());
+        assertEquals(11, donnees.getDpsOccupation(2));
+        assertEquals(840, donnees.getDebutOccupation(2));
+        assertEquals(900, donnees.getFinOccupation(2));
+        assertNull(donnees.getSiteOccupation(2));
+
+        List<Poste> postes = donnees.creerPostes(42);
+        assertEquals(3, postes.size());
+        int postesPse1 = 0;
+        for (Poste poste : postes) {
+            assertEquals(42, poste.getIdDps());
+            if (poste.getCompetenceRequise().equals(pse1)) {
+                postesPse1++;
+            }
+        }
+        assertEquals(2, postesPse1);
+
+        try {
+            new DonneesResolution(secouristes, new long[]{1}, new long[0], new int[0], new int[0],
+                    new Site[0], new Competence[0], new int[0]);
+            fail("Des tableaux de tailles différentes auraient dû être refusés.");
+        } catch (IllegalArgumentException e) {
+            // Attendu.
+        }
+    }
+}
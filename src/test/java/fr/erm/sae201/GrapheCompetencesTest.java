@@ -0,0 +1,64 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
+import fr.erm.sae201.metier.persistence.Competence;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'instantané du graphe des compétences.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class GrapheCompetencesTest {
+
+    /**
+     * Teste l'instantané du graphe des compétences : fermeture transitive,
+     * coût de surqualification et indépendance vis-à-vis de la map d'origine.
+     */
+    @Test
+    public void testGrapheCompetences() {
+        System.out.println("** testGrapheCompetences() **");
+        Map<String, Set<String>> adjacence = new HashMap<>();
+        adjacence.put("PSE2", new HashSet<>(Arrays.asList("PSE1")));
+        adjacence.put("PSE1", new HashSet<>(Arrays.asList("PSC1")));
+        adjacence.put("VPSP", new HashSet<>());
+        GrapheCompetences graphe = new GrapheCompetences(7, adjacence);
+        // La map d'origine peut être modifiée sans toucher à l'instantané.
+        adjacence.get("VPSP").add("PSE2");
+
+        assertEquals(7, graphe.getVersion());
+        assertEquals(4, graphe.getNombreCompetences());
+        assertTrue(graphe.getPrerequisDirects().get("VPSP").isEmpty());
+
+        Set<Competence> pse2 = new HashSet<>(Arrays.asList(new Competence("PSE2")));
+        long[] couvertes = graphe.calculerCompetencesCouvertes(pse2);
+        assertTrue(graphe.couvre(couvertes, new Competence("PSE2")));
+        assertTrue(graphe.couvre(couvertes, new Competence("PSC1")));
+        assertFalse(graphe.couvre(couvertes, new Competence("VPSP")));
+        assertFalse(graphe.couvre(couvertes, new Competence("Inconnue")));
+        assertEquals(0, graphe.coutSurqualification(pse2, new Competence("PSE2")));
+        assertEquals(2, graphe.coutSurqualification(pse2, new Competence("PSC1")));
+        assertEquals(-1, graphe.coutSurqualification(pse2, new Competence("VPSP")));
+
+        List<Competence> competences = graphe.creerCompetences();
+        assertEquals(4, competences.size());
+        for (Competence competence : competences) {
+            if (competence.getIntitule().equals("PSE2")) {
+                assertEquals(1, competence.getPrerequisites().size());
+                assertTrue(competence.getPrerequisites().contains(new Competence("PSE1")));
+            }
+        }
+    }
+}
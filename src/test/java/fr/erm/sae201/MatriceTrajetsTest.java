@@ -0,0 +1,74 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmePlanificationPeriode;
+import fr.erm.sae201.metier.graphe.modele.ContraintesPlanification;
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
+import fr.erm.sae201.metier.graphe.modele.MatriceTrajets;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.DPS;
+import fr.erm.sae201.metier.persistence.Journee;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.persistence.Site;
+import fr.erm.sae201.metier.persistence.Sport;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour la matrice des trajets entre sites.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class MatriceTrajetsTest {
+
+    /**
+     * Teste la matrice des trajets (distance de haversine) et son effet sur la planification :
+     * deux DPS trop éloignés pour être enchaînés ne peuvent pas être confiés au même secouriste.
+     */
+    @Test
+    public void testMatriceTrajets() {
+        System.out.println("** testMatriceTrajets() **");
+        Site paris = new Site("PAR", "Paris", 2.3522f, 48.8566f);
+        Site lyon = new Site("LYO", "Lyon", 4.8357f, 45.7640f);
+        Site saintDenis = new Site("SDF", "Stade de France", 2.3600f, 48.9244f);
+        MatriceTrajets trajets = new MatriceTrajets(Arrays.asList(paris, lyon, saintDenis), 60.0);
+        assertEquals(392.0, trajets.getDistanceKm(paris, lyon), 5.0);
+        assertEquals(trajets.getDistanceKm(paris, lyon), trajets.getDistanceKm(lyon, paris), 1e-9);
+        assertEquals(0.0, trajets.getDistanceKm(paris, paris), 1e-9);
+        assertEquals((int) Math.ceil(trajets.getDistanceKm(paris, lyon)), trajets.getMinutesTrajet(paris, lyon));
+        assertEquals(0, trajets.getMinutesTrajet(paris, new Site("XXX", "Inconnu", 0f, 0f)));
+
+        Sport sport = new Sport("ATH", "Athlétisme");
+        Competence pse1 = new Competence("PSE1");
+        Map<String, Set<String>> adjacence = new HashMap<>();
+        adjacence.put("PSE1", new HashSet<>());
+        Secouriste seul = new Secouriste(1, "Nom", "Prenom", new Date(), "s@test.com", "0102030405", "Adresse");
+        seul.addCompetence(pse1);
+        seul.addDisponibilite(new Journee(1, 7, 2024));
+        DPS matin = new DPS(1L, new int[]{8, 0}, new int[]{12, 0}, paris, new Journee(1, 7, 2024), sport);
+        DPS apresMidi = new DPS(2L, new int[]{13, 0}, new int[]{17, 0}, lyon, new Journee(1, 7, 2024), sport);
+        Map<Long, List<Poste>> postes = new HashMap<>();
+        postes.put(1L, Arrays.asList(new Poste(1L, pse1)));
+        postes.put(2L, Arrays.asList(new Poste(2L, pse1)));
+        ContraintesPlanification contraintes = new ContraintesPlanification(2, 48 * 60, 0);
+        assertEquals(2, new AlgorithmePlanificationPeriode(contraintes, 1)
+                .resoudre(Arrays.asList(seul), Arrays.asList(matin, apresMidi), postes,
+                        new GrapheCompetences(1, adjacence), new ArrayList<>()).size());
+        assertEquals(1, new AlgorithmePlanificationPeriode(contraintes, 1, trajets)
+                .resoudre(Arrays.asList(seul), Arrays.asList(matin, apresMidi), postes,
+                        new GrapheCompetences(1, adjacence), new ArrayList<>()).size());
+    }
+}
@@ -0,0 +1,109 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.OrdreTopologiqueIncremental;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'ordre topologique incrémental des compétences.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class OrdreTopologiqueIncrementalTest {
+
+    /**
+     * Teste l'ordre topologique incrémental : sur une suite aléatoire d'ajouts et de
+     * retraits de prérequis, la détection de cycle doit coïncider avec un parcours
+     * complet, et l'ordre maintenu doit toujours placer les prérequis en premier.
+     */
+    @Test
+    public void testOrdreTopologiqueIncremental() {
+        System.out.println("** testOrdreTopologiqueIncremental() **");
+        Map<String, Set<String>> initial = new HashMap<>();
+        initial.put("PSE2", new HashSet<>(Arrays.asList("PSE1")));
+        initial.put("PSE1", new HashSet<>(Arrays.asList("PSC1")));
+        OrdreTopologiqueIncremental ordre = new OrdreTopologiqueIncremental(initial);
+        assertTrue(ordre.creeraitCycle("PSC1", "PSE2"));
+        assertFalse(ordre.creeraitCycle("PSE2", "PSC1"));
+        assertFalse(ordre.remplacerPrerequis("PSC1", new HashSet<>(Arrays.asList("PSE2"))));
+        assertEquals(Arrays.asList("PSC1", "PSE1", "PSE2"), ordre.getOrdre());
+
+        initial.put("PSC1", new HashSet<>(Arrays.asList("PSE2")));
+        try {
+            new OrdreTopologiqueIncremental(initial);
+            fail("Un graphe cyclique doit être refusé.");
+        } catch (IllegalArgumentException e) {
+            // Attendu.
+        }
+
+        Random random = new Random(17);
+        int nombre = 30;
+        for (int essai = 0; essai < 10; essai++) {
+            ordre = new OrdreTopologiqueIncremental();
+            boolean[][] arcs = new boolean[nombre][nombre];
+            for (int c = 0; c < nombre; c++) {
+                ordre.ajouterCompetence("C" + c);
+            }
+            for (int etape = 0; etape < 300; etape++) {
+                int competence = random.nextInt(nombre);
+                int prerequis = random.nextInt(nombre);
+                if (random.nextInt(4) == 0) {
+                    ordre.retirerPrerequis("C" + competence, "C" + prerequis);
+                    arcs[prerequis][competence] = false;
+                    continue;
+                }
+                // Cycle si la compétence est déjà un prérequis (direct ou non) du prérequis envisagé.
+                boolean cycleAttendu = competence == prerequis || atteint(arcs, competence, prerequis);
+                assertEquals(cycleAttendu, ordre.creeraitCycle("C" + competence, "C" + prerequis));
+                assertEquals(!cycleAttendu, ordre.ajouterPrerequis("C" + competence, "C" + prerequis));
+                if (!cycleAttendu) {
+                    arcs[prerequis][competence] = true;
+                }
+                List<String> liste = ordre.getOrdre();
+                for (int a = 0; a < nombre; a++) {
+                    for (int b = 0; b < nombre; b++) {
+                        if (arcs[a][b]) {
+                            assertTrue(liste.indexOf("C" + a) < liste.indexOf("C" + b));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Parcours complet de référence : indique si {@code cible} est atteignable depuis {@code depart}.
+     */
+    private static boolean atteint(boolean[][] arcs, int depart, int cible) {
+        boolean[] vus = new boolean[arcs.length];
+        List<Integer> pile = new ArrayList<>();
+        pile.add(depart);
+        vus[depart] = true;
+        while (!pile.isEmpty()) {
+            int courant = pile.remove(pile.size() - 1);
+            if (courant == cible) {
+                return true;
+            }
+            for (int suivant = 0; suivant < arcs.length; suivant++) {
+                if (arcs[courant][suivant] && !vus[suivant]) {
+                    vus[suivant] = true;
+                    pile.add(suivant);
+                }
+            }
+        }
+        return false;
+    }
+}
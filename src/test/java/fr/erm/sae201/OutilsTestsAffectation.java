@@ -0,0 +1,144 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.modele.Poste;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.Secouriste;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Outils communs aux tests des algorithmes d'affectation : construction de graphes,
+ * de fixe ou aléatoires, et vérification des solutions produites (aucun secouriste
+ * affecté deux fois, uniquement des arêtes existantes, cardinalité maximale).
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+final class OutilsTestsAffectation {
+
+    private OutilsTestsAffectation() {
+    }
+
+    /**
+     * Construit un graphe de test à partir d'une matrice d'adjacence.
+     *
+     * @param matrice La matrice d'adjacence [secouriste][poste].
+     * @return Le graphe correspondant.
+     */
+    static Graphe creerGraphe(int[][] matrice) {
+        int nombreSecouristes = matrice.length;
+        int nombrePostes = nombreSecouristes == 0 ? 0 : matrice[0].length;
+        List<Secouriste> secouristes = new ArrayList<>();
+        for (int i = 0; i < nombreSecouristes; i++) {
+            secouristes.add(new Secouriste(i + 1, "Nom" + i, "Prenom" + i, new Date(), "s" + i + "@test.com", "0102030405", "Adresse"));
+        }
+        List<Poste> postes = new ArrayList<>();
+        for (int j = 0; j < nombrePostes; j++) {
+            postes.add(new Poste(1L, new Competence("C" + j)));
+        }
+        return new Graphe(secouristes, postes, matrice);
+    }
+
+    /**
+     * Génère une matrice d'adjacence aléatoire.
+     *
+     * @param random            Le générateur aléatoire.
+     * @param nombreSecouristes Le nombre de lignes.
+     * @param nombrePostes      Le nombre de colonnes.
+     * @param densite           La probabilité qu'une arête existe.
+     * @return La matrice générée.
+     */
+    static int[][] matriceAleatoire(Random random, int nombreSecouristes, int nombrePostes, double densite) {
+        int[][] matrice = new int[nombreSecouristes][nombrePostes];
+        for (int i = 0; i < nombreSecouristes; i++) {
+            for (int j = 0; j < nombrePostes; j++) {
+                matrice[i][j] = random.nextDouble() < densite ? 1 : 0;
+            }
+        }
+        return matrice;
+    }
+
+    /**
+     * Génère un petit graphe aléatoire, de 1 à tailleMax secouristes et de 1 à tailleMax postes.
+     *
+     * @param random    Le générateur aléatoire.
+     * @param tailleMax Le nombre maximal de secouristes et de postes.
+     * @param densite   La probabilité qu'une arête existe.
+     * @return Le graphe généré.
+     */
+    static Graphe grapheAleatoire(Random random, int tailleMax, double densite) {
+        int nombreSecouristes = 1 + random.nextInt(tailleMax);
+        int nombrePostes = 1 + random.nextInt(tailleMax);
+        return creerGraphe(matriceAleatoire(random, nombreSecouristes, nombrePostes, densite));
+    }
+
+    /**
+     * Vérifie qu'une solution respecte les contraintes du graphe.
+     *
+     * @param graphe   Le graphe du problème.
+     * @param solution La solution à valider.
+     */
+    static void verifierSolutionValide(Graphe graphe, List<AffectationResultat> solution) {
+        Set<Secouriste> secouristesPris = new HashSet<>();
+        Set<Integer> postesPris = new HashSet<>();
+        for (AffectationResultat res : solution) {
+            int i = graphe.getSecouristes().indexOf(res.getSecouriste());
+            int j = graphe.getPostes().indexOf(res.getPoste());
+            // Les postes de test sont tous distincts (compétences différentes), indexOf est donc fiable.
+            assertTrue("Un secouriste est affecté deux fois.", secouristesPris.add(res.getSecouriste()));
+            assertTrue("Un poste est pourvu deux fois.", postesPris.add(j));
+            assertTrue("Affectation sur une arête inexistante.", graphe.estApte(i, j));
+        }
+    }
+
+    /**
+     * Vérifie qu'une solution est valide et de cardinalité maximale, calculée par Hopcroft-Karp.
+     *
+     * @param graphe   Le graphe du problème.
+     * @param solution La solution à valider.
+     */
+    static void verifierSolutionMaximale(Graphe graphe, List<AffectationResultat> solution) {
+        verifierSolutionMaximale("La solution doit être de cardinalité maximale.", graphe, solution,
+                new AlgorithmeAffectationHopcroftKarp().resoudre(graphe).size());
+    }
+
+    /**
+     * Vérifie qu'une solution est valide et atteint la cardinalité d'une solution de référence.
+     *
+     * @param message   Le message affiché si la cardinalité diffère.
+     * @param graphe    Le graphe du problème.
+     * @param solution  La solution à valider.
+     * @param reference La cardinalité de la solution de référence.
+     */
+    static void verifierSolutionMaximale(String message, Graphe graphe, List<AffectationResultat> solution, int reference) {
+        verifierSolutionValide(graphe, solution);
+        assertEquals(message, reference, solution.size());
+    }
+
+    /**
+     * Calcule le coût total d'une solution, somme des coûts de ses arêtes.
+     *
+     * @param graphe   Le graphe du problème.
+     * @param solution La solution évaluée.
+     * @return Le coût total.
+     */
+    static int coutTotal(Graphe graphe, List<AffectationResultat> solution) {
+        int cout = 0;
+        for (AffectationResultat res : solution) {
+            cout += graphe.getCout(graphe.getSecouristes().indexOf(res.getSecouriste()), graphe.getPostes().indexOf(res.getPoste()));
+        }
+        return cout;
+    }
+}
@@ -0,0 +1,205 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.dao.PoolConnexions;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour le pool de connexions.
+ * Les connexions physiques sont simulées : aucun serveur de base de données n'est nécessaire.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class PoolConnexionsTest {
+
+    /**
+     * État d'une connexion physique simulée.
+     */
+    private static final class EtatConnexion {
+        boolean fermee;
+        boolean valide = true;
+        boolean autoCommit = true;
+        int rollbacks;
+    }
+
+    private final List<EtatConnexion> creees = new ArrayList<>();
+
+    /**
+     * Crée une connexion simulée qui ne gère que les méthodes utilisées par le pool.
+     */
+    private Connection creerConnexion() {
+        EtatConnexion etat = new EtatConnexion();
+        creees.add(etat);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            etat.fermee = true;
+                            return null;
+                        case "isClosed":
+                            return etat.fermee;
+                        case "isValid":
+                            return etat.valide && !etat.fermee;
+                        case "getAutoCommit":
+                            return etat.autoCommit;
+                        case "setAutoCommit":
+                            etat.autoCommit = (Boolean) args[0];
+                            return null;
+                        case "rollback":
+                            etat.rollbacks++;
+                            return null;
+                        case "clearWarnings":
+                            return null;
+                        case "getCatalog":
+                            return "secours2030";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private PoolConnexions creerPool(int taille, long inactiviteMax, long vieMax, long seuilFuite) {
+        return new PoolConnexions(this::creerConnexion, taille, 50, inactiviteMax, vieMax, seuilFuite);
+    }
+
+    /**
+     * Vérifie qu'une connexion rendue est réutilisée et que les métriques suivent les emprunts.
+     */
+    @Test
+    public void testReutilisation() throws SQLException {
+        System.out.println("** testReutilisation() **");
+        PoolConnexions pool = creerPool(2, 60_000, 60_000, 60_000);
+        try (Connection connexion = pool.getConnection()) {
+            assertEquals("secours2030", connexion.getCatalog());
+            assertEquals(1, pool.getConnexionsActives());
+            assertEquals(0, pool.getConnexionsInactives());
+        }
+        assertEquals(0, pool.getConnexionsActives());
+        assertEquals(1, pool.getConnexionsInactives());
+        assertFalse("Fermer la connexion empruntée ne doit pas fermer la connexion physique.", creees.get(0).fermee);
+
+        try (Connection connexion = pool.getConnection()) {
+            assertFalse(connexion.isClosed());
+        }
+        assertEquals(1, creees.size());
+        assertEquals(2, pool.getNombreEmprunts());
+        pool.fermer();
+        assertTrue(creees.get(0).fermee);
+    }
+
+    /**
+     * Vérifie qu'une connexion rendue n'est plus utilisable par l'appelant, et qu'une
+     * transaction laissée ouverte est annulée au retour.
+     */
+    @Test
+    public void testRetour() throws SQLException {
+        System.out.println("** testRetour() **");
+        PoolConnexions pool = creerPool(1, 60_000, 60_000, 60_000);
+        Connection connexion = pool.getConnection();
+        connexion.setAutoCommit(false);
+        connexion.close();
+        connexion.close();
+        assertTrue(connexion.isClosed());
+        assertEquals(1, creees.get(0).rollbacks);
+        assertTrue(creees.get(0).autoCommit);
+        try {
+            connexion.getCatalog();
+            fail("Une connexion rendue ne doit plus être utilisable.");
+        } catch (SQLException e) {
+            // Attendu.
+        }
+        assertEquals(1, pool.getConnexionsInactives());
+        pool.fermer();
+    }
+
+    /**
+     * Vérifie que le pool est borné : au-delà de sa taille, l'emprunt échoue après le délai.
+     */
+    @Test
+    public void testTailleBornee() throws SQLException {
+        System.out.println("** testTailleBornee() **");
+        PoolConnexions pool = creerPool(2, 60_000, 60_000, 60_000);
+        Connection premiere = pool.getConnection();
+        Connection seconde = pool.getConnection();
+        try {
+            pool.getConnection();
+            fail("Le pool aurait dû refuser une troisième connexion.");
+        } catch (SQLTimeoutException e) {
+            // Attendu.
+        }
+        assertEquals(2, creees.size());
+        assertTrue(pool.getTempsAttenteMaxMillis() >= 50);
+        premiere.close();
+        try (Connection connexion = pool.getConnection()) {
+            assertNotNull(connexion);
+        }
+        seconde.close();
+        pool.fermer();
+    }
+
+    /**
+     * Vérifie la validation à l'emprunt, l'éviction des connexions inactives ou trop anciennes,
+     * et la détection des fuites.
+     */
+    @Test
+    public void testEntretien() throws Exception {
+        System.out.println("** testEntretien() **");
+        System.out.println("Validation à l'emprunt :");
+        PoolConnexions pool = creerPool(2, 60_000, 60_000, 60_000);
+        pool.getConnection().close();
+        creees.get(0).valide = false;
+        Thread.sleep(600);
+        try (Connection connexion = pool.getConnection()) {
+            assertFalse(connexion.isClosed());
+        }
+        assertTrue(creees.get(0).fermee);
+        assertEquals(2, creees.size());
+        pool.fermer();
+
+        System.out.println("Inactivité :");
+        creees.clear();
+        pool = creerPool(2, 0, 60_000, 60_000);
+        pool.getConnection().close();
+        pool.entretenir();
+        assertEquals(0, pool.getConnexionsInactives());
+        assertTrue(creees.get(0).fermee);
+        pool.fermer();
+
+        System.out.println("Durée de vie :");
+        creees.clear();
+        pool = creerPool(2, 60_000, 0, 60_000);
+        pool.getConnection().close();
+        assertEquals(0, pool.getConnexionsInactives());
+        assertTrue(creees.get(0).fermee);
+        pool.fermer();
+
+        System.out.println("Fuite :");
+        pool = creerPool(2, 60_000, 60_000, 0);
+        Connection oubliee = pool.getConnection();
+        pool.entretenir();
+        pool.entretenir();
+        assertEquals(1, pool.getFuitesDetectees());
+        oubliee.close();
+
+        System.out.println("Fuite avec l'endroit de l'emprunt :");
+        pool.setTraceEmprunts(true);
+        oubliee = pool.getConnection();
+        pool.entretenir();
+        assertEquals(2, pool.getFuitesDetectees());
+        oubliee.close();
+        pool.entretenir();
+        assertEquals(2, pool.getFuitesDetectees());
+        pool.fermer();
+    }
+}
@@ -0,0 +1,70 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import fr.erm.sae201.metier.graphe.solveur.ParametresResolution;
+import fr.erm.sae201.metier.graphe.solveur.RegistreSolveurs;
+import fr.erm.sae201.metier.graphe.solveur.SolveurAffectation;
+import fr.erm.sae201.metier.graphe.solveur.SolveurAutomatique;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour le registre des solveurs et la stratégie automatique.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class RegistreSolveursTest {
+
+    /**
+     * Teste le registre des solveurs : découverte par ServiceLoader, cardinalité des solveurs
+     * optimaux, choix de la stratégie automatique et refus de lancer un solveur exponentiel
+     * sur un graphe trop grand.
+     */
+    @Test
+    public void testRegistreSolveurs() {
+        System.out.println("** testRegistreSolveurs() **");
+        List<SolveurAffectation> solveurs = RegistreSolveurs.getSolveurs();
+        assertEquals(RegistreSolveurs.AUTO, solveurs.get(0).getIdentifiant());
+        for (String identifiant : new String[]{"composantes", "exhaustive-parallele", "glouton", "glouton+", "hopcroft-karp",
+                "hongroise", "compressee", "equitable"}) {
+            assertNotNull(identifiant, RegistreSolveurs.getSolveur(identifiant));
+        }
+        assertNull(RegistreSolveurs.getSolveur("inconnu"));
+
+        System.out.println("Cas aléatoires :");
+        Random random = new Random(17);
+        ParametresResolution parametres = new ParametresResolution(2);
+        for (int essai = 0; essai < 30; essai++) {
+            Graphe graphe = grapheAleatoire(random, 8, 0.4);
+            int optimum = new AlgorithmeAffectationHopcroftKarp().resoudre(graphe).size();
+            for (SolveurAffectation solveur : solveurs) {
+                List<AffectationResultat> solution = solveur.resoudre(graphe, parametres);
+                verifierSolutionValide(graphe, solution);
+                if (solveur.getCaracteristiques().isOptimal()) {
+                    assertEquals(solveur.getNom(), optimum, solution.size());
+                }
+            }
+        }
+
+        System.out.println("Stratégie automatique :");
+        SolveurAutomatique auto = (SolveurAutomatique) RegistreSolveurs.getSolveur(RegistreSolveurs.AUTO);
+        assertEquals("glouton", auto.choisir(creerGraphe(new int[3][2])).getIdentifiant());
+        assertEquals("hongroise", auto.choisir(creerGraphe(matriceAleatoire(random, 20, 10, 0.5))).getIdentifiant());
+        int[][] dense = matriceAleatoire(random, SolveurAutomatique.SEUIL_HONGROISE + 10, 40, 0.5);
+        assertEquals("hopcroft-karp", auto.choisir(creerGraphe(dense)).getIdentifiant());
+
+        assertEquals("exhaustive-parallele", RegistreSolveurs.selectionner("exhaustive-parallele", 10).getIdentifiant());
+        assertEquals(RegistreSolveurs.AUTO, RegistreSolveurs.selectionner("exhaustive-parallele", 500).getIdentifiant());
+        assertEquals(RegistreSolveurs.AUTO, RegistreSolveurs.selectionner("inconnu", 5).getIdentifiant());
+    }
+}
@@ -0,0 +1,80 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.modele.GrapheCompetences;
+import fr.erm.sae201.metier.persistence.Competence;
+import fr.erm.sae201.metier.persistence.Secouriste;
+import fr.erm.sae201.metier.service.ServiceCompetences;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour le service des compétences.
+ * Les instantanés du graphe sont construits directement : aucune base de données n'est nécessaire.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class ServiceCompetencesTest {
+
+    /**
+     * Teste la mémorisation des compétences couvertes d'un secouriste : le calcul est réutilisé
+     * tant que la version du graphe et les compétences du secouriste sont inchangées, et refait
+     * dès que l'une des deux change.
+     */
+    @Test
+    public void testCompetencesCouvertesMemorisees() {
+        System.out.println("** testCompetencesCouvertesMemorisees() **");
+        Map<String, Set<String>> adjacence = new HashMap<>();
+        adjacence.put("PSE2", new HashSet<>(Arrays.asList("PSE1")));
+        adjacence.put("PSE1", new HashSet<>(Arrays.asList("PSC1")));
+        adjacence.put("VPSP", new HashSet<>());
+        GrapheCompetences version1 = new GrapheCompetences(1, adjacence);
+        ServiceCompetences service = new ServiceCompetences();
+        Secouriste secouriste = new Secouriste(1, "N", "P", new Date(), "x1@test.com", "0102030405", "A");
+        secouriste.addCompetence(new Competence("PSE1"));
+
+        System.out.println("Cas normaux :");
+        long[] couvertes = service.getCompetencesCouvertes(version1, secouriste);
+        assertSame(couvertes, service.getCompetencesCouvertes(version1, secouriste));
+        assertTrue(version1.couvre(couvertes, new Competence("PSC1")));
+        assertFalse(version1.couvre(couvertes, new Competence("PSE2")));
+
+        System.out.println("Cas limite :");
+        // Une nouvelle compétence du secouriste invalide le calcul mémorisé.
+        secouriste.addCompetence(new Competence("PSE2"));
+        long[] apresAjout = service.getCompetencesCouvertes(version1, secouriste);
+        assertNotSame(couvertes, apresAjout);
+        assertTrue(version1.couvre(apresAjout, new Competence("PSE2")));
+        assertFalse(version1.couvre(apresAjout, new Competence("VPSP")));
+
+        // Une nouvelle version du graphe aussi : VPSP requiert désormais PSE2.
+        adjacence.get("VPSP").add("PSE2");
+        GrapheCompetences version2 = new GrapheCompetences(2, adjacence);
+        secouriste.removeCompetence(new Competence("PSE1"));
+        secouriste.removeCompetence(new Competence("PSE2"));
+        secouriste.addCompetence(new Competence("VPSP"));
+        long[] versionPrecedente = service.getCompetencesCouvertes(version1, secouriste);
+        long[] nouvelleVersion = service.getCompetencesCouvertes(version2, secouriste);
+        assertNotSame(versionPrecedente, nouvelleVersion);
+        assertFalse(version1.couvre(versionPrecedente, new Competence("PSE2")));
+        assertTrue(version2.couvre(nouvelleVersion, new Competence("PSC1")));
+        assertSame(nouvelleVersion, service.getCompetencesCouvertes(version2, secouriste));
+
+        System.out.println("Cas erreur :");
+        // Un secouriste sans compétence ne couvre rien, pas même une compétence inconnue du graphe.
+        Secouriste debutant = new Secouriste(2, "N", "P", new Date(), "x2@test.com", "0102030405", "A");
+        long[] aucune = service.getCompetencesCouvertes(version2, debutant);
+        assertFalse(version2.couvre(aucune, new Competence("PSC1")));
+        assertFalse(version2.couvre(aucune, new Competence("Inconnue")));
+    }
+}
@@ -0,0 +1,100 @@
+package fr.erm.sae201;
+
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustive;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationExhaustiveParallele;
+import fr.erm.sae201.metier.graphe.algorithme.AlgorithmeAffectationHopcroftKarp;
+import fr.erm.sae201.metier.graphe.algorithme.JetonAnnulation;
+import fr.erm.sae201.metier.graphe.algorithme.Progression;
+import fr.erm.sae201.metier.graphe.algorithme.ResolutionAnnuleeException;
+import fr.erm.sae201.metier.graphe.algorithme.SuiviResolution;
+import fr.erm.sae201.metier.graphe.modele.AffectationResultat;
+import fr.erm.sae201.metier.graphe.modele.Graphe;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static fr.erm.sae201.OutilsTestsAffectation.*;
+import static org.junit.Assert.*;
+
+/**
+ * Classe de tests unitaires pour l'annulation et le suivi de progression des résolutions.
+ *
+ * @author Ewan QUELO
+ * @author Raphael MILLE
+ * @author Matheo BIET
+ * @version 1.0
+ */
+public class SuiviResolutionTest {
+
+    /**
+     * Teste l'annulation coopérative et le suivi de progression : une recherche exhaustive
+     * interminable est interrompue par son jeton, et une recherche menée à son terme publie
+     * un dernier état complet.
+     */
+    @Test
+    public void testAnnulationEtProgression() {
+        System.out.println("** testAnnulationEtProgression() **");
+        // 10 secouristes aptes à 14 postes : sans élagage, la borne de 14 postes n'est jamais atteinte
+        // et l'exploration complète serait interminable.
+        int[][] matrice = new int[10][14];
+        for (int[] ligne : matrice) {
+            Arrays.fill(ligne, 1);
+        }
+        Graphe graphe = creerGraphe(matrice);
+
+        System.out.println("Annulation depuis l'écouteur :");
+        JetonAnnulation jeton = new JetonAnnulation();
+        List<Progression> recues = new ArrayList<>();
+        AlgorithmeAffectationExhaustive exhaustive = new AlgorithmeAffectationExhaustive(false);
+        exhaustive.setSuivi(new SuiviResolution(jeton, progression -> {
+            recues.add(progression);
+            jeton.annuler();
+        }));
+        try {
+            exhaustive.resoudre(graphe);
+            fail("La recherche aurait dû être annulée.");
+        } catch (ResolutionAnnuleeException e) {
+            assertEquals(1, recues.size());
+            assertTrue(recues.get(0).getNoeudsExplores() >= SuiviResolution.NOEUDS_PAR_LOT);
+            assertEquals(10, recues.get(0).getMeilleureTaille());
+            assertTrue(recues.get(0).getFractionExploree() < 1.0);
+        }
+
+        System.out.println("Jeton déjà annulé :");
+        JetonAnnulation annule = new JetonAnnulation();
+        annule.annuler();
+        AlgorithmeAffectationExhaustiveParallele parallele = new AlgorithmeAffectationExhaustiveParallele(2);
+        parallele.setSuivi(new SuiviResolution(annule, null));
+        try {
+            parallele.resoudre(graphe);
+            fail("La recherche parallèle aurait dû être annulée.");
+        } catch (ResolutionAnnuleeException e) {
+            // Attendu.
+        }
+        AlgorithmeAffectationHopcroftKarp hopcroftKarp = new AlgorithmeAffectationHopcroftKarp();
+        hopcroftKarp.setSuivi(new SuiviResolution(annule, null));
+        try {
+            hopcroftKarp.resoudre(graphe);
+            fail("Hopcroft-Karp aurait dû être annulé.");
+        } catch (ResolutionAnnuleeException e) {
+            // Attendu.
+        }
+
+        System.out.println("Résolution complète :");
+        Random random = new Random(18);
+        for (int essai = 0; essai < 10; essai++) {
+            Graphe aleatoire = grapheAleatoire(random, 8, 0.4);
+            List<Progression> etats = new ArrayList<>();
+            AlgorithmeAffectationExhaustive avecElagage = new AlgorithmeAffectationExhaustive(true);
+            avecElagage.setSuivi(new SuiviResolution(new JetonAnnulation(), etats::add));
+            List<AffectationResultat> solution = avecElagage.resoudre(aleatoire);
+            Progression derniere = etats.get(etats.size() - 1);
+            assertEquals(1.0, derniere.getFractionExploree(), 1e-9);
+            assertEquals(0, derniere.getRestantEstimeMillis());
+            assertEquals(solution.size(), derniere.getMeilleureTaille());
+        }
+    }
+}